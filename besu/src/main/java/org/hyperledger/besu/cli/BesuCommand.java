@@ -56,12 +56,14 @@ import org.hyperledger.besu.cli.options.stable.EthstatsOptions;
 import org.hyperledger.besu.cli.options.stable.LoggingLevelOption;
 import org.hyperledger.besu.cli.options.stable.NodePrivateKeyFileOption;
 import org.hyperledger.besu.cli.options.stable.P2PTLSConfigOptions;
+import org.hyperledger.besu.cli.options.unstable.AncientStoreOptions;
 import org.hyperledger.besu.cli.options.unstable.ChainPruningOptions;
 import org.hyperledger.besu.cli.options.unstable.DnsOptions;
 import org.hyperledger.besu.cli.options.unstable.EthProtocolOptions;
 import org.hyperledger.besu.cli.options.unstable.EvmOptions;
 import org.hyperledger.besu.cli.options.unstable.IpcOptions;
 import org.hyperledger.besu.cli.options.unstable.LauncherOptions;
+import org.hyperledger.besu.cli.options.unstable.MarkSweepPruningOptions;
 import org.hyperledger.besu.cli.options.unstable.MetricsCLIOptions;
 import org.hyperledger.besu.cli.options.unstable.MiningOptions;
 import org.hyperledger.besu.cli.options.unstable.NatOptions;
@@ -95,6 +97,7 @@ import org.hyperledger.besu.consensus.qbft.pki.PkiBlockCreationConfigurationProv
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.controller.BesuControllerBuilder;
 import org.hyperledger.besu.crypto.Blake2bfMessageDigest;
+import org.hyperledger.besu.crypto.Keccak256;
 import org.hyperledger.besu.crypto.KeyPair;
 import org.hyperledger.besu.crypto.KeyPairSecurityModule;
 import org.hyperledger.besu.crypto.KeyPairUtil;
@@ -143,6 +146,7 @@ import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProviderBuilder;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -184,6 +188,7 @@ import org.hyperledger.besu.services.RpcEndpointServiceImpl;
 import org.hyperledger.besu.services.SecurityModuleServiceImpl;
 import org.hyperledger.besu.services.StorageServiceImpl;
 import org.hyperledger.besu.services.kvstore.InMemoryStoragePlugin;
+import org.hyperledger.besu.services.kvstore.VersionedInMemoryStoragePlugin;
 import org.hyperledger.besu.util.InvalidConfigurationException;
 import org.hyperledger.besu.util.Log4j2ConfiguratorUtil;
 import org.hyperledger.besu.util.NetworkUtility;
@@ -293,6 +298,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   private final EvmOptions unstableEvmOptions = EvmOptions.create();
   private final IpcOptions unstableIpcOptions = IpcOptions.create();
   private final ChainPruningOptions unstableChainPruningOptions = ChainPruningOptions.create();
+  private final AncientStoreOptions unstableAncientStoreOptions = AncientStoreOptions.create();
+  private final MarkSweepPruningOptions unstableMarkSweepPruningOptions =
+      MarkSweepPruningOptions.create();
 
   // stable CLI options
   private final DataStorageOptions dataStorageOptions = DataStorageOptions.create();
@@ -1546,6 +1554,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .put("EVM Options", unstableEvmOptions)
             .put("IPC Options", unstableIpcOptions)
             .put("Chain Data Pruning Options", unstableChainPruningOptions)
+            .put("Ancient Store Options", unstableAncientStoreOptions)
+            .put("Mark Sweep Pruning Options", unstableMarkSweepPruningOptions)
             .build();
 
     UnstableOptionsSubCommand.createUnstableOptions(commandLine, unstableOptions);
@@ -1564,6 +1574,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     rocksDBPlugin = new RocksDBPlugin();
     rocksDBPlugin.register(besuPluginContext);
     new InMemoryStoragePlugin().register(besuPluginContext);
+    new VersionedInMemoryStoragePlugin().register(besuPluginContext);
 
     besuPluginContext.registerPlugins(pluginsDir());
 
@@ -1771,6 +1782,13 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       Blake2bfMessageDigest.Blake2bfDigest.disableNative();
       logger.info("Using the Java implementation of the blake2bf algorithm");
     }
+
+    if (unstableNativeLibraryOptions.getNativeKeccak() && Keccak256.isNative()) {
+      logger.info("Using the native implementation of keccak");
+    } else {
+      Keccak256.disableNative();
+      logger.info("Using the Java implementation of keccak");
+    }
   }
 
   private void validateOptions() {
@@ -1784,6 +1802,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     ensureValidPeerBoundParams();
     validateRpcOptionsParams();
     validateChainDataPruningParams();
+    validateAncientStoreParams();
+    validateTrieLogPruningParams();
     validatePostMergeCheckpointBlockRequirements();
     p2pTLSConfigOptions.checkP2PTLSOptionsDependencies(logger, commandLine);
     pkiBlockCreationOptions.checkPkiBlockCreationOptionsDependencies(logger, commandLine);
@@ -1947,6 +1967,30 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     }
   }
 
+  public void validateAncientStoreParams() {
+    if (unstableAncientStoreOptions.getAncientStoreEnabled()
+        && unstableAncientStoreOptions.getAncientStoreBlocksRetained()
+            < AncientStoreOptions.MIN_ANCIENT_STORE_BLOCKS_RETAINED) {
+      throw new ParameterException(
+          this.commandLine,
+          "--Xancient-store-blocks-retained must be >= "
+              + AncientStoreOptions.MIN_ANCIENT_STORE_BLOCKS_RETAINED);
+    }
+  }
+
+  public void validateTrieLogPruningParams() {
+    final DataStorageConfiguration dataStorageConfiguration = dataStorageOptions.toDomainObject();
+    if (dataStorageConfiguration.getBonsaiTrieLogPruningEnabled()
+        && dataStorageConfiguration.getBonsaiTrieLogRetainedBlocks()
+            < dataStorageConfiguration.getBonsaiMaxLayersToLoad()) {
+      throw new ParameterException(
+          this.commandLine,
+          DataStorageOptions.BONSAI_TRIE_LOG_RETAINED_BLOCKS
+              + " must be >= "
+              + dataStorageConfiguration.getBonsaiMaxLayersToLoad());
+    }
+  }
+
   private GenesisConfigOptions readGenesisConfigOptions() {
 
     try {
@@ -2201,6 +2245,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .isPruningEnabled(isPruningEnabled())
         .pruningConfiguration(
             new PrunerConfiguration(pruningBlockConfirmations, pruningBlocksRetained))
+        .markSweepPrunerConfiguration(unstableMarkSweepPruningOptions.toDomainObject())
         .genesisConfigOverrides(genesisConfigOverrides)
         .gasLimitCalculator(
             Optional.ofNullable(targetGasLimit)
@@ -2211,7 +2256,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .evmConfiguration(unstableEvmOptions.toDomainObject())
         .dataStorageConfiguration(dataStorageOptions.toDomainObject())
         .maxPeers(p2PDiscoveryOptionGroup.maxPeers)
-        .chainPruningConfiguration(unstableChainPruningOptions.toDomainObject());
+        .chainPruningConfiguration(unstableChainPruningOptions.toDomainObject())
+        .ancientStoreConfiguration(unstableAncientStoreOptions.toDomainObject());
   }
 
   private GraphQLConfiguration graphQLConfiguration() {
@@ -3364,6 +3410,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     if (!unstableChainPruningOptions.getChainDataPruningEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!unstableAncientStoreOptions.getAncientStoreEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.ANCIENT_BLOCK_INDEX);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
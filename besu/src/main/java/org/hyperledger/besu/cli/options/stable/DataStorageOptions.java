@@ -16,7 +16,10 @@
 
 package org.hyperledger.besu.cli.options.stable;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_COMPACT_TRIE_LOGS;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_RETAINED_BLOCKS;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_USE_SNAPSHOTS;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
@@ -38,6 +41,12 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
 
   private static final String BONSAI_STORAGE_FORMAT_USE_SNAPSHOTS = "--Xbonsai-use-snapshots";
 
+  public static final String BONSAI_TRIE_LOG_PRUNING_ENABLED = "--Xbonsai-trie-log-pruning-enabled";
+
+  public static final String BONSAI_TRIE_LOG_RETAINED_BLOCKS = "--Xbonsai-trie-log-retained-blocks";
+
+  private static final String BONSAI_COMPACT_TRIE_LOGS = "--Xbonsai-compact-trie-logs";
+
   // Use Bonsai DB
   @Option(
       names = {DATA_STORAGE_FORMAT},
@@ -63,6 +72,34 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       arity = "1")
   private final Boolean bonsaiUseSnapshots = DEFAULT_BONSAI_USE_SNAPSHOTS;
 
+  @Option(
+      names = {BONSAI_TRIE_LOG_PRUNING_ENABLED},
+      hidden = true,
+      description =
+          "Delete the trie logs of blocks older than the retained blocks and the finalized block with BONSAI (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiTrieLogPruningEnabled = DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED;
+
+  @Option(
+      names = {BONSAI_TRIE_LOG_RETAINED_BLOCKS},
+      paramLabel = "<LONG>",
+      hidden = true,
+      description =
+          "The number of recent blocks for which to keep trie logs when pruning them. Must be >= "
+              + BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long bonsaiTrieLogRetainedBlocks = DEFAULT_BONSAI_TRIE_LOG_RETAINED_BLOCKS;
+
+  @Option(
+      names = {BONSAI_COMPACT_TRIE_LOGS},
+      paramLabel = "<BOOLEAN>",
+      hidden = true,
+      description =
+          "Write trie logs in a compact binary encoding instead of RLP with BONSAI (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiCompactTrieLogs = DEFAULT_BONSAI_COMPACT_TRIE_LOGS;
+
   public static DataStorageOptions create() {
     return new DataStorageOptions();
   }
@@ -73,6 +110,9 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         .dataStorageFormat(dataStorageFormat)
         .bonsaiMaxLayersToLoad(bonsaiMaxLayersToLoad)
         .useBonsaiSnapshots(bonsaiUseSnapshots)
+        .bonsaiTrieLogPruningEnabled(bonsaiTrieLogPruningEnabled)
+        .bonsaiTrieLogRetainedBlocks(bonsaiTrieLogRetainedBlocks)
+        .useBonsaiCompactTrieLogs(bonsaiCompactTrieLogs)
         .build();
   }
 
@@ -84,7 +124,13 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD,
         bonsaiMaxLayersToLoad.toString(),
         BONSAI_STORAGE_FORMAT_USE_SNAPSHOTS,
-        bonsaiUseSnapshots.toString());
+        bonsaiUseSnapshots.toString(),
+        BONSAI_TRIE_LOG_PRUNING_ENABLED,
+        bonsaiTrieLogPruningEnabled.toString(),
+        BONSAI_TRIE_LOG_RETAINED_BLOCKS,
+        bonsaiTrieLogRetainedBlocks.toString(),
+        BONSAI_COMPACT_TRIE_LOGS,
+        bonsaiCompactTrieLogs.toString());
   }
 
   public String normalizeDataStorageFormat() {
@@ -0,0 +1,74 @@
+/*
+ * Copyright Hyperledger Besu Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+package org.hyperledger.besu.cli.options.unstable;
+
+import org.hyperledger.besu.cli.options.CLIOptions;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientStoreConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+public class AncientStoreOptions implements CLIOptions<AncientStoreConfiguration> {
+  private static final String ANCIENT_STORE_ENABLED_FLAG = "--Xancient-store-enabled";
+  private static final String ANCIENT_STORE_BLOCKS_RETAINED_FLAG =
+      "--Xancient-store-blocks-retained";
+  public static final long DEFAULT_ANCIENT_STORE_BLOCKS_RETAINED = 90000;
+  public static final long MIN_ANCIENT_STORE_BLOCKS_RETAINED = 7200;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {ANCIENT_STORE_ENABLED_FLAG},
+      description =
+          "Move finalized block headers, bodies and receipts out of the database into append-only files (default: ${DEFAULT-VALUE})")
+  private final Boolean ancientStoreEnabled = Boolean.FALSE;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {ANCIENT_STORE_BLOCKS_RETAINED_FLAG},
+      description =
+          "The number of recent blocks kept in the database when the ancient store is enabled. Must be >= "
+              + MIN_ANCIENT_STORE_BLOCKS_RETAINED
+              + " (default: ${DEFAULT-VALUE})")
+  private final Long ancientStoreBlocksRetained = DEFAULT_ANCIENT_STORE_BLOCKS_RETAINED;
+
+  public static AncientStoreOptions create() {
+    return new AncientStoreOptions();
+  }
+
+  public Boolean getAncientStoreEnabled() {
+    return ancientStoreEnabled;
+  }
+
+  public Long getAncientStoreBlocksRetained() {
+    return ancientStoreBlocksRetained;
+  }
+
+  @Override
+  public AncientStoreConfiguration toDomainObject() {
+    return new AncientStoreConfiguration(ancientStoreEnabled, ancientStoreBlocksRetained);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        ANCIENT_STORE_ENABLED_FLAG,
+        ancientStoreEnabled.toString(),
+        ANCIENT_STORE_BLOCKS_RETAINED_FLAG,
+        ancientStoreBlocksRetained.toString());
+  }
+}
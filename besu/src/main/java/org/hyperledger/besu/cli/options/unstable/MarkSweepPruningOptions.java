@@ -0,0 +1,83 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.options.unstable;
+
+import org.hyperledger.besu.cli.options.CLIOptions;
+import org.hyperledger.besu.ethereum.worldstate.MarkSweepPrunerConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+public class MarkSweepPruningOptions implements CLIOptions<MarkSweepPrunerConfiguration> {
+  private static final String BLOOM_FILTER_ENABLED_FLAG = "--Xpruning-bloom-filter-enabled";
+  private static final String BLOOM_FILTER_EXPECTED_NODES_FLAG =
+      "--Xpruning-bloom-filter-expected-nodes";
+  private static final String SWEEP_THREADS_FLAG = "--Xpruning-sweep-threads";
+  private static final String SWEEP_RATE_LIMIT_FLAG = "--Xpruning-sweep-rate-limit";
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {BLOOM_FILTER_ENABLED_FLAG},
+      description =
+          "Mark in use nodes into an on disk bloom filter, sweeping in parallel and resuming interrupted pruning cycles (default: ${DEFAULT-VALUE})")
+  private final Boolean bloomFilterEnabled = Boolean.FALSE;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {BLOOM_FILTER_EXPECTED_NODES_FLAG},
+      description =
+          "The minimum number of nodes the pruning bloom filter is sized for (default: ${DEFAULT-VALUE})")
+  private final Long bloomFilterExpectedNodes =
+      MarkSweepPrunerConfiguration.DEFAULT_BLOOM_FILTER_EXPECTED_NODES;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {SWEEP_THREADS_FLAG},
+      description =
+          "The number of threads sweeping unused nodes when the bloom filter is enabled (default: ${DEFAULT-VALUE})")
+  private final Integer sweepThreads = MarkSweepPrunerConfiguration.DEFAULT_SWEEP_THREADS;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {SWEEP_RATE_LIMIT_FLAG},
+      description =
+          "The maximum number of nodes checked per second while sweeping, 0 for no limit (default: ${DEFAULT-VALUE})")
+  private final Long sweepRateLimit = 0L;
+
+  public static MarkSweepPruningOptions create() {
+    return new MarkSweepPruningOptions();
+  }
+
+  @Override
+  public MarkSweepPrunerConfiguration toDomainObject() {
+    return new MarkSweepPrunerConfiguration(
+        bloomFilterEnabled, bloomFilterExpectedNodes, sweepThreads, sweepRateLimit);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        BLOOM_FILTER_ENABLED_FLAG,
+        bloomFilterEnabled.toString(),
+        BLOOM_FILTER_EXPECTED_NODES_FLAG,
+        bloomFilterExpectedNodes.toString(),
+        SWEEP_THREADS_FLAG,
+        sweepThreads.toString(),
+        SWEEP_RATE_LIMIT_FLAG,
+        sweepRateLimit.toString());
+  }
+}
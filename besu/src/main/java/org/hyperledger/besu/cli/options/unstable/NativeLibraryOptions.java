@@ -54,6 +54,15 @@ public class NativeLibraryOptions {
       arity = "1")
   private final Boolean nativeModExp = Boolean.TRUE;
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xkeccak-native-enabled"},
+      description =
+          "Per default a native library is used for keccak if present. "
+              + "If the Java implementation should be used instead, this option must be set to false",
+      arity = "1")
+  private final Boolean nativeKeccak = Boolean.TRUE;
+
   public static NativeLibraryOptions create() {
     return new NativeLibraryOptions();
   }
@@ -73,4 +82,8 @@ public class NativeLibraryOptions {
   public Boolean getNativeModExp() {
     return nativeModExp;
   }
+
+  public Boolean getNativeKeccak() {
+    return nativeKeccak;
+  }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.subcommands.operator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.hyperledger.besu.cli.DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP;
+
+import org.hyperledger.besu.cli.util.VersionProvider;
+import org.hyperledger.besu.controller.BesuController;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateArchive;
+import org.hyperledger.besu.ethereum.bonsai.TrieLogPruner;
+import org.hyperledger.besu.ethereum.bonsai.TrieLogPruner.TrieLogReport;
+import org.hyperledger.besu.ethereum.bonsai.TrieLogPruner.TrieLogUsage;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+
+import java.io.PrintWriter;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+import picocli.CommandLine.Spec;
+
+/** Reports and prunes the trie logs of a Bonsai database. */
+@Command(
+    name = "x-trie-log",
+    description = "Reports and prunes the trie logs of a BONSAI database.",
+    mixinStandardHelpOptions = true,
+    versionProvider = VersionProvider.class,
+    subcommands = {TrieLogSubCommand.Report.class, TrieLogSubCommand.Prune.class})
+public class TrieLogSubCommand implements Runnable {
+
+  @Option(
+      names = "--blocks-retained",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description =
+          "The number of recent blocks for which to keep trie logs, trie logs from the finalized block onwards are always kept (default: ${DEFAULT-VALUE})",
+      arity = "1..1")
+  private final Long blocksRetained =
+      DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_RETAINED_BLOCKS;
+
+  @SuppressWarnings("unused")
+  @ParentCommand
+  private OperatorSubCommand parentCommand;
+
+  @SuppressWarnings("unused")
+  @Spec
+  private CommandSpec spec;
+
+  @Override
+  public void run() {
+    spec.commandLine().usage(spec.commandLine().getOut());
+  }
+
+  private <T> T withTrieLogPruner(final PrunerAction<T> action) {
+    final BesuController besuController = parentCommand.parentCommand.buildController();
+    final Blockchain blockchain = besuController.getProtocolContext().getBlockchain();
+    final WorldStateArchive worldStateArchive =
+        besuController.getProtocolContext().getWorldStateArchive();
+    checkArgument(
+        worldStateArchive instanceof BonsaiWorldStateArchive,
+        "Trie logs are only stored with --data-storage-format=BONSAI");
+    final BonsaiWorldStateArchive bonsaiArchive = (BonsaiWorldStateArchive) worldStateArchive;
+    final long maxLayersToLoad = bonsaiArchive.getTrieLogManager().getMaxLayersToLoad();
+    checkArgument(
+        blocksRetained >= maxLayersToLoad, "--blocks-retained must be >= %s", maxLayersToLoad);
+    final TrieLogPruner pruner =
+        new TrieLogPruner(
+            bonsaiArchive.getWorldStateStorage(),
+            blockchain,
+            blocksRetained,
+            MoreExecutors.newDirectExecutorService());
+    return action.apply(pruner, blockchain.getChainHeadBlockNumber());
+  }
+
+  private static String describe(final TrieLogUsage usage) {
+    return String.format("%,d trie logs, %,d bytes", usage.getCount(), usage.getBytes());
+  }
+
+  @FunctionalInterface
+  private interface PrunerAction<T> {
+    T apply(TrieLogPruner pruner, long chainHeadNumber);
+  }
+
+  @Command(
+      name = "report",
+      description = "Reports the number and size of stored trie logs, and how many can be pruned.",
+      mixinStandardHelpOptions = true,
+      versionProvider = VersionProvider.class)
+  static class Report implements Runnable {
+
+    @SuppressWarnings("unused")
+    @ParentCommand
+    private TrieLogSubCommand parentCommand;
+
+    @SuppressWarnings("unused")
+    @Spec
+    private CommandSpec spec;
+
+    @Override
+    public void run() {
+      final TrieLogReport report = parentCommand.withTrieLogPruner(TrieLogPruner::report);
+      final PrintWriter out = spec.commandLine().getOut();
+      out.printf("Stored: %s%n", describe(report.getStored()));
+      out.printf(
+          "Prunable below block %,d: %s%n",
+          report.getRetainedFrom(), describe(report.getPrunable()));
+      out.flush();
+    }
+  }
+
+  @Command(
+      name = "prune",
+      description = "Deletes the trie logs of blocks that are not retained.",
+      mixinStandardHelpOptions = true,
+      versionProvider = VersionProvider.class)
+  static class Prune implements Runnable {
+
+    @SuppressWarnings("unused")
+    @ParentCommand
+    private TrieLogSubCommand parentCommand;
+
+    @SuppressWarnings("unused")
+    @Spec
+    private CommandSpec spec;
+
+    @Override
+    public void run() {
+      final TrieLogUsage pruned = parentCommand.withTrieLogPruner(TrieLogPruner::pruneAll);
+      final PrintWriter out = spec.commandLine().getOut();
+      out.printf("Pruned: %s%n", describe(pruned));
+      out.flush();
+    }
+  }
+}
@@ -33,6 +33,7 @@ import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateArchive;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.bonsai.CachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.bonsai.TrieLogPruner;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
 import org.hyperledger.besu.ethereum.chain.ChainDataPruner;
@@ -75,13 +76,20 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockFreezer;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockStore;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockchainStorage;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientStoreConfiguration;
+import org.hyperledger.besu.ethereum.storage.keyvalue.JumpDestKeyValueStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
 import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
 import org.hyperledger.besu.ethereum.worldstate.MarkSweepPruner;
+import org.hyperledger.besu.ethereum.worldstate.MarkSweepPrunerConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.Pruner;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -93,7 +101,10 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Clock;
 import java.util.ArrayList;
@@ -109,6 +120,7 @@ import org.slf4j.LoggerFactory;
 
 public abstract class BesuControllerBuilder implements MiningParameterOverrides {
   private static final Logger LOG = LoggerFactory.getLogger(BesuControllerBuilder.class);
+  private static final String ANCIENT_STORE_DIRECTORY = "ancient";
 
   private GenesisConfigFile genesisConfig;
   private Map<String, String> genesisConfigOverrides = Collections.emptyMap();
@@ -136,6 +148,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   protected StorageProvider storageProvider;
   protected boolean isPruningEnabled;
   protected PrunerConfiguration prunerConfiguration;
+  protected MarkSweepPrunerConfiguration markSweepPrunerConfiguration =
+      MarkSweepPrunerConfiguration.DEFAULT;
   protected Map<Long, Hash> requiredBlocks = Collections.emptyMap();
   protected long reorgLoggingThreshold;
   protected DataStorageConfiguration dataStorageConfiguration =
@@ -145,6 +159,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   protected EvmConfiguration evmConfiguration;
   protected int maxPeers;
   protected ChainPrunerConfiguration chainPrunerConfiguration = ChainPrunerConfiguration.DEFAULT;
+  protected AncientStoreConfiguration ancientStoreConfiguration = AncientStoreConfiguration.DEFAULT;
 
   public BesuControllerBuilder storageProvider(final StorageProvider storageProvider) {
     this.storageProvider = storageProvider;
@@ -236,6 +251,12 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  public BesuControllerBuilder markSweepPrunerConfiguration(
+      final MarkSweepPrunerConfiguration markSweepPrunerConfiguration) {
+    this.markSweepPrunerConfiguration = markSweepPrunerConfiguration;
+    return this;
+  }
+
   public BesuControllerBuilder genesisConfigOverrides(
       final Map<String, String> genesisConfigOverrides) {
     this.genesisConfigOverrides = genesisConfigOverrides;
@@ -279,6 +300,12 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  public BesuControllerBuilder ancientStoreConfiguration(
+      final AncientStoreConfiguration ancientStoreConfiguration) {
+    this.ancientStoreConfiguration = ancientStoreConfiguration;
+    return this;
+  }
+
   public BesuController build() {
     checkNotNull(genesisConfig, "Missing genesis config");
     checkNotNull(syncConfig, "Missing sync config");
@@ -294,6 +321,12 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     checkNotNull(storageProvider, "Must supply a storage provider");
     checkNotNull(gasLimitCalculator, "Missing gas limit calculator");
     checkNotNull(evmConfiguration, "Missing evm config");
+    // jump destinations only depend on the code, so their analysis is kept across restarts
+    evmConfiguration(
+        evmConfiguration.withJumpDestStorage(
+            new JumpDestKeyValueStorage(
+                storageProvider.getStorageBySegmentIdentifier(
+                    KeyValueSegmentIdentifier.JUMP_DESTINATIONS))));
     prepForBuild();
 
     final ProtocolSchedule protocolSchedule = createProtocolSchedule();
@@ -301,8 +334,20 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final WorldStateStorage worldStateStorage =
         storageProvider.createWorldStateStorage(dataStorageConfiguration.getDataStorageFormat());
 
+    final Optional<AncientBlockStore> ancientBlockStore = openAncientBlockStore();
+    final Optional<AncientBlockchainStorage> ancientBlockchainStorage =
+        ancientBlockStore.map(
+            store ->
+                new AncientBlockchainStorage(
+                    storageProvider.createBlockchainStorage(protocolSchedule),
+                    store,
+                    storageProvider.getStorageBySegmentIdentifier(
+                        KeyValueSegmentIdentifier.ANCIENT_BLOCK_INDEX),
+                    ScheduleBasedBlockHeaderFunctions.create(protocolSchedule)));
     final BlockchainStorage blockchainStorage =
-        storageProvider.createBlockchainStorage(protocolSchedule);
+        ancientBlockchainStorage
+            .<BlockchainStorage>map(storage -> storage)
+            .orElseGet(() -> storageProvider.createBlockchainStorage(protocolSchedule));
 
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
@@ -342,6 +387,23 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
               + chainPrunerConfiguration.getChainPruningBlocksFrequency());
     }
 
+    if (dataStorageConfiguration.getDataStorageFormat() == DataStorageFormat.BONSAI
+        && dataStorageConfiguration.getBonsaiTrieLogPruningEnabled()) {
+      blockchain.observeBlockAdded(
+          createTrieLogPruner((BonsaiWorldStateKeyValueStorage) worldStateStorage, blockchain));
+      LOG.info(
+          "Trie log pruning enabled with recent blocks retained to be: "
+              + dataStorageConfiguration.getBonsaiTrieLogRetainedBlocks());
+    }
+
+    if (ancientStoreConfiguration.getAncientStoreEnabled()) {
+      ancientBlockchainStorage.ifPresent(
+          storage -> blockchain.observeBlockAdded(createAncientBlockFreezer(blockchain, storage)));
+      LOG.info(
+          "Ancient store enabled with recent blocks retained to be: "
+              + ancientStoreConfiguration.getAncientStoreBlocksRetained());
+    }
+
     protocolSchedule.setPublicWorldStateArchiveForPrivacyBlockProcessor(
         protocolContext.getWorldStateArchive());
 
@@ -362,7 +424,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
                         blockchain,
                         storageProvider.getStorageBySegmentIdentifier(
                             KeyValueSegmentIdentifier.PRUNING_STATE),
-                        metricsSystem),
+                        metricsSystem,
+                        markSweepPrunerConfiguration,
+                        dataDirectory.resolve("pruning-marks.bloom")),
                     blockchain,
                     prunerConfiguration));
       }
@@ -476,6 +540,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     if (privacyParameters.getPrivateStorageProvider() != null) {
       closeables.add(privacyParameters.getPrivateStorageProvider());
     }
+    ancientBlockStore.ifPresent(closeables::add);
 
     return new BesuController(
         protocolSchedule,
@@ -667,8 +732,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
         return new BonsaiWorldStateArchive(
             (BonsaiWorldStateKeyValueStorage) worldStateStorage,
             blockchain,
-            Optional.of(dataStorageConfiguration.getBonsaiMaxLayersToLoad()),
-            dataStorageConfiguration.useBonsaiSnapshots(),
+            dataStorageConfiguration,
             cachedMerkleTrieLoader);
 
       case FOREST:
@@ -695,6 +759,48 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             metricsSystem));
   }
 
+  private TrieLogPruner createTrieLogPruner(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage, final Blockchain blockchain) {
+    return new TrieLogPruner(
+        worldStateStorage,
+        blockchain,
+        dataStorageConfiguration.getBonsaiTrieLogRetainedBlocks(),
+        MonitoredExecutors.newBoundedThreadPool(
+            TrieLogPruner.class.getSimpleName(),
+            1,
+            1,
+            TrieLogPruner.MAX_PRUNING_THREAD_QUEUE_SIZE,
+            metricsSystem));
+  }
+
+  private Optional<AncientBlockStore> openAncientBlockStore() {
+    // Keep reading previously frozen blocks even if the ancient store has since been disabled
+    final Path ancientDirectory = dataDirectory.resolve(ANCIENT_STORE_DIRECTORY);
+    if (!ancientStoreConfiguration.getAncientStoreEnabled()
+        && !Files.isDirectory(ancientDirectory)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(AncientBlockStore.open(ancientDirectory));
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to open ancient store at " + ancientDirectory, e);
+    }
+  }
+
+  private AncientBlockFreezer createAncientBlockFreezer(
+      final Blockchain blockchain, final AncientBlockchainStorage ancientBlockchainStorage) {
+    return new AncientBlockFreezer(
+        blockchain,
+        ancientBlockchainStorage,
+        ancientStoreConfiguration.getAncientStoreBlocksRetained(),
+        MonitoredExecutors.newBoundedThreadPool(
+            AncientBlockFreezer.class.getSimpleName(),
+            1,
+            1,
+            AncientBlockFreezer.MAX_FREEZER_THREAD_QUEUE_SIZE,
+            metricsSystem));
+  }
+
   protected List<PeerValidator> createPeerValidators(final ProtocolSchedule protocolSchedule) {
     final List<PeerValidator> validators = new ArrayList<>();
 
@@ -1888,6 +1888,45 @@ public class BesuCommandTest extends CommandTestAbstract {
             "Invalid value for option '--bonsai-maximum-back-layers-to-load': 'ten' is not a long");
   }
 
+  @Test
+  public void parsesBonsaiTrieLogOptions() {
+    parseCommand(
+        "--data-storage-format",
+        "BONSAI",
+        "--Xbonsai-trie-log-pruning-enabled",
+        "true",
+        "--Xbonsai-trie-log-retained-blocks",
+        "1024",
+        "--Xbonsai-compact-trie-logs",
+        "true");
+    verify(mockControllerBuilder)
+        .dataStorageConfiguration(dataStorageConfigurationArgumentCaptor.capture());
+
+    final DataStorageConfiguration dataStorageConfiguration =
+        dataStorageConfigurationArgumentCaptor.getValue();
+    assertThat(dataStorageConfiguration.getBonsaiTrieLogPruningEnabled()).isTrue();
+    assertThat(dataStorageConfiguration.getBonsaiTrieLogRetainedBlocks()).isEqualTo(1024);
+    assertThat(dataStorageConfiguration.useBonsaiCompactTrieLogs()).isTrue();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void trieLogRetainedBlocksMustCoverBackLayers() {
+    parseCommand(
+        "--data-storage-format",
+        "BONSAI",
+        "--bonsai-maximum-back-layers-to-load",
+        "512",
+        "--Xbonsai-trie-log-pruning-enabled",
+        "true",
+        "--Xbonsai-trie-log-retained-blocks",
+        "256");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--Xbonsai-trie-log-retained-blocks must be >= 512");
+  }
+
   @Test
   public void launcherDefaultOptionValue() {
     TestBesuCommand besuCommand = parseCommand();
@@ -121,6 +121,8 @@ public class BesuControllerBuilderTest {
     when(observableMetricsSystem.createLabelledCounter(
             any(), anyString(), anyString(), anyString()))
         .thenReturn(labels -> null);
+    when(observableMetricsSystem.createLabelledGauge(any(), anyString(), anyString(), anyString()))
+        .thenReturn((valueSupplier, labelValues) -> {});
 
     when(storageProvider.createWorldStateStorage(DataStorageFormat.FOREST))
         .thenReturn(worldStateStorage);
@@ -163,6 +165,7 @@ public class BesuControllerBuilderTest {
   public void shouldDisablePruningIfBonsaiIsEnabled() {
     when(storageProvider.createWorldStateStorage(DataStorageFormat.BONSAI))
         .thenReturn(bonsaiWorldStateStorage);
+    when(bonsaiWorldStateStorage.getPreimageStorage()).thenReturn(worldStatePreimageStorage);
     besuControllerBuilder
         .isPruningEnabled(true)
         .dataStorageConfiguration(
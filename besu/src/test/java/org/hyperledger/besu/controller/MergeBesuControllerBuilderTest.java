@@ -129,6 +129,8 @@ public class MergeBesuControllerBuilderTest {
     when(observableMetricsSystem.createLabelledCounter(
             any(), anyString(), anyString(), anyString()))
         .thenReturn(labels -> null);
+    when(observableMetricsSystem.createLabelledGauge(any(), anyString(), anyString(), anyString()))
+        .thenReturn((valueSupplier, labelValues) -> {});
 
     when(storageProvider.createWorldStateStorage(DataStorageFormat.FOREST))
         .thenReturn(worldStateStorage);
@@ -118,6 +118,8 @@ public class QbftBesuControllerBuilderTest {
     when(observableMetricsSystem.createLabelledCounter(
             any(), anyString(), anyString(), anyString()))
         .thenReturn(labels -> null);
+    when(observableMetricsSystem.createLabelledGauge(any(), anyString(), anyString(), anyString()))
+        .thenReturn((valueSupplier, labelValues) -> {});
     when(synchronizerConfiguration.getBlockPropagationRange()).thenReturn(Range.closed(1L, 2L));
 
     // qbft prepForBuild setup
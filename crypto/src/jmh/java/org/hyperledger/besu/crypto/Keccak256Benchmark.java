@@ -0,0 +1,67 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.security.MessageDigest;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares keccak-256 implementations: a cloned BouncyCastle message digest, as used before, the
+ * Java implementation and the native one when the library is available.
+ */
+@State(Scope.Thread)
+public class Keccak256Benchmark {
+
+  @Param({"20", "32", "64", "135", "136", "512", "4096"})
+  public int size;
+
+  private final MessageDigest prototype = new Keccak.Digest256();
+  private byte[] input;
+  private final byte[] output = new byte[Keccak256.DIGEST_SIZE];
+
+  @Setup
+  public void prepare() {
+    input = Bytes.random(size).toArrayUnsafe();
+  }
+
+  @Benchmark
+  public byte[] clonedMessageDigest() throws CloneNotSupportedException {
+    final MessageDigest digest = (MessageDigest) prototype.clone();
+    digest.update(input);
+    return digest.digest();
+  }
+
+  @Benchmark
+  public byte[] java() {
+    Keccak256.digestJava(input, output);
+    return output;
+  }
+
+  @Benchmark
+  public byte[] nativeLibrary() {
+    if (!LibKeccak.ENABLED) {
+      throw new IllegalStateException("The native keccak library is not available");
+    }
+    LibKeccak.keccak256(input, output);
+    return output;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures public key recoveries per second on one core, one by one and in batches. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(SECP256K1RecoveryBenchmark.SIGNATURES)
+public class SECP256K1RecoveryBenchmark {
+
+  static final int SIGNATURES = 200;
+
+  @Param({"true", "false"})
+  public boolean useNative;
+
+  private SECP256K1 secp256K1;
+  private final List<Bytes32> dataHashes = new ArrayList<>(SIGNATURES);
+  private final List<SECPSignature> signatures = new ArrayList<>(SIGNATURES);
+
+  @Setup
+  public void prepare() {
+    secp256K1 = new SECP256K1();
+    if (!useNative) {
+      secp256K1.disableNative();
+    }
+    for (int i = 0; i < SIGNATURES; i++) {
+      final KeyPair keyPair = secp256K1.generateKeyPair();
+      final Bytes32 dataHash = Bytes32.random();
+      dataHashes.add(dataHash);
+      signatures.add(secp256K1.sign(dataHash, keyPair));
+    }
+  }
+
+  @Benchmark
+  public int recoverOneByOne() {
+    int recovered = 0;
+    for (int i = 0; i < SIGNATURES; i++) {
+      if (secp256K1
+          .recoverPublicKeyFromSignature(dataHashes.get(i), signatures.get(i))
+          .isPresent()) {
+        recovered++;
+      }
+    }
+    return recovered;
+  }
+
+  @Benchmark
+  public int recoverInBatch() {
+    int recovered = 0;
+    for (final Optional<SECPPublicKey> publicKey :
+        secp256K1.recoverPublicKeysFromSignatures(dataHashes, signatures)) {
+      if (publicKey.isPresent()) {
+        recovered++;
+      }
+    }
+    return recovered;
+  }
+}
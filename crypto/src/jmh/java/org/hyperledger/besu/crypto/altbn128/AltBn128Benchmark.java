@@ -0,0 +1,84 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the reference {@link Fq} based alt_bn128 classes with the Montgomery form limb
+ * arithmetic on a two pair pairing check and a full width scalar multiplication.
+ */
+@State(Scope.Thread)
+public class AltBn128Benchmark {
+
+  private static final BigInteger SCALAR = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+
+  private final AltBn128Point p = AltBn128Point.g1();
+  private final AltBn128Point negatedP = AltBn128Point.g1().negate();
+  private final AltBn128Fq2Point q = AltBn128Fq2Point.g2();
+  private Bytes pairingInput;
+  private Bytes multiplyInput;
+
+  @Setup
+  public void prepare() {
+    pairingInput =
+        Bytes.fromHexString(
+            "0x0000000000000000000000000000000000000000000000000000000000000001"
+                + "0000000000000000000000000000000000000000000000000000000000000002"
+                + "198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+                + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+                + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+                + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa"
+                + "0000000000000000000000000000000000000000000000000000000000000001"
+                + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd45"
+                + "198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+                + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+                + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+                + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa");
+    multiplyInput =
+        Bytes.concatenate(
+            pairingInput.slice(0, MontgomeryAltBn128.G1_POINT_SIZE),
+            Bytes32.wrap(SCALAR.toByteArray(), 1));
+  }
+
+  @Benchmark
+  public boolean referencePairingCheck() {
+    return AltBn128Fq12Pairer.finalize(
+            AltBn128Fq12Pairer.pair(p, q).multiply(AltBn128Fq12Pairer.pair(negatedP, q)))
+        .equals(Fq12.one());
+  }
+
+  @Benchmark
+  public boolean montgomeryPairingCheck() {
+    return MontgomeryAltBn128.pairingCheck(pairingInput);
+  }
+
+  @Benchmark
+  public AltBn128Point referenceMultiply() {
+    return p.multiply(SCALAR);
+  }
+
+  @Benchmark
+  public Bytes montgomeryMultiply() {
+    return MontgomeryAltBn128.multiply(multiplyInput);
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keccak-256 as used by Ethereum, computed without going through a cloned {@link
+ * java.security.MessageDigest}.
+ *
+ * <p>The sponge state is kept per thread and the permutation works on local variables, so hashing a
+ * value allocates nothing but its result. Inputs shorter than the 136 bytes rate, such as 20 bytes
+ * addresses and 32 or 64 bytes keys and trie nodes, are hashed with a single permutation. When the
+ * XKCP native library is available it is used instead.
+ */
+public final class Keccak256 {
+
+  private static final Logger LOG = LoggerFactory.getLogger(Keccak256.class);
+
+  public static final int DIGEST_SIZE = 32;
+  private static final int RATE_BYTES = 136;
+  private static final int RATE_LANES = RATE_BYTES / Long.BYTES;
+
+  private static final long[] ROUND_CONSTANTS = {
+    0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL, 0x8000000080008000L,
+    0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+    0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL,
+    0x000000008000808bL, 0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L,
+    0x8000000000008002L, 0x8000000000000080L, 0x000000000000800aL, 0x800000008000000aL,
+    0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+  };
+
+  private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[25]);
+
+  private static boolean useNative = LibKeccak.ENABLED;
+
+  static {
+    if (!useNative) {
+      LOG.debug("Native keccak not available");
+    }
+  }
+
+  private Keccak256() {}
+
+  public static void disableNative() {
+    useNative = false;
+  }
+
+  public static boolean isNative() {
+    return useNative;
+  }
+
+  /**
+   * Hash the provided value.
+   *
+   * @param input the value to hash
+   * @return the 32 bytes hash of the value
+   */
+  public static byte[] digest(final Bytes input) {
+    return digest(input.toArrayUnsafe());
+  }
+
+  /**
+   * Hash the provided value.
+   *
+   * @param input the value to hash
+   * @return the 32 bytes hash of the value
+   */
+  public static byte[] digest(final byte[] input) {
+    final byte[] output = new byte[DIGEST_SIZE];
+    if (useNative) {
+      LibKeccak.keccak256(input, output);
+    } else {
+      digestJava(input, output);
+    }
+    return output;
+  }
+
+  static void digestJava(final byte[] input, final byte[] output) {
+    final long[] state = STATE.get();
+    Arrays.fill(state, 0L);
+
+    int offset = 0;
+    final int length = input.length;
+    while (length - offset >= RATE_BYTES) {
+      for (int i = 0; i < RATE_LANES; i++) {
+        state[i] ^= readLong(input, offset + i * Long.BYTES);
+      }
+      permute(state);
+      offset += RATE_BYTES;
+    }
+
+    // last block, with the multi-rate padding of keccak (not the SHA-3 one)
+    int lane = 0;
+    while (length - offset >= Long.BYTES) {
+      state[lane++] ^= readLong(input, offset);
+      offset += Long.BYTES;
+    }
+    long last = 0;
+    int shift = 0;
+    while (offset < length) {
+      last |= (input[offset++] & 0xFFL) << shift;
+      shift += Byte.SIZE;
+    }
+    state[lane] ^= last | (0x01L << shift);
+    state[RATE_LANES - 1] ^= 0x80L << 56;
+    permute(state);
+
+    for (int i = 0; i < DIGEST_SIZE / Long.BYTES; i++) {
+      writeLong(state[i], output, i * Long.BYTES);
+    }
+  }
+
+  private static long readLong(final byte[] bytes, final int offset) {
+    return (bytes[offset] & 0xFFL)
+        | (bytes[offset + 1] & 0xFFL) << 8
+        | (bytes[offset + 2] & 0xFFL) << 16
+        | (bytes[offset + 3] & 0xFFL) << 24
+        | (bytes[offset + 4] & 0xFFL) << 32
+        | (bytes[offset + 5] & 0xFFL) << 40
+        | (bytes[offset + 6] & 0xFFL) << 48
+        | (bytes[offset + 7] & 0xFFL) << 56;
+  }
+
+  private static void writeLong(final long value, final byte[] bytes, final int offset) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      bytes[offset + i] = (byte) (value >>> (i * Byte.SIZE));
+    }
+  }
+
+  /** The Keccak-f[1600] permutation, with lane (x, y) of the state at index x + 5 * y. */
+  private static void permute(final long[] state) {
+    long a00 = state[0], a01 = state[1], a02 = state[2], a03 = state[3], a04 = state[4];
+    long a05 = state[5], a06 = state[6], a07 = state[7], a08 = state[8], a09 = state[9];
+    long a10 = state[10], a11 = state[11], a12 = state[12], a13 = state[13], a14 = state[14];
+    long a15 = state[15], a16 = state[16], a17 = state[17], a18 = state[18], a19 = state[19];
+    long a20 = state[20], a21 = state[21], a22 = state[22], a23 = state[23], a24 = state[24];
+
+    for (final long roundConstant : ROUND_CONSTANTS) {
+      // theta
+      long c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+      long c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+      final long c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+      final long c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+      final long c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+
+      final long d1 = Long.rotateLeft(c1, 1) ^ c4;
+      final long d2 = Long.rotateLeft(c2, 1) ^ c0;
+      final long d3 = Long.rotateLeft(c3, 1) ^ c1;
+      final long d4 = Long.rotateLeft(c4, 1) ^ c2;
+      final long d0 = Long.rotateLeft(c0, 1) ^ c3;
+
+      a00 ^= d1;
+      a05 ^= d1;
+      a10 ^= d1;
+      a15 ^= d1;
+      a20 ^= d1;
+      a01 ^= d2;
+      a06 ^= d2;
+      a11 ^= d2;
+      a16 ^= d2;
+      a21 ^= d2;
+      a02 ^= d3;
+      a07 ^= d3;
+      a12 ^= d3;
+      a17 ^= d3;
+      a22 ^= d3;
+      a03 ^= d4;
+      a08 ^= d4;
+      a13 ^= d4;
+      a18 ^= d4;
+      a23 ^= d4;
+      a04 ^= d0;
+      a09 ^= d0;
+      a14 ^= d0;
+      a19 ^= d0;
+      a24 ^= d0;
+
+      // rho and pi
+      c1 = Long.rotateLeft(a01, 1);
+      a01 = Long.rotateLeft(a06, 44);
+      a06 = Long.rotateLeft(a09, 20);
+      a09 = Long.rotateLeft(a22, 61);
+      a22 = Long.rotateLeft(a14, 39);
+      a14 = Long.rotateLeft(a20, 18);
+      a20 = Long.rotateLeft(a02, 62);
+      a02 = Long.rotateLeft(a12, 43);
+      a12 = Long.rotateLeft(a13, 25);
+      a13 = Long.rotateLeft(a19, 8);
+      a19 = Long.rotateLeft(a23, 56);
+      a23 = Long.rotateLeft(a15, 41);
+      a15 = Long.rotateLeft(a04, 27);
+      a04 = Long.rotateLeft(a24, 14);
+      a24 = Long.rotateLeft(a21, 2);
+      a21 = Long.rotateLeft(a08, 55);
+      a08 = Long.rotateLeft(a16, 45);
+      a16 = Long.rotateLeft(a05, 36);
+      a05 = Long.rotateLeft(a03, 28);
+      a03 = Long.rotateLeft(a18, 21);
+      a18 = Long.rotateLeft(a17, 15);
+      a17 = Long.rotateLeft(a11, 10);
+      a11 = Long.rotateLeft(a07, 6);
+      a07 = Long.rotateLeft(a10, 3);
+      a10 = c1;
+
+      // chi
+      c0 = a00 ^ (~a01 & a02);
+      c1 = a01 ^ (~a02 & a03);
+      a02 ^= ~a03 & a04;
+      a03 ^= ~a04 & a00;
+      a04 ^= ~a00 & a01;
+      a00 = c0;
+      a01 = c1;
+
+      c0 = a05 ^ (~a06 & a07);
+      c1 = a06 ^ (~a07 & a08);
+      a07 ^= ~a08 & a09;
+      a08 ^= ~a09 & a05;
+      a09 ^= ~a05 & a06;
+      a05 = c0;
+      a06 = c1;
+
+      c0 = a10 ^ (~a11 & a12);
+      c1 = a11 ^ (~a12 & a13);
+      a12 ^= ~a13 & a14;
+      a13 ^= ~a14 & a10;
+      a14 ^= ~a10 & a11;
+      a10 = c0;
+      a11 = c1;
+
+      c0 = a15 ^ (~a16 & a17);
+      c1 = a16 ^ (~a17 & a18);
+      a17 ^= ~a18 & a19;
+      a18 ^= ~a19 & a15;
+      a19 ^= ~a15 & a16;
+      a15 = c0;
+      a16 = c1;
+
+      c0 = a20 ^ (~a21 & a22);
+      c1 = a21 ^ (~a22 & a23);
+      a22 ^= ~a23 & a24;
+      a23 ^= ~a24 & a20;
+      a24 ^= ~a20 & a21;
+      a20 = c0;
+      a21 = c1;
+
+      // iota
+      a00 ^= roundConstant;
+    }
+
+    state[0] = a00;
+    state[1] = a01;
+    state[2] = a02;
+    state[3] = a03;
+    state[4] = a04;
+    state[5] = a05;
+    state[6] = a06;
+    state[7] = a07;
+    state[8] = a08;
+    state[9] = a09;
+    state[10] = a10;
+    state[11] = a11;
+    state[12] = a12;
+    state[13] = a13;
+    state[14] = a14;
+    state[15] = a15;
+    state[16] = a16;
+    state[17] = a17;
+    state[18] = a18;
+    state[19] = a19;
+    state[20] = a20;
+    state[21] = a21;
+    state[22] = a22;
+    state[23] = a23;
+    state[24] = a24;
+  }
+}
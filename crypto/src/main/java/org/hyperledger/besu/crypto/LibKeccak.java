@@ -0,0 +1,61 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import com.sun.jna.Native;
+
+/**
+ * JNA direct mapping of the Keccak sponge of the XKCP library (eXtended Keccak Code Package),
+ * registered only when the library can be found on the JNA library path.
+ */
+final class LibKeccak {
+
+  // Keccak-256 has a 1088 bits rate, a 512 bits capacity and a 0x01 padding suffix
+  private static final int RATE_BITS = 1088;
+  private static final int CAPACITY_BITS = 512;
+  private static final byte SUFFIX = 0x01;
+
+  static final boolean ENABLED;
+
+  static {
+    boolean enabled;
+    try {
+      Native.register(LibKeccak.class, "XKCP");
+      enabled = true;
+    } catch (final UnsatisfiedLinkError ule) {
+      enabled = false;
+    }
+    ENABLED = enabled;
+  }
+
+  private LibKeccak() {}
+
+  static void keccak256(final byte[] input, final byte[] output) {
+    if (KeccakWidth1600_Sponge(
+            RATE_BITS, CAPACITY_BITS, input, input.length, SUFFIX, output, output.length)
+        != 0) {
+      throw new IllegalStateException("Native keccak failed");
+    }
+  }
+
+  private static native int KeccakWidth1600_Sponge(
+      int rate,
+      int capacity,
+      byte[] input,
+      long inputByteLen,
+      byte suffix,
+      byte[] output,
+      long outputByteLen);
+}
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.crypto;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.hyperledger.besu.nativelib.secp256k1.LibSecp256k1.SECP256K1_EC_UNCOMPRESSED;
 
 import org.hyperledger.besu.nativelib.secp256k1.LibSecp256k1;
@@ -23,6 +24,9 @@ import org.hyperledger.besu.nativelib.secp256k1.LibSecp256k1.secp256k1_pubkey;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import com.sun.jna.ptr.IntByReference;
@@ -48,6 +52,9 @@ public class SECP256K1 extends AbstractSECP256 {
 
   private static final Logger LOG = LoggerFactory.getLogger(SECP256K1.class);
 
+  private static final ThreadLocal<NativeRecoveryScratch> NATIVE_RECOVERY_SCRATCH =
+      ThreadLocal.withInitial(NativeRecoveryScratch::new);
+
   private boolean useNative;
 
   public static final String CURVE_NAME = "secp256k1";
@@ -202,12 +209,41 @@ public class SECP256K1 extends AbstractSECP256 {
     }
   }
 
+  @Override
+  public List<Optional<SECPPublicKey>> recoverPublicKeysFromSignatures(
+      final List<Bytes32> dataHashes, final List<SECPSignature> signatures) {
+    if (!useNative) {
+      return super.recoverPublicKeysFromSignatures(dataHashes, signatures);
+    }
+    checkArgument(
+        dataHashes.size() == signatures.size(),
+        "Expected as many data hashes as signatures but got %s and %s",
+        dataHashes.size(),
+        signatures.size());
+    final NativeRecoveryScratch scratch = NATIVE_RECOVERY_SCRATCH.get();
+    final List<Optional<SECPPublicKey>> publicKeys = new ArrayList<>(signatures.size());
+    for (int i = 0; i < signatures.size(); i++) {
+      Optional<SECPPublicKey> publicKey;
+      try {
+        publicKey = recoverFromSignatureNative(dataHashes.get(i), signatures.get(i), scratch);
+      } catch (final IllegalArgumentException e) {
+        publicKey = Optional.empty();
+      }
+      publicKeys.add(publicKey);
+    }
+    return publicKeys;
+  }
+
   private Optional<SECPPublicKey> recoverFromSignatureNative(
       final Bytes32 dataHash, final SECPSignature signature) {
+    return recoverFromSignatureNative(dataHash, signature, NATIVE_RECOVERY_SCRATCH.get());
+  }
+
+  private Optional<SECPPublicKey> recoverFromSignatureNative(
+      final Bytes32 dataHash, final SECPSignature signature, final NativeRecoveryScratch scratch) {
 
     // parse the sig
-    final LibSecp256k1.secp256k1_ecdsa_recoverable_signature parsedSignature =
-        new LibSecp256k1.secp256k1_ecdsa_recoverable_signature();
+    final LibSecp256k1.secp256k1_ecdsa_recoverable_signature parsedSignature = scratch.signature;
     final Bytes encodedSig = signature.encodedBytes();
     if (LibSecp256k1.secp256k1_ecdsa_recoverable_signature_parse_compact(
             LibSecp256k1.CONTEXT,
@@ -219,7 +255,7 @@ public class SECP256K1 extends AbstractSECP256 {
     }
 
     // recover the key
-    final LibSecp256k1.secp256k1_pubkey newPubKey = new LibSecp256k1.secp256k1_pubkey();
+    final LibSecp256k1.secp256k1_pubkey newPubKey = scratch.publicKey;
     if (LibSecp256k1.secp256k1_ecdsa_recover(
             LibSecp256k1.CONTEXT, newPubKey, parsedSignature, dataHash.toArrayUnsafe())
         == 0) {
@@ -227,12 +263,28 @@ public class SECP256K1 extends AbstractSECP256 {
     }
 
     // parse the key
-    final ByteBuffer recoveredKey = ByteBuffer.allocate(65);
-    final LongByReference keySize = new LongByReference(recoveredKey.limit());
+    final ByteBuffer recoveredKey = scratch.serializedPublicKey;
+    recoveredKey.clear();
+    final LongByReference keySize = scratch.serializedPublicKeySize;
+    keySize.setValue(recoveredKey.limit());
     LibSecp256k1.secp256k1_ec_pubkey_serialize(
         LibSecp256k1.CONTEXT, recoveredKey, keySize, newPubKey, SECP256K1_EC_UNCOMPRESSED);
 
+    // the buffer is reused, so the key is copied out of it
     return Optional.of(
-        SECPPublicKey.create(Bytes.wrapByteBuffer(recoveredKey).slice(1), ALGORITHM));
+        SECPPublicKey.create(
+            Bytes.wrap(Arrays.copyOfRange(recoveredKey.array(), 1, 65)), ALGORITHM));
+  }
+
+  /**
+   * Native structures used to recover public keys, allocated once per thread rather than for each
+   * recovery.
+   */
+  private static final class NativeRecoveryScratch {
+    private final LibSecp256k1.secp256k1_ecdsa_recoverable_signature signature =
+        new LibSecp256k1.secp256k1_ecdsa_recoverable_signature();
+    private final LibSecp256k1.secp256k1_pubkey publicKey = new LibSecp256k1.secp256k1_pubkey();
+    private final ByteBuffer serializedPublicKey = ByteBuffer.allocate(65);
+    private final LongByReference serializedPublicKeySize = new LongByReference();
   }
 }
@@ -14,7 +14,11 @@
  */
 package org.hyperledger.besu.crypto;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
 
@@ -67,6 +71,33 @@ public interface SignatureAlgorithm {
   Optional<SECPPublicKey> recoverPublicKeyFromSignature(
       final Bytes32 dataHash, final SECPSignature signature);
 
+  /**
+   * Recovers the public keys of a batch of signatures.
+   *
+   * @param dataHashes the hashes of the signed data
+   * @param signatures the signatures, in the same order as their hashes
+   * @return for each signature, its public key or empty if it could not be recovered
+   */
+  default List<Optional<SECPPublicKey>> recoverPublicKeysFromSignatures(
+      final List<Bytes32> dataHashes, final List<SECPSignature> signatures) {
+    checkArgument(
+        dataHashes.size() == signatures.size(),
+        "Expected as many data hashes as signatures but got %s and %s",
+        dataHashes.size(),
+        signatures.size());
+    final List<Optional<SECPPublicKey>> publicKeys = new ArrayList<>(signatures.size());
+    for (int i = 0; i < signatures.size(); i++) {
+      Optional<SECPPublicKey> publicKey;
+      try {
+        publicKey = recoverPublicKeyFromSignature(dataHashes.get(i), signatures.get(i));
+      } catch (final IllegalArgumentException e) {
+        publicKey = Optional.empty();
+      }
+      publicKeys.add(publicKey);
+    }
+    return publicKeys;
+  }
+
   ECPoint publicKeyAsEcPoint(final SECPPublicKey publicKey);
 
   boolean isValidPublicKey(SECPPublicKey publicKey);
@@ -0,0 +1,256 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * The alt_bn128 curve operations of EIP-196 and EIP-197 on Montgomery form limbs.
+ *
+ * <p>This computes the same results as the {@link Fq} based classes, which remain the reference
+ * implementation, without allocating a {@link BigInteger} per field operation. Inputs use the
+ * precompile encoding: big endian 32 byte coordinates, short input padded with zeros and the point
+ * at infinity encoded as zeros.
+ */
+public final class MontgomeryAltBn128 {
+
+  /** The size of an encoded G1 point. */
+  public static final int G1_POINT_SIZE = 2 * MontgomeryFq.BYTES;
+
+  /** The size of an encoded pair of a G1 and a G2 point. */
+  public static final int PAIR_SIZE = 6 * MontgomeryFq.BYTES;
+
+  private static final long[] B = MontgomeryFq.create(BigInteger.valueOf(3));
+
+  private MontgomeryAltBn128() {}
+
+  /**
+   * Add two G1 points.
+   *
+   * @param input two encoded G1 points
+   * @return the encoded sum
+   * @throws IllegalArgumentException if a point is not on the curve
+   */
+  public static Bytes add(final Bytes input) {
+    final byte[] in = padded(input, 2 * G1_POINT_SIZE);
+    final G1Point sum = G1Point.decode(in, 0);
+    final G1Point p2 = G1Point.decode(in, G1_POINT_SIZE);
+    if (!p2.isInfinity()) {
+      sum.addAffine(p2.x, p2.y);
+    }
+    return sum.encode();
+  }
+
+  /**
+   * Multiply a G1 point by a 256 bit scalar.
+   *
+   * @param input an encoded G1 point followed by a 32 byte big endian scalar
+   * @return the encoded product
+   * @throws IllegalArgumentException if the point is not on the curve
+   */
+  public static Bytes multiply(final Bytes input) {
+    final byte[] in = padded(input, G1_POINT_SIZE + MontgomeryFq.BYTES);
+    final G1Point p = G1Point.decode(in, 0);
+    final G1Point product = G1Point.infinity();
+    if (!p.isInfinity()) {
+      for (int i = G1_POINT_SIZE; i < in.length; i++) {
+        for (int bit = 7; bit >= 0; bit--) {
+          product.dbl();
+          if (((in[i] >>> bit) & 1) != 0) {
+            product.addAffine(p.x, p.y);
+          }
+        }
+      }
+    }
+    return product.encode();
+  }
+
+  /**
+   * Check whether the product of the pairings of the given pairs is one.
+   *
+   * @param input encoded pairs of a G1 point followed by a G2 point, whose coordinates are each
+   *     written imaginary part first
+   * @return true if the pairing product is one
+   * @throws IllegalArgumentException if the input is not a whole number of pairs or a point is not
+   *     on its curve or not in its subgroup
+   */
+  public static boolean pairingCheck(final Bytes input) {
+    if (input.size() % PAIR_SIZE != 0) {
+      throw new IllegalArgumentException("Input is not a whole number of pairs");
+    }
+    final byte[] in = input.toArrayUnsafe();
+    final MontgomeryAltBn128Pairing pairing = new MontgomeryAltBn128Pairing();
+    for (int offset = 0; offset < in.length; offset += PAIR_SIZE) {
+      final G1Point p = G1Point.decode(in, offset);
+      final MontgomeryFq2 qx = decodeFq2(in, offset + G1_POINT_SIZE);
+      final MontgomeryFq2 qy = decodeFq2(in, offset + G1_POINT_SIZE + 2 * MontgomeryFq.BYTES);
+      pairing.addPair(p.isInfinity() ? null : p.x, p.isInfinity() ? null : p.y, qx, qy);
+    }
+    return pairing.productIsOne();
+  }
+
+  private static MontgomeryFq2 decodeFq2(final byte[] in, final int offset) {
+    final MontgomeryFq2 result = new MontgomeryFq2();
+    if (!MontgomeryFq.fromBytes(result.c1, in, offset)
+        || !MontgomeryFq.fromBytes(result.c0, in, offset + MontgomeryFq.BYTES)) {
+      throw new IllegalArgumentException("Coordinate is not a field element");
+    }
+    return result;
+  }
+
+  private static byte[] padded(final Bytes input, final int length) {
+    final byte[] result = new byte[length];
+    final int size = Math.min(input.size(), length);
+    System.arraycopy(input.toArrayUnsafe(), 0, result, 0, size);
+    return result;
+  }
+
+  /**
+   * A G1 point in Jacobian coordinates {@code (X / Z^2, Y / Z^3)}, with {@code Z = 0} for the point
+   * at infinity. Decoded points have {@code Z = 1}.
+   */
+  private static final class G1Point {
+    final long[] x = MontgomeryFq.create();
+    final long[] y = MontgomeryFq.create();
+    final long[] z = MontgomeryFq.create();
+
+    private final long[] t0 = MontgomeryFq.create();
+    private final long[] t1 = MontgomeryFq.create();
+    private final long[] t2 = MontgomeryFq.create();
+    private final long[] t3 = MontgomeryFq.create();
+    private final long[] t4 = MontgomeryFq.create();
+    private final long[] t5 = MontgomeryFq.create();
+
+    static G1Point infinity() {
+      return new G1Point();
+    }
+
+    static G1Point decode(final byte[] in, final int offset) {
+      final G1Point point = new G1Point();
+      if (!MontgomeryFq.fromBytes(point.x, in, offset)
+          || !MontgomeryFq.fromBytes(point.y, in, offset + MontgomeryFq.BYTES)) {
+        throw new IllegalArgumentException("Coordinate is not a field element");
+      }
+      if (MontgomeryFq.isZero(point.x) && MontgomeryFq.isZero(point.y)) {
+        return point;
+      }
+      MontgomeryFq.set(point.z, MontgomeryFq.ONE);
+      // y^2 = x^3 + 3
+      MontgomeryFq.sqr(point.t0, point.y);
+      MontgomeryFq.sqr(point.t1, point.x);
+      MontgomeryFq.mul(point.t1, point.t1, point.x);
+      MontgomeryFq.add(point.t1, point.t1, B);
+      if (!MontgomeryFq.equals(point.t0, point.t1)) {
+        throw new IllegalArgumentException("Point is not on the curve");
+      }
+      return point;
+    }
+
+    boolean isInfinity() {
+      return MontgomeryFq.isZero(z);
+    }
+
+    void dbl() {
+      if (isInfinity()) {
+        return;
+      }
+      // dbl-2009-l
+      MontgomeryFq.sqr(t0, x); // A
+      MontgomeryFq.sqr(t1, y); // B
+      MontgomeryFq.sqr(t2, t1); // C
+      MontgomeryFq.add(t3, x, t1);
+      MontgomeryFq.sqr(t3, t3);
+      MontgomeryFq.sub(t3, t3, t0);
+      MontgomeryFq.sub(t3, t3, t2);
+      MontgomeryFq.dbl(t3, t3); // D
+      MontgomeryFq.dbl(t4, t0);
+      MontgomeryFq.add(t4, t4, t0); // E
+      MontgomeryFq.sqr(t5, t4); // F
+
+      MontgomeryFq.mul(z, y, z);
+      MontgomeryFq.dbl(z, z);
+      MontgomeryFq.dbl(x, t3);
+      MontgomeryFq.sub(x, t5, x);
+      MontgomeryFq.sub(y, t3, x);
+      MontgomeryFq.mul(y, t4, y);
+      MontgomeryFq.dbl(t2, t2);
+      MontgomeryFq.dbl(t2, t2);
+      MontgomeryFq.dbl(t2, t2);
+      MontgomeryFq.sub(y, y, t2);
+    }
+
+    void addAffine(final long[] x2, final long[] y2) {
+      if (isInfinity()) {
+        MontgomeryFq.set(x, x2);
+        MontgomeryFq.set(y, y2);
+        MontgomeryFq.set(z, MontgomeryFq.ONE);
+        return;
+      }
+      // madd-2007-bl
+      MontgomeryFq.sqr(t0, z); // Z1Z1
+      MontgomeryFq.mul(t1, x2, t0);
+      MontgomeryFq.sub(t1, t1, x); // H
+      MontgomeryFq.mul(t2, y2, z);
+      MontgomeryFq.mul(t2, t2, t0);
+      MontgomeryFq.sub(t2, t2, y);
+      MontgomeryFq.dbl(t2, t2); // r
+      if (MontgomeryFq.isZero(t1)) {
+        if (MontgomeryFq.isZero(t2)) {
+          dbl();
+        } else {
+          MontgomeryFq.setZero(z);
+        }
+        return;
+      }
+      MontgomeryFq.sqr(t3, t1); // HH
+      MontgomeryFq.add(z, z, t1);
+      MontgomeryFq.sqr(z, z);
+      MontgomeryFq.sub(z, z, t0);
+      MontgomeryFq.sub(z, z, t3);
+
+      MontgomeryFq.dbl(t3, t3);
+      MontgomeryFq.dbl(t3, t3); // I
+      MontgomeryFq.mul(t4, t1, t3); // J
+      MontgomeryFq.mul(t5, x, t3); // V
+
+      MontgomeryFq.sqr(x, t2);
+      MontgomeryFq.sub(x, x, t4);
+      MontgomeryFq.sub(x, x, t5);
+      MontgomeryFq.sub(x, x, t5);
+
+      MontgomeryFq.mul(t4, y, t4);
+      MontgomeryFq.dbl(t4, t4);
+      MontgomeryFq.sub(y, t5, x);
+      MontgomeryFq.mul(y, t2, y);
+      MontgomeryFq.sub(y, y, t4);
+    }
+
+    Bytes encode() {
+      final byte[] out = new byte[G1_POINT_SIZE];
+      if (!isInfinity()) {
+        MontgomeryFq.inverse(t0, z);
+        MontgomeryFq.sqr(t1, t0);
+        MontgomeryFq.mul(t2, x, t1);
+        MontgomeryFq.mul(t1, t1, t0);
+        MontgomeryFq.mul(t3, y, t1);
+        MontgomeryFq.toBytes(t2, out, 0);
+        MontgomeryFq.toBytes(t3, out, MontgomeryFq.BYTES);
+      }
+      return Bytes.wrap(out);
+    }
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The optimal ate pairing product check of EIP-197 over the Montgomery form tower {@link
+ * MontgomeryFq2}, {@link MontgomeryFq6} and {@link MontgomeryFq12}.
+ *
+ * <p>All pairs share a single Miller loop, with G2 points kept in homogeneous projective
+ * coordinates on the twist so no step needs an inversion, and a single final exponentiation.
+ */
+final class MontgomeryAltBn128Pairing {
+
+  /** The curve parameter x, with p and r polynomials in x. */
+  private static final BigInteger X = new BigInteger("4965661367192848881");
+
+  /** The Miller loop count 6x + 2. */
+  private static final BigInteger ATE_LOOP_COUNT = new BigInteger("29793968203157093288");
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  /** The twist coefficient {@code b' = 3 / (9 + u)}. */
+  private static final MontgomeryFq2 TWIST_B = twistCoefficient(3);
+
+  private static final MontgomeryFq2 THREE_TWIST_B = twistCoefficient(9);
+
+  private static final long[] ONE_HALF =
+      MontgomeryFq.create(BigInteger.TWO.modInverse(FieldElement.FIELD_MODULUS));
+
+  private final List<G2Projective> pairs = new ArrayList<>();
+
+  /**
+   * Add a pair to the product, after checking that the G2 point is on the twist and in the order r
+   * subgroup.
+   *
+   * @param px the x coordinate of the G1 point, or null for the point at infinity
+   * @param py the y coordinate of the G1 point, or null for the point at infinity
+   * @param qx the x coordinate of the G2 point
+   * @param qy the y coordinate of the G2 point
+   * @throws IllegalArgumentException if the G2 point is not in G2
+   */
+  void addPair(final long[] px, final long[] py, final MontgomeryFq2 qx, final MontgomeryFq2 qy) {
+    if (qx.isZero() && qy.isZero()) {
+      return;
+    }
+    if (!isOnTwist(qx, qy)) {
+      throw new IllegalArgumentException("Point is not on the twisted curve");
+    }
+    if (!G2Jacobian.isInSubgroup(qx, qy)) {
+      throw new IllegalArgumentException("Point is not in the G2 subgroup");
+    }
+    if (px != null) {
+      pairs.add(new G2Projective(px, py, qx, qy));
+    }
+  }
+
+  boolean productIsOne() {
+    if (pairs.isEmpty()) {
+      return true;
+    }
+    return finalExponentiation(millerLoop()).isOne();
+  }
+
+  private static MontgomeryFq2 twistCoefficient(final long numerator) {
+    final MontgomeryFq2 result =
+        new MontgomeryFq2().inverse(MontgomeryFq2.create(BigInteger.valueOf(9), BigInteger.ONE));
+    return result.mul(result, MontgomeryFq.create(BigInteger.valueOf(numerator)));
+  }
+
+  private static boolean isOnTwist(final MontgomeryFq2 x, final MontgomeryFq2 y) {
+    final MontgomeryFq2 lhs = new MontgomeryFq2().sqr(y);
+    final MontgomeryFq2 rhs = new MontgomeryFq2().sqr(x);
+    rhs.mul(rhs, x).add(rhs, TWIST_B);
+    return lhs.isEqualTo(rhs);
+  }
+
+  private MontgomeryFq12 millerLoop() {
+    final MontgomeryFq12 f = MontgomeryFq12.one();
+    final Line line = new Line();
+    for (int i = ATE_LOOP_COUNT.bitLength() - 2; i >= 0; i--) {
+      f.sqr(f);
+      for (final G2Projective pair : pairs) {
+        pair.doubleStep(line);
+        f.mulByLine(f, line.l0, line.l1, line.l2);
+      }
+      if (ATE_LOOP_COUNT.testBit(i)) {
+        for (final G2Projective pair : pairs) {
+          pair.addStep(pair.qx, pair.qy, line);
+          f.mulByLine(f, line.l0, line.l1, line.l2);
+        }
+      }
+    }
+
+    final MontgomeryFq2[] frobenius = MontgomeryFq12.FROBENIUS_COEFFICIENTS;
+    final MontgomeryFq2[] frobeniusSquared = MontgomeryFq12.FROBENIUS_SQUARED_COEFFICIENTS;
+    final MontgomeryFq2 x = new MontgomeryFq2();
+    final MontgomeryFq2 y = new MontgomeryFq2();
+    for (final G2Projective pair : pairs) {
+      // Q1 = pi(Q)
+      x.conjugate(pair.qx).mul(x, frobenius[2]);
+      y.conjugate(pair.qy).mul(y, frobenius[3]);
+      pair.addStep(x, y, line);
+      f.mulByLine(f, line.l0, line.l1, line.l2);
+      // -Q2 = -pi^2(Q)
+      x.mul(pair.qx, frobeniusSquared[2]);
+      y.mul(pair.qy, frobeniusSquared[3]).neg(y);
+      pair.addStep(x, y, line);
+      f.mulByLine(f, line.l0, line.l1, line.l2);
+    }
+    return f;
+  }
+
+  /**
+   * Raise to {@code (p^12 - 1) / r}: the easy part {@code (p^6 - 1)(p^2 + 1)} with Frobenius maps,
+   * then the hard part {@code (p^4 - p^2 + 1) / r} with the addition chain of Scott et al.
+   */
+  static MontgomeryFq12 finalExponentiation(final MontgomeryFq12 in) {
+    final MontgomeryFq12 t1 = new MontgomeryFq12().conjugate(in);
+    t1.mul(t1, new MontgomeryFq12().inverse(in));
+    t1.mul(t1, new MontgomeryFq12().frobeniusSquared(t1));
+
+    final MontgomeryFq12 fp = new MontgomeryFq12().frobenius(t1);
+    final MontgomeryFq12 fp2 = new MontgomeryFq12().frobeniusSquared(t1);
+    final MontgomeryFq12 fp3 = new MontgomeryFq12().frobenius(fp2);
+
+    final MontgomeryFq12 fu = new MontgomeryFq12().pow(t1, X);
+    final MontgomeryFq12 fu2 = new MontgomeryFq12().pow(fu, X);
+    final MontgomeryFq12 fu3 = new MontgomeryFq12().pow(fu2, X);
+
+    final MontgomeryFq12 y3 = new MontgomeryFq12().frobenius(fu);
+    final MontgomeryFq12 fu2p = new MontgomeryFq12().frobenius(fu2);
+    final MontgomeryFq12 fu3p = new MontgomeryFq12().frobenius(fu3);
+    final MontgomeryFq12 y2 = new MontgomeryFq12().frobeniusSquared(fu2);
+
+    final MontgomeryFq12 y0 = new MontgomeryFq12().mul(fp, fp2);
+    y0.mul(y0, fp3);
+    final MontgomeryFq12 y1 = new MontgomeryFq12().conjugate(t1);
+    final MontgomeryFq12 y5 = new MontgomeryFq12().conjugate(fu2);
+    y3.conjugate(y3);
+    final MontgomeryFq12 y4 = new MontgomeryFq12().mul(fu, fu2p);
+    y4.conjugate(y4);
+    final MontgomeryFq12 y6 = new MontgomeryFq12().mul(fu3, fu3p);
+    y6.conjugate(y6);
+
+    final MontgomeryFq12 t0 = new MontgomeryFq12().sqr(y6);
+    t0.mul(t0, y4).mul(t0, y5);
+    t1.mul(y3, y5).mul(t1, t0);
+    t0.mul(t0, y2);
+    t1.sqr(t1).mul(t1, t0).sqr(t1);
+    t0.mul(t1, y1);
+    t1.mul(t1, y0);
+    t0.sqr(t0).mul(t0, t1);
+    return t0;
+  }
+
+  /** The coefficients of a line value {@code l0 + l1 * w + l2 * v * w}. */
+  private static final class Line {
+    final MontgomeryFq2 l0 = new MontgomeryFq2();
+    final MontgomeryFq2 l1 = new MontgomeryFq2();
+    final MontgomeryFq2 l2 = new MontgomeryFq2();
+  }
+
+  /**
+   * The running multiple T of a G2 point Q in homogeneous projective coordinates {@code (X / Z, Y /
+   * Z)}, with the affine G1 point P its lines are evaluated at. The step formulas are those of
+   * Aranha et al., "Faster explicit formulas for computing pairings over ordinary curves".
+   */
+  private static final class G2Projective {
+    final long[] px;
+    final long[] py;
+    final MontgomeryFq2 qx;
+    final MontgomeryFq2 qy;
+
+    private final MontgomeryFq2 x;
+    private final MontgomeryFq2 y;
+    private final MontgomeryFq2 z = MontgomeryFq2.one();
+
+    private final MontgomeryFq2 a = new MontgomeryFq2();
+    private final MontgomeryFq2 b = new MontgomeryFq2();
+    private final MontgomeryFq2 c = new MontgomeryFq2();
+    private final MontgomeryFq2 d = new MontgomeryFq2();
+    private final MontgomeryFq2 e = new MontgomeryFq2();
+    private final MontgomeryFq2 f = new MontgomeryFq2();
+    private final MontgomeryFq2 g = new MontgomeryFq2();
+    private final MontgomeryFq2 h = new MontgomeryFq2();
+
+    G2Projective(final long[] px, final long[] py, final MontgomeryFq2 qx, final MontgomeryFq2 qy) {
+      this.px = px;
+      this.py = py;
+      this.qx = qx;
+      this.qy = qy;
+      this.x = qx.copy();
+      this.y = qy.copy();
+    }
+
+    /** T = 2T, writing the tangent line at T evaluated at P. */
+    void doubleStep(final Line line) {
+      a.mul(x, y).mul(a, ONE_HALF);
+      b.sqr(y);
+      c.sqr(z);
+      e.mul(c, THREE_TWIST_B);
+      f.dbl(e).add(f, e);
+      g.add(b, f).mul(g, ONE_HALF);
+      h.add(y, z).sqr(h).sub(h, b).sub(h, c);
+      // I = E - B and J = X^2 go straight into the line
+      line.l2.sub(e, b);
+      d.sqr(x);
+      line.l1.dbl(d).add(line.l1, d);
+
+      x.sub(b, f).mul(x, a);
+      y.sqr(g);
+      c.sqr(e);
+      d.dbl(c).add(d, c);
+      y.sub(y, d);
+      z.mul(b, h);
+
+      line.l0.neg(h).mul(line.l0, py);
+      line.l1.mul(line.l1, px);
+    }
+
+    /** T = T + R for an affine point R, writing the line through T and R evaluated at P. */
+    void addStep(final MontgomeryFq2 rx, final MontgomeryFq2 ry, final Line line) {
+      // theta = Y - ry * Z, lambda = X - rx * Z
+      a.mul(ry, z).sub(y, a);
+      b.mul(rx, z).sub(x, b);
+      c.sqr(a);
+      d.sqr(b);
+      e.mul(b, d);
+      f.mul(z, c);
+      g.mul(x, d);
+      h.add(e, f).sub(h, g).sub(h, g);
+
+      line.l0.mul(b, py);
+      line.l1.neg(a).mul(line.l1, px);
+      line.l2.mul(a, rx);
+      c.mul(b, ry);
+      line.l2.sub(line.l2, c);
+
+      x.mul(b, h);
+      g.sub(g, h).mul(g, a);
+      y.mul(y, e).sub(g, y);
+      z.mul(z, e);
+    }
+  }
+
+  /** Jacobian coordinates on the twist, used to check that points are in the order r subgroup. */
+  private static final class G2Jacobian {
+    private final MontgomeryFq2 x = new MontgomeryFq2();
+    private final MontgomeryFq2 y = new MontgomeryFq2();
+    private final MontgomeryFq2 z = new MontgomeryFq2();
+
+    private final MontgomeryFq2 t0 = new MontgomeryFq2();
+    private final MontgomeryFq2 t1 = new MontgomeryFq2();
+    private final MontgomeryFq2 t2 = new MontgomeryFq2();
+    private final MontgomeryFq2 t3 = new MontgomeryFq2();
+    private final MontgomeryFq2 t4 = new MontgomeryFq2();
+    private final MontgomeryFq2 t5 = new MontgomeryFq2();
+
+    static boolean isInSubgroup(final MontgomeryFq2 qx, final MontgomeryFq2 qy) {
+      final G2Jacobian t = new G2Jacobian();
+      for (int i = CURVE_ORDER.bitLength() - 1; i >= 0; i--) {
+        t.dbl();
+        if (CURVE_ORDER.testBit(i)) {
+          t.addAffine(qx, qy);
+        }
+      }
+      return t.z.isZero();
+    }
+
+    void dbl() {
+      if (z.isZero()) {
+        return;
+      }
+      t0.sqr(x);
+      t1.sqr(y);
+      t2.sqr(t1);
+      t3.add(x, t1).sqr(t3).sub(t3, t0).sub(t3, t2).dbl(t3);
+      t4.dbl(t0).add(t4, t0);
+      t5.sqr(t4);
+
+      z.mul(y, z).dbl(z);
+      x.dbl(t3).sub(t5, x);
+      y.sub(t3, x).mul(t4, y);
+      t2.dbl(t2).dbl(t2).dbl(t2);
+      y.sub(y, t2);
+    }
+
+    void addAffine(final MontgomeryFq2 x2, final MontgomeryFq2 y2) {
+      if (z.isZero()) {
+        x.set(x2);
+        y.set(y2);
+        z.setOne();
+        return;
+      }
+      t0.sqr(z);
+      t1.mul(x2, t0).sub(t1, x);
+      t2.mul(y2, z).mul(t2, t0).sub(t2, y).dbl(t2);
+      if (t1.isZero()) {
+        if (t2.isZero()) {
+          dbl();
+        } else {
+          z.setZero();
+        }
+        return;
+      }
+      t3.sqr(t1);
+      z.add(z, t1).sqr(z).sub(z, t0).sub(z, t3);
+
+      t3.dbl(t3).dbl(t3);
+      t4.mul(t1, t3);
+      t5.mul(x, t3);
+
+      x.sqr(t2).sub(x, t4).sub(x, t5).sub(x, t5);
+
+      t4.mul(y, t4).dbl(t4);
+      y.sub(t5, x).mul(t2, y).sub(y, t4);
+    }
+  }
+}
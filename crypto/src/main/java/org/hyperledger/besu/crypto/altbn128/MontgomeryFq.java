@@ -0,0 +1,324 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic in the alt_bn128 base field on Montgomery form elements held as four little endian 64
+ * bit limbs.
+ *
+ * <p>Operations write their result into a caller supplied limb array, which may be one of the
+ * operands, so hot loops can reuse their arrays instead of allocating. Multiplication is the
+ * coarsely integrated operand scanning variant that skips the final carry word, which is valid
+ * because the modulus leaves the top two bits of the most significant limb clear.
+ */
+final class MontgomeryFq {
+
+  static final int LIMBS = 4;
+  static final int BYTES = 32;
+
+  private static final BigInteger MODULUS = FieldElement.FIELD_MODULUS;
+  private static final long P0;
+  private static final long P1;
+  private static final long P2;
+  private static final long P3;
+  private static final long INV;
+  private static final long[] R_SQUARED;
+  private static final long[] MODULUS_MINUS_TWO;
+  private static final long[] RAW_ONE = {1, 0, 0, 0};
+
+  static {
+    final long[] p = toLimbs(MODULUS);
+    P0 = p[0];
+    P1 = p[1];
+    P2 = p[2];
+    P3 = p[3];
+    INV = MODULUS.negate().modInverse(BigInteger.ONE.shiftLeft(64)).longValue();
+    R_SQUARED = toLimbs(BigInteger.ONE.shiftLeft(512).mod(MODULUS));
+    MODULUS_MINUS_TWO = toLimbs(MODULUS.subtract(BigInteger.TWO));
+  }
+
+  /** The Montgomery form of one. */
+  static final long[] ONE = toLimbs(BigInteger.ONE.shiftLeft(256).mod(MODULUS));
+
+  private MontgomeryFq() {}
+
+  static long[] create() {
+    return new long[LIMBS];
+  }
+
+  static long[] create(final BigInteger value) {
+    final long[] out = toLimbs(value.mod(MODULUS));
+    mul(out, out, R_SQUARED);
+    return out;
+  }
+
+  static BigInteger toBigInteger(final long[] a) {
+    final long[] raw = create();
+    mul(raw, a, RAW_ONE);
+    BigInteger result = BigInteger.ZERO;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      result = result.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(raw[i])));
+    }
+    return result;
+  }
+
+  /**
+   * Read a 32 byte big endian field element into Montgomery form.
+   *
+   * @param out the limbs to write
+   * @param in the encoded element
+   * @param offset the offset of the element in {@code in}
+   * @return false if the encoded value is not less than the field modulus
+   */
+  static boolean fromBytes(final long[] out, final byte[] in, final int offset) {
+    for (int i = 0; i < LIMBS; i++) {
+      long limb = 0;
+      final int start = offset + (LIMBS - 1 - i) * 8;
+      for (int j = 0; j < 8; j++) {
+        limb = (limb << 8) | (in[start + j] & 0xFFL);
+      }
+      out[i] = limb;
+    }
+    if (!lessThanModulus(out[0], out[1], out[2], out[3])) {
+      return false;
+    }
+    mul(out, out, R_SQUARED);
+    return true;
+  }
+
+  static void toBytes(final long[] a, final byte[] out, final int offset) {
+    final long[] raw = create();
+    mul(raw, a, RAW_ONE);
+    for (int i = 0; i < LIMBS; i++) {
+      final int start = offset + (LIMBS - 1 - i) * 8;
+      long limb = raw[i];
+      for (int j = 7; j >= 0; j--) {
+        out[start + j] = (byte) limb;
+        limb >>>= 8;
+      }
+    }
+  }
+
+  static void set(final long[] out, final long[] a) {
+    System.arraycopy(a, 0, out, 0, LIMBS);
+  }
+
+  static void setZero(final long[] out) {
+    out[0] = 0;
+    out[1] = 0;
+    out[2] = 0;
+    out[3] = 0;
+  }
+
+  static boolean isZero(final long[] a) {
+    return (a[0] | a[1] | a[2] | a[3]) == 0;
+  }
+
+  static boolean equals(final long[] a, final long[] b) {
+    return a[0] == b[0] && a[1] == b[1] && a[2] == b[2] && a[3] == b[3];
+  }
+
+  static void add(final long[] out, final long[] a, final long[] b) {
+    final long s0 = a[0] + b[0];
+    long carry = addCarry(a[0], b[0], s0);
+    final long s1 = a[1] + b[1] + carry;
+    carry = addCarry(a[1], b[1], s1);
+    final long s2 = a[2] + b[2] + carry;
+    carry = addCarry(a[2], b[2], s2);
+    final long s3 = a[3] + b[3] + carry;
+    reduceOnce(out, s0, s1, s2, s3);
+  }
+
+  static void dbl(final long[] out, final long[] a) {
+    add(out, a, a);
+  }
+
+  static void sub(final long[] out, final long[] a, final long[] b) {
+    final long d0 = a[0] - b[0];
+    long borrow = subBorrow(a[0], b[0], d0);
+    final long d1 = a[1] - b[1] - borrow;
+    borrow = subBorrow(a[1], b[1], d1);
+    final long d2 = a[2] - b[2] - borrow;
+    borrow = subBorrow(a[2], b[2], d2);
+    final long d3 = a[3] - b[3] - borrow;
+    borrow = subBorrow(a[3], b[3], d3);
+    // add the modulus back when the subtraction borrowed, without branching
+    final long mask = -borrow;
+    final long s0 = d0 + (P0 & mask);
+    long carry = addCarry(d0, P0 & mask, s0);
+    final long s1 = d1 + (P1 & mask) + carry;
+    carry = addCarry(d1, P1 & mask, s1);
+    final long s2 = d2 + (P2 & mask) + carry;
+    carry = addCarry(d2, P2 & mask, s2);
+    out[0] = s0;
+    out[1] = s1;
+    out[2] = s2;
+    out[3] = d3 + (P3 & mask) + carry;
+  }
+
+  static void neg(final long[] out, final long[] a) {
+    if (isZero(a)) {
+      setZero(out);
+      return;
+    }
+    final long d0 = P0 - a[0];
+    long borrow = subBorrow(P0, a[0], d0);
+    final long d1 = P1 - a[1] - borrow;
+    borrow = subBorrow(P1, a[1], d1);
+    final long d2 = P2 - a[2] - borrow;
+    borrow = subBorrow(P2, a[2], d2);
+    out[0] = d0;
+    out[1] = d1;
+    out[2] = d2;
+    out[3] = P3 - a[3] - borrow;
+  }
+
+  static void sqr(final long[] out, final long[] a) {
+    mul(out, a, a);
+  }
+
+  static void mul(final long[] out, final long[] a, final long[] b) {
+    final long a0 = a[0];
+    final long a1 = a[1];
+    final long a2 = a[2];
+    final long a3 = a[3];
+    long t0 = 0;
+    long t1 = 0;
+    long t2 = 0;
+    long t3 = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long bi = b[i];
+      long lo;
+      long hi;
+
+      lo = a0 * bi + t0;
+      hi = mulHigh(a0, bi) + carry(lo, t0);
+      t0 = lo;
+      long aCarry = hi;
+      final long m = t0 * INV;
+      lo = m * P0 + t0;
+      long cCarry = mulHigh(m, P0) + carry(lo, t0);
+
+      lo = a1 * bi + t1;
+      hi = mulHigh(a1, bi) + carry(lo, t1);
+      t1 = lo + aCarry;
+      aCarry = hi + carry(t1, aCarry);
+      lo = m * P1 + t1;
+      hi = mulHigh(m, P1) + carry(lo, t1);
+      t0 = lo + cCarry;
+      cCarry = hi + carry(t0, cCarry);
+
+      lo = a2 * bi + t2;
+      hi = mulHigh(a2, bi) + carry(lo, t2);
+      t2 = lo + aCarry;
+      aCarry = hi + carry(t2, aCarry);
+      lo = m * P2 + t2;
+      hi = mulHigh(m, P2) + carry(lo, t2);
+      t1 = lo + cCarry;
+      cCarry = hi + carry(t1, cCarry);
+
+      lo = a3 * bi + t3;
+      hi = mulHigh(a3, bi) + carry(lo, t3);
+      t3 = lo + aCarry;
+      aCarry = hi + carry(t3, aCarry);
+      lo = m * P3 + t3;
+      hi = mulHigh(m, P3) + carry(lo, t3);
+      t2 = lo + cCarry;
+      cCarry = hi + carry(t2, cCarry);
+
+      t3 = cCarry + aCarry;
+    }
+    reduceOnce(out, t0, t1, t2, t3);
+  }
+
+  static void inverse(final long[] out, final long[] a) {
+    pow(out, a, MODULUS_MINUS_TWO);
+  }
+
+  private static void pow(final long[] out, final long[] a, final long[] exponent) {
+    final long[] base = a.clone();
+    final long[] result = ONE.clone();
+    for (int i = LIMBS * 64 - 1; i >= 0; i--) {
+      sqr(result, result);
+      if (((exponent[i >>> 6] >>> (i & 63)) & 1) != 0) {
+        mul(result, result, base);
+      }
+    }
+    set(out, result);
+  }
+
+  /** Subtract the modulus from a value less than twice the modulus if it is not already less. */
+  private static void reduceOnce(
+      final long[] out, final long s0, final long s1, final long s2, final long s3) {
+    final long d0 = s0 - P0;
+    long borrow = subBorrow(s0, P0, d0);
+    final long d1 = s1 - P1 - borrow;
+    borrow = subBorrow(s1, P1, d1);
+    final long d2 = s2 - P2 - borrow;
+    borrow = subBorrow(s2, P2, d2);
+    final long d3 = s3 - P3 - borrow;
+    borrow = subBorrow(s3, P3, d3);
+    // keep the original value when the subtraction borrowed, without branching
+    final long mask = -borrow;
+    out[0] = (s0 & mask) | (d0 & ~mask);
+    out[1] = (s1 & mask) | (d1 & ~mask);
+    out[2] = (s2 & mask) | (d2 & ~mask);
+    out[3] = (s3 & mask) | (d3 & ~mask);
+  }
+
+  private static boolean lessThanModulus(
+      final long s0, final long s1, final long s2, final long s3) {
+    if (s3 != P3) {
+      return Long.compareUnsigned(s3, P3) < 0;
+    }
+    if (s2 != P2) {
+      return Long.compareUnsigned(s2, P2) < 0;
+    }
+    if (s1 != P1) {
+      return Long.compareUnsigned(s1, P1) < 0;
+    }
+    return Long.compareUnsigned(s0, P0) < 0;
+  }
+
+  private static long mulHigh(final long a, final long b) {
+    return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+  }
+
+  /**
+   * The carry out of an addition to {@code addend}, given the wrapped sum. Carries are computed
+   * with bit operations rather than comparisons, as they are too random for branch prediction.
+   */
+  private static long carry(final long sum, final long addend) {
+    return subBorrow(sum, addend, sum - addend);
+  }
+
+  private static long addCarry(final long a, final long b, final long sum) {
+    return ((a & b) | ((a | b) & ~sum)) >>> 63;
+  }
+
+  private static long subBorrow(final long a, final long b, final long difference) {
+    return ((~a & b) | (~(a ^ b) & difference)) >>> 63;
+  }
+
+  private static long[] toLimbs(final BigInteger value) {
+    final long[] limbs = new long[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[i] = value.shiftRight(64 * i).longValue();
+    }
+    return limbs;
+  }
+}
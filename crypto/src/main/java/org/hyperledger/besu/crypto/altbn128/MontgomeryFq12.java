@@ -0,0 +1,168 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable element {@code c0 + c1 * w} of the quadratic extension of {@link MontgomeryFq6} with
+ * {@code w^2 = v}, the target field of the alt_bn128 pairing.
+ *
+ * <p>Like {@link MontgomeryFq2}, operations overwrite this element, may be given this element as an
+ * operand, and only use scratch space owned by this element.
+ */
+final class MontgomeryFq12 {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+
+  /** {@code xi^(k(p - 1) / 6)} for {@code k = 0..5}, the Frobenius coefficients of w^k. */
+  static final MontgomeryFq2[] FROBENIUS_COEFFICIENTS = frobeniusCoefficients(P);
+
+  /** {@code xi^(k(p^2 - 1) / 6)} for {@code k = 0..5}, the coefficients of the p^2 Frobenius. */
+  static final MontgomeryFq2[] FROBENIUS_SQUARED_COEFFICIENTS =
+      frobeniusCoefficients(P.multiply(P));
+
+  final MontgomeryFq6 c0 = new MontgomeryFq6();
+  final MontgomeryFq6 c1 = new MontgomeryFq6();
+
+  private final MontgomeryFq6 t0 = new MontgomeryFq6();
+  private final MontgomeryFq6 t1 = new MontgomeryFq6();
+  private final MontgomeryFq6 s = new MontgomeryFq6();
+  private final MontgomeryFq2 l = new MontgomeryFq2();
+
+  static MontgomeryFq12 one() {
+    return new MontgomeryFq12().setOne();
+  }
+
+  private static MontgomeryFq2[] frobeniusCoefficients(final BigInteger power) {
+    final MontgomeryFq2 xi = MontgomeryFq2.create(BigInteger.valueOf(9), BigInteger.ONE);
+    final BigInteger exponent = power.subtract(BigInteger.ONE).divide(BigInteger.valueOf(6));
+    final MontgomeryFq2[] coefficients = new MontgomeryFq2[6];
+    for (int k = 0; k < coefficients.length; k++) {
+      coefficients[k] = new MontgomeryFq2().pow(xi, exponent.multiply(BigInteger.valueOf(k)));
+    }
+    return coefficients;
+  }
+
+  MontgomeryFq12 copy() {
+    return new MontgomeryFq12().set(this);
+  }
+
+  MontgomeryFq12 set(final MontgomeryFq12 a) {
+    c0.set(a.c0);
+    c1.set(a.c1);
+    return this;
+  }
+
+  MontgomeryFq12 setOne() {
+    c0.setOne();
+    c1.setZero();
+    return this;
+  }
+
+  boolean isOne() {
+    return c0.isOne() && c1.isZero();
+  }
+
+  boolean isEqualTo(final MontgomeryFq12 a) {
+    return c0.isEqualTo(a.c0) && c1.isEqualTo(a.c1);
+  }
+
+  MontgomeryFq12 mul(final MontgomeryFq12 a, final MontgomeryFq12 b) {
+    t0.mul(a.c0, b.c0);
+    t1.mul(a.c1, b.c1);
+    s.add(b.c0, b.c1);
+    c1.add(a.c0, a.c1).mul(c1, s).sub(c1, t0).sub(c1, t1);
+    c0.mulByV(t1).add(c0, t0);
+    return this;
+  }
+
+  MontgomeryFq12 sqr(final MontgomeryFq12 a) {
+    t0.mul(a.c0, a.c1);
+    s.mulByV(a.c1).add(s, a.c0);
+    c0.add(a.c0, a.c1).mul(c0, s);
+    t1.mulByV(t0);
+    c0.sub(c0, t0).sub(c0, t1);
+    c1.dbl(t0);
+    return this;
+  }
+
+  /**
+   * Multiply by the sparse line value {@code l0 + l1 * w + l2 * v * w} produced by each step of the
+   * Miller loop.
+   */
+  MontgomeryFq12 mulByLine(
+      final MontgomeryFq12 a,
+      final MontgomeryFq2 l0,
+      final MontgomeryFq2 l1,
+      final MontgomeryFq2 l2) {
+    t0.mul(a.c0, l0);
+    t1.mulBy01(a.c1, l1, l2);
+    l.add(l0, l1);
+    c1.add(a.c0, a.c1).mulBy01(c1, l, l2).sub(c1, t0).sub(c1, t1);
+    c0.mulByV(t1).add(c0, t0);
+    return this;
+  }
+
+  /** The p^6 Frobenius, which is also the inverse of elements of the cyclotomic subgroup. */
+  MontgomeryFq12 conjugate(final MontgomeryFq12 a) {
+    c0.set(a.c0);
+    c1.neg(a.c1);
+    return this;
+  }
+
+  MontgomeryFq12 inverse(final MontgomeryFq12 a) {
+    t0.sqr(a.c0);
+    t1.sqr(a.c1).mulByV(t1);
+    t0.sub(t0, t1).inverse(t0);
+    c0.mul(a.c0, t0);
+    c1.mul(a.c1, t0).neg(c1);
+    return this;
+  }
+
+  MontgomeryFq12 frobenius(final MontgomeryFq12 a) {
+    final MontgomeryFq2[] k = FROBENIUS_COEFFICIENTS;
+    c0.c0.conjugate(a.c0.c0);
+    c0.c1.conjugate(a.c0.c1).mul(c0.c1, k[2]);
+    c0.c2.conjugate(a.c0.c2).mul(c0.c2, k[4]);
+    c1.c0.conjugate(a.c1.c0).mul(c1.c0, k[1]);
+    c1.c1.conjugate(a.c1.c1).mul(c1.c1, k[3]);
+    c1.c2.conjugate(a.c1.c2).mul(c1.c2, k[5]);
+    return this;
+  }
+
+  MontgomeryFq12 frobeniusSquared(final MontgomeryFq12 a) {
+    final MontgomeryFq2[] k = FROBENIUS_SQUARED_COEFFICIENTS;
+    c0.c0.set(a.c0.c0);
+    c0.c1.mul(a.c0.c1, k[2]);
+    c0.c2.mul(a.c0.c2, k[4]);
+    c1.c0.mul(a.c1.c0, k[1]);
+    c1.c1.mul(a.c1.c1, k[3]);
+    c1.c2.mul(a.c1.c2, k[5]);
+    return this;
+  }
+
+  MontgomeryFq12 pow(final MontgomeryFq12 a, final BigInteger exponent) {
+    final MontgomeryFq12 base = a.copy();
+    setOne();
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      sqr(this);
+      if (exponent.testBit(i)) {
+        mul(this, base);
+      }
+    }
+    return this;
+  }
+}
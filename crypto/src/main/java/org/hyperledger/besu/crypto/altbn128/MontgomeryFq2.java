@@ -0,0 +1,177 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * A mutable element {@code c0 + c1 * u} of the quadratic extension with {@code u^2 = -1}, over
+ * {@link MontgomeryFq} limbs.
+ *
+ * <p>Operations overwrite this element and return it. Operands may be this element itself; every
+ * operand is read before the result is written, using scratch limbs owned by this element.
+ */
+final class MontgomeryFq2 {
+
+  final long[] c0 = MontgomeryFq.create();
+  final long[] c1 = MontgomeryFq.create();
+
+  private final long[] t0 = MontgomeryFq.create();
+  private final long[] t1 = MontgomeryFq.create();
+  private final long[] t2 = MontgomeryFq.create();
+  private final long[] t3 = MontgomeryFq.create();
+
+  static MontgomeryFq2 create(final BigInteger c0, final BigInteger c1) {
+    final MontgomeryFq2 result = new MontgomeryFq2();
+    MontgomeryFq.set(result.c0, MontgomeryFq.create(c0));
+    MontgomeryFq.set(result.c1, MontgomeryFq.create(c1));
+    return result;
+  }
+
+  static MontgomeryFq2 one() {
+    return new MontgomeryFq2().setOne();
+  }
+
+  MontgomeryFq2 copy() {
+    return new MontgomeryFq2().set(this);
+  }
+
+  MontgomeryFq2 set(final MontgomeryFq2 a) {
+    MontgomeryFq.set(c0, a.c0);
+    MontgomeryFq.set(c1, a.c1);
+    return this;
+  }
+
+  MontgomeryFq2 setZero() {
+    MontgomeryFq.setZero(c0);
+    MontgomeryFq.setZero(c1);
+    return this;
+  }
+
+  MontgomeryFq2 setOne() {
+    MontgomeryFq.set(c0, MontgomeryFq.ONE);
+    MontgomeryFq.setZero(c1);
+    return this;
+  }
+
+  boolean isZero() {
+    return MontgomeryFq.isZero(c0) && MontgomeryFq.isZero(c1);
+  }
+
+  boolean isOne() {
+    return MontgomeryFq.equals(c0, MontgomeryFq.ONE) && MontgomeryFq.isZero(c1);
+  }
+
+  boolean isEqualTo(final MontgomeryFq2 a) {
+    return MontgomeryFq.equals(c0, a.c0) && MontgomeryFq.equals(c1, a.c1);
+  }
+
+  MontgomeryFq2 add(final MontgomeryFq2 a, final MontgomeryFq2 b) {
+    MontgomeryFq.add(c0, a.c0, b.c0);
+    MontgomeryFq.add(c1, a.c1, b.c1);
+    return this;
+  }
+
+  MontgomeryFq2 sub(final MontgomeryFq2 a, final MontgomeryFq2 b) {
+    MontgomeryFq.sub(c0, a.c0, b.c0);
+    MontgomeryFq.sub(c1, a.c1, b.c1);
+    return this;
+  }
+
+  MontgomeryFq2 dbl(final MontgomeryFq2 a) {
+    MontgomeryFq.dbl(c0, a.c0);
+    MontgomeryFq.dbl(c1, a.c1);
+    return this;
+  }
+
+  MontgomeryFq2 neg(final MontgomeryFq2 a) {
+    MontgomeryFq.neg(c0, a.c0);
+    MontgomeryFq.neg(c1, a.c1);
+    return this;
+  }
+
+  MontgomeryFq2 conjugate(final MontgomeryFq2 a) {
+    MontgomeryFq.set(c0, a.c0);
+    MontgomeryFq.neg(c1, a.c1);
+    return this;
+  }
+
+  MontgomeryFq2 mul(final MontgomeryFq2 a, final MontgomeryFq2 b) {
+    MontgomeryFq.mul(t0, a.c0, b.c0);
+    MontgomeryFq.mul(t1, a.c1, b.c1);
+    MontgomeryFq.add(t2, a.c0, a.c1);
+    MontgomeryFq.add(t3, b.c0, b.c1);
+    MontgomeryFq.mul(t2, t2, t3);
+    MontgomeryFq.sub(t2, t2, t0);
+    MontgomeryFq.sub(c1, t2, t1);
+    MontgomeryFq.sub(c0, t0, t1);
+    return this;
+  }
+
+  MontgomeryFq2 sqr(final MontgomeryFq2 a) {
+    MontgomeryFq.add(t0, a.c0, a.c1);
+    MontgomeryFq.sub(t1, a.c0, a.c1);
+    MontgomeryFq.mul(t2, a.c0, a.c1);
+    MontgomeryFq.mul(c0, t0, t1);
+    MontgomeryFq.dbl(c1, t2);
+    return this;
+  }
+
+  /** Multiply by an element of the base field. */
+  MontgomeryFq2 mul(final MontgomeryFq2 a, final long[] b) {
+    MontgomeryFq.mul(c0, a.c0, b);
+    MontgomeryFq.mul(c1, a.c1, b);
+    return this;
+  }
+
+  /** Multiply by the non residue {@code 9 + u} defining the sextic twist. */
+  MontgomeryFq2 mulByNonResidue(final MontgomeryFq2 a) {
+    MontgomeryFq.dbl(t0, a.c0);
+    MontgomeryFq.dbl(t0, t0);
+    MontgomeryFq.dbl(t0, t0);
+    MontgomeryFq.add(t0, t0, a.c0);
+    MontgomeryFq.sub(t0, t0, a.c1);
+    MontgomeryFq.dbl(t1, a.c1);
+    MontgomeryFq.dbl(t1, t1);
+    MontgomeryFq.dbl(t1, t1);
+    MontgomeryFq.add(t1, t1, a.c1);
+    MontgomeryFq.add(c1, t1, a.c0);
+    MontgomeryFq.set(c0, t0);
+    return this;
+  }
+
+  MontgomeryFq2 inverse(final MontgomeryFq2 a) {
+    MontgomeryFq.sqr(t0, a.c0);
+    MontgomeryFq.sqr(t1, a.c1);
+    MontgomeryFq.add(t0, t0, t1);
+    MontgomeryFq.inverse(t0, t0);
+    MontgomeryFq.mul(c0, a.c0, t0);
+    MontgomeryFq.mul(c1, a.c1, t0);
+    MontgomeryFq.neg(c1, c1);
+    return this;
+  }
+
+  MontgomeryFq2 pow(final MontgomeryFq2 a, final BigInteger exponent) {
+    final MontgomeryFq2 base = a.copy();
+    setOne();
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      sqr(this);
+      if (exponent.testBit(i)) {
+        mul(this, base);
+      }
+    }
+    return this;
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+/**
+ * A mutable element {@code c0 + c1 * v + c2 * v^2} of the cubic extension of {@link MontgomeryFq2}
+ * with {@code v^3 = 9 + u}.
+ *
+ * <p>Like {@link MontgomeryFq2}, operations overwrite this element, may be given this element as an
+ * operand, and only use scratch space owned by this element.
+ */
+final class MontgomeryFq6 {
+
+  final MontgomeryFq2 c0 = new MontgomeryFq2();
+  final MontgomeryFq2 c1 = new MontgomeryFq2();
+  final MontgomeryFq2 c2 = new MontgomeryFq2();
+
+  private final MontgomeryFq2 v0 = new MontgomeryFq2();
+  private final MontgomeryFq2 v1 = new MontgomeryFq2();
+  private final MontgomeryFq2 v2 = new MontgomeryFq2();
+  private final MontgomeryFq2 t0 = new MontgomeryFq2();
+  private final MontgomeryFq2 t1 = new MontgomeryFq2();
+  private final MontgomeryFq2 t2 = new MontgomeryFq2();
+  private final MontgomeryFq2 s = new MontgomeryFq2();
+
+  MontgomeryFq6 set(final MontgomeryFq6 a) {
+    c0.set(a.c0);
+    c1.set(a.c1);
+    c2.set(a.c2);
+    return this;
+  }
+
+  MontgomeryFq6 setZero() {
+    c0.setZero();
+    c1.setZero();
+    c2.setZero();
+    return this;
+  }
+
+  MontgomeryFq6 setOne() {
+    c0.setOne();
+    c1.setZero();
+    c2.setZero();
+    return this;
+  }
+
+  boolean isZero() {
+    return c0.isZero() && c1.isZero() && c2.isZero();
+  }
+
+  boolean isOne() {
+    return c0.isOne() && c1.isZero() && c2.isZero();
+  }
+
+  boolean isEqualTo(final MontgomeryFq6 a) {
+    return c0.isEqualTo(a.c0) && c1.isEqualTo(a.c1) && c2.isEqualTo(a.c2);
+  }
+
+  MontgomeryFq6 add(final MontgomeryFq6 a, final MontgomeryFq6 b) {
+    c0.add(a.c0, b.c0);
+    c1.add(a.c1, b.c1);
+    c2.add(a.c2, b.c2);
+    return this;
+  }
+
+  MontgomeryFq6 sub(final MontgomeryFq6 a, final MontgomeryFq6 b) {
+    c0.sub(a.c0, b.c0);
+    c1.sub(a.c1, b.c1);
+    c2.sub(a.c2, b.c2);
+    return this;
+  }
+
+  MontgomeryFq6 dbl(final MontgomeryFq6 a) {
+    c0.dbl(a.c0);
+    c1.dbl(a.c1);
+    c2.dbl(a.c2);
+    return this;
+  }
+
+  MontgomeryFq6 neg(final MontgomeryFq6 a) {
+    c0.neg(a.c0);
+    c1.neg(a.c1);
+    c2.neg(a.c2);
+    return this;
+  }
+
+  MontgomeryFq6 mul(final MontgomeryFq6 a, final MontgomeryFq6 b) {
+    v0.mul(a.c0, b.c0);
+    v1.mul(a.c1, b.c1);
+    v2.mul(a.c2, b.c2);
+
+    t0.add(a.c1, a.c2);
+    s.add(b.c1, b.c2);
+    t0.mul(t0, s).sub(t0, v1).sub(t0, v2).mulByNonResidue(t0).add(t0, v0);
+
+    t1.add(a.c0, a.c1);
+    s.add(b.c0, b.c1);
+    t1.mul(t1, s).sub(t1, v0).sub(t1, v1);
+    s.mulByNonResidue(v2);
+    t1.add(t1, s);
+
+    t2.add(a.c0, a.c2);
+    s.add(b.c0, b.c2);
+    t2.mul(t2, s).sub(t2, v0).sub(t2, v2).add(t2, v1);
+
+    c0.set(t0);
+    c1.set(t1);
+    c2.set(t2);
+    return this;
+  }
+
+  MontgomeryFq6 sqr(final MontgomeryFq6 a) {
+    return mul(a, a);
+  }
+
+  /** Multiply by an element of the quadratic extension. */
+  MontgomeryFq6 mul(final MontgomeryFq6 a, final MontgomeryFq2 b) {
+    c0.mul(a.c0, b);
+    c1.mul(a.c1, b);
+    c2.mul(a.c2, b);
+    return this;
+  }
+
+  /** Multiply by the sparse element {@code b0 + b1 * v}. */
+  MontgomeryFq6 mulBy01(final MontgomeryFq6 a, final MontgomeryFq2 b0, final MontgomeryFq2 b1) {
+    v0.mul(a.c0, b0);
+    v1.mul(a.c1, b1);
+
+    t0.mul(a.c2, b1).mulByNonResidue(t0).add(t0, v0);
+
+    t1.add(a.c0, a.c1);
+    s.add(b0, b1);
+    t1.mul(t1, s).sub(t1, v0).sub(t1, v1);
+
+    t2.mul(a.c2, b0).add(t2, v1);
+
+    c0.set(t0);
+    c1.set(t1);
+    c2.set(t2);
+    return this;
+  }
+
+  /** Multiply by {@code v}, which rotates the coefficients through the non residue. */
+  MontgomeryFq6 mulByV(final MontgomeryFq6 a) {
+    t0.mulByNonResidue(a.c2);
+    c2.set(a.c1);
+    c1.set(a.c0);
+    c0.set(t0);
+    return this;
+  }
+
+  MontgomeryFq6 inverse(final MontgomeryFq6 a) {
+    // t0 = c0^2 - xi * c1 * c2
+    t0.sqr(a.c0);
+    s.mul(a.c1, a.c2).mulByNonResidue(s);
+    t0.sub(t0, s);
+    // t1 = xi * c2^2 - c0 * c1
+    t1.sqr(a.c2).mulByNonResidue(t1);
+    s.mul(a.c0, a.c1);
+    t1.sub(t1, s);
+    // t2 = c1^2 - c0 * c2
+    t2.sqr(a.c1);
+    s.mul(a.c0, a.c2);
+    t2.sub(t2, s);
+    // determinant = c0 * t0 + xi * (c2 * t1 + c1 * t2)
+    v0.mul(a.c2, t1);
+    v1.mul(a.c1, t2);
+    v0.add(v0, v1).mulByNonResidue(v0);
+    v1.mul(a.c0, t0);
+    v0.add(v0, v1).inverse(v0);
+
+    c0.mul(t0, v0);
+    c1.mul(t1, v0);
+    c2.mul(t2, v0);
+    return this;
+  }
+}
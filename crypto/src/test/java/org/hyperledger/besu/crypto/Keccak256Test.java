@@ -0,0 +1,59 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.junit.Test;
+
+public class Keccak256Test {
+
+  private static byte[] expected(final byte[] input) {
+    return new Keccak.Digest256().digest(input);
+  }
+
+  @Test
+  public void matchesBouncyCastleAcrossBlockBoundaries() {
+    final Random random = new Random(42);
+    for (int size = 0; size <= 3 * 136 + 1; size++) {
+      final byte[] input = new byte[size];
+      random.nextBytes(input);
+      final byte[] output = new byte[Keccak256.DIGEST_SIZE];
+      Keccak256.digestJava(input, output);
+
+      assertThat(output).describedAs("input of %s bytes", size).isEqualTo(expected(input));
+    }
+  }
+
+  @Test
+  public void hashesEmptyInput() {
+    assertThat(Bytes.wrap(Keccak256.digest(Bytes.EMPTY)))
+        .isEqualTo(
+            Bytes.fromHexString(
+                "0xc5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470"));
+  }
+
+  @Test
+  public void hashesSlicesOfLargerValues() {
+    final Bytes value = Bytes.random(100);
+    final Bytes slice = value.slice(7, 64);
+
+    assertThat(Keccak256.digest(slice)).isEqualTo(expected(slice.toArray()));
+  }
+}
@@ -25,6 +25,9 @@ import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -83,6 +86,32 @@ public class SECP256K1Test {
     assertThat(recoveredPublicKey.toString()).isEqualTo(keyPair.getPublicKey().toString());
   }
 
+  @Test
+  public void recoverPublicKeysFromSignatures() {
+    final SECP256K1 javaSecp256K1 = new SECP256K1();
+    javaSecp256K1.disableNative();
+    final List<KeyPair> keyPairs = new ArrayList<>();
+    final List<Bytes32> dataHashes = new ArrayList<>();
+    final List<SECPSignature> signatures = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      final KeyPair keyPair = secp256K1.generateKeyPair();
+      final Bytes32 dataHash = keccak256(Bytes.of(i));
+      keyPairs.add(keyPair);
+      dataHashes.add(dataHash);
+      signatures.add(secp256K1.sign(dataHash, keyPair));
+    }
+
+    for (final SignatureAlgorithm algorithm : List.of(secp256K1, javaSecp256K1)) {
+      final List<Optional<SECPPublicKey>> publicKeys =
+          algorithm.recoverPublicKeysFromSignatures(dataHashes, signatures);
+
+      assertThat(publicKeys).hasSize(keyPairs.size());
+      for (int i = 0; i < keyPairs.size(); i++) {
+        assertThat(publicKeys.get(i)).contains(keyPairs.get(i).getPublicKey());
+      }
+    }
+  }
+
   @Test
   public void signatureGeneration() {
     final SECPPrivateKey privateKey =
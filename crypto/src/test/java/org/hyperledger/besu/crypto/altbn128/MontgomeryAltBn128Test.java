@@ -0,0 +1,202 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Test;
+
+public class MontgomeryAltBn128Test {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void fieldArithmeticMatchesBigInteger() {
+    for (int i = 0; i < 1000; i++) {
+      final BigInteger a = randomFieldElement();
+      final BigInteger b = i == 0 ? P.subtract(BigInteger.ONE) : randomFieldElement();
+      final long[] x = MontgomeryFq.create(a);
+      final long[] y = MontgomeryFq.create(b);
+      final long[] out = MontgomeryFq.create();
+
+      MontgomeryFq.mul(out, x, y);
+      assertThat(MontgomeryFq.toBigInteger(out)).isEqualTo(a.multiply(b).mod(P));
+      MontgomeryFq.add(out, x, y);
+      assertThat(MontgomeryFq.toBigInteger(out)).isEqualTo(a.add(b).mod(P));
+      MontgomeryFq.sub(out, x, y);
+      assertThat(MontgomeryFq.toBigInteger(out)).isEqualTo(a.subtract(b).mod(P));
+      MontgomeryFq.neg(out, x);
+      assertThat(MontgomeryFq.toBigInteger(out)).isEqualTo(a.negate().mod(P));
+      if (a.signum() != 0) {
+        MontgomeryFq.inverse(out, x);
+        assertThat(MontgomeryFq.toBigInteger(out)).isEqualTo(a.modInverse(P));
+      }
+    }
+  }
+
+  @Test
+  public void fieldElementsRoundTripThroughBytes() {
+    final BigInteger a = randomFieldElement();
+    final byte[] encoded =
+        Bytes32.leftPad(Bytes.wrap(a.toByteArray()).trimLeadingZeros()).toArray();
+    final long[] x = MontgomeryFq.create();
+
+    assertThat(MontgomeryFq.fromBytes(x, encoded, 0)).isTrue();
+    assertThat(MontgomeryFq.toBigInteger(x)).isEqualTo(a);
+    final byte[] out = new byte[32];
+    MontgomeryFq.toBytes(x, out, 0);
+    assertThat(out).isEqualTo(encoded);
+    assertThat(MontgomeryFq.fromBytes(x, encode(P).toArray(), 0)).isFalse();
+  }
+
+  @Test
+  public void addMatchesReferenceImplementation() {
+    final AltBn128Point p1 = AltBn128Point.g1().multiply(BigInteger.valueOf(1234));
+    final AltBn128Point p2 = AltBn128Point.g1().multiply(BigInteger.valueOf(5678));
+
+    assertThat(MontgomeryAltBn128.add(Bytes.concatenate(encode(p1), encode(p2))))
+        .isEqualTo(encode(p1.add(p2)));
+    assertThat(MontgomeryAltBn128.add(Bytes.concatenate(encode(p1), encode(p1))))
+        .isEqualTo(encode(p1.doub()));
+    assertThat(MontgomeryAltBn128.add(Bytes.concatenate(encode(p1), encode(p1.negate()))))
+        .isEqualTo(Bytes.wrap(new byte[64]));
+    assertThat(MontgomeryAltBn128.add(encode(p1))).isEqualTo(encode(p1));
+    assertThat(MontgomeryAltBn128.add(Bytes.EMPTY)).isEqualTo(Bytes.wrap(new byte[64]));
+  }
+
+  @Test
+  public void multiplyMatchesReferenceImplementation() {
+    final AltBn128Point p = AltBn128Point.g1().multiply(BigInteger.valueOf(99));
+    for (final BigInteger n :
+        new BigInteger[] {
+          BigInteger.ZERO,
+          BigInteger.ONE,
+          BigInteger.TWO,
+          new BigInteger(256, random),
+          CURVE_ORDER,
+          CURVE_ORDER.add(BigInteger.ONE)
+        }) {
+      assertThat(MontgomeryAltBn128.multiply(Bytes.concatenate(encode(p), encode(n))))
+          .isEqualTo(encode(p.multiply(n)));
+    }
+  }
+
+  @Test
+  public void rejectsPointsNotOnTheCurve() {
+    final Bytes notOnCurve = Bytes.concatenate(encode(BigInteger.ONE), encode(BigInteger.ONE));
+    assertThatThrownBy(() -> MontgomeryAltBn128.add(notOnCurve))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MontgomeryAltBn128.multiply(notOnCurve))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void finalExponentiationRaisesToTheFullExponent() {
+    final MontgomeryFq12 f = new MontgomeryFq12();
+    for (final MontgomeryFq6 c : new MontgomeryFq6[] {f.c0, f.c1}) {
+      for (final MontgomeryFq2 coefficient : new MontgomeryFq2[] {c.c0, c.c1, c.c2}) {
+        coefficient.set(MontgomeryFq2.create(randomFieldElement(), randomFieldElement()));
+      }
+    }
+    final BigInteger exponent = P.pow(12).subtract(BigInteger.ONE).divide(CURVE_ORDER);
+
+    assertThat(MontgomeryAltBn128Pairing.finalExponentiation(f))
+        .matches(result -> result.isEqualTo(new MontgomeryFq12().pow(f, exponent)));
+  }
+
+  @Test
+  public void pairingIsBilinear() {
+    final BigInteger a = BigInteger.valueOf(37);
+    final BigInteger b = BigInteger.valueOf(101);
+    final Bytes input =
+        Bytes.concatenate(
+            encode(AltBn128Point.g1().multiply(a)),
+            encode(AltBn128Fq2Point.g2().multiply(b)),
+            encode(AltBn128Point.g1().multiply(a.multiply(b)).negate()),
+            encode(AltBn128Fq2Point.g2()));
+
+    assertThat(MontgomeryAltBn128.pairingCheck(input)).isTrue();
+    assertThat(MontgomeryAltBn128.pairingCheck(input.slice(0, MontgomeryAltBn128.PAIR_SIZE)))
+        .isFalse();
+  }
+
+  @Test
+  public void pairingIgnoresPointsAtInfinity() {
+    final Bytes g1 = encode(AltBn128Point.g1());
+    final Bytes g2 = encode(AltBn128Fq2Point.g2());
+
+    assertThat(MontgomeryAltBn128.pairingCheck(Bytes.EMPTY)).isTrue();
+    assertThat(MontgomeryAltBn128.pairingCheck(Bytes.concatenate(Bytes.wrap(new byte[64]), g2)))
+        .isTrue();
+    assertThat(MontgomeryAltBn128.pairingCheck(Bytes.concatenate(g1, Bytes.wrap(new byte[128]))))
+        .isTrue();
+  }
+
+  @Test
+  public void pairingRejectsPointsOutsideG2() {
+    final Bytes outsideSubgroup =
+        Bytes.fromHexString(
+            "0x1382cd45e5674247f9c900b5c6f6cabbc189c2fabe2df0bf5acd84c97818f508"
+                + "1246178655ab8f2f26956b189894b7eb93cd4215b9937e7969e44305f80f521e"
+                + "08331c0a261a74e7e75db1232956663cbc88110f726159c5cba1857ecd03fa64"
+                + "1fbf8045ce3e79b5cde4112d38bcd0efbdb1295d2eefdf58151ae309d7ded7db");
+    final Bytes notOnTwist = Bytes.concatenate(encode(BigInteger.ONE), Bytes.wrap(new byte[96]));
+
+    assertThatThrownBy(
+            () ->
+                MontgomeryAltBn128.pairingCheck(
+                    Bytes.concatenate(encode(AltBn128Point.g1()), outsideSubgroup)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                MontgomeryAltBn128.pairingCheck(
+                    Bytes.concatenate(encode(AltBn128Point.g1()), notOnTwist)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private BigInteger randomFieldElement() {
+    return new BigInteger(256, random).mod(P);
+  }
+
+  private static Bytes encode(final BigInteger value) {
+    return Bytes32.leftPad(Bytes.wrap(value.toByteArray()).trimLeadingZeros());
+  }
+
+  private static Bytes encode(final Fq value) {
+    // the reference negation leaves values unreduced
+    return Bytes32.leftPad(Fq.zero().add(value).toBytes());
+  }
+
+  private static Bytes encode(final AltBn128Point point) {
+    return Bytes.concatenate(encode(point.getX()), encode(point.getY()));
+  }
+
+  private static Bytes encode(final AltBn128Fq2Point point) {
+    final Fq[] x = point.getX().getCoefficients();
+    final Fq[] y = point.getY().getCoefficients();
+    return Bytes.concatenate(encode(x[1]), encode(x[0]), encode(y[1]), encode(y[0]));
+  }
+}
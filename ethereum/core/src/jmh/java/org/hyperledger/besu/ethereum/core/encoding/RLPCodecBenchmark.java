@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding;
+
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.ByteArrayRLPInput;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.ethereum.rlp.StreamingRLPOutput;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class RLPCodecBenchmark {
+
+  @Param({"header", "transaction", "receipt"})
+  public String value;
+
+  private Consumer<RLPOutput> writer;
+  private Function<RLPInput, ?> reader;
+  private Bytes encoded;
+  private byte[] encodedArray;
+
+  @Setup
+  public void prepare() {
+    final BlockDataGenerator generator = new BlockDataGenerator(1);
+    switch (value) {
+      case "header":
+        final BlockHeader header = generator.header();
+        writer = header::writeTo;
+        reader = in -> BlockHeader.readFrom(in, new MainnetBlockHeaderFunctions());
+        break;
+      case "transaction":
+        final Transaction transaction = generator.transaction();
+        writer = out -> TransactionEncoder.encodeForWire(transaction, out);
+        reader = TransactionDecoder::decodeForWire;
+        break;
+      case "receipt":
+        final TransactionReceipt receipt = generator.receipt();
+        writer = receipt::writeToWithRevertReason;
+        reader = TransactionReceipt::readFrom;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown value " + value);
+    }
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    writer.accept(out);
+    encoded = out.encoded();
+    encodedArray = encoded.toArray();
+  }
+
+  @Benchmark
+  public Bytes encodeWithBytesValueOutput() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    writer.accept(out);
+    return out.encoded();
+  }
+
+  @Benchmark
+  public Bytes encodeWithStreamingOutput() {
+    return StreamingRLPOutput.encode(writer);
+  }
+
+  @Benchmark
+  public Object decodeWithBytesValueInput() {
+    return reader.apply(new BytesValueRLPInput(encoded, false));
+  }
+
+  @Benchmark
+  public Object decodeWithByteArrayInput() {
+    return reader.apply(new ByteArrayRLPInput(encodedArray, false));
+  }
+}
@@ -29,6 +29,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,16 +44,19 @@ public abstract class AbstractTrieLogManager<T extends MutableWorldState>
 
   protected final Map<Bytes32, CachedWorldState<T>> cachedWorldStatesByHash;
   protected final long maxLayersToLoad;
+  private final boolean compactTrieLogs;
 
   AbstractTrieLogManager(
       final Blockchain blockchain,
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final long maxLayersToLoad,
-      final Map<Bytes32, CachedWorldState<T>> cachedWorldStatesByHash) {
+      final Map<Bytes32, CachedWorldState<T>> cachedWorldStatesByHash,
+      final boolean compactTrieLogs) {
     this.blockchain = blockchain;
     this.rootWorldStateStorage = worldStateStorage;
     this.cachedWorldStatesByHash = cachedWorldStatesByHash;
     this.maxLayersToLoad = maxLayersToLoad;
+    this.compactTrieLogs = compactTrieLogs;
   }
 
   @Override
@@ -144,11 +148,17 @@ public abstract class AbstractTrieLogManager<T extends MutableWorldState>
         "Persisting trie log for block hash {} and world state root {}",
         blockHeader::toLogString,
         worldStateRootHash::toHexString);
-    final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
-    trieLog.writeTo(rlpLog);
+    final Bytes encodedLog;
+    if (compactTrieLogs) {
+      encodedLog = CompactTrieLogEncoding.encode(trieLog);
+    } else {
+      final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
+      trieLog.writeTo(rlpLog);
+      encodedLog = rlpLog.encoded();
+    }
     stateUpdater
         .getTrieLogStorageTransaction()
-        .put(blockHeader.getHash().toArrayUnsafe(), rlpLog.encoded().toArrayUnsafe());
+        .put(blockHeader.getHash().toArrayUnsafe(), encodedLog.toArrayUnsafe());
   }
 
   @Override
@@ -81,7 +81,7 @@ public class BonsaiAccount implements MutableAccount, EvmAccount {
     this(
         context,
         address,
-        Hash.hash(address),
+        BonsaiHashCache.hashAddress(address),
         stateTrieAccount.getNonce(),
         stateTrieAccount.getBalance(),
         stateTrieAccount.getStorageRoot(),
@@ -138,7 +138,14 @@ public class BonsaiAccount implements MutableAccount, EvmAccount {
     in.leaveList();
 
     return new BonsaiAccount(
-        context, address, Hash.hash(address), nonce, balance, storageRoot, codeHash, mutable);
+        context,
+        address,
+        BonsaiHashCache.hashAddress(address),
+        nonce,
+        balance,
+        storageRoot,
+        codeHash,
+        mutable);
   }
 
   @Override
@@ -216,7 +223,7 @@ public class BonsaiAccount implements MutableAccount, EvmAccount {
   @Override
   public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
       final Bytes32 startKeyHash, final int limit) {
-    throw new RuntimeException("Bonsai Tries does not currently support enumerating storage");
+    return context.storageEntriesFrom(addressHash, startKeyHash, limit);
   }
 
   Bytes serializeAccount() {
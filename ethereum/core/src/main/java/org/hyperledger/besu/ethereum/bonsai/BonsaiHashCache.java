@@ -0,0 +1,59 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.prometheus.client.guava.cache.CacheMetricsCollector;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Caches the keccak-256 hashes of account addresses and storage slot keys, which Bonsai recomputes
+ * for every read and write of the same hot accounts and slots. Hashes do not depend on the world
+ * state, so a single cache is shared by every Bonsai world state.
+ */
+public final class BonsaiHashCache {
+
+  private static final LoadingCache<Address, Hash> ADDRESS_HASHES =
+      CacheBuilder.newBuilder()
+          .recordStats()
+          .maximumSize(100_000)
+          .build(CacheLoader.from(Hash::hash));
+
+  private static final LoadingCache<UInt256, Hash> SLOT_HASHES =
+      CacheBuilder.newBuilder()
+          .recordStats()
+          .maximumSize(200_000)
+          .build(CacheLoader.from(Hash::hash));
+
+  private BonsaiHashCache() {}
+
+  public static Hash hashAddress(final Address address) {
+    return ADDRESS_HASHES.getUnchecked(address);
+  }
+
+  public static Hash hashSlotKey(final UInt256 slotKey) {
+    return SLOT_HASHES.getUnchecked(slotKey);
+  }
+
+  static void addTo(final CacheMetricsCollector cacheMetrics) {
+    cacheMetrics.addCache("addressHashes", ADDRESS_HASHES);
+    cacheMetrics.addCache("slotHashes", SLOT_HASHES);
+  }
+}
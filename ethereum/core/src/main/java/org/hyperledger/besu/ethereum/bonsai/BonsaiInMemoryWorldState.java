@@ -81,11 +81,11 @@ public class BonsaiInMemoryWorldState extends BonsaiPersistedWorldState
     // now add the accounts
     for (final Map.Entry<Address, BonsaiValue<BonsaiAccount>> accountUpdate :
         worldStateUpdater.getAccountsToUpdate().entrySet()) {
-      final Bytes accountKey = accountUpdate.getKey();
+      final Address accountKey = accountUpdate.getKey();
       final BonsaiValue<BonsaiAccount> bonsaiValue = accountUpdate.getValue();
       final BonsaiAccount updatedAccount = bonsaiValue.getUpdated();
       if (updatedAccount == null) {
-        final Hash addressHash = Hash.hash(accountKey);
+        final Hash addressHash = BonsaiHashCache.hashAddress(accountKey);
         accountTrie.remove(addressHash);
       } else {
         final Hash addressHash = updatedAccount.getAddressHash();
@@ -104,7 +104,7 @@ public class BonsaiInMemoryWorldState extends BonsaiPersistedWorldState
       final Map.Entry<Address, BonsaiWorldStateUpdater.StorageConsumingMap<BonsaiValue<UInt256>>>
           storageAccountUpdate) {
     final Address updatedAddress = storageAccountUpdate.getKey();
-    final Hash updatedAddressHash = Hash.hash(updatedAddress);
+    final Hash updatedAddressHash = BonsaiHashCache.hashAddress(updatedAddress);
     if (worldStateUpdater.getAccountsToUpdate().containsKey(updatedAddress)) {
       final BonsaiValue<BonsaiAccount> accountValue =
           worldStateUpdater.getAccountsToUpdate().get(updatedAddress);
@@ -129,7 +129,8 @@ public class BonsaiLayeredWorldState implements MutableWorldState, BonsaiWorldVi
 
   @Override
   public UInt256 getStorageValue(final Address address, final UInt256 key) {
-    return getStorageValueBySlotHash(address, Hash.hash(key)).orElse(UInt256.ZERO);
+    return getStorageValueBySlotHash(address, BonsaiHashCache.hashSlotKey(key))
+        .orElse(UInt256.ZERO);
   }
 
   @Override
@@ -23,17 +23,26 @@ import static org.hyperledger.besu.util.Slf4jLambdaHelper.debugLambda;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.NodeUpdater;
+import org.hyperledger.besu.ethereum.trie.ParallelCommitVisitor;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.ethereum.worldstate.WorldStatePreimageStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.account.AccountStorageEntry;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -99,7 +108,7 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
 
   @Override
   public Optional<Bytes> getCode(@Nonnull final Address address) {
-    return worldStateStorage.getCode(null, Hash.hash(address));
+    return worldStateStorage.getCode(null, BonsaiHashCache.hashAddress(address));
   }
 
   public void setArchiveStateUnSafe(final BlockHeader blockHeader) {
@@ -140,9 +149,10 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
 
     // TODO write to a cache and then generate a layer update from that and the
     // DB tx updates.  Right now it is just DB updates.
-    accountTrie.commit(
+    final NodeUpdater nodeUpdater =
         (location, hash, value) ->
-            writeTrieNode(stateUpdater.getTrieBranchStorageTransaction(), location, value));
+            writeTrieNode(stateUpdater.getTrieBranchStorageTransaction(), location, value);
+    accountTrie.commit(nodeUpdater, new ParallelCommitVisitor<>(nodeUpdater));
     final Bytes32 rootHash = accountTrie.getRootHash();
     return Hash.wrap(rootHash);
   }
@@ -153,17 +163,17 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
       final StoredMerklePatriciaTrie<Bytes, Bytes> accountTrie) {
     for (final Map.Entry<Address, BonsaiValue<BonsaiAccount>> accountUpdate :
         worldStateUpdater.getAccountsToUpdate().entrySet()) {
-      final Bytes accountKey = accountUpdate.getKey();
+      final Address accountKey = accountUpdate.getKey();
       final BonsaiValue<BonsaiAccount> bonsaiValue = accountUpdate.getValue();
       final BonsaiAccount updatedAccount = bonsaiValue.getUpdated();
       if (updatedAccount == null) {
-        final Hash addressHash = Hash.hash(accountKey);
+        final Hash addressHash = BonsaiHashCache.hashAddress(accountKey);
         accountTrie.remove(addressHash);
         stateUpdater.removeAccountInfoState(addressHash);
       } else {
         final Hash addressHash = updatedAccount.getAddressHash();
         final Bytes accountValue = updatedAccount.serializeAccount();
-        stateUpdater.putAccountInfoState(Hash.hash(accountKey), accountValue);
+        stateUpdater.putAccountInfoState(addressHash, accountValue);
         accountTrie.put(addressHash, accountValue);
       }
     }
@@ -175,7 +185,7 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
     for (final Map.Entry<Address, BonsaiValue<Bytes>> codeUpdate :
         worldStateUpdater.getCodeToUpdate().entrySet()) {
       final Bytes updatedCode = codeUpdate.getValue().getUpdated();
-      final Hash accountHash = Hash.hash(codeUpdate.getKey());
+      final Hash accountHash = BonsaiHashCache.hashAddress(codeUpdate.getKey());
       if (updatedCode == null || updatedCode.size() == 0) {
         stateUpdater.removeCode(accountHash);
       } else {
@@ -190,7 +200,7 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
     for (final Map.Entry<Address, BonsaiWorldStateUpdater.StorageConsumingMap<BonsaiValue<UInt256>>>
         storageAccountUpdate : worldStateUpdater.getStorageToUpdate().entrySet()) {
       final Address updatedAddress = storageAccountUpdate.getKey();
-      final Hash updatedAddressHash = Hash.hash(updatedAddress);
+      final Hash updatedAddressHash = BonsaiHashCache.hashAddress(updatedAddress);
       if (worldStateUpdater.getAccountsToUpdate().containsKey(updatedAddress)) {
         final BonsaiValue<BonsaiAccount> accountValue =
             worldStateUpdater.getAccountsToUpdate().get(updatedAddress);
@@ -243,7 +253,7 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
       // because we are clearing persisted values we need the account root as persisted
       final BonsaiAccount oldAccount =
           worldStateStorage
-              .getAccount(Hash.hash(address))
+              .getAccount(BonsaiHashCache.hashAddress(address))
               .map(bytes -> fromRLP(BonsaiPersistedWorldState.this, address, bytes, true))
               .orElse(null);
       if (oldAccount == null) {
@@ -251,7 +261,7 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
         // block.  A not-uncommon DeFi bot pattern.
         continue;
       }
-      final Hash addressHash = Hash.hash(address);
+      final Hash addressHash = BonsaiHashCache.hashAddress(address);
       final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
           new StoredMerklePatriciaTrie<>(
               (location, key) -> getStorageTrieNode(addressHash, location, key),
@@ -263,7 +273,9 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
         entriesToDelete
             .keySet()
             .forEach(
-                k -> stateUpdater.removeStorageValueBySlotHash(Hash.hash(address), Hash.wrap(k)));
+                k ->
+                    stateUpdater.removeStorageValueBySlotHash(
+                        BonsaiHashCache.hashAddress(address), Hash.wrap(k)));
         entriesToDelete.keySet().forEach(storageTrie::remove);
         if (entriesToDelete.size() == 256) {
           entriesToDelete = storageTrie.entriesFrom(Bytes32.ZERO, 256);
@@ -320,6 +332,7 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
     } finally {
       if (success) {
         stateUpdater.commit();
+        persistPreimages(localUpdater);
         updater.reset();
         saveTrieLog.run();
       } else {
@@ -329,6 +342,20 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
     }
   }
 
+  private void persistPreimages(final BonsaiWorldStateUpdater localUpdater) {
+    final WorldStatePreimageStorage.Updater preimageUpdater =
+        worldStateStorage.getPreimageStorage().updater();
+    localUpdater
+        .getAccountsToUpdate()
+        .keySet()
+        .forEach(
+            address ->
+                preimageUpdater.putAccountTrieKeyPreimage(
+                    BonsaiHashCache.hashAddress(address), address));
+    localUpdater.getStorageKeyPreimages().forEach(preimageUpdater::putStorageTrieKeyPreimage);
+    preimageUpdater.commit();
+  }
+
   @Override
   public WorldUpdater updater() {
     return updater;
@@ -376,13 +403,44 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
 
   @Override
   public Stream<StreamableAccount> streamAccounts(final Bytes32 startKeyHash, final int limit) {
-    throw new RuntimeException("Bonsai Tries do not provide account streaming.");
+    // The flat database is keyed by account hash, addresses are only known from the preimages
+    final WorldStatePreimageStorage preimageStorage = worldStateStorage.getPreimageStorage();
+    return worldStateStorage.streamFlatAccounts(startKeyHash, limit).entrySet().stream()
+        .map(
+            entry -> {
+              final Optional<Address> address =
+                  preimageStorage.getAccountTrieKeyPreimage(entry.getKey());
+              final FlatAccount account =
+                  new FlatAccount(
+                      address.orElse(Address.ZERO),
+                      Hash.wrap(entry.getKey()),
+                      StateTrieAccountValue.readFrom(RLP.input(entry.getValue())));
+              return new StreamableAccount(address, account);
+            });
+  }
+
+  @Override
+  public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
+      final Hash addressHash, final Bytes32 startKeyHash, final int limit) {
+    final WorldStatePreimageStorage preimageStorage = worldStateStorage.getPreimageStorage();
+    final NavigableMap<Bytes32, AccountStorageEntry> entries = new TreeMap<>();
+    worldStateStorage
+        .streamFlatStorages(addressHash, startKeyHash, limit)
+        .forEach(
+            (slotHash, value) ->
+                entries.put(
+                    slotHash,
+                    AccountStorageEntry.create(
+                        UInt256.fromBytes(value),
+                        slotHash,
+                        preimageStorage.getStorageTrieKeyPreimage(slotHash))));
+    return entries;
   }
 
   @Override
   public Account get(final Address address) {
     return worldStateStorage
-        .getAccount(Hash.hash(address))
+        .getAccount(BonsaiHashCache.hashAddress(address))
         .map(bytes -> fromRLP(updater, address, bytes, true))
         .orElse(null);
   }
@@ -417,14 +475,13 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
 
   @Override
   public UInt256 getStorageValue(final Address address, final UInt256 storageKey) {
-    return getStorageValueBySlotHash(address, Hash.hash(storageKey)).orElse(UInt256.ZERO);
+    return getStorageValueBySlotHash(address, BonsaiHashCache.hashSlotKey(storageKey))
+        .orElse(UInt256.ZERO);
   }
 
   @Override
   public Optional<UInt256> getStorageValueBySlotHash(final Address address, final Hash slotHash) {
-    return worldStateStorage
-        .getStorageValueBySlotHash(Hash.hash(address), slotHash)
-        .map(UInt256::fromBytes);
+    return worldStateStorage.getStorageSlotValue(BonsaiHashCache.hashAddress(address), slotHash);
   }
 
   @Override
@@ -436,10 +493,79 @@ public class BonsaiPersistedWorldState implements MutableWorldState, BonsaiWorld
   public Map<Bytes32, Bytes> getAllAccountStorage(final Address address, final Hash rootHash) {
     final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
         new StoredMerklePatriciaTrie<>(
-            (location, key) -> getStorageTrieNode(Hash.hash(address), location, key),
+            (location, key) ->
+                getStorageTrieNode(BonsaiHashCache.hashAddress(address), location, key),
             rootHash,
             Function.identity(),
             Function.identity());
     return storageTrie.entriesFrom(Bytes32.ZERO, Integer.MAX_VALUE);
   }
+
+  /**
+   * An account read from the flat database while streaming. Its address may be unknown, so code and
+   * storage are looked up by the account hash.
+   */
+  private class FlatAccount implements Account {
+    private final Address address;
+    private final Hash addressHash;
+    private final StateTrieAccountValue accountValue;
+
+    private FlatAccount(
+        final Address address, final Hash addressHash, final StateTrieAccountValue accountValue) {
+      this.address = address;
+      this.addressHash = addressHash;
+      this.accountValue = accountValue;
+    }
+
+    @Override
+    public Address getAddress() {
+      return address;
+    }
+
+    @Override
+    public Hash getAddressHash() {
+      return addressHash;
+    }
+
+    @Override
+    public long getNonce() {
+      return accountValue.getNonce();
+    }
+
+    @Override
+    public Wei getBalance() {
+      return accountValue.getBalance();
+    }
+
+    @Override
+    public Bytes getCode() {
+      if (getCodeHash().equals(Hash.EMPTY)) {
+        return Bytes.EMPTY;
+      }
+      return worldStateStorage.getCode(getCodeHash(), addressHash).orElse(Bytes.EMPTY);
+    }
+
+    @Override
+    public Hash getCodeHash() {
+      return accountValue.getCodeHash();
+    }
+
+    @Override
+    public UInt256 getStorageValue(final UInt256 key) {
+      return worldStateStorage
+          .getStorageSlotValue(addressHash, BonsaiHashCache.hashSlotKey(key))
+          .orElse(UInt256.ZERO);
+    }
+
+    @Override
+    public UInt256 getOriginalStorageValue(final UInt256 key) {
+      return getStorageValue(key);
+    }
+
+    @Override
+    public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
+        final Bytes32 startKeyHash, final int limit) {
+      return BonsaiPersistedWorldState.this.storageEntriesFrom(addressHash, startKeyHash, limit);
+    }
+  }
 }
@@ -93,17 +93,36 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
       final boolean useSnapshots,
       final CachedMerkleTrieLoader cachedMerkleTrieLoader) {
     this(
-        useSnapshots
-            ? new SnapshotTrieLogManager(
-                blockchain, worldStateStorage, maxLayersToLoad.orElse(RETAINED_LAYERS))
-            : new LayeredTrieLogManager(
-                blockchain, worldStateStorage, maxLayersToLoad.orElse(RETAINED_LAYERS)),
+        createTrieLogManager(
+            blockchain,
+            worldStateStorage,
+            maxLayersToLoad.orElse(RETAINED_LAYERS),
+            useSnapshots,
+            DataStorageConfiguration.DEFAULT_BONSAI_COMPACT_TRIE_LOGS),
         worldStateStorage,
         blockchain,
         useSnapshots,
         cachedMerkleTrieLoader);
   }
 
+  public BonsaiWorldStateArchive(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final DataStorageConfiguration dataStorageConfiguration,
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader) {
+    this(
+        createTrieLogManager(
+            blockchain,
+            worldStateStorage,
+            dataStorageConfiguration.getBonsaiMaxLayersToLoad(),
+            dataStorageConfiguration.useBonsaiSnapshots(),
+            dataStorageConfiguration.useBonsaiCompactTrieLogs()),
+        worldStateStorage,
+        blockchain,
+        dataStorageConfiguration.useBonsaiSnapshots(),
+        cachedMerkleTrieLoader);
+  }
+
   @VisibleForTesting
   BonsaiWorldStateArchive(
       final TrieLogManager trieLogManager,
@@ -122,6 +141,19 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
     blockchain.observeBlockAdded(this::blockAddedHandler);
   }
 
+  private static TrieLogManager createTrieLogManager(
+      final Blockchain blockchain,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final long maxLayersToLoad,
+      final boolean useSnapshots,
+      final boolean compactTrieLogs) {
+    return useSnapshots
+        ? new SnapshotTrieLogManager(
+            blockchain, worldStateStorage, maxLayersToLoad, compactTrieLogs)
+        : new LayeredTrieLogManager(
+            blockchain, worldStateStorage, maxLayersToLoad, compactTrieLogs);
+  }
+
   private void blockAddedHandler(final BlockAddedEvent event) {
     LOG.debug("New block add event {}", event);
     if (event.isNewCanonicalHead()) {
@@ -302,6 +334,10 @@ public class BonsaiWorldStateArchive implements WorldStateArchive {
     return persistedState;
   }
 
+  public BonsaiWorldStateKeyValueStorage getWorldStateStorage() {
+    return worldStateStorage;
+  }
+
   public TrieLogManager getTrieLogManager() {
     return trieLogManager;
   }
@@ -19,24 +19,34 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.StoredNodeFactory;
 import org.hyperledger.besu.ethereum.worldstate.PeerTrieNodeFinder;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.ethereum.worldstate.WorldStatePreimageStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.LimitedInMemoryKeyValueStorage;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.rlp.RLP;
+import org.apache.tuweni.units.bigints.UInt256;
 
 public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoCloseable {
   // 0x776f726c64526f6f74
@@ -44,12 +54,19 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
   // 0x776f726c64426c6f636b48617368
   public static final byte[] WORLD_BLOCK_HASH_KEY =
       "worldBlockHash".getBytes(StandardCharsets.UTF_8);
+  public static final byte[] TRIE_LOG_PRUNING_MARK_KEY =
+      "trieLogPruningMark".getBytes(StandardCharsets.UTF_8);
+
+  private static final long DEFAULT_PREIMAGE_CACHE_SIZE = 5_000L;
 
   protected final KeyValueStorage accountStorage;
   protected final KeyValueStorage codeStorage;
   protected final KeyValueStorage storageStorage;
   protected final KeyValueStorage trieBranchStorage;
   protected final KeyValueStorage trieLogStorage;
+  // hashed keys of the flat database are only resolved back to addresses and slots on a best
+  // effort basis, from the keys written recently
+  protected final WorldStatePreimageStorage preimageStorage;
   protected final Subscribers<BonsaiStorageSubscriber> subscribers = Subscribers.create();
 
   private Optional<PeerTrieNodeFinder> maybeFallbackNodeFinder;
@@ -61,6 +78,7 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
         provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.ACCOUNT_STORAGE_STORAGE),
         provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE),
         provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.TRIE_LOG_STORAGE),
+        provider.createWorldStatePreimageStorage(),
         Optional.empty());
   }
 
@@ -86,14 +104,38 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
       final KeyValueStorage trieBranchStorage,
       final KeyValueStorage trieLogStorage,
       final Optional<PeerTrieNodeFinder> fallbackNodeFinder) {
+    this(
+        accountStorage,
+        codeStorage,
+        storageStorage,
+        trieBranchStorage,
+        trieLogStorage,
+        new WorldStatePreimageKeyValueStorage(
+            new LimitedInMemoryKeyValueStorage(DEFAULT_PREIMAGE_CACHE_SIZE)),
+        fallbackNodeFinder);
+  }
+
+  public BonsaiWorldStateKeyValueStorage(
+      final KeyValueStorage accountStorage,
+      final KeyValueStorage codeStorage,
+      final KeyValueStorage storageStorage,
+      final KeyValueStorage trieBranchStorage,
+      final KeyValueStorage trieLogStorage,
+      final WorldStatePreimageStorage preimageStorage,
+      final Optional<PeerTrieNodeFinder> fallbackNodeFinder) {
     this.accountStorage = accountStorage;
     this.codeStorage = codeStorage;
     this.storageStorage = storageStorage;
     this.trieBranchStorage = trieBranchStorage;
     this.trieLogStorage = trieLogStorage;
+    this.preimageStorage = preimageStorage;
     this.maybeFallbackNodeFinder = fallbackNodeFinder;
   }
 
+  public WorldStatePreimageStorage getPreimageStorage() {
+    return preimageStorage;
+  }
+
   @Override
   public Optional<Bytes> getCode(final Bytes32 codeHash, final Hash accountHash) {
     return codeStorage.get(accountHash.toArrayUnsafe()).map(Bytes::wrap);
@@ -168,10 +210,40 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
     return trieLogStorage.get(blockHash.toArrayUnsafe());
   }
 
+  public boolean hasTrieLog(final Hash blockHash) {
+    return trieLogStorage.containsKey(blockHash.toArrayUnsafe());
+  }
+
+  /**
+   * Stream the stored trie logs, keyed by block hash, in their encoded form.
+   *
+   * @return the block hashes and encoded trie logs, which must be closed after use
+   */
+  public Stream<Pair<byte[], byte[]>> streamTrieLogs() {
+    return trieLogStorage.stream();
+  }
+
+  /**
+   * The number of the first block whose trie log has not been considered for pruning yet.
+   *
+   * @return the pruning mark, or empty if trie logs were never pruned
+   */
+  public Optional<Long> getTrieLogPruningMark() {
+    return trieBranchStorage.get(TRIE_LOG_PRUNING_MARK_KEY).map(mark -> Bytes.wrap(mark).toLong());
+  }
+
   public Optional<Bytes> getStateTrieNode(final Bytes location) {
     return trieBranchStorage.get(location.toArrayUnsafe()).map(Bytes::wrap);
   }
 
+  public List<Optional<Bytes>> getStateTrieNodes(final List<Bytes> locations) {
+    return trieBranchStorage
+        .multiGet(locations.stream().map(Bytes::toArrayUnsafe).collect(Collectors.toList()))
+        .stream()
+        .map(node -> node.map(Bytes::wrap))
+        .collect(Collectors.toList());
+  }
+
   public Optional<Bytes> getWorldStateRootHash() {
     return trieBranchStorage.get(WORLD_ROOT_HASH_KEY).map(Bytes::wrap);
   }
@@ -181,31 +253,101 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
   }
 
   public Optional<Bytes> getStorageValueBySlotHash(final Hash accountHash, final Hash slotHash) {
-    Optional<Bytes> response =
+    final Optional<Bytes> response =
         storageStorage
             .get(Bytes.concatenate(accountHash, slotHash).toArrayUnsafe())
             .map(Bytes::wrap);
     if (response.isEmpty()) {
-      final Optional<Bytes> account = getAccount(accountHash);
-      final Optional<Bytes> worldStateRootHash = getWorldStateRootHash();
-      if (account.isPresent() && worldStateRootHash.isPresent()) {
-        final StateTrieAccountValue accountValue =
-            StateTrieAccountValue.readFrom(
-                org.hyperledger.besu.ethereum.rlp.RLP.input(account.get()));
-        response =
-            new StoredMerklePatriciaTrie<>(
-                    new StoredNodeFactory<>(
-                        (location, hash) -> getAccountStorageTrieNode(accountHash, location, hash),
-                        Function.identity(),
-                        Function.identity()),
-                    accountValue.getStorageRoot())
-                .get(slotHash)
-                .map(bytes -> Bytes32.leftPad(RLP.decodeValue(bytes)));
-      }
+      return getStorageValueFromTrie(accountHash, slotHash);
+    }
+    return response;
+  }
+
+  /**
+   * Read a storage slot as a number, decoding flat database values straight from the buffer the
+   * storage reads them into rather than from a copy of the value.
+   *
+   * @param accountHash the hash of the account address
+   * @param slotHash the hash of the slot key
+   * @return the slot value, or empty when the slot is not set
+   */
+  public Optional<UInt256> getStorageSlotValue(final Hash accountHash, final Hash slotHash) {
+    final Optional<UInt256> response =
+        storageStorage.get(
+            Bytes.concatenate(accountHash, slotHash).toArrayUnsafe(),
+            value ->
+                UInt256.fromBytes(
+                    Bytes.wrapByteBuffer(value, value.position(), value.remaining())));
+    if (response.isEmpty()) {
+      return getStorageValueFromTrie(accountHash, slotHash).map(UInt256::fromBytes);
     }
     return response;
   }
 
+  private Optional<Bytes> getStorageValueFromTrie(final Hash accountHash, final Hash slotHash) {
+    final Optional<Bytes> account = getAccount(accountHash);
+    final Optional<Bytes> worldStateRootHash = getWorldStateRootHash();
+    if (account.isPresent() && worldStateRootHash.isPresent()) {
+      final StateTrieAccountValue accountValue =
+          StateTrieAccountValue.readFrom(
+              org.hyperledger.besu.ethereum.rlp.RLP.input(account.get()));
+      return new StoredMerklePatriciaTrie<>(
+              new StoredNodeFactory<>(
+                  (location, hash) -> getAccountStorageTrieNode(accountHash, location, hash),
+                  Function.identity(),
+                  Function.identity()),
+              accountValue.getStorageRoot())
+          .get(slotHash)
+          .map(bytes -> Bytes32.leftPad(RLP.decodeValue(bytes)));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Read accounts from the flat database in account hash order, seeking to the start hash rather
+   * than walking the account trie.
+   *
+   * @param startKeyHash the account hash to start from, included when present
+   * @param limit the maximum number of accounts to return
+   * @return the RLP encoded accounts keyed by account hash
+   */
+  public NavigableMap<Bytes32, Bytes> streamFlatAccounts(
+      final Bytes32 startKeyHash, final int limit) {
+    try (final Stream<Pair<byte[], byte[]>> entries =
+        accountStorage.streamFromKey(startKeyHash.toArrayUnsafe())) {
+      return collectEntries(entries.limit(limit), 0);
+    }
+  }
+
+  /**
+   * Read the storage of an account from the flat database in slot hash order, bounded to the keys
+   * of that account.
+   *
+   * @param accountHash the hash of the account whose storage is read
+   * @param startKeyHash the slot hash to start from, included when present
+   * @param limit the maximum number of slots to return
+   * @return the storage values keyed by slot hash
+   */
+  public NavigableMap<Bytes32, Bytes> streamFlatStorages(
+      final Hash accountHash, final Bytes32 startKeyHash, final int limit) {
+    // Every 64 byte key of the account sorts before its hash followed by 33 0xff bytes
+    try (final Stream<Pair<byte[], byte[]>> entries =
+        storageStorage.streamRange(
+            Bytes.concatenate(accountHash, startKeyHash).toArrayUnsafe(),
+            Bytes.concatenate(accountHash, Bytes.repeat((byte) 0xff, Bytes32.SIZE + 1))
+                .toArrayUnsafe())) {
+      return collectEntries(entries.limit(limit), Bytes32.SIZE);
+    }
+  }
+
+  private static NavigableMap<Bytes32, Bytes> collectEntries(
+      final Stream<Pair<byte[], byte[]>> entries, final int keyOffset) {
+    final NavigableMap<Bytes32, Bytes> result = new TreeMap<>();
+    entries.forEach(
+        entry -> result.put(Bytes32.wrap(entry.getKey(), keyOffset), Bytes.wrap(entry.getValue())));
+    return result;
+  }
+
   @Override
   public Optional<Bytes> getNodeData(final Bytes location, final Bytes32 hash) {
     return Optional.empty();
@@ -22,6 +22,7 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.account.AccountStorageEntry;
 import org.hyperledger.besu.evm.account.EvmAccount;
 import org.hyperledger.besu.evm.worldstate.AbstractWorldUpdater;
 import org.hyperledger.besu.evm.worldstate.UpdateTrackingAccount;
@@ -32,9 +33,11 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -56,6 +59,8 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
   private final Map<Address, BonsaiValue<Bytes>> codeToUpdate = new ConcurrentHashMap<>();
   private final Set<Address> storageToClear = Collections.synchronizedSet(new HashSet<>());
   private final Set<Bytes> emptySlot = Collections.synchronizedSet(new HashSet<>());
+  // slot keys of the storage updates, so that range reads can report them once persisted
+  private final Map<Hash, UInt256> storageKeyPreimages = new ConcurrentHashMap<>();
 
   // storage sub mapped by _hashed_ key.  This is because in self_destruct calls we need to
   // enumerate the old storage and delete it.  Those are trie stored by hashed key by spec and the
@@ -92,6 +97,7 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
     updatedAccounts.putAll(source.updatedAccounts);
     deletedAccounts.addAll(source.deletedAccounts);
     emptySlot.addAll(source.emptySlot);
+    storageKeyPreimages.putAll(source.storageKeyPreimages);
   }
 
   @Override
@@ -123,7 +129,7 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
         new BonsaiAccount(
             this,
             address,
-            Hash.hash(address),
+            BonsaiHashCache.hashAddress(address),
             nonce,
             balance,
             Hash.EMPTY_TRIE_HASH,
@@ -149,6 +155,10 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
     return storageToUpdate;
   }
 
+  Map<Hash, UInt256> getStorageKeyPreimages() {
+    return storageKeyPreimages;
+  }
+
   @Override
   protected BonsaiAccount getForMutation(final Address address) {
     final BonsaiValue<BonsaiAccount> bonsaiValue = accountsToUpdate.get(address);
@@ -297,7 +307,8 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
               entries.forEach(
                   storageUpdate -> {
                     final UInt256 keyUInt = storageUpdate.getKey();
-                    final Hash slotHash = Hash.hash(keyUInt);
+                    final Hash slotHash = BonsaiHashCache.hashSlotKey(keyUInt);
+                    storageKeyPreimages.put(slotHash, keyUInt);
                     final UInt256 value = storageUpdate.getValue();
                     final BonsaiValue<UInt256> pendingValue = pendingStorageUpdates.get(slotHash);
                     if (pendingValue == null) {
@@ -341,7 +352,7 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
   @Override
   public UInt256 getStorageValue(final Address address, final UInt256 storageKey) {
     // TODO maybe log the read into the trie layer?
-    final Hash slotHashBytes = Hash.hash(storageKey);
+    final Hash slotHashBytes = BonsaiHashCache.hashSlotKey(storageKey);
     return getStorageValueBySlotHash(address, slotHashBytes).orElse(UInt256.ZERO);
   }
 
@@ -354,7 +365,7 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
         return Optional.ofNullable(value.getUpdated());
       }
     }
-    final Bytes slot = Bytes.concatenate(Hash.hash(address), slotHash);
+    final Bytes slot = Bytes.concatenate(BonsaiHashCache.hashAddress(address), slotHash);
     if (emptySlot.contains(slot)) {
       return Optional.empty();
     } else {
@@ -370,7 +381,7 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
                               address, new ConcurrentHashMap<>(), storagePreloader))
                   .put(slotHash, new BonsaiValue<>(v, v)),
           () -> {
-            emptySlot.add(Bytes.concatenate(Hash.hash(address), slotHash));
+            emptySlot.add(Bytes.concatenate(BonsaiHashCache.hashAddress(address), slotHash));
           });
       return valueUInt;
     }
@@ -381,7 +392,7 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
     // TODO maybe log the read into the trie layer?
     final Map<Hash, BonsaiValue<UInt256>> localAccountStorage = storageToUpdate.get(address);
     if (localAccountStorage != null) {
-      final Hash slotHash = Hash.hash(storageKey);
+      final Hash slotHash = BonsaiHashCache.hashSlotKey(storageKey);
       final BonsaiValue<UInt256> value = localAccountStorage.get(slotHash);
       if (value != null) {
         if (value.isCleared()) {
@@ -410,6 +421,45 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
     return results;
   }
 
+  @Override
+  public NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
+      final Hash addressHash, final Bytes32 startKeyHash, final int limit) {
+    final Optional<Address> address =
+        storageToUpdate.keySet().stream()
+            .filter(candidate -> BonsaiHashCache.hashAddress(candidate).equals(addressHash))
+            .findFirst();
+    final Map<Hash, BonsaiValue<UInt256>> localAccountStorage =
+        address.<Map<Hash, BonsaiValue<UInt256>>>map(storageToUpdate::get).orElse(Map.of());
+    final NavigableMap<Bytes32, AccountStorageEntry> entries;
+    if (address.isPresent() && storageToClear.contains(address.get())) {
+      entries = new TreeMap<>();
+    } else {
+      // Read enough entries to fill the limit even if every local change is a deletion
+      entries =
+          wrappedWorldView()
+              .storageEntriesFrom(
+                  addressHash,
+                  startKeyHash,
+                  (int) Math.min(Integer.MAX_VALUE, (long) limit + localAccountStorage.size()));
+    }
+    localAccountStorage.forEach(
+        (slotHash, value) -> {
+          if (slotHash.compareTo(startKeyHash) >= 0) {
+            final UInt256 updated = value.getUpdated();
+            if (updated == null || updated.isZero()) {
+              entries.remove(slotHash);
+            } else {
+              entries.put(
+                  slotHash, AccountStorageEntry.create(updated, slotHash, Optional.empty()));
+            }
+          }
+        });
+    while (entries.size() > limit) {
+      entries.remove(entries.lastKey());
+    }
+    return entries;
+  }
+
   public TrieLogLayer generateTrieLog(final Hash blockHash) {
     final TrieLogLayer layer = new TrieLogLayer();
     importIntoTrieLog(layer, blockHash);
@@ -717,6 +767,7 @@ public class BonsaiWorldStateUpdater extends AbstractWorldUpdater<BonsaiWorldVie
     codeToUpdate.clear();
     accountsToUpdate.clear();
     emptySlot.clear();
+    storageKeyPreimages.clear();
     super.reset();
   }
 
@@ -19,9 +19,11 @@ package org.hyperledger.besu.ethereum.bonsai;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.evm.account.AccountStorageEntry;
 import org.hyperledger.besu.evm.worldstate.WorldView;
 
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -50,6 +52,19 @@ public interface BonsaiWorldView extends WorldView {
    */
   Map<Bytes32, Bytes> getAllAccountStorage(Address address, Hash rootHash);
 
+  /**
+   * Retrieve the storage entries of an account in slot hash order from the given slot hash.
+   *
+   * @param addressHash the hash of the account address
+   * @param startKeyHash the slot hash to start from
+   * @param limit the maximum number of entries to return
+   * @return the storage entries keyed by slot hash, without slot key preimages
+   */
+  default NavigableMap<Bytes32, AccountStorageEntry> storageEntriesFrom(
+      final Hash addressHash, final Bytes32 startKeyHash, final int limit) {
+    throw new RuntimeException("Bonsai Tries does not currently support enumerating storage");
+  }
+
   static Bytes encodeTrieValue(final Bytes bytes) {
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
     out.writeBytes(bytes.trimLeadingZeros());
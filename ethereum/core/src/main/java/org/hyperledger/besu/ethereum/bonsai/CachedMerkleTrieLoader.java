@@ -18,6 +18,7 @@ package org.hyperledger.besu.ethereum.bonsai;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage.BonsaiStorageSubscriber;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
@@ -25,9 +26,12 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
@@ -50,6 +54,7 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
     CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
     cacheMetrics.addCache("accountsNodes", accountNodes);
     cacheMetrics.addCache("storageNodes", storageNodes);
+    BonsaiHashCache.addTo(cacheMetrics);
     if (metricsSystem instanceof PrometheusMetricsSystem)
       ((PrometheusMetricsSystem) metricsSystem)
           .addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
@@ -88,6 +93,50 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
     }
   }
 
+  public void preLoadAccounts(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage, final Collection<Address> accounts) {
+    CompletableFuture.runAsync(() -> cacheAccountNodes(worldStateStorage, accounts));
+  }
+
+  /**
+   * Bonsai stores account trie nodes by their location, so the nodes on the paths to many accounts
+   * can be read one trie level at a time with a single batched read per level, rather than walking
+   * the trie once per account. Stops at the first level where none of the locations hold a node,
+   * paths under extension nodes are left to {@link #preLoadAccount}.
+   */
+  @VisibleForTesting
+  public void cacheAccountNodes(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage, final Collection<Address> accounts) {
+    final List<Bytes> paths =
+        accounts.stream()
+            .distinct()
+            .map(account -> CompactEncoding.bytesToPath(Hash.hash(account)))
+            .collect(Collectors.toList());
+    final long storageSubscriberId = worldStateStorage.subscribe(this);
+    try {
+      for (int depth = 0; depth < Bytes32.SIZE * 2; depth++) {
+        final int prefixLength = depth;
+        final List<Bytes> locations =
+            paths.stream()
+                .map(path -> path.slice(0, prefixLength))
+                .distinct()
+                .collect(Collectors.toList());
+        boolean found = false;
+        for (final Optional<Bytes> node : worldStateStorage.getStateTrieNodes(locations)) {
+          if (node.isPresent()) {
+            accountNodes.put(Hash.hash(node.get()), node.get());
+            found = true;
+          }
+        }
+        if (!found) {
+          return;
+        }
+      }
+    } finally {
+      worldStateStorage.unSubscribe(storageSubscriberId);
+    }
+  }
+
   public void preLoadStorageSlot(
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final Address account,
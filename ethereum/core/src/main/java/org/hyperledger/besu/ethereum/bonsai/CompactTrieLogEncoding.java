@@ -0,0 +1,305 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A binary encoding of trie log layers that is smaller than their RLP encoding.
+ *
+ * <p>Slot hashes are written once per layer in a table, and storage changes refer to them by index,
+ * so slots changed in many contracts, such as the first slots of token contracts, cost one hash
+ * rather than one per contract. Every address is written once with all of its changes. Numbers are
+ * written as variable length integers or without leading zeros, and an updated account only repeats
+ * its storage root and code hash when they changed.
+ *
+ * <p>An encoded layer starts with {@link #FORMAT}, which can never start an RLP encoded layer, so
+ * both encodings can be read from the same storage.
+ */
+final class CompactTrieLogEncoding {
+
+  static final byte FORMAT = 0x01;
+
+  private static final int ACCOUNT_CHANGE = 1;
+  private static final int CODE_CHANGE = 2;
+  private static final int STORAGE_CHANGES = 4;
+
+  private static final int HAS_PRIOR = 1;
+  private static final int HAS_UPDATED = 2;
+  private static final int SAME_STORAGE_ROOT = 4;
+  private static final int SAME_CODE_HASH = 8;
+
+  private CompactTrieLogEncoding() {}
+
+  static boolean isCompact(final byte[] encoded) {
+    return encoded.length > 0 && encoded[0] == FORMAT;
+  }
+
+  static Bytes encode(final TrieLogLayer layer) {
+    layer.freeze();
+    final Map<Address, BonsaiValue<StateTrieAccountValue>> accounts = new HashMap<>();
+    final Map<Address, BonsaiValue<Bytes>> code = new HashMap<>();
+    final Map<Address, Map<Hash, BonsaiValue<UInt256>>> storage = new HashMap<>();
+    layer
+        .streamAccountChanges()
+        .filter(change -> !change.getValue().isUnchanged())
+        .forEach(change -> accounts.put(change.getKey(), change.getValue()));
+    layer
+        .streamCodeChanges()
+        .filter(change -> !change.getValue().isUnchanged())
+        .forEach(change -> code.put(change.getKey(), change.getValue()));
+    layer.streamStorageChanges().forEach(change -> storage.put(change.getKey(), change.getValue()));
+
+    final Set<Address> addresses = new TreeSet<>();
+    addresses.addAll(accounts.keySet());
+    addresses.addAll(code.keySet());
+    addresses.addAll(storage.keySet());
+    final Map<Hash, Integer> slotIndexes = new TreeMap<>();
+    storage.values().forEach(slots -> slots.keySet().forEach(slot -> slotIndexes.put(slot, 0)));
+
+    final Writer out = new Writer();
+    out.write(FORMAT);
+    out.write(layer.getBlockHash());
+    out.writeVarLong(slotIndexes.size());
+    int nextIndex = 0;
+    for (final Map.Entry<Hash, Integer> slot : slotIndexes.entrySet()) {
+      slot.setValue(nextIndex++);
+      out.write(slot.getKey());
+    }
+
+    out.writeVarLong(addresses.size());
+    for (final Address address : addresses) {
+      final BonsaiValue<StateTrieAccountValue> accountChange = accounts.get(address);
+      final BonsaiValue<Bytes> codeChange = code.get(address);
+      final Map<Hash, BonsaiValue<UInt256>> storageChanges = storage.get(address);
+      out.write(address);
+      out.write(
+          (accountChange == null ? 0 : ACCOUNT_CHANGE)
+              | (codeChange == null ? 0 : CODE_CHANGE)
+              | (storageChanges == null ? 0 : STORAGE_CHANGES));
+      if (accountChange != null) {
+        writeAccountChange(out, accountChange.getPrior(), accountChange.getUpdated());
+      }
+      if (codeChange != null) {
+        out.writeNullable(codeChange.getPrior());
+        out.writeNullable(codeChange.getUpdated());
+      }
+      if (storageChanges != null) {
+        out.writeVarLong(storageChanges.size());
+        for (final Map.Entry<Hash, BonsaiValue<UInt256>> slot : storageChanges.entrySet()) {
+          out.writeVarLong(slotIndexes.get(slot.getKey()));
+          out.writeNullable(trimmed(slot.getValue().getPrior()));
+          out.writeNullable(trimmed(slot.getValue().getUpdated()));
+        }
+      }
+    }
+    return out.toBytes();
+  }
+
+  static TrieLogLayer decode(final byte[] encoded) {
+    final ByteBuffer in = ByteBuffer.wrap(encoded);
+    try {
+      if (in.get() != FORMAT) {
+        throw new IllegalArgumentException("Not a compact trie log");
+      }
+      final TrieLogLayer layer = new TrieLogLayer();
+      layer.setBlockHash(Hash.wrap(Bytes32.wrap(readBytes(in, Bytes32.SIZE))));
+      final int slotCount = readVarInt(in);
+      final List<Hash> slots = new ArrayList<>(slotCount);
+      for (int i = 0; i < slotCount; i++) {
+        slots.add(Hash.wrap(Bytes32.wrap(readBytes(in, Bytes32.SIZE))));
+      }
+
+      final int addressCount = readVarInt(in);
+      for (int i = 0; i < addressCount; i++) {
+        final Address address = Address.wrap(Bytes.wrap(readBytes(in, Address.SIZE)));
+        final int changes = in.get();
+        if ((changes & ACCOUNT_CHANGE) != 0) {
+          readAccountChange(in, layer, address);
+        }
+        if ((changes & CODE_CHANGE) != 0) {
+          final Bytes prior = readNullable(in);
+          final Bytes updated = readNullable(in);
+          layer.addCodeChange(address, prior, updated, layer.getBlockHash());
+        }
+        if ((changes & STORAGE_CHANGES) != 0) {
+          final int slotChanges = readVarInt(in);
+          for (int j = 0; j < slotChanges; j++) {
+            final Hash slot = slots.get(readVarInt(in));
+            final Bytes prior = readNullable(in);
+            final Bytes updated = readNullable(in);
+            layer.addStorageChange(
+                address,
+                slot,
+                prior == null ? null : UInt256.fromBytes(prior),
+                updated == null ? null : UInt256.fromBytes(updated));
+          }
+        }
+      }
+      if (in.hasRemaining()) {
+        throw new IllegalArgumentException("Unexpected data after compact trie log");
+      }
+      layer.freeze();
+      return layer;
+    } catch (final BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Truncated compact trie log", e);
+    }
+  }
+
+  private static void writeAccountChange(
+      final Writer out, final StateTrieAccountValue prior, final StateTrieAccountValue updated) {
+    final boolean sameStorageRoot =
+        prior != null && updated != null && prior.getStorageRoot().equals(updated.getStorageRoot());
+    final boolean sameCodeHash =
+        prior != null && updated != null && prior.getCodeHash().equals(updated.getCodeHash());
+    out.write(
+        (prior == null ? 0 : HAS_PRIOR)
+            | (updated == null ? 0 : HAS_UPDATED)
+            | (sameStorageRoot ? SAME_STORAGE_ROOT : 0)
+            | (sameCodeHash ? SAME_CODE_HASH : 0));
+    if (prior != null) {
+      out.writeVarLong(prior.getNonce());
+      out.writeNullable(prior.getBalance().trimLeadingZeros());
+      out.write(prior.getStorageRoot());
+      out.write(prior.getCodeHash());
+    }
+    if (updated != null) {
+      out.writeVarLong(updated.getNonce());
+      out.writeNullable(updated.getBalance().trimLeadingZeros());
+      if (!sameStorageRoot) {
+        out.write(updated.getStorageRoot());
+      }
+      if (!sameCodeHash) {
+        out.write(updated.getCodeHash());
+      }
+    }
+  }
+
+  private static void readAccountChange(
+      final ByteBuffer in, final TrieLogLayer layer, final Address address) {
+    final int flags = in.get();
+    StateTrieAccountValue prior = null;
+    StateTrieAccountValue updated = null;
+    if ((flags & HAS_PRIOR) != 0) {
+      prior =
+          new StateTrieAccountValue(readVarLong(in), readBalance(in), readHash(in), readHash(in));
+    }
+    if ((flags & HAS_UPDATED) != 0) {
+      final long nonce = readVarLong(in);
+      final Wei balance = readBalance(in);
+      final Hash storageRoot =
+          (flags & SAME_STORAGE_ROOT) != 0 ? prior.getStorageRoot() : readHash(in);
+      final Hash codeHash = (flags & SAME_CODE_HASH) != 0 ? prior.getCodeHash() : readHash(in);
+      updated = new StateTrieAccountValue(nonce, balance, storageRoot, codeHash);
+    }
+    layer.addAccountChange(address, prior, updated);
+  }
+
+  private static Bytes trimmed(final UInt256 value) {
+    return value == null ? null : value.trimLeadingZeros();
+  }
+
+  private static Wei readBalance(final ByteBuffer in) {
+    return Wei.wrap(readNullable(in));
+  }
+
+  private static Hash readHash(final ByteBuffer in) {
+    return Hash.wrap(Bytes32.wrap(readBytes(in, Bytes32.SIZE)));
+  }
+
+  private static Bytes readNullable(final ByteBuffer in) {
+    final int length = readVarInt(in);
+    return length == 0 ? null : Bytes.wrap(readBytes(in, length - 1));
+  }
+
+  private static byte[] readBytes(final ByteBuffer in, final int length) {
+    final byte[] bytes = new byte[length];
+    in.get(bytes);
+    return bytes;
+  }
+
+  private static int readVarInt(final ByteBuffer in) {
+    final long value = readVarLong(in);
+    if (value < 0 || value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid length in compact trie log");
+    }
+    return (int) value;
+  }
+
+  private static long readVarLong(final ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      final byte b = in.get();
+      value |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Invalid number in compact trie log");
+  }
+
+  private static class Writer {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private void write(final int value) {
+      out.write(value);
+    }
+
+    private void write(final Bytes bytes) {
+      out.writeBytes(bytes.toArrayUnsafe());
+    }
+
+    /** Writes the length plus one, so that zero marks a missing value. */
+    private void writeNullable(final Bytes bytes) {
+      if (bytes == null) {
+        writeVarLong(0);
+      } else {
+        writeVarLong(bytes.size() + 1L);
+        write(bytes);
+      }
+    }
+
+    private void writeVarLong(final long value) {
+      long remaining = value;
+      while ((remaining & ~0x7fL) != 0) {
+        out.write((int) (remaining & 0x7f) | 0x80);
+        remaining >>>= 7;
+      }
+      out.write((int) remaining);
+    }
+
+    private Bytes toBytes() {
+      return Bytes.wrap(out.toByteArray());
+    }
+  }
+}
@@ -36,14 +36,22 @@ public class LayeredTrieLogManager extends AbstractTrieLogManager<BonsaiLayeredW
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final long maxLayersToLoad,
       final Map<Bytes32, CachedWorldState<BonsaiLayeredWorldState>> cachedWorldStatesByHash) {
-    super(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash);
+    super(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash, false);
   }
 
   public LayeredTrieLogManager(
       final Blockchain blockchain,
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final long maxLayersToLoad) {
-    this(blockchain, worldStateStorage, maxLayersToLoad, new HashMap<>());
+    this(blockchain, worldStateStorage, maxLayersToLoad, false);
+  }
+
+  public LayeredTrieLogManager(
+      final Blockchain blockchain,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final long maxLayersToLoad,
+      final boolean compactTrieLogs) {
+    super(blockchain, worldStateStorage, maxLayersToLoad, new HashMap<>(), compactTrieLogs);
   }
 
   @Override
@@ -40,7 +40,16 @@ public class SnapshotTrieLogManager extends AbstractTrieLogManager<BonsaiSnapsho
       final Blockchain blockchain,
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final long maxLayersToLoad) {
-    this(blockchain, worldStateStorage, maxLayersToLoad, new ConcurrentHashMap<>());
+    this(blockchain, worldStateStorage, maxLayersToLoad, false);
+  }
+
+  public SnapshotTrieLogManager(
+      final Blockchain blockchain,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final long maxLayersToLoad,
+      final boolean compactTrieLogs) {
+    this(
+        blockchain, worldStateStorage, maxLayersToLoad, new ConcurrentHashMap<>(), compactTrieLogs);
   }
 
   SnapshotTrieLogManager(
@@ -48,7 +57,16 @@ public class SnapshotTrieLogManager extends AbstractTrieLogManager<BonsaiSnapsho
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final long maxLayersToLoad,
       final Map<Bytes32, CachedWorldState<BonsaiSnapshotWorldState>> cachedWorldStatesByHash) {
-    super(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash);
+    this(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash, false);
+  }
+
+  SnapshotTrieLogManager(
+      final Blockchain blockchain,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final long maxLayersToLoad,
+      final Map<Bytes32, CachedWorldState<BonsaiSnapshotWorldState>> cachedWorldStatesByHash,
+      final boolean compactTrieLogs) {
+    super(blockchain, worldStateStorage, maxLayersToLoad, cachedWorldStatesByHash, compactTrieLogs);
     worldStateStorage.subscribe(this);
   }
 
@@ -100,6 +100,9 @@ public class TrieLogLayer {
   }
 
   public static TrieLogLayer fromBytes(final byte[] bytes) {
+    if (CompactTrieLogEncoding.isCompact(bytes)) {
+      return CompactTrieLogEncoding.decode(bytes);
+    }
     return readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
   }
 
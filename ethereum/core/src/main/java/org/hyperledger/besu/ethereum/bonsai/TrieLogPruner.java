@@ -0,0 +1,271 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage.TRIE_LOG_PRUNING_MARK_KEY;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage.BonsaiUpdater;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes the trie logs of blocks that fell out of the retention window, that is all but the trie
+ * logs of the last retained blocks and of the blocks from the finalized block onwards.
+ *
+ * <p>As the chain head advances, the pruner walks the block numbers from its persisted pruning mark
+ * up to the retention window in the background, deleting the trie logs of the canonical block and
+ * of the fork blocks it saw being added at each number. Trie logs of fork blocks imported before a
+ * restart are only found by {@link #pruneAll(long)}, which scans every stored trie log.
+ */
+public class TrieLogPruner implements BlockAddedObserver {
+  public static final int MAX_PRUNING_THREAD_QUEUE_SIZE = 16;
+  private static final Logger LOG = LoggerFactory.getLogger(TrieLogPruner.class);
+  private static final int BLOCKS_PER_COMMIT = 10_000;
+
+  private final BonsaiWorldStateKeyValueStorage worldStateStorage;
+  private final Blockchain blockchain;
+  private final long blocksToRetain;
+  private final ExecutorService pruningExecutor;
+  private final AtomicBoolean pruning = new AtomicBoolean(false);
+  private final NavigableMap<Long, Set<Hash>> addedBlocks = new TreeMap<>();
+
+  public TrieLogPruner(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final long blocksToRetain,
+      final ExecutorService pruningExecutor) {
+    this.worldStateStorage = worldStateStorage;
+    this.blockchain = blockchain;
+    this.blocksToRetain = blocksToRetain;
+    this.pruningExecutor = pruningExecutor;
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    final BlockHeader header = event.getBlock().getHeader();
+    synchronized (addedBlocks) {
+      addedBlocks
+          .computeIfAbsent(header.getNumber(), number -> new HashSet<>())
+          .add(header.getHash());
+    }
+    if (event.isNewCanonicalHead() && pruning.compareAndSet(false, true)) {
+      try {
+        pruningExecutor.submit(
+            () -> {
+              try {
+                prune(header.getNumber());
+              } catch (final RuntimeException e) {
+                LOG.warn("Unable to prune trie logs", e);
+              } finally {
+                pruning.set(false);
+              }
+            });
+      } catch (final RejectedExecutionException e) {
+        pruning.set(false);
+      }
+    }
+  }
+
+  /**
+   * Deletes the trie logs of the blocks between the pruning mark and the retention window of the
+   * chain head, then moves the pruning mark to the start of the window.
+   *
+   * @param chainHeadNumber the number of the chain head
+   * @return the number of trie logs deleted
+   */
+  long prune(final long chainHeadNumber) {
+    final long pruneBelow = retainedFrom(chainHeadNumber);
+    long mark = worldStateStorage.getTrieLogPruningMark().orElse(0L);
+    long pruned = 0;
+    while (mark < pruneBelow) {
+      final long batchEnd = Math.min(pruneBelow, mark + BLOCKS_PER_COMMIT);
+      final BonsaiUpdater updater = worldStateStorage.updater();
+      for (long number = mark; number < batchEnd; number++) {
+        for (final Hash blockHash : blockHashesAt(number)) {
+          if (worldStateStorage.hasTrieLog(blockHash)) {
+            updater.getTrieLogStorageTransaction().remove(blockHash.toArrayUnsafe());
+            pruned++;
+          }
+        }
+      }
+      setPruningMark(updater, batchEnd);
+      updater.commit();
+      synchronized (addedBlocks) {
+        addedBlocks.headMap(batchEnd).clear();
+      }
+      mark = batchEnd;
+    }
+    if (pruned > 0) {
+      LOG.debug("Pruned {} trie logs below block {}", pruned, pruneBelow);
+    }
+    return pruned;
+  }
+
+  /**
+   * Scans every stored trie log and deletes those of blocks outside the retention window of the
+   * chain head, including the trie logs of blocks that are no longer in the database.
+   *
+   * @param chainHeadNumber the number of the chain head
+   * @return the number of trie logs and encoded bytes deleted
+   */
+  public TrieLogUsage pruneAll(final long chainHeadNumber) {
+    final long pruneBelow = retainedFrom(chainHeadNumber);
+    long count = 0;
+    long bytes = 0;
+    BonsaiUpdater updater = worldStateStorage.updater();
+    try (final Stream<Pair<byte[], byte[]>> trieLogs = worldStateStorage.streamTrieLogs()) {
+      for (final Pair<byte[], byte[]> trieLog :
+          (Iterable<Pair<byte[], byte[]>>) trieLogs::iterator) {
+        if (isPrunable(trieLog.getKey(), pruneBelow)) {
+          updater.getTrieLogStorageTransaction().remove(trieLog.getKey());
+          count++;
+          bytes += trieLog.getValue().length;
+          if (count % BLOCKS_PER_COMMIT == 0) {
+            updater.commit();
+            updater = worldStateStorage.updater();
+          }
+        }
+      }
+    }
+    if (worldStateStorage.getTrieLogPruningMark().orElse(0L) < pruneBelow) {
+      setPruningMark(updater, pruneBelow);
+    }
+    updater.commit();
+    return new TrieLogUsage(count, bytes);
+  }
+
+  /**
+   * Measures the stored trie logs and the part of them outside the retention window.
+   *
+   * @param chainHeadNumber the number of the chain head
+   * @return the number and encoded size of all trie logs, and of those that can be pruned
+   */
+  public TrieLogReport report(final long chainHeadNumber) {
+    final long pruneBelow = retainedFrom(chainHeadNumber);
+    long count = 0;
+    long bytes = 0;
+    long prunableCount = 0;
+    long prunableBytes = 0;
+    try (final Stream<Pair<byte[], byte[]>> trieLogs = worldStateStorage.streamTrieLogs()) {
+      for (final Pair<byte[], byte[]> trieLog :
+          (Iterable<Pair<byte[], byte[]>>) trieLogs::iterator) {
+        count++;
+        bytes += trieLog.getValue().length;
+        if (isPrunable(trieLog.getKey(), pruneBelow)) {
+          prunableCount++;
+          prunableBytes += trieLog.getValue().length;
+        }
+      }
+    }
+    return new TrieLogReport(
+        new TrieLogUsage(count, bytes), new TrieLogUsage(prunableCount, prunableBytes), pruneBelow);
+  }
+
+  /** The first block number whose trie log is retained for the given chain head. */
+  private long retainedFrom(final long chainHeadNumber) {
+    final long windowStart = Math.max(0, chainHeadNumber - blocksToRetain);
+    return blockchain
+        .getFinalized()
+        .flatMap(blockchain::getBlockHeader)
+        .map(finalized -> Math.min(windowStart, finalized.getNumber()))
+        .orElse(windowStart);
+  }
+
+  private Set<Hash> blockHashesAt(final long number) {
+    final Set<Hash> blockHashes;
+    synchronized (addedBlocks) {
+      blockHashes = new HashSet<>(addedBlocks.getOrDefault(number, Set.of()));
+    }
+    blockchain.getBlockHashByNumber(number).ifPresent(blockHashes::add);
+    return blockHashes;
+  }
+
+  private boolean isPrunable(final byte[] key, final long pruneBelow) {
+    if (key.length != Bytes32.SIZE) {
+      return false;
+    }
+    final Optional<BlockHeader> header = blockchain.getBlockHeader(Hash.wrap(Bytes32.wrap(key)));
+    return header.isEmpty() || header.get().getNumber() < pruneBelow;
+  }
+
+  private static void setPruningMark(final BonsaiUpdater updater, final long mark) {
+    updater
+        .getTrieBranchStorageTransaction()
+        .put(TRIE_LOG_PRUNING_MARK_KEY, Bytes.ofUnsignedLong(mark).toArrayUnsafe());
+  }
+
+  /** A number of trie logs and their encoded size in bytes. */
+  public static class TrieLogUsage {
+    private final long count;
+    private final long bytes;
+
+    TrieLogUsage(final long count, final long bytes) {
+      this.count = count;
+      this.bytes = bytes;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getBytes() {
+      return bytes;
+    }
+  }
+
+  /** The stored trie logs, and those outside the retention window. */
+  public static class TrieLogReport {
+    private final TrieLogUsage stored;
+    private final TrieLogUsage prunable;
+    private final long retainedFrom;
+
+    TrieLogReport(final TrieLogUsage stored, final TrieLogUsage prunable, final long retainedFrom) {
+      this.stored = stored;
+      this.prunable = prunable;
+      this.retainedFrom = retainedFrom;
+    }
+
+    public TrieLogUsage getStored() {
+      return stored;
+    }
+
+    public TrieLogUsage getPrunable() {
+      return prunable;
+    }
+
+    public long getRetainedFrom() {
+      return retainedFrom;
+    }
+  }
+}
@@ -27,6 +27,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /** An interface for reading data from the blockchain. */
 public interface Blockchain {
@@ -153,6 +154,18 @@ public interface Blockchain {
    */
   Optional<BlockBody> getBlockBody(Hash blockHeaderHash);
 
+  /**
+   * Returns the block bodies corresponding to the given block header hashes, read together where
+   * the underlying storage supports it.
+   *
+   * @param blockHeaderHashes The block header hashes identifying the blocks whose bodies should be
+   *     returned.
+   * @return The block bodies, in the same order as the hashes.
+   */
+  default List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHeaderHashes) {
+    return blockHeaderHashes.stream().map(this::getBlockBody).collect(Collectors.toList());
+  }
+
   /**
    * Given a block's hash, returns the list of transaction receipts associated with this block's
    * transactions. Associated block is not necessarily on the canonical chain.
@@ -162,6 +175,18 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Returns the transaction receipts of each of the given blocks, read together where the
+   * underlying storage supports it.
+   *
+   * @param blockHeaderHashes The header hashes of the blocks we're querying.
+   * @return The transaction receipts of each block, in the same order as the hashes.
+   */
+  default List<Optional<List<TransactionReceipt>>> getBlockReceipts(
+      final List<Hash> blockHeaderHashes) {
+    return blockHeaderHashes.stream().map(this::getTxReceipts).collect(Collectors.toList());
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface BlockchainStorage {
 
@@ -40,6 +41,14 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  default List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHashes) {
+    return blockHashes.stream().map(this::getBlockBody).collect(Collectors.toList());
+  }
+
+  default List<Optional<List<TransactionReceipt>>> getBlockReceipts(final List<Hash> blockHashes) {
+    return blockHashes.stream().map(this::getTransactionReceipts).collect(Collectors.toList());
+  }
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<Difficulty> getTotalDifficulty(Hash blockHash);
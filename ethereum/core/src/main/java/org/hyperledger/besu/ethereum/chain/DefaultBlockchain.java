@@ -240,11 +240,22 @@ public class DefaultBlockchain implements MutableBlockchain {
     return blockchainStorage.getBlockBody(blockHeaderHash);
   }
 
+  @Override
+  public List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHeaderHashes) {
+    return blockchainStorage.getBlockBodies(blockHeaderHashes);
+  }
+
   @Override
   public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
     return blockchainStorage.getTransactionReceipts(blockHeaderHash);
   }
 
+  @Override
+  public List<Optional<List<TransactionReceipt>>> getBlockReceipts(
+      final List<Hash> blockHeaderHashes) {
+    return blockchainStorage.getBlockReceipts(blockHeaderHashes);
+  }
+
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
     return blockchainStorage.getBlockHash(number);
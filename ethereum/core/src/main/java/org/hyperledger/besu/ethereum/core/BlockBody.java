@@ -14,12 +14,14 @@
  */
 package org.hyperledger.besu.ethereum.core;
 
+import org.hyperledger.besu.ethereum.rlp.LazyRLPList;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
 
@@ -62,8 +64,8 @@ public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
   public void writeTo(final RLPOutput output) {
     output.startList();
 
-    output.writeList(getTransactions(), Transaction::writeTo);
-    output.writeList(getOmmers(), BlockHeader::writeTo);
+    writeList(output, getTransactions(), Transaction::writeTo);
+    writeList(output, getOmmers(), BlockHeader::writeTo);
 
     output.endList();
   }
@@ -80,6 +82,36 @@ public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
     return body;
   }
 
+  /**
+   * Reads a block body whose transactions and ommers are only decoded when they are accessed. This
+   * is meant for bodies that were validated before being stored.
+   *
+   * @param input Input to read from
+   * @param blockHeaderFunctions The functions used to hash ommers
+   * @return the block body
+   */
+  public static BlockBody readLazilyFrom(
+      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    input.enterList();
+    final BlockBody body =
+        new BlockBody(
+            new LazyRLPList<>(input.readAsRlp().raw(), Transaction::readFrom),
+            new LazyRLPList<>(
+                input.readAsRlp().raw(), rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions)));
+    input.leaveList();
+    return body;
+  }
+
+  private static <T> void writeList(
+      final RLPOutput output, final List<T> values, final BiConsumer<T, RLPOutput> valueWriter) {
+    if (values instanceof LazyRLPList) {
+      // Still encoded as read, no need to decode and re-encode it
+      output.writeRaw(((LazyRLPList<T>) values).encoded());
+    } else {
+      output.writeList(values, valueWriter);
+    }
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (obj == this) {
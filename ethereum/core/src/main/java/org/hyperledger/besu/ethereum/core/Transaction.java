@@ -32,6 +32,7 @@ import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.ethereum.rlp.StreamingRLPOutput;
 import org.hyperledger.besu.ethereum.transaction.GoQuorumPrivateTransactionDetector;
 import org.hyperledger.besu.evm.AccessListEntry;
 import org.hyperledger.besu.plugin.data.Quantity;
@@ -536,6 +537,49 @@ public class Transaction
     return sender;
   }
 
+  /**
+   * Returns the sender if it has already been recovered, without attempting to recover it.
+   *
+   * @return the sender, or empty if it has not been recovered yet or cannot be recovered
+   */
+  public Optional<Address> getRecoveredSender() {
+    return Optional.ofNullable(sender);
+  }
+
+  /**
+   * Recovers, in one batch, the senders of the transactions that haven't recovered them yet.
+   * Transactions whose sender cannot be recovered are left unchanged, so {@link #getSender()} still
+   * fails for them.
+   *
+   * @param transactions the transactions whose senders to recover
+   */
+  public static void recoverSenders(final Collection<Transaction> transactions) {
+    final List<Transaction> unrecovered =
+        transactions.stream()
+            .filter(transaction -> transaction.sender == null)
+            .collect(Collectors.toList());
+    if (unrecovered.isEmpty()) {
+      return;
+    }
+    final List<Optional<SECPPublicKey>> publicKeys =
+        unrecovered
+            .get(0)
+            .signatureAlgorithm
+            .recoverPublicKeysFromSignatures(
+                unrecovered.stream()
+                    .map(Transaction::getOrComputeSenderRecoveryHash)
+                    .collect(Collectors.toList()),
+                unrecovered.stream().map(Transaction::getSignature).collect(Collectors.toList()));
+    for (int i = 0; i < unrecovered.size(); i++) {
+      final Transaction transaction = unrecovered.get(i);
+      publicKeys
+          .get(i)
+          .ifPresent(
+              publicKey ->
+                  transaction.sender = Address.extract(Hash.hash(publicKey.getEncodedBytes())));
+    }
+  }
+
   /**
    * Returns the public key extracted from the signature.
    *
@@ -795,7 +839,7 @@ public class Transaction
       final Wei value,
       final Bytes payload,
       final Optional<BigInteger> chainId) {
-    return RLP.encode(
+    return StreamingRLPOutput.encode(
         rlpOutput -> {
           rlpOutput.startList();
           rlpOutput.writeLongScalar(nonce);
@@ -824,7 +868,7 @@ public class Transaction
       final Optional<BigInteger> chainId,
       final Optional<List<AccessListEntry>> accessList) {
     final Bytes encoded =
-        RLP.encode(
+        StreamingRLPOutput.encode(
             rlpOutput -> {
               rlpOutput.startList();
               rlpOutput.writeBigIntegerScalar(chainId.orElseThrow());
@@ -851,7 +895,7 @@ public class Transaction
       final List<AccessListEntry> accessList,
       final Optional<BigInteger> chainId) {
     final Bytes encode =
-        RLP.encode(
+        StreamingRLPOutput.encode(
             rlpOutput -> {
               rlpOutput.startList();
               TransactionEncoder.encodeAccessListInner(
@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.ethereum.rlp.StreamingRLPOutput;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
 import org.hyperledger.besu.plugin.data.Address;
@@ -183,7 +184,8 @@ public class TransactionReceipt implements org.hyperledger.besu.plugin.data.Tran
     if (transactionType.equals(TransactionType.FRONTIER)) {
       writeToForReceiptTrie(rlpOutput, withRevertReason);
     } else {
-      rlpOutput.writeBytes(RLP.encode(out -> writeToForReceiptTrie(out, withRevertReason)));
+      rlpOutput.writeBytes(
+          StreamingRLPOutput.encode(out -> writeToForReceiptTrie(out, withRevertReason)));
     }
   }
 
@@ -19,8 +19,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.ethereum.rlp.StreamingRLPOutput;
 import org.hyperledger.besu.evm.AccessListEntry;
 import org.hyperledger.besu.plugin.data.TransactionType;
 
@@ -67,7 +67,7 @@ public class TransactionEncoder {
         checkNotNull(
             transaction.getType(), "Transaction type for %s was not specified.", transaction);
     if (TransactionType.FRONTIER.equals(transactionType)) {
-      return RLP.encode(rlpOutput -> encodeFrontier(transaction, rlpOutput));
+      return StreamingRLPOutput.encode(rlpOutput -> encodeFrontier(transaction, rlpOutput));
     } else {
       final Encoder encoder =
           checkNotNull(
@@ -76,7 +76,7 @@ public class TransactionEncoder {
               transactionType);
       return Bytes.concatenate(
           Bytes.of(transactionType.getSerializedType()),
-          RLP.encode(rlpOutput -> encoder.encode(transaction, rlpOutput)));
+          StreamingRLPOutput.encode(rlpOutput -> encoder.encode(transaction, rlpOutput)));
     }
   }
 
@@ -35,8 +35,10 @@ import org.hyperledger.besu.plugin.data.TransactionType;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +92,10 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       final PrivateMetadataUpdater privateMetadataUpdater) {
     final List<TransactionReceipt> receipts = new ArrayList<>();
     long currentGasUsed = 0;
+    Transaction.recoverSenders(transactions);
+    if (worldState instanceof BonsaiPersistedWorldState) {
+      preLoadAccounts((BonsaiPersistedWorldState) worldState, blockHeader, transactions);
+    }
     for (final Transaction transaction : transactions) {
       if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
         return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
@@ -169,6 +175,27 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     return true;
   }
 
+  /**
+   * Warm the trie node cache with the accounts the block is known to touch, batching the storage
+   * reads for all of them instead of loading each one as the transactions reach it.
+   */
+  private static void preLoadAccounts(
+      final BonsaiPersistedWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions) {
+    final Set<Address> accounts = new HashSet<>();
+    accounts.add(blockHeader.getCoinbase());
+    for (final Transaction transaction : transactions) {
+      // senders that could not be recovered are reported when their transaction is processed
+      transaction.getRecoveredSender().ifPresent(accounts::add);
+      transaction.getTo().ifPresent(accounts::add);
+    }
+    worldState
+        .getArchive()
+        .getCachedMerkleTrieLoader()
+        .preLoadAccounts(worldState.getWorldStateStorage(), accounts);
+  }
+
   protected MiningBeneficiaryCalculator getMiningBeneficiaryCalculator() {
     return miningBeneficiaryCalculator;
   }
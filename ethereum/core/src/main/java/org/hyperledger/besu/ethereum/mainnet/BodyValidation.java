@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.StreamingRLPOutput;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.SimpleMerklePatriciaTrie;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
@@ -77,7 +78,7 @@ public final class BodyValidation {
             i ->
                 trie.put(
                     indexKey(i),
-                    RLP.encode(
+                    StreamingRLPOutput.encode(
                         rlpOutput -> receipts.get(i).writeToForReceiptTrie(rlpOutput, false))));
 
     return Hash.wrap(trie.getRootHash());
@@ -90,7 +91,8 @@ public final class BodyValidation {
    * @return the ommers hash
    */
   public static Hash ommersHash(final List<BlockHeader> ommers) {
-    return Hash.wrap(keccak256(RLP.encode(out -> out.writeList(ommers, BlockHeader::writeTo))));
+    return Hash.wrap(
+        keccak256(StreamingRLPOutput.encode(out -> out.writeList(ommers, BlockHeader::writeTo))));
   }
 
   /**
@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves blocks which are both finalized and older than the retained window into the ancient store
+ * as the chain head advances.
+ */
+public class AncientBlockFreezer implements BlockAddedObserver {
+  public static final int MAX_FREEZER_THREAD_QUEUE_SIZE = 1;
+  private static final Logger LOG = LoggerFactory.getLogger(AncientBlockFreezer.class);
+  private static final long BLOCKS_PER_BATCH = 1000;
+
+  private final Blockchain blockchain;
+  private final AncientBlockchainStorage storage;
+  private final long blocksRetained;
+  private final ExecutorService freezerExecutor;
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  public AncientBlockFreezer(
+      final Blockchain blockchain,
+      final AncientBlockchainStorage storage,
+      final long blocksRetained,
+      final ExecutorService freezerExecutor) {
+    this.blockchain = blockchain;
+    this.storage = storage;
+    this.blocksRetained = blocksRetained;
+    this.freezerExecutor = freezerExecutor;
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    final Optional<Long> target = freezeTarget(event.getBlock().getHeader().getNumber());
+    if (target.isEmpty()
+        || target.get() < storage.getFrozenBlockCount()
+        || !running.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      freezerExecutor.submit(() -> freezeThrough(target.get()));
+    } catch (final RejectedExecutionException e) {
+      running.set(false);
+    }
+  }
+
+  /**
+   * The highest block number that may be frozen for the given chain head. Blocks are only frozen
+   * once finalized, so there is nothing to freeze on chains without finality such as proof of work
+   * or clique networks.
+   *
+   * @param headNumber the number of the chain head
+   * @return the highest block number to freeze, or empty if no block is finalized
+   */
+  Optional<Long> freezeTarget(final long headNumber) {
+    final long retainedTarget = headNumber - blocksRetained;
+    return blockchain
+        .getFinalized()
+        .flatMap(blockchain::getBlockHeader)
+        .map(finalized -> Math.min(retainedTarget, finalized.getNumber()));
+  }
+
+  private void freezeThrough(final long target) {
+    try {
+      long frozen;
+      do {
+        frozen = storage.freeze(target, BLOCKS_PER_BATCH);
+        LOG.debug(
+            "Froze {} blocks, {} blocks now in ancient store",
+            frozen,
+            storage.getFrozenBlockCount());
+      } while (frozen == BLOCKS_PER_BATCH);
+    } catch (final IOException | RuntimeException e) {
+      LOG.error("Failed to move blocks to the ancient store", e);
+    } finally {
+      running.set(false);
+    }
+  }
+}
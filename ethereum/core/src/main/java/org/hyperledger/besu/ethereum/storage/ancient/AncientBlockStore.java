@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Flat file storage for the encoded headers, bodies and receipts of finalized blocks, addressed by
+ * block number.
+ *
+ * <p>Blocks are only ever appended in order starting from genesis, so a block is stored in every
+ * table or in none of them once {@link #sync()} has returned. Tables that are ahead after a crash
+ * are ignored beyond {@link #getBlockCount()}, and since finalized blocks never change their extra
+ * entries are kept when the same blocks are appended again.
+ *
+ * <p>Blocks that were never stored locally, such as those before the checkpoint of a checkpoint
+ * synced node, are kept as empty entries so that the following blocks still line up with their
+ * numbers. Every read of an empty entry returns nothing.
+ */
+public class AncientBlockStore implements Closeable {
+
+  private final AncientTable hashes;
+  private final AncientTable headers;
+  private final AncientTable bodies;
+  private final AncientTable receipts;
+  private volatile long blockCount;
+
+  private AncientBlockStore(
+      final AncientTable hashes,
+      final AncientTable headers,
+      final AncientTable bodies,
+      final AncientTable receipts) {
+    this.hashes = hashes;
+    this.headers = headers;
+    this.bodies = bodies;
+    this.receipts = receipts;
+    this.blockCount =
+        Math.min(
+            Math.min(hashes.count(), headers.count()), Math.min(bodies.count(), receipts.count()));
+  }
+
+  public static AncientBlockStore open(final Path directory) throws IOException {
+    return new AncientBlockStore(
+        AncientTable.open(directory, "hashes", false),
+        AncientTable.open(directory, "headers", true),
+        AncientTable.open(directory, "bodies", true),
+        AncientTable.open(directory, "receipts", true));
+  }
+
+  /**
+   * The number of blocks stored, which is also the number of the next block to append.
+   *
+   * @return the number of blocks stored
+   */
+  public long getBlockCount() {
+    return blockCount;
+  }
+
+  public Optional<Hash> getHash(final long blockNumber) {
+    return blockNumber < blockCount
+        ? hashes.get(blockNumber).map(bytes -> Hash.wrap(Bytes32.wrap(bytes)))
+        : Optional.empty();
+  }
+
+  public Optional<Bytes> getHeader(final long blockNumber) {
+    return blockNumber < blockCount ? headers.get(blockNumber) : Optional.empty();
+  }
+
+  public Optional<Bytes> getBody(final long blockNumber) {
+    return blockNumber < blockCount ? bodies.get(blockNumber) : Optional.empty();
+  }
+
+  public Optional<Bytes> getReceipts(final long blockNumber) {
+    return blockNumber < blockCount ? receipts.get(blockNumber) : Optional.empty();
+  }
+
+  /**
+   * Append the next block. The block is visible to readers straight away but is only durable once
+   * {@link #sync()} returns.
+   *
+   * @param blockNumber the number of the block, which must equal {@link #getBlockCount()}
+   * @param hash the block hash
+   * @param header the encoded header
+   * @param body the encoded body
+   * @param receipts the encoded receipts, or empty if they are not known
+   * @throws IOException if the block could not be written
+   */
+  public void append(
+      final long blockNumber,
+      final Hash hash,
+      final Bytes header,
+      final Bytes body,
+      final Bytes receipts)
+      throws IOException {
+    append(blockNumber, (Bytes) hash, header, body, receipts);
+  }
+
+  private synchronized void append(
+      final long blockNumber,
+      final Bytes hash,
+      final Bytes header,
+      final Bytes body,
+      final Bytes receipts)
+      throws IOException {
+    if (blockNumber != blockCount) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Ancient blocks must be appended in order, expected %d but got %d",
+              blockCount, blockNumber));
+    }
+    appendTo(this.hashes, blockNumber, hash);
+    appendTo(this.headers, blockNumber, header);
+    appendTo(this.bodies, blockNumber, body);
+    appendTo(this.receipts, blockNumber, receipts);
+    blockCount = blockNumber + 1;
+  }
+
+  /**
+   * Append an empty entry for the next block, which is not available locally.
+   *
+   * @param blockNumber the number of the block, which must equal {@link #getBlockCount()}
+   * @throws IOException if the entry could not be written
+   */
+  public void appendEmpty(final long blockNumber) throws IOException {
+    append(blockNumber, Bytes.EMPTY, Bytes.EMPTY, Bytes.EMPTY, Bytes.EMPTY);
+  }
+
+  public synchronized void sync() throws IOException {
+    hashes.sync();
+    headers.sync();
+    bodies.sync();
+    receipts.sync();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    hashes.close();
+    headers.close();
+    bodies.close();
+    receipts.close();
+  }
+
+  private static void appendTo(final AncientTable table, final long blockNumber, final Bytes value)
+      throws IOException {
+    // A table may be ahead of the others after a crash, in which case it already has this entry
+    if (table.count() == blockNumber) {
+      table.append(value);
+    }
+  }
+}
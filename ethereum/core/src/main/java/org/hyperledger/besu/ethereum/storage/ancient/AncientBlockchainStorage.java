@@ -0,0 +1,263 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Blockchain storage which moves the headers, bodies and receipts of finalized blocks out of the
+ * key value store into an {@link AncientBlockStore}.
+ *
+ * <p>Reads check the key value store first and fall back to the ancient store, using a small index
+ * from block hash to block number. Chain head data, total difficulties, transaction locations and
+ * the canonical number to hash mapping stay in the key value store.
+ */
+public class AncientBlockchainStorage implements BlockchainStorage {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AncientBlockchainStorage.class);
+
+  private static final byte[] INDEXED_BLOCKS_KEY = "indexedBlocks".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] REMOVED_BLOCKS_KEY = "removedBlocks".getBytes(StandardCharsets.UTF_8);
+
+  private final BlockchainStorage storage;
+  private final AncientBlockStore ancientStore;
+  private final KeyValueStorage indexStorage;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+
+  public AncientBlockchainStorage(
+      final BlockchainStorage storage,
+      final AncientBlockStore ancientStore,
+      final KeyValueStorage indexStorage,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    this.storage = storage;
+    this.ancientStore = ancientStore;
+    this.indexStorage = indexStorage;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+  }
+
+  /**
+   * The number of blocks moved to the ancient store so far.
+   *
+   * @return the number of frozen blocks, which is also the number of the next block to freeze
+   */
+  public long getFrozenBlockCount() {
+    return getCounter(INDEXED_BLOCKS_KEY);
+  }
+
+  /**
+   * Move canonical blocks up to and including {@code throughNumber} into the ancient store.
+   *
+   * <p>Blocks are appended and synced to the ancient store before they are indexed, and only
+   * indexed blocks are removed from the key value store, so a crash at any point leaves every block
+   * readable. Blocks missing from the key value store, such as those before the checkpoint of a
+   * checkpoint synced node, are stored as empty entries and left where they are.
+   *
+   * @param throughNumber the highest block number to freeze, which must be finalized
+   * @param maxBlocks the maximum number of blocks to freeze in this call
+   * @return the number of blocks frozen
+   * @throws IOException if the ancient store could not be written
+   */
+  public synchronized long freeze(final long throughNumber, final long maxBlocks)
+      throws IOException {
+    final long start = ancientStore.getBlockCount();
+    final long end = Math.min(throughNumber + 1, start + maxBlocks);
+    for (long number = start; number < end; number++) {
+      final Optional<Hash> hash = storage.getBlockHash(number);
+      final Optional<BlockHeader> header = hash.flatMap(storage::getBlockHeader);
+      final Optional<BlockBody> body = hash.flatMap(storage::getBlockBody);
+      if (header.isEmpty() || body.isEmpty()) {
+        LOG.trace("Block {} is not available to freeze", number);
+        ancientStore.appendEmpty(number);
+        continue;
+      }
+      ancientStore.append(
+          number,
+          hash.get(),
+          RLP.encode(header.get()::writeTo),
+          RLP.encode(body.get()::writeTo),
+          storage
+              .getTransactionReceipts(hash.get())
+              .map(AncientBlockchainStorage::encodeReceipts)
+              .orElse(Bytes.EMPTY));
+    }
+    ancientStore.sync();
+
+    final long frozen = ancientStore.getBlockCount();
+    final long indexed = getCounter(INDEXED_BLOCKS_KEY);
+    if (frozen > indexed) {
+      final KeyValueStorageTransaction transaction = indexStorage.startTransaction();
+      for (long number = indexed; number < frozen; number++) {
+        final Bytes numberBytes = Bytes.ofUnsignedLong(number);
+        ancientStore
+            .getHash(number)
+            .ifPresent(hash -> transaction.put(hash.toArrayUnsafe(), numberBytes.toArrayUnsafe()));
+      }
+      transaction.put(INDEXED_BLOCKS_KEY, Bytes.ofUnsignedLong(frozen).toArrayUnsafe());
+      transaction.commit();
+    }
+
+    final long removed = getCounter(REMOVED_BLOCKS_KEY);
+    if (frozen > removed) {
+      final BlockchainStorage.Updater updater = storage.updater();
+      for (long number = removed; number < frozen; number++) {
+        ancientStore
+            .getHash(number)
+            .ifPresent(
+                hash -> {
+                  updater.removeBlockHeader(hash);
+                  updater.removeBlockBody(hash);
+                  updater.removeTransactionReceipts(hash);
+                });
+      }
+      updater.commit();
+      final KeyValueStorageTransaction transaction = indexStorage.startTransaction();
+      transaction.put(REMOVED_BLOCKS_KEY, Bytes.ofUnsignedLong(frozen).toArrayUnsafe());
+      transaction.commit();
+    }
+    return frozen - start;
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return storage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return storage.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return storage.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return storage.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return storage
+        .getBlockHeader(blockHash)
+        .or(
+            () ->
+                getAncient(blockHash, ancientStore::getHeader)
+                    .map(bytes -> BlockHeader.readFrom(RLP.input(bytes), blockHeaderFunctions)));
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    return storage.getBlockBody(blockHash).or(() -> getAncientBody(blockHash));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    return storage.getTransactionReceipts(blockHash).or(() -> getAncientReceipts(blockHash));
+  }
+
+  @Override
+  public List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHashes) {
+    return fillFromAncient(blockHashes, storage.getBlockBodies(blockHashes), this::getAncientBody);
+  }
+
+  @Override
+  public List<Optional<List<TransactionReceipt>>> getBlockReceipts(final List<Hash> blockHashes) {
+    return fillFromAncient(
+        blockHashes, storage.getBlockReceipts(blockHashes), this::getAncientReceipts);
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return storage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return storage.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return storage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public Updater updater() {
+    return storage.updater();
+  }
+
+  private Optional<BlockBody> getAncientBody(final Hash blockHash) {
+    return getAncient(blockHash, ancientStore::getBody)
+        .map(bytes -> BlockBody.readFrom(RLP.input(bytes), blockHeaderFunctions));
+  }
+
+  private Optional<List<TransactionReceipt>> getAncientReceipts(final Hash blockHash) {
+    return getAncient(blockHash, ancientStore::getReceipts)
+        .map(bytes -> RLP.input(bytes).readList(TransactionReceipt::readFrom));
+  }
+
+  private Optional<Bytes> getAncient(
+      final Hash blockHash, final Function<Long, Optional<Bytes>> reader) {
+    return indexStorage
+        .get(blockHash.toArrayUnsafe())
+        .map(number -> Bytes.wrap(number).toLong())
+        .flatMap(reader);
+  }
+
+  private <T> List<Optional<T>> fillFromAncient(
+      final List<Hash> blockHashes,
+      final List<Optional<T>> values,
+      final Function<Hash, Optional<T>> ancientReader) {
+    final List<Optional<T>> result = new ArrayList<>(values);
+    for (int i = 0; i < result.size(); i++) {
+      if (result.get(i).isEmpty()) {
+        result.set(i, ancientReader.apply(blockHashes.get(i)));
+      }
+    }
+    return result;
+  }
+
+  private long getCounter(final byte[] key) {
+    return indexStorage.get(key).map(value -> Bytes.wrap(value).toLong()).orElse(0L);
+  }
+
+  private static Bytes encodeReceipts(final List<TransactionReceipt> receipts) {
+    return RLP.encode(o -> o.writeList(receipts, TransactionReceipt::writeToWithRevertReason));
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.xerial.snappy.Snappy;
+
+/**
+ * An append-only table of entries numbered from zero, stored in data segment files with a fixed
+ * size index.
+ *
+ * <p>Each index entry holds the segment, offset and length of its data, so any entry is read with
+ * one index read and one data read. Segments are sealed once they reach {@link #MAX_SEGMENT_SIZE}
+ * by default; sealed segments never change and are memory mapped for reads. Entries may be snappy
+ * compressed, and an empty entry stands for a missing value.
+ *
+ * <p>Data is always written before the index entry referencing it, so on open any data past the
+ * last complete index entry is discarded. Appends are not thread safe, reads are.
+ */
+class AncientTable implements Closeable {
+
+  static final long MAX_SEGMENT_SIZE = 1L << 30;
+  private static final int INDEX_ENTRY_SIZE = 12;
+
+  private final Path directory;
+  private final String name;
+  private final boolean compressed;
+  private final long maxSegmentSize;
+  private final FileChannel index;
+  private final List<FileChannel> segments = new CopyOnWriteArrayList<>();
+  private final List<MappedByteBuffer> sealedSegments = new CopyOnWriteArrayList<>();
+  private volatile long count;
+
+  private AncientTable(
+      final Path directory,
+      final String name,
+      final boolean compressed,
+      final long maxSegmentSize,
+      final FileChannel index) {
+    this.directory = directory;
+    this.name = name;
+    this.compressed = compressed;
+    this.maxSegmentSize = maxSegmentSize;
+    this.index = index;
+  }
+
+  static AncientTable open(final Path directory, final String name, final boolean compressed)
+      throws IOException {
+    return open(directory, name, compressed, MAX_SEGMENT_SIZE);
+  }
+
+  static AncientTable open(
+      final Path directory, final String name, final boolean compressed, final long maxSegmentSize)
+      throws IOException {
+    Files.createDirectories(directory);
+    final AncientTable table =
+        new AncientTable(
+            directory,
+            name,
+            compressed,
+            maxSegmentSize,
+            FileChannel.open(
+                directory.resolve(name + ".idx"),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE));
+    table.repair();
+    return table;
+  }
+
+  long count() {
+    return count;
+  }
+
+  Optional<Bytes> get(final long number) {
+    if (number < 0 || number >= count) {
+      return Optional.empty();
+    }
+    try {
+      final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+      readFully(index, entry, number * INDEX_ENTRY_SIZE);
+      final int segment = entry.getInt(0);
+      final int offset = entry.getInt(4);
+      final int length = entry.getInt(8);
+      if (length == 0) {
+        return Optional.empty();
+      }
+      final byte[] data = new byte[length];
+      if (segment < sealedSegments.size()) {
+        final ByteBuffer mapped = sealedSegments.get(segment).duplicate();
+        mapped.position(offset);
+        mapped.get(data);
+      } else {
+        readFully(segments.get(segment), ByteBuffer.wrap(data), offset);
+      }
+      return Optional.of(Bytes.wrap(compressed ? Snappy.uncompress(data) : data));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Append the next entry, which is not durable until {@link #sync()} returns.
+   *
+   * @param value the entry, or empty for a missing value
+   * @return the number of the entry
+   * @throws IOException if the entry could not be written
+   */
+  long append(final Bytes value) throws IOException {
+    final byte[] data =
+        value.isEmpty()
+            ? new byte[0]
+            : compressed ? Snappy.compress(value.toArrayUnsafe()) : value.toArrayUnsafe();
+    FileChannel segment = segments.get(segments.size() - 1);
+    if (segment.size() + data.length > maxSegmentSize && segment.size() > 0) {
+      seal();
+      segment = segments.get(segments.size() - 1);
+    }
+    final long offset = segment.size();
+    segment.write(ByteBuffer.wrap(data), offset);
+
+    final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+    entry.putInt(segments.size() - 1).putInt((int) offset).putInt(data.length).flip();
+    final long number = count;
+    index.write(entry, number * INDEX_ENTRY_SIZE);
+    count = number + 1;
+    return number;
+  }
+
+  /** Make all appended entries durable, data first so the index never points past it. */
+  void sync() throws IOException {
+    segments.get(segments.size() - 1).force(false);
+    index.force(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    index.close();
+    for (final FileChannel segment : segments) {
+      segment.close();
+    }
+  }
+
+  private void repair() throws IOException {
+    for (int i = 0; Files.exists(segmentPath(i)); i++) {
+      segments.add(openSegment(i));
+    }
+    if (segments.isEmpty()) {
+      segments.add(openSegment(0));
+    }
+
+    // Drop partially written index entries, then entries whose data never reached the disk
+    long entries = index.size() / INDEX_ENTRY_SIZE;
+    int lastSegment = 0;
+    long dataEnd = 0;
+    final ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+    while (entries > 0) {
+      entry.clear();
+      readFully(index, entry, (entries - 1) * INDEX_ENTRY_SIZE);
+      lastSegment = entry.getInt(0);
+      dataEnd = Integer.toUnsignedLong(entry.getInt(4)) + entry.getInt(8);
+      if (lastSegment < segments.size() && segments.get(lastSegment).size() >= dataEnd) {
+        break;
+      }
+      entries--;
+      lastSegment = 0;
+      dataEnd = 0;
+    }
+    index.truncate(entries * INDEX_ENTRY_SIZE);
+    segments.get(lastSegment).truncate(dataEnd);
+    while (segments.size() > lastSegment + 1) {
+      final int last = segments.size() - 1;
+      segments.remove(last).close();
+      Files.delete(segmentPath(last));
+    }
+    for (int i = 0; i < lastSegment; i++) {
+      sealedSegments.add(map(segments.get(i)));
+    }
+    count = entries;
+  }
+
+  private void seal() throws IOException {
+    final FileChannel sealed = segments.get(segments.size() - 1);
+    sealed.force(false);
+    sealedSegments.add(map(sealed));
+    segments.add(openSegment(segments.size()));
+  }
+
+  private FileChannel openSegment(final int segment) throws IOException {
+    return FileChannel.open(
+        segmentPath(segment),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+  }
+
+  private Path segmentPath(final int segment) {
+    return directory.resolve(String.format("%s.%04d.dat", name, segment));
+  }
+
+  private static MappedByteBuffer map(final FileChannel segment) throws IOException {
+    return segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+  }
+
+  private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long from)
+      throws IOException {
+    long position = from;
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of ancient table file");
+      }
+      position += read;
+    }
+  }
+}
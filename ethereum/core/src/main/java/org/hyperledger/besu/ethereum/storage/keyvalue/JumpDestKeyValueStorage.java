@@ -0,0 +1,76 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.internal.JumpDestStorage;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the valid jump destination bitmaps of contract code by code hash, as little endian 64 bit
+ * words. Bitmaps only depend on the code, so they are shared by all world states and never need
+ * invalidating.
+ */
+public class JumpDestKeyValueStorage implements JumpDestStorage {
+  private static final Logger LOG = LoggerFactory.getLogger(JumpDestKeyValueStorage.class);
+
+  private final KeyValueStorage keyValueStorage;
+
+  public JumpDestKeyValueStorage(final KeyValueStorage keyValueStorage) {
+    this.keyValueStorage = keyValueStorage;
+  }
+
+  @Override
+  public Optional<long[]> get(final Hash codeHash) {
+    return keyValueStorage
+        .get(codeHash.toArrayUnsafe())
+        .filter(value -> value.length > 0 && value.length % Long.BYTES == 0)
+        .map(JumpDestKeyValueStorage::decode);
+  }
+
+  @Override
+  public void put(final Hash codeHash, final long[] validJumpDestinations) {
+    // a failed write only means analysing the code again later, so it must not fail execution
+    try {
+      final KeyValueStorageTransaction transaction = keyValueStorage.startTransaction();
+      transaction.put(codeHash.toArrayUnsafe(), encode(validJumpDestinations));
+      transaction.commit();
+    } catch (final StorageException e) {
+      LOG.debug("Failed to store jump destinations for code {}", codeHash, e);
+    }
+  }
+
+  private static byte[] encode(final long[] bitmap) {
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(bitmap.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.asLongBuffer().put(bitmap);
+    return buffer.array();
+  }
+
+  private static long[] decode(final byte[] value) {
+    final long[] bitmap = new long[value.length / Long.BYTES];
+    ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(bitmap);
+    return bitmap;
+  }
+}
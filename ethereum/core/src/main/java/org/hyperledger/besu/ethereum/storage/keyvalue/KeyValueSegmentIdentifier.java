@@ -36,7 +36,10 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
   BACKWARD_SYNC_CHAIN(new byte[] {15}),
   SNAPSYNC_MISSING_ACCOUNT_RANGE(new byte[] {16}),
   SNAPSYNC_ACCOUNT_TO_FIX(new byte[] {17}),
-  CHAIN_PRUNER_STATE(new byte[] {18});
+  CHAIN_PRUNER_STATE(new byte[] {18}),
+  ANCIENT_BLOCK_INDEX(new byte[] {19}),
+  JUMP_DESTINATIONS(new byte[] {20}),
+  BACKWARD_SYNC_PREFETCHED_BLOCKS(new byte[] {21});
 
   private final byte[] id;
   private final int[] versionList;
@@ -22,7 +22,9 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.LazyRLPList;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.StreamingRLPOutput;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
@@ -30,6 +32,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 import org.apache.tuweni.bytes.Bytes;
@@ -88,14 +91,14 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
   @Override
   public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
-    return get(BLOCK_HEADER_PREFIX, blockHash)
+    return getRaw(BLOCK_HEADER_PREFIX, blockHash)
         .map(b -> BlockHeader.readFrom(RLP.input(b), blockHeaderFunctions));
   }
 
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHash) {
-    return get(BLOCK_BODY_PREFIX, blockHash)
-        .map(bytes -> BlockBody.readFrom(RLP.input(bytes), blockHeaderFunctions));
+    return getRaw(BLOCK_BODY_PREFIX, blockHash)
+        .map(bytes -> BlockBody.readLazilyFrom(RLP.input(bytes), blockHeaderFunctions));
   }
 
   @Override
@@ -103,6 +106,25 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
   }
 
+  @Override
+  public List<Optional<BlockBody>> getBlockBodies(final List<Hash> blockHashes) {
+    return multiGet(BLOCK_BODY_PREFIX, blockHashes).stream()
+        .map(
+            maybeBytes ->
+                maybeBytes.map(
+                    bytes ->
+                        BlockBody.readLazilyFrom(
+                            RLP.input(bytes.toArrayUnsafe()), blockHeaderFunctions)))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Optional<List<TransactionReceipt>>> getBlockReceipts(final List<Hash> blockHashes) {
+    return multiGet(TRANSACTION_RECEIPTS_PREFIX, blockHashes).stream()
+        .map(maybeBytes -> maybeBytes.map(this::rlpDecodeTransactionReceipts))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
     return get(BLOCK_HASH_PREFIX, UInt256.valueOf(blockNumber)).map(this::bytesToHash);
@@ -125,7 +147,7 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   }
 
   private List<TransactionReceipt> rlpDecodeTransactionReceipts(final Bytes bytes) {
-    return RLP.input(bytes).readList(TransactionReceipt::readFrom);
+    return new LazyRLPList<>(bytes, TransactionReceipt::readFrom);
   }
 
   private Hash bytesToHash(final Bytes bytes) {
@@ -133,7 +155,22 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   }
 
   Optional<Bytes> get(final Bytes prefix, final Bytes key) {
-    return storage.get(Bytes.concatenate(prefix, key).toArrayUnsafe()).map(Bytes::wrap);
+    return getRaw(prefix, key).map(Bytes::wrap);
+  }
+
+  // Blocks are decoded straight from the stored array
+  private Optional<byte[]> getRaw(final Bytes prefix, final Bytes key) {
+    return storage.get(Bytes.concatenate(prefix, key).toArrayUnsafe());
+  }
+
+  private List<Optional<Bytes>> multiGet(final Bytes prefix, final List<? extends Bytes> keys) {
+    final List<byte[]> prefixedKeys =
+        keys.stream()
+            .map(key -> Bytes.concatenate(prefix, key).toArrayUnsafe())
+            .collect(Collectors.toList());
+    return storage.multiGet(prefixedKeys).stream()
+        .map(value -> value.map(Bytes::wrap))
+        .collect(Collectors.toList());
   }
 
   public static class Updater implements BlockchainStorage.Updater {
@@ -146,12 +183,12 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
     @Override
     public void putBlockHeader(final Hash blockHash, final BlockHeader blockHeader) {
-      set(BLOCK_HEADER_PREFIX, blockHash, RLP.encode(blockHeader::writeTo));
+      set(BLOCK_HEADER_PREFIX, blockHash, StreamingRLPOutput.encode(blockHeader::writeTo));
     }
 
     @Override
     public void putBlockBody(final Hash blockHash, final BlockBody blockBody) {
-      set(BLOCK_BODY_PREFIX, blockHash, RLP.encode(blockBody::writeTo));
+      set(BLOCK_BODY_PREFIX, blockHash, StreamingRLPOutput.encode(blockBody::writeTo));
     }
 
     @Override
@@ -247,7 +284,8 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     }
 
     private Bytes rlpEncode(final List<TransactionReceipt> receipts) {
-      return RLP.encode(o -> o.writeList(receipts, TransactionReceipt::writeToWithRevertReason));
+      return StreamingRLPOutput.encode(
+          o -> o.writeList(receipts, TransactionReceipt::writeToWithRevertReason));
     }
   }
 }
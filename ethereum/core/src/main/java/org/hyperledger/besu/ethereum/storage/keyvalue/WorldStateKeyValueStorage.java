@@ -21,20 +21,25 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 
 public class WorldStateKeyValueStorage implements WorldStateStorage {
 
+  private static final int PRUNE_BATCH_SIZE = 1_000;
+
   private final Subscribers<NodesAddedListener> nodeAddedListeners = Subscribers.create();
   private final KeyValueStorage keyValueStorage;
   private final ReentrantLock lock = new ReentrantLock();
@@ -109,22 +114,58 @@ public class WorldStateKeyValueStorage implements WorldStateStorage {
 
   @Override
   public long prune(final Predicate<byte[]> inUseCheck) {
-    final AtomicInteger prunedKeys = new AtomicInteger(0);
-    try (final Stream<byte[]> entry = keyValueStorage.streamKeys()) {
-      entry.forEach(
-          key -> {
-            lock.lock();
-            try {
-              if (!inUseCheck.test(key) && keyValueStorage.tryDelete(key)) {
-                prunedKeys.incrementAndGet();
-              }
-            } finally {
-              lock.unlock();
-            }
-          });
+    try (final Stream<byte[]> keys = keyValueStorage.streamKeys()) {
+      return prune(keys, inUseCheck);
+    }
+  }
+
+  @Override
+  public long prune(final Predicate<byte[]> inUseCheck, final Bytes keyPrefix) {
+    // Every node key with the prefix sorts before the prefix followed by 33 0xff bytes
+    try (final Stream<byte[]> keys =
+        keyValueStorage
+            .streamRange(
+                keyPrefix.toArrayUnsafe(),
+                Bytes.concatenate(keyPrefix, Bytes.repeat((byte) 0xff, Bytes32.SIZE + 1))
+                    .toArrayUnsafe())
+            .map(Pair::getKey)) {
+      return prune(keys, inUseCheck);
+    }
+  }
+
+  private long prune(final Stream<byte[]> keys, final Predicate<byte[]> inUseCheck) {
+    // Nodes are only ever marked as in use while pruning, so the keys found in use are skipped
+    // without taking the lock. The others are checked again and removed a batch at a time under
+    // the lock, so a node added meanwhile by an updater is never removed.
+    final List<byte[]> unusedKeys = new ArrayList<>(PRUNE_BATCH_SIZE);
+    long prunedKeys = 0;
+    final Iterator<byte[]> iterator = keys.iterator();
+    while (iterator.hasNext()) {
+      final byte[] key = iterator.next();
+      if (!inUseCheck.test(key)) {
+        unusedKeys.add(key);
+        if (unusedKeys.size() >= PRUNE_BATCH_SIZE) {
+          prunedKeys += removeUnused(unusedKeys, inUseCheck);
+        }
+      }
     }
+    return prunedKeys + removeUnused(unusedKeys, inUseCheck);
+  }
 
-    return prunedKeys.get();
+  private long removeUnused(final List<byte[]> unusedKeys, final Predicate<byte[]> inUseCheck) {
+    long prunedKeys = 0;
+    lock.lock();
+    try {
+      for (final byte[] key : unusedKeys) {
+        if (!inUseCheck.test(key) && keyValueStorage.tryDelete(key)) {
+          prunedKeys++;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    unusedKeys.clear();
+    return prunedKeys;
   }
 
   @Override
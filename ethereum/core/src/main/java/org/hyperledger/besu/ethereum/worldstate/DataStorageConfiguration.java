@@ -23,6 +23,9 @@ public interface DataStorageConfiguration {
 
   long DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD = 512;
   boolean DEFAULT_BONSAI_USE_SNAPSHOTS = false;
+  boolean DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED = false;
+  long DEFAULT_BONSAI_TRIE_LOG_RETAINED_BLOCKS = DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
+  boolean DEFAULT_BONSAI_COMPACT_TRIE_LOGS = false;
 
   DataStorageConfiguration DEFAULT_CONFIG =
       ImmutableDataStorageConfiguration.builder()
@@ -36,4 +39,19 @@ public interface DataStorageConfiguration {
   Long getBonsaiMaxLayersToLoad();
 
   Boolean useBonsaiSnapshots();
+
+  @Value.Default
+  default Boolean getBonsaiTrieLogPruningEnabled() {
+    return DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED;
+  }
+
+  @Value.Default
+  default Long getBonsaiTrieLogRetainedBlocks() {
+    return DEFAULT_BONSAI_TRIE_LOG_RETAINED_BLOCKS;
+  }
+
+  @Value.Default
+  default Boolean useBonsaiCompactTrieLogs() {
+    return DEFAULT_BONSAI_COMPACT_TRIE_LOGS;
+  }
 }
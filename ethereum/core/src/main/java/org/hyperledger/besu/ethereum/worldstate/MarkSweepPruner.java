@@ -17,7 +17,9 @@ package org.hyperledger.besu.ethereum.worldstate;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
@@ -26,14 +28,27 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -41,6 +56,7 @@ import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -54,6 +70,12 @@ public class MarkSweepPruner {
 
   private static final int DEFAULT_OPS_PER_TRANSACTION = 10_000;
   private static final int MAX_MARKING_THREAD_POOL_SIZE = 2;
+  private static final byte[] CYCLE_KEY =
+      "bloomFilterPruningCycle".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] MARKED_NODES_KEY =
+      "bloomFilterMarkedNodes".getBytes(StandardCharsets.UTF_8);
+  private static final int SWEEP_RANGES = 256;
+  private static final int RATE_LIMITED_BATCH_SIZE = 1_000;
 
   private final int operationsPerTransaction;
   private final WorldStateStorage worldStateStorage;
@@ -67,6 +89,14 @@ public class MarkSweepPruner {
   private volatile long nodeAddedListenerId;
   private final ReadWriteLock pendingMarksLock = new ReentrantReadWriteLock();
   private final Set<Bytes32> pendingMarks = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final MarkSweepPrunerConfiguration configuration;
+  private final Optional<Path> bloomFilterFile;
+  private final AtomicLong bloomFilterMarkedNodes = new AtomicLong();
+  private volatile PruningBloomFilter bloomFilter;
+  private volatile Optional<Hash> cycleMarkedBlockHash = Optional.empty();
+  private final BitSet sweptRanges = new BitSet(SWEEP_RANGES);
+  private volatile boolean stopped;
+  private volatile Optional<Long> stoppedBlockAddedObserverId = Optional.empty();
 
   public MarkSweepPruner(
       final WorldStateStorage worldStateStorage,
@@ -82,10 +112,59 @@ public class MarkSweepPruner {
       final KeyValueStorage markStorage,
       final ObservableMetricsSystem metricsSystem,
       final int operationsPerTransaction) {
+    this(
+        worldStateStorage,
+        blockchain,
+        markStorage,
+        metricsSystem,
+        operationsPerTransaction,
+        MarkSweepPrunerConfiguration.DEFAULT,
+        Optional.empty());
+  }
+
+  /**
+   * Create a pruner which, when configured for bloom filter marking, marks into a memory mapped
+   * bloom filter kept in the given file instead of the mark storage. The mark storage then only
+   * holds the progress of the current cycle, so it can be resumed after a restart.
+   *
+   * @param worldStateStorage the world state storage to prune
+   * @param blockchain the blockchain whose state is pruned
+   * @param markStorage the pruning state storage
+   * @param metricsSystem the metrics system
+   * @param configuration the marking and sweeping configuration
+   * @param bloomFilterFile the file backing the bloom filter
+   */
+  public MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final MutableBlockchain blockchain,
+      final KeyValueStorage markStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final MarkSweepPrunerConfiguration configuration,
+      final Path bloomFilterFile) {
+    this(
+        worldStateStorage,
+        blockchain,
+        markStorage,
+        metricsSystem,
+        DEFAULT_OPS_PER_TRANSACTION,
+        configuration,
+        Optional.of(bloomFilterFile).filter(__ -> configuration.isBloomFilterMarking()));
+  }
+
+  private MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final MutableBlockchain blockchain,
+      final KeyValueStorage markStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final int operationsPerTransaction,
+      final MarkSweepPrunerConfiguration configuration,
+      final Optional<Path> bloomFilterFile) {
     this.worldStateStorage = worldStateStorage;
     this.markStorage = markStorage;
     this.blockchain = blockchain;
     this.operationsPerTransaction = operationsPerTransaction;
+    this.configuration = configuration;
+    this.bloomFilterFile = bloomFilterFile;
 
     markedNodesCounter =
         metricsSystem.createCounter(
@@ -115,13 +194,26 @@ public class MarkSweepPruner {
         () -> markStopwatch.elapsed(TimeUnit.SECONDS));
 
     LOG.debug("Using {} pruner threads", MAX_MARKING_THREAD_POOL_SIZE);
+
+    bloomFilterFile.ifPresent(this::loadBloomFilterCycle);
   }
 
   public void prepare() {
-    // Optimization for the case where the previous cycle was interrupted (like the node was shut
-    // down). If the previous cycle was interrupted, there will be marks in the mark storage from
-    // last time, causing the first sweep to be smaller than it needs to be.
-    clearMarks();
+    stopped = false;
+    stoppedBlockAddedObserverId.ifPresent(blockchain::removeObserver);
+    stoppedBlockAddedObserverId = Optional.empty();
+    if (cycleMarkedBlockHash.isPresent()) {
+      LOG.info(
+          "Resuming pruning cycle marked at block {}, {} of {} key ranges already swept",
+          cycleMarkedBlockHash.get(),
+          sweptRanges.cardinality(),
+          SWEEP_RANGES);
+    } else {
+      // Optimization for the case where the previous cycle was interrupted (like the node was shut
+      // down). If the previous cycle was interrupted, there will be marks in the mark storage from
+      // last time, causing the first sweep to be smaller than it needs to be.
+      clearMarks();
+    }
 
     nodeAddedListenerId = worldStateStorage.addNodeAddedListener(this::markNodes);
   }
@@ -188,6 +280,38 @@ public class MarkSweepPruner {
     LOG.debug("Completed marking used nodes for pruning");
   }
 
+  /**
+   * Record that the state of the given block is marked. With bloom filter marking the marks are
+   * written to disk and the cycle can be resumed from here after a restart.
+   *
+   * @param markedBlockHeader the header of the block whose state was marked
+   */
+  public void markingComplete(final BlockHeader markedBlockHeader) {
+    if (bloomFilter == null || stopped) {
+      return;
+    }
+    bloomFilter.force();
+    synchronized (sweptRanges) {
+      sweptRanges.clear();
+      cycleMarkedBlockHash = Optional.of(markedBlockHeader.getHash());
+      final KeyValueStorageTransaction transaction = markStorage.startTransaction();
+      transaction.put(CYCLE_KEY, encodeCycle());
+      transaction.put(
+          MARKED_NODES_KEY, Bytes.ofUnsignedLong(bloomFilterMarkedNodes.get()).toArrayUnsafe());
+      transaction.commit();
+    }
+  }
+
+  /**
+   * The block whose state was marked by a cycle interrupted before its sweep completed. Only bloom
+   * filter marking keeps its marks across restarts.
+   *
+   * @return the hash of the marked block of a cycle to resume, if any
+   */
+  public Optional<Hash> getMarkedBlockHash() {
+    return cycleMarkedBlockHash;
+  }
+
   public void sweepBefore(final long markedBlockNumber) {
     sweepOperationCounter.inc();
     LOG.debug("Sweeping unused nodes");
@@ -214,7 +338,16 @@ public class MarkSweepPruner {
 
     updater.commit();
     // Sweep non-state-root nodes
-    prunedNodeCount += worldStateStorage.prune(this::isMarked);
+    if (bloomFilter == null) {
+      prunedNodeCount += worldStateStorage.prune(this::isMarked);
+    } else {
+      prunedNodeCount += sweepRanges();
+      if (stopped) {
+        sweptNodesCounter.inc(prunedNodeCount);
+        LOG.info("Stopped sweeping unused nodes, the sweep resumes on restart");
+        return;
+      }
+    }
     sweptNodesCounter.inc(prunedNodeCount);
     clearMarks();
     LOG.debug("Completed sweeping unused nodes");
@@ -222,22 +355,185 @@ public class MarkSweepPruner {
 
   public void cleanup() {
     worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
-    clearMarks();
+    if (bloomFilter == null) {
+      clearMarks();
+    } else {
+      // keep the marks of a bloom filter cycle so it resumes on restart
+      stopped = true;
+      bloomFilter.force();
+      discardCycleOnBlockAdded();
+    }
+  }
+
+  private void discardCycleOnBlockAdded() {
+    // the nodes of blocks imported while not listening are not marked, so the sweep of the
+    // interrupted cycle would remove them
+    stoppedBlockAddedObserverId =
+        Optional.of(blockchain.observeBlockAdded(event -> discardInterruptedCycle()));
+  }
+
+  private void discardInterruptedCycle() {
+    synchronized (sweptRanges) {
+      if (cycleMarkedBlockHash.isEmpty()) {
+        return;
+      }
+      LOG.info(
+          "Discarding pruning cycle marked at block {}, blocks were imported while stopped",
+          cycleMarkedBlockHash.get());
+      final KeyValueStorageTransaction transaction = markStorage.startTransaction();
+      transaction.remove(CYCLE_KEY);
+      transaction.commit();
+      cycleMarkedBlockHash = Optional.empty();
+    }
   }
 
   public void clearMarks() {
-    markStorage.clear();
-    pendingMarks.clear();
+    if (bloomFilterFile.isEmpty()) {
+      markStorage.clear();
+      pendingMarks.clear();
+      return;
+    }
+    synchronized (sweptRanges) {
+      final KeyValueStorageTransaction transaction = markStorage.startTransaction();
+      transaction.remove(CYCLE_KEY);
+      transaction.commit();
+      cycleMarkedBlockHash = Optional.empty();
+      sweptRanges.clear();
+    }
+    final long expectedNodes =
+        Math.max(
+            configuration.getBloomFilterExpectedNodes(),
+            markStorage
+                .get(MARKED_NODES_KEY)
+                .map(count -> Bytes.wrap(count).toLong() * 5 / 4)
+                .orElse(0L));
+    try {
+      bloomFilter = PruningBloomFilter.create(bloomFilterFile.get(), expectedNodes);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    bloomFilterMarkedNodes.set(0);
+    LOG.debug(
+        "Created pruning bloom filter of {} bits for {} nodes",
+        bloomFilter.getBitCount(),
+        expectedNodes);
   }
 
   private boolean isMarked(final Bytes32 key) {
-    return pendingMarks.contains(key) || markStorage.containsKey(key.toArrayUnsafe());
+    return isMarked(key.toArrayUnsafe());
   }
 
   private boolean isMarked(final byte[] key) {
+    final PruningBloomFilter filter = bloomFilter;
+    if (filter != null) {
+      return filter.mightContain(key);
+    }
     return pendingMarks.contains(Bytes32.wrap(key)) || markStorage.containsKey(key);
   }
 
+  private long sweepRanges() {
+    final Optional<RateLimiter> rateLimiter =
+        Optional.of(configuration.getSweepRateLimit())
+            .filter(limit -> limit > 0)
+            .map(RateLimiter::create);
+    final ExecutorService sweepingExecutorService =
+        Executors.newFixedThreadPool(
+            configuration.getSweepThreads(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat(this.getClass().getSimpleName() + "-sweep-%d")
+                .build());
+    try {
+      final List<Future<Long>> sweeps = new ArrayList<>();
+      for (int range = 0; range < SWEEP_RANGES; range++) {
+        if (!isRangeSwept(range)) {
+          final int keyPrefix = range;
+          sweeps.add(sweepingExecutorService.submit(() -> sweepRange(keyPrefix, rateLimiter)));
+        }
+      }
+      long prunedNodeCount = 0;
+      for (final Future<Long> sweep : sweeps) {
+        try {
+          prunedNodeCount += sweep.get();
+        } catch (final ExecutionException e) {
+          if (!(e.getCause() instanceof CancellationException)) {
+            stopped = true;
+            throw new IllegalStateException("Failed to sweep unused nodes", e.getCause());
+          }
+        }
+      }
+      return prunedNodeCount;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      stopped = true;
+      return 0;
+    } finally {
+      sweepingExecutorService.shutdownNow();
+    }
+  }
+
+  private long sweepRange(final int keyPrefix, final Optional<RateLimiter> rateLimiter) {
+    final long[] checkedNodes = new long[1];
+    final long prunedNodeCount =
+        worldStateStorage.prune(
+            key -> {
+              if (stopped) {
+                throw new CancellationException("Pruner stopped");
+              }
+              if (rateLimiter.isPresent() && ++checkedNodes[0] % RATE_LIMITED_BATCH_SIZE == 0) {
+                rateLimiter.get().acquire(RATE_LIMITED_BATCH_SIZE);
+              }
+              return isMarked(key);
+            },
+            Bytes.of(keyPrefix));
+    synchronized (sweptRanges) {
+      sweptRanges.set(keyPrefix);
+      if (cycleMarkedBlockHash.isPresent()) {
+        final KeyValueStorageTransaction transaction = markStorage.startTransaction();
+        transaction.put(CYCLE_KEY, encodeCycle());
+        transaction.commit();
+      }
+    }
+    return prunedNodeCount;
+  }
+
+  private boolean isRangeSwept(final int range) {
+    synchronized (sweptRanges) {
+      return sweptRanges.get(range);
+    }
+  }
+
+  private byte[] encodeCycle() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeBytes(cycleMarkedBlockHash.orElseThrow());
+    out.writeBytes(Bytes.wrap(sweptRanges.toByteArray()));
+    out.endList();
+    return out.encoded().toArrayUnsafe();
+  }
+
+  private void loadBloomFilterCycle(final Path file) {
+    try {
+      final Optional<PruningBloomFilter> persisted = PruningBloomFilter.open(file);
+      final Optional<byte[]> cycle = markStorage.get(CYCLE_KEY);
+      if (persisted.isPresent() && cycle.isPresent()) {
+        bloomFilter = persisted.get();
+        final RLPInput in = RLP.input(Bytes.wrap(cycle.get()));
+        in.enterList();
+        cycleMarkedBlockHash = Optional.of(Hash.wrap(in.readBytes32()));
+        sweptRanges.or(BitSet.valueOf(in.readBytes().toArrayUnsafe()));
+        in.leaveList();
+        stopped = true;
+        discardCycleOnBlockAdded();
+      } else {
+        clearMarks();
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   private MerklePatriciaTrie<Bytes32, Bytes> createStateTrie(final Bytes32 rootHash) {
     return new StoredMerklePatriciaTrie<>(
         worldStateStorage::getAccountStateTrieNode,
@@ -264,11 +560,29 @@ public class MarkSweepPruner {
 
   @VisibleForTesting
   void markNode(final Bytes32 hash) {
-    markThenMaybeFlush(() -> pendingMarks.add(hash), 1);
+    final PruningBloomFilter filter = bloomFilter;
+    if (filter != null) {
+      markInBloomFilter(filter, hash);
+      markedNodesCounter.inc();
+    } else {
+      markThenMaybeFlush(() -> pendingMarks.add(hash), 1);
+    }
   }
 
   private void markNodes(final Collection<Bytes32> nodeHashes) {
-    markThenMaybeFlush(() -> pendingMarks.addAll(nodeHashes), nodeHashes.size());
+    final PruningBloomFilter filter = bloomFilter;
+    if (filter != null) {
+      nodeHashes.forEach(hash -> markInBloomFilter(filter, hash));
+      markedNodesCounter.inc(nodeHashes.size());
+    } else {
+      markThenMaybeFlush(() -> pendingMarks.addAll(nodeHashes), nodeHashes.size());
+    }
+  }
+
+  private void markInBloomFilter(final PruningBloomFilter filter, final Bytes32 hash) {
+    if (filter.put(hash.toArrayUnsafe())) {
+      bloomFilterMarkedNodes.incrementAndGet();
+    }
   }
 
   private void markThenMaybeFlush(final Runnable nodeMarker, final int numberOfNodes) {
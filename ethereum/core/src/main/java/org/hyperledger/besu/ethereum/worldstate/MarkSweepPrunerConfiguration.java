@@ -0,0 +1,71 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+public class MarkSweepPrunerConfiguration {
+  public static final long DEFAULT_BLOOM_FILTER_EXPECTED_NODES = 50_000_000L;
+  public static final int DEFAULT_SWEEP_THREADS = 2;
+  public static final MarkSweepPrunerConfiguration DEFAULT =
+      new MarkSweepPrunerConfiguration(
+          false, DEFAULT_BLOOM_FILTER_EXPECTED_NODES, DEFAULT_SWEEP_THREADS, 0);
+
+  private final boolean bloomFilterMarking;
+  private final long bloomFilterExpectedNodes;
+  private final int sweepThreads;
+  private final long sweepRateLimit;
+
+  public MarkSweepPrunerConfiguration(
+      final boolean bloomFilterMarking,
+      final long bloomFilterExpectedNodes,
+      final int sweepThreads,
+      final long sweepRateLimit) {
+    this.bloomFilterMarking = bloomFilterMarking;
+    this.bloomFilterExpectedNodes = bloomFilterExpectedNodes;
+    this.sweepThreads = sweepThreads;
+    this.sweepRateLimit = sweepRateLimit;
+  }
+
+  /**
+   * Whether nodes are marked into a memory mapped bloom filter rather than the pruning state
+   * storage. Bloom filter cycles sweep key ranges in parallel and resume after a restart.
+   *
+   * @return true when marking into a bloom filter
+   */
+  public boolean isBloomFilterMarking() {
+    return bloomFilterMarking;
+  }
+
+  /**
+   * The number of nodes the bloom filter is sized for until a cycle has counted the marked nodes.
+   *
+   * @return the expected number of marked nodes
+   */
+  public long getBloomFilterExpectedNodes() {
+    return bloomFilterExpectedNodes;
+  }
+
+  public int getSweepThreads() {
+    return sweepThreads;
+  }
+
+  /**
+   * The maximum number of nodes checked per second while sweeping, or 0 for no limit.
+   *
+   * @return the sweep rate limit
+   */
+  public long getSweepRateLimit() {
+    return sweepRateLimit;
+  }
+}
@@ -95,6 +95,10 @@ public class Pruner {
           if (state.compareAndSet(State.IDLE, State.RUNNING)) {
             LOG.info("Starting Pruner.");
             pruningStrategy.prepare();
+            pruningStrategy
+                .getMarkedBlockHash()
+                .flatMap(blockchain::getBlockHeader)
+                .ifPresent(this::resumeSweep);
             blockAddedObserverId = blockchain.observeBlockAdded(this::handleNewBlock);
           }
         });
@@ -136,6 +140,13 @@ public class Pruner {
     }
   }
 
+  private void resumeSweep(final BlockHeader header) {
+    LOG.info("Resuming pruning of state marked at block {}", header.getNumber());
+    markBlockNumber = header.getNumber();
+    markedBlockHeader = header;
+    pruningPhase.set(PruningPhase.MARKING_COMPLETE);
+  }
+
   private void mark(final BlockHeader header) {
     final Hash stateRoot = header.getStateRoot();
     LOG.info(
@@ -145,6 +156,7 @@ public class Pruner {
     execute(
         () -> {
           pruningStrategy.mark(stateRoot);
+          pruningStrategy.markingComplete(header);
           pruningPhase.compareAndSet(PruningPhase.MARKING, PruningPhase.MARKING_COMPLETE);
         });
   }
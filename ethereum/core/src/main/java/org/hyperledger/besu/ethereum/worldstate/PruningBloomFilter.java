@@ -0,0 +1,196 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * A bloom filter of node hashes kept in a memory mapped file, so marks neither take heap space nor
+ * get lost when the node restarts.
+ *
+ * <p>Node keys are already keccak hashes, so the bit positions are derived from the first 16 bytes
+ * of the key by double hashing instead of hashing the key again. Bits are set with compare and
+ * swap, so any number of threads can mark concurrently. False positives only keep unused nodes
+ * until a later cycle, they never remove a node in use.
+ */
+final class PruningBloomFilter {
+
+  static final double FALSE_POSITIVE_RATE = 0.01;
+
+  private static final VarHandle WORDS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  private static final VarHandle KEY_LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  private static final int MAGIC = 0x50424c4d;
+  private static final int HEADER_SIZE = 16;
+  private static final int MAX_HASHES = 16;
+  private static final long MAX_BITS =
+      (Integer.MAX_VALUE - HEADER_SIZE) / Long.BYTES * (long) Long.SIZE;
+
+  private final MappedByteBuffer buffer;
+  private final long bitCount;
+  private final int hashCount;
+
+  private PruningBloomFilter(
+      final MappedByteBuffer buffer, final long bitCount, final int hashCount) {
+    this.buffer = buffer;
+    this.bitCount = bitCount;
+    this.hashCount = hashCount;
+  }
+
+  /**
+   * Create an empty filter sized for the expected number of nodes, replacing the given file.
+   *
+   * @param file the file backing the filter
+   * @param expectedNodes the number of nodes the filter is sized for
+   * @return the empty filter
+   * @throws IOException if the file could not be created
+   */
+  static PruningBloomFilter create(final Path file, final long expectedNodes) throws IOException {
+    final long nodes = Math.max(1, expectedNodes);
+    final double optimalBits = -nodes * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2));
+    final long bits =
+        Math.min(MAX_BITS, ((long) Math.ceil(optimalBits) + Long.SIZE - 1) & -Long.SIZE);
+    final int hashes =
+        (int) Math.min(MAX_HASHES, Math.max(1, Math.round((double) bits / nodes * Math.log(2))));
+
+    // A filter still mapped by a previous cycle keeps its file, so the new one is moved over it
+    final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.deleteIfExists(temporary);
+    final MappedByteBuffer buffer;
+    try (final FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + bits / Byte.SIZE);
+    }
+    buffer.putInt(0, MAGIC).putInt(4, hashes).putLong(8, bits);
+    Files.move(
+        temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    return new PruningBloomFilter(buffer, bits, hashes);
+  }
+
+  /**
+   * Open the filter left in the given file by a previous run.
+   *
+   * @param file the file backing the filter
+   * @return the filter, or empty if there is no valid filter in the file
+   * @throws IOException if the file could not be read
+   */
+  static Optional<PruningBloomFilter> open(final Path file) throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        return Optional.empty();
+      }
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      final int hashes = buffer.getInt(4);
+      final long bits = buffer.getLong(8);
+      if (buffer.getInt(0) != MAGIC
+          || hashes < 1
+          || hashes > MAX_HASHES
+          || bits <= 0
+          || bits % Long.SIZE != 0
+          || size != HEADER_SIZE + bits / Byte.SIZE) {
+        return Optional.empty();
+      }
+      return Optional.of(new PruningBloomFilter(buffer, bits, hashes));
+    }
+  }
+
+  /**
+   * Mark a node hash.
+   *
+   * @param hash the node hash
+   * @return true if the hash was not marked before, false if it was or might have been
+   */
+  boolean put(final byte[] hash) {
+    final long first = (long) KEY_LONGS.get(hash, 0);
+    final long second = (long) KEY_LONGS.get(hash, Long.BYTES) | 1;
+    boolean added = false;
+    for (int i = 0; i < hashCount; i++) {
+      added |= setBit(((first + i * second) & Long.MAX_VALUE) % bitCount);
+    }
+    return added;
+  }
+
+  /**
+   * Whether a key might have been marked. Keys too short to be node hashes are always reported as
+   * marked, so they are never pruned.
+   *
+   * @param key the storage key
+   * @return false if the key was definitely not marked
+   */
+  boolean mightContain(final byte[] key) {
+    if (key.length < 2 * Long.BYTES) {
+      return true;
+    }
+    final long first = (long) KEY_LONGS.get(key, 0);
+    final long second = (long) KEY_LONGS.get(key, Long.BYTES) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      final long bit = ((first + i * second) & Long.MAX_VALUE) % bitCount;
+      if (((long) WORDS.getVolatile(buffer, wordOffset(bit)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Write the marks to the file, so they survive a crash of the machine. */
+  void force() {
+    buffer.force();
+  }
+
+  long getBitCount() {
+    return bitCount;
+  }
+
+  int getHashCount() {
+    return hashCount;
+  }
+
+  private boolean setBit(final long bit) {
+    final int offset = wordOffset(bit);
+    final long mask = 1L << bit;
+    long word;
+    do {
+      word = (long) WORDS.getVolatile(buffer, offset);
+      if ((word & mask) != 0) {
+        return false;
+      }
+    } while (!WORDS.compareAndSet(buffer, offset, word, word | mask));
+    return true;
+  }
+
+  private static int wordOffset(final long bit) {
+    return (int) (HEADER_SIZE + (bit >>> 6) * Long.BYTES);
+  }
+}
@@ -50,6 +50,22 @@ public interface WorldStateStorage {
 
   long prune(Predicate<byte[]> inUseCheck);
 
+  /**
+   * Remove the keys starting with the given prefix that are not in use. Storages that can seek to
+   * the prefix should override this rather than testing every key of the storage.
+   *
+   * @param inUseCheck tests whether a key is in use and must be kept
+   * @param keyPrefix the prefix of the keys to prune
+   * @return the number of keys removed
+   */
+  default long prune(final Predicate<byte[]> inUseCheck, final Bytes keyPrefix) {
+    return prune(
+        key ->
+            key.length < keyPrefix.size()
+                || !Bytes.wrap(key, 0, keyPrefix.size()).equals(keyPrefix)
+                || inUseCheck.test(key));
+  }
+
   long addNodeAddedListener(NodesAddedListener listener);
 
   void removeNodeAddedListener(long id);
@@ -0,0 +1,44 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class BonsaiHashCacheTest {
+
+  @Test
+  public void hashesAddressesLikeKeccak() {
+    final Address address = Address.fromHexString("0x1234");
+
+    assertThat(BonsaiHashCache.hashAddress(address)).isEqualTo(Hash.hash(address));
+    assertThat(BonsaiHashCache.hashAddress(address))
+        .isSameAs(BonsaiHashCache.hashAddress(Address.fromHexString("0x1234")));
+  }
+
+  @Test
+  public void hashesSlotKeysLikeKeccak() {
+    final UInt256 slotKey = UInt256.valueOf(42);
+
+    assertThat(BonsaiHashCache.hashSlotKey(slotKey)).isEqualTo(Hash.hash(slotKey));
+    assertThat(BonsaiHashCache.hashSlotKey(slotKey))
+        .isSameAs(BonsaiHashCache.hashSlotKey(UInt256.valueOf(42)));
+  }
+}
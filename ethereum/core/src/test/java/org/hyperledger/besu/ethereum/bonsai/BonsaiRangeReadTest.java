@@ -0,0 +1,152 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.evm.account.AccountStorageEntry;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldState.StreamableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.stream.Collectors;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BonsaiRangeReadTest {
+
+  private static final Address ADDRESS_ONE = Address.fromHexString("0x01");
+  private static final Address ADDRESS_TWO = Address.fromHexString("0x02");
+
+  private InMemoryKeyValueStorageProvider provider;
+  private BonsaiWorldStateArchive archive;
+  private BonsaiPersistedWorldState worldState;
+
+  @Before
+  public void setUp() {
+    provider = new InMemoryKeyValueStorageProvider();
+    archive =
+        new BonsaiWorldStateArchive(
+            provider, mock(Blockchain.class), new CachedMerkleTrieLoader(new NoOpMetricsSystem()));
+    worldState =
+        new BonsaiPersistedWorldState(archive, new BonsaiWorldStateKeyValueStorage(provider));
+
+    final WorldUpdater updater = worldState.updater();
+    updater.createAccount(ADDRESS_ONE, 1, Wei.of(1));
+    final MutableAccount account = updater.createAccount(ADDRESS_TWO, 2, Wei.of(2)).getMutable();
+    account.setStorageValue(UInt256.ONE, UInt256.valueOf(10));
+    account.setStorageValue(UInt256.valueOf(2), UInt256.valueOf(20));
+    updater.commit();
+    worldState.persist(null);
+  }
+
+  @Test
+  public void streamsAccountsFromTheFlatDatabase() {
+    final List<Hash> all =
+        worldState
+            .streamAccounts(Bytes32.ZERO, Integer.MAX_VALUE)
+            .map(StreamableAccount::getAddressHash)
+            .collect(Collectors.toList());
+    assertThat(all)
+        .containsExactlyInAnyOrder(Hash.hash(ADDRESS_ONE), Hash.hash(ADDRESS_TWO))
+        .isSorted();
+
+    final List<StreamableAccount> fromSecond =
+        worldState.streamAccounts(all.get(1), 10).collect(Collectors.toList());
+    assertThat(fromSecond).hasSize(1);
+    assertThat(fromSecond.get(0).getAddressHash()).isEqualTo(all.get(1));
+    assertThat(fromSecond.get(0).getAddress().map(Hash::hash)).contains(all.get(1));
+  }
+
+  @Test
+  public void streamedAccountsReadStorageByAccountHash() {
+    final StreamableAccount account = streamAccount(worldState, Hash.hash(ADDRESS_TWO));
+
+    assertThat(account.getAddress()).contains(ADDRESS_TWO);
+    assertThat(account.getStorageValue(UInt256.ONE)).isEqualTo(UInt256.valueOf(10));
+    final NavigableMap<Bytes32, AccountStorageEntry> entries =
+        account.storageEntriesFrom(Bytes32.ZERO, 10);
+    assertThat(entries.get(Hash.hash(UInt256.valueOf(2))).getKey()).contains(UInt256.valueOf(2));
+  }
+
+  @Test
+  public void streamedAccountsWithoutPreimagesKeepAnUnknownAddress() {
+    final BonsaiPersistedWorldState withoutPreimages =
+        new BonsaiPersistedWorldState(
+            archive,
+            new BonsaiWorldStateKeyValueStorage(
+                provider.getStorageBySegmentIdentifier(
+                    KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE),
+                provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.CODE_STORAGE),
+                provider.getStorageBySegmentIdentifier(
+                    KeyValueSegmentIdentifier.ACCOUNT_STORAGE_STORAGE),
+                provider.getStorageBySegmentIdentifier(
+                    KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE),
+                provider.getStorageBySegmentIdentifier(
+                    KeyValueSegmentIdentifier.TRIE_LOG_STORAGE)));
+
+    final StreamableAccount account = streamAccount(withoutPreimages, Hash.hash(ADDRESS_TWO));
+
+    assertThat(account.getAddress()).isEmpty();
+    assertThat(account.getStorageValue(UInt256.valueOf(2))).isEqualTo(UInt256.valueOf(20));
+    assertThat(account.storageEntriesFrom(Bytes32.ZERO, 10).get(Hash.hash(UInt256.ONE)).getKey())
+        .isEmpty();
+  }
+
+  @Test
+  public void readsStorageRangesOfPersistedAccounts() {
+    final NavigableMap<Bytes32, AccountStorageEntry> entries =
+        worldState.get(ADDRESS_TWO).storageEntriesFrom(Bytes32.ZERO, 10);
+
+    assertThat(entries).containsOnlyKeys(Hash.hash(UInt256.ONE), Hash.hash(UInt256.valueOf(2)));
+    assertThat(entries.get(Hash.hash(UInt256.ONE)).getValue()).isEqualTo(UInt256.valueOf(10));
+    assertThat(worldState.get(ADDRESS_TWO).storageEntriesFrom(Bytes32.ZERO, 1)).hasSize(1);
+  }
+
+  @Test
+  public void storageRangesIncludePendingUpdates() {
+    final BonsaiWorldStateUpdater updater = (BonsaiWorldStateUpdater) worldState.updater();
+    final MutableAccount account = updater.getAccount(ADDRESS_TWO).getMutable();
+    account.setStorageValue(UInt256.ONE, UInt256.ZERO);
+    account.setStorageValue(UInt256.valueOf(3), UInt256.valueOf(30));
+    updater.commit();
+
+    final NavigableMap<Bytes32, AccountStorageEntry> entries =
+        updater.storageEntriesFrom(Hash.hash(ADDRESS_TWO), Bytes32.ZERO, 10);
+
+    assertThat(entries)
+        .containsOnlyKeys(Hash.hash(UInt256.valueOf(2)), Hash.hash(UInt256.valueOf(3)));
+    assertThat(entries.get(Hash.hash(UInt256.valueOf(3))).getValue())
+        .isEqualTo(UInt256.valueOf(30));
+  }
+
+  private static StreamableAccount streamAccount(
+      final BonsaiPersistedWorldState worldState, final Hash addressHash) {
+    return worldState.streamAccounts(addressHash, 1).findFirst().orElseThrow();
+  }
+}
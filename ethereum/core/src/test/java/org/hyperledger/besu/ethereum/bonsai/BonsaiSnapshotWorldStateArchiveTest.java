@@ -35,9 +35,11 @@ import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -70,6 +72,8 @@ public class BonsaiSnapshotWorldStateArchiveTest {
   public void setUp() {
     when(storageProvider.getStorageBySegmentIdentifier(any(KeyValueSegmentIdentifier.class)))
         .thenReturn(keyValueStorage);
+    when(storageProvider.createWorldStatePreimageStorage())
+        .thenReturn(new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()));
     cachedMerkleTrieLoader = new CachedMerkleTrieLoader(new NoOpMetricsSystem());
   }
 
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.bonsai;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage.WORLD_ROOT_HASH_KEY;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -234,6 +235,35 @@ public class BonsaiWorldStateKeyValueStorageTest {
             eq(Hash.wrap(accounts.firstKey())), any(), eq(storageTrie.getRootHash()));
   }
 
+  @Test
+  public void getStorageSlotValue_readsFlatDatabaseThenTrie() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final MerklePatriciaTrie<Bytes, Bytes> trie = TrieGenerator.generateTrie(storage, 1);
+    final Hash accountHash =
+        Hash.wrap(
+            trie.entriesFrom(root -> StorageEntriesCollector.collectEntries(root, Hash.ZERO, 1))
+                .keySet()
+                .iterator()
+                .next());
+    final Hash slotHash =
+        Hash.wrap(
+            storage.streamFlatStorages(accountHash, Bytes32.ZERO, 1).keySet().iterator().next());
+    final UInt256 expected =
+        UInt256.fromBytes(storage.getStorageValueBySlotHash(accountHash, slotHash).orElseThrow());
+
+    assertThat(storage.getStorageSlotValue(accountHash, slotHash)).contains(expected);
+    assertThat(storage.getStorageSlotValue(accountHash, Hash.ZERO)).isEmpty();
+
+    final BonsaiWorldStateKeyValueStorage.BonsaiUpdater updater = storage.updater();
+    updater
+        .getTrieBranchStorageTransaction()
+        .put(WORLD_ROOT_HASH_KEY, trie.getRootHash().toArrayUnsafe());
+    updater.commit();
+    storage.clearFlatDatabase();
+
+    assertThat(storage.getStorageSlotValue(accountHash, slotHash)).contains(expected);
+  }
+
   @Test
   public void reconcilesNonConflictingUpdaters() {
     final Hash accountHashA = Hash.hash(Address.fromHexString("0x1"));
@@ -351,6 +381,40 @@ public class BonsaiWorldStateKeyValueStorageTest {
     assertThat(accountStateTrieNodeResult).contains(bytesToFind);
   }
 
+  @Test
+  public void streamFlatAccounts_startsAtKeyAndStopsAtLimit() {
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    final BonsaiWorldStateKeyValueStorage.BonsaiUpdater updater = storage.updater();
+    for (int i = 1; i <= 5; i++) {
+      updater.putAccountInfoState(Hash.wrap(Bytes32.leftPad(Bytes.of(i))), Bytes.of(i));
+    }
+    updater.commit();
+
+    assertThat(storage.streamFlatAccounts(Bytes32.leftPad(Bytes.of(2)), 2))
+        .containsExactly(
+            entry(Bytes32.leftPad(Bytes.of(2)), Bytes.of(2)),
+            entry(Bytes32.leftPad(Bytes.of(3)), Bytes.of(3)));
+  }
+
+  @Test
+  public void streamFlatStorages_onlyReturnsSlotsOfTheAccount() {
+    final Hash account = Hash.wrap(Bytes32.leftPad(Bytes.of(2)));
+    final Hash slot = Hash.wrap(Bytes32.leftPad(Bytes.of(1)));
+    final BonsaiWorldStateKeyValueStorage storage = emptyStorage();
+    storage
+        .updater()
+        .putStorageValueBySlotHash(Hash.wrap(Bytes32.leftPad(Bytes.of(1))), slot, Bytes.of(1))
+        .putStorageValueBySlotHash(account, slot, Bytes.of(2))
+        .putStorageValueBySlotHash(account, Hash.wrap(Bytes32.repeat((byte) 0xff)), Bytes.of(3))
+        .putStorageValueBySlotHash(Hash.wrap(Bytes32.leftPad(Bytes.of(3))), slot, Bytes.of(4))
+        .commit();
+
+    assertThat(storage.streamFlatStorages(account, Bytes32.ZERO, 10))
+        .containsExactly(entry(slot, Bytes.of(2)), entry(Bytes32.repeat((byte) 0xff), Bytes.of(3)));
+    assertThat(storage.streamFlatStorages(account, Bytes32.leftPad(Bytes.of(2)), 10))
+        .containsOnlyKeys(Bytes32.repeat((byte) 0xff));
+  }
+
   private BonsaiWorldStateKeyValueStorage emptyStorage() {
     return new BonsaiWorldStateKeyValueStorage(new InMemoryKeyValueStorageProvider());
   }
@@ -78,6 +78,26 @@ public class CachedMerkleTrieLoaderTest {
     assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero));
   }
 
+  @Test
+  public void shouldAddAccountNodesInCacheDuringBatchedPreload() {
+    merkleTrieLoader.cacheAccountNodes(inMemoryWorldState, accounts);
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(new InMemoryKeyValueStorageProvider());
+    StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    for (final Address account : accounts) {
+      final Hash accountHash = Hash.hash(account);
+      assertThat(cachedTrie.get(accountHash)).isEqualTo(trie.get(accountHash)).isPresent();
+    }
+  }
+
   @Test
   public void shouldAddStorageNodesInCacheDuringPreload() {
     final Hash hashAccountZero = Hash.hash(accounts.get(0));
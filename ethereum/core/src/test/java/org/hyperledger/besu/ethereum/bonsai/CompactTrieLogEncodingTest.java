@@ -0,0 +1,122 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompactTrieLogEncodingTest {
+
+  private static final Address ACCOUNT_ONE = Address.fromHexString("0x01");
+  private static final Address ACCOUNT_TWO = Address.fromHexString("0x02");
+  private static final Address ACCOUNT_THREE = Address.fromHexString("0x03");
+
+  private TrieLogLayer layer;
+
+  @Before
+  public void setUp() {
+    layer = new TrieLogLayer();
+    layer.setBlockHash(Hash.hash(Bytes.of(1)));
+    layer.addAccountChange(
+        ACCOUNT_ONE,
+        null,
+        new StateTrieAccountValue(0, Wei.ZERO, Hash.EMPTY_TRIE_HASH, Hash.EMPTY));
+    layer.addAccountChange(
+        ACCOUNT_TWO,
+        new StateTrieAccountValue(5, Wei.of(1_000), Hash.hash(Bytes.of(2)), Hash.hash(Bytes.of(3))),
+        new StateTrieAccountValue(6, Wei.of(900), Hash.hash(Bytes.of(4)), Hash.hash(Bytes.of(3))));
+    layer.addAccountChange(
+        ACCOUNT_THREE,
+        new StateTrieAccountValue(1, Wei.of(1), Hash.EMPTY_TRIE_HASH, Hash.EMPTY),
+        null);
+    layer.addCodeChange(ACCOUNT_ONE, null, Bytes.fromHexString("0x6001"), layer.getBlockHash());
+    for (final Address address : Arrays.asList(ACCOUNT_TWO, ACCOUNT_THREE)) {
+      layer.addStorageChange(address, slot(0), UInt256.ONE, UInt256.valueOf(2));
+      layer.addStorageChange(address, slot(1), null, UInt256.MAX_VALUE);
+      layer.addStorageChange(address, slot(2), UInt256.valueOf(3), null);
+    }
+  }
+
+  @Test
+  public void roundTripsAllChanges() {
+    final Bytes encoded = CompactTrieLogEncoding.encode(layer);
+
+    final TrieLogLayer decoded = TrieLogLayer.fromBytes(encoded.toArrayUnsafe());
+
+    assertThat(rlp(decoded)).isEqualTo(rlp(layer));
+    assertThat(decoded.getCode(ACCOUNT_ONE)).contains(Bytes.fromHexString("0x6001"));
+    assertThat(decoded.getAccount(ACCOUNT_THREE)).isEmpty();
+    assertThat(decoded.getStorageBySlotHash(ACCOUNT_THREE, slot(1))).contains(UInt256.MAX_VALUE);
+    assertThat(decoded.getPriorStorageBySlotHash(ACCOUNT_TWO, slot(1))).isEmpty();
+  }
+
+  @Test
+  public void isSmallerThanRlpAndStoresSharedSlotsOnce() {
+    final Bytes encoded = CompactTrieLogEncoding.encode(layer);
+
+    assertThat(encoded.size()).isLessThan(rlp(layer).size());
+    assertThat(occurrences(encoded, slot(0))).isEqualTo(1);
+    assertThat(occurrences(rlp(layer), slot(0))).isEqualTo(2);
+  }
+
+  @Test
+  public void rlpEncodedLayersAreStillRead() {
+    final TrieLogLayer decoded = TrieLogLayer.fromBytes(rlp(layer).toArrayUnsafe());
+
+    assertThat(rlp(decoded)).isEqualTo(rlp(layer));
+  }
+
+  @Test
+  public void rejectsTruncatedLayers() {
+    final Bytes encoded = CompactTrieLogEncoding.encode(layer);
+
+    assertThatThrownBy(
+            () -> TrieLogLayer.fromBytes(encoded.slice(0, encoded.size() - 1).toArrayUnsafe()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Hash slot(final int index) {
+    return Hash.hash(UInt256.valueOf(index));
+  }
+
+  private static Bytes rlp(final TrieLogLayer layer) {
+    final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    layer.writeTo(output);
+    return output.encoded();
+  }
+
+  private static int occurrences(final Bytes bytes, final Bytes part) {
+    int count = 0;
+    for (int i = 0; i + part.size() <= bytes.size(); i++) {
+      if (bytes.slice(i, part.size()).equals(part)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
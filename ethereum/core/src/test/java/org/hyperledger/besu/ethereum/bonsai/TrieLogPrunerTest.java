@@ -0,0 +1,162 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage.BonsaiUpdater;
+import org.hyperledger.besu.ethereum.bonsai.TrieLogPruner.TrieLogReport;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TrieLogPrunerTest {
+
+  private static final int CHAIN_LENGTH = 21;
+  private static final long BLOCKS_TO_RETAIN = 5;
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final List<BlockHeader> canonicalHeaders = new ArrayList<>();
+  private final Map<Hash, BlockHeader> headersByHash = new HashMap<>();
+  private BonsaiWorldStateKeyValueStorage worldStateStorage;
+  private TrieLogPruner pruner;
+
+  @Before
+  public void setUp() {
+    worldStateStorage = new BonsaiWorldStateKeyValueStorage(new InMemoryKeyValueStorageProvider());
+    pruner =
+        new TrieLogPruner(
+            worldStateStorage,
+            blockchain,
+            BLOCKS_TO_RETAIN,
+            MoreExecutors.newDirectExecutorService());
+    for (int number = 0; number < CHAIN_LENGTH; number++) {
+      final BlockHeader header = new BlockHeaderTestFixture().number(number).buildHeader();
+      canonicalHeaders.add(header);
+      storeTrieLog(header);
+    }
+    when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              final long number = invocation.getArgument(0);
+              return number < canonicalHeaders.size()
+                  ? Optional.of(canonicalHeaders.get((int) number).getHash())
+                  : Optional.empty();
+            });
+    when(blockchain.getBlockHeader(any()))
+        .thenAnswer(
+            invocation -> Optional.ofNullable(headersByHash.get(invocation.getArgument(0))));
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+  }
+
+  @Test
+  public void prunesTrieLogsBelowTheRetainedBlocks() {
+    assertThat(pruner.prune(20)).isEqualTo(15);
+
+    assertThat(storedNumbers()).containsExactly(15L, 16L, 17L, 18L, 19L, 20L);
+    assertThat(worldStateStorage.getTrieLogPruningMark()).contains(15L);
+
+    assertThat(pruner.prune(21)).isEqualTo(1);
+    assertThat(storedNumbers()).containsExactly(16L, 17L, 18L, 19L, 20L);
+  }
+
+  @Test
+  public void keepsTrieLogsFromTheFinalizedBlock() {
+    when(blockchain.getFinalized()).thenReturn(Optional.of(canonicalHeaders.get(10).getHash()));
+
+    pruner.prune(20);
+
+    assertThat(storedNumbers()).first().isEqualTo(10L);
+    assertThat(storedNumbers()).hasSize(11);
+  }
+
+  @Test
+  public void prunesForkBlocksSeenBeingAdded() {
+    final BlockHeader fork =
+        new BlockHeaderTestFixture().number(3).extraData(Bytes.of(1)).buildHeader();
+    storeTrieLog(fork);
+    pruner.onBlockAdded(BlockAddedEvent.createForFork(new Block(fork, BlockBody.empty())));
+
+    pruner.onBlockAdded(
+        BlockAddedEvent.createForHeadAdvancement(
+            new Block(canonicalHeaders.get(20), BlockBody.empty()),
+            Collections.emptyList(),
+            Collections.emptyList()));
+
+    assertThat(worldStateStorage.hasTrieLog(fork.getHash())).isFalse();
+    assertThat(storedNumbers()).containsExactly(15L, 16L, 17L, 18L, 19L, 20L);
+  }
+
+  @Test
+  public void pruneAllRemovesTrieLogsOfUnknownBlocks() {
+    final BlockHeader unknown =
+        new BlockHeaderTestFixture().number(19).extraData(Bytes.of(2)).buildHeader();
+    final BonsaiUpdater updater = worldStateStorage.updater();
+    updater.getTrieLogStorageTransaction().put(unknown.getHash().toArrayUnsafe(), new byte[10]);
+    updater.commit();
+
+    final TrieLogReport report = pruner.report(20);
+    assertThat(report.getStored().getCount()).isEqualTo(CHAIN_LENGTH + 1);
+    assertThat(report.getPrunable().getCount()).isEqualTo(16);
+    assertThat(report.getRetainedFrom()).isEqualTo(15);
+
+    final TrieLogPruner.TrieLogUsage pruned = pruner.pruneAll(20);
+    assertThat(pruned.getCount()).isEqualTo(16);
+    assertThat(pruned.getBytes()).isEqualTo(report.getPrunable().getBytes());
+    assertThat(worldStateStorage.hasTrieLog(unknown.getHash())).isFalse();
+    assertThat(storedNumbers()).containsExactly(15L, 16L, 17L, 18L, 19L, 20L);
+    assertThat(worldStateStorage.getTrieLogPruningMark()).contains(15L);
+  }
+
+  private void storeTrieLog(final BlockHeader header) {
+    headersByHash.put(header.getHash(), header);
+    final BonsaiUpdater updater = worldStateStorage.updater();
+    updater
+        .getTrieLogStorageTransaction()
+        .put(header.getHash().toArrayUnsafe(), Bytes.ofUnsignedLong(header.getNumber()).toArray());
+    updater.commit();
+  }
+
+  private List<Long> storedNumbers() {
+    final List<Long> numbers = new ArrayList<>();
+    for (final BlockHeader header : canonicalHeaders) {
+      if (worldStateStorage.hasTrieLog(header.getHash())) {
+        numbers.add(header.getNumber());
+      }
+    }
+    return numbers;
+  }
+}
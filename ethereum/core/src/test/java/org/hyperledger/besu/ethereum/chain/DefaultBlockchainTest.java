@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -27,6 +28,8 @@ import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.LazyRLPList;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import org.hyperledger.besu.metrics.MetricsSystemFactory;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
@@ -142,6 +145,27 @@ public class DefaultBlockchainTest {
     assertTotalDifficultiesAreConsistent(blockchain, lastBlock);
   }
 
+  @Test
+  public void storedBodiesAndReceiptsAreDecodedLazily() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final List<Block> blocks = gen.blockSequence(2);
+    final Block block = blocks.get(1);
+    final List<TransactionReceipt> receipts = gen.receipts(block);
+    createMutableBlockchain(kvStore, blocks.get(0)).appendBlock(block, receipts);
+
+    final Blockchain blockchain = createBlockchain(kvStore);
+    final BlockBody body = blockchain.getBlockBody(block.getHash()).orElseThrow();
+    final List<TransactionReceipt> storedReceipts =
+        blockchain.getTxReceipts(block.getHash()).orElseThrow();
+
+    assertThat(body.getTransactions()).isInstanceOf(LazyRLPList.class);
+    assertThat(body.getTransactions()).hasSameSizeAs(block.getBody().getTransactions());
+    assertThat(body.getTransactions().get(0)).isEqualTo(block.getBody().getTransactions().get(0));
+    assertThat(storedReceipts).isInstanceOf(LazyRLPList.class).isEqualTo(receipts);
+    assertThat(RLP.encode(body::writeTo)).isEqualTo(RLP.encode(block.getBody()::writeTo));
+  }
+
   @Test
   public void initializeReadOnly_withGiantDifficultyAndLiveMetrics() {
     final BlockDataGenerator gen = new BlockDataGenerator();
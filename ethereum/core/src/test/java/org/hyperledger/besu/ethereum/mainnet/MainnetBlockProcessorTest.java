@@ -17,19 +17,37 @@ package org.hyperledger.besu.ethereum.mainnet;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiPersistedWorldState;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateArchive;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.bonsai.CachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.referencetests.ReferenceTestBlockchain;
 import org.hyperledger.besu.ethereum.referencetests.ReferenceTestWorldState;
+import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -93,4 +111,52 @@ public class MainnetBlockProcessorTest {
     // An empty block with 0 reward should change the world state prior to EIP158
     assertThat(worldState.rootHash()).isNotEqualTo(initialHash);
   }
+
+  @Test
+  public void transactionWithUnrecoverableSenderMakesTheBlockInvalid() {
+    final InMemoryKeyValueStorageProvider provider = new InMemoryKeyValueStorageProvider();
+    final BonsaiPersistedWorldState worldState =
+        new BonsaiPersistedWorldState(
+            new BonsaiWorldStateArchive(
+                provider,
+                mock(Blockchain.class),
+                new CachedMerkleTrieLoader(new NoOpMetricsSystem())),
+            new BonsaiWorldStateKeyValueStorage(provider));
+    final MainnetBlockProcessor blockProcessor =
+        new MainnetBlockProcessor(
+            transactionProcessor,
+            transactionReceiptFactory,
+            Wei.ZERO,
+            BlockHeader::getCoinbase,
+            true,
+            Optional.empty());
+    final Transaction transaction =
+        Transaction.builder()
+            .nonce(0)
+            .gasPrice(Wei.ONE)
+            .gasLimit(21_000)
+            .to(Address.fromHexString("0x01"))
+            .value(Wei.ZERO)
+            .payload(Bytes.EMPTY)
+            .signature(
+                SignatureAlgorithmFactory.getInstance()
+                    .createSignature(BigInteger.valueOf(5), BigInteger.ONE, (byte) 0))
+            .build();
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), any(), any(), any(), any(), anyBoolean(), any(), any()))
+        .thenReturn(
+            TransactionProcessingResult.invalid(
+                ValidationResult.invalid(TransactionInvalidReason.INVALID_SIGNATURE)));
+
+    final BlockProcessingResult result =
+        blockProcessor.processBlock(
+            mock(Blockchain.class),
+            worldState,
+            new BlockHeaderTestFixture().gasLimit(30_000_000).buildHeader(),
+            List.of(transaction),
+            emptyList());
+
+    assertThat(transaction.getRecoveredSender()).isEmpty();
+    assertThat(result.isFailed()).isTrue();
+  }
 }
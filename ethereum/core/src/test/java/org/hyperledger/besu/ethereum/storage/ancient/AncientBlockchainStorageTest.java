@@ -0,0 +1,168 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AncientBlockchainStorageTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final InMemoryKeyValueStorage indexStorage = new InMemoryKeyValueStorage();
+  private final BlockchainStorage baseStorage =
+      new KeyValueStoragePrefixedKeyBlockchainStorage(
+          new InMemoryKeyValueStorage(), new MainnetBlockHeaderFunctions());
+
+  @TempDir Path directory;
+  private AncientBlockStore ancientStore;
+  private AncientBlockchainStorage storage;
+  private MutableBlockchain blockchain;
+  private List<Block> blocks;
+  private final Map<Hash, List<TransactionReceipt>> receipts = new HashMap<>();
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    ancientStore = AncientBlockStore.open(directory);
+    storage =
+        new AncientBlockchainStorage(
+            baseStorage, ancientStore, indexStorage, new MainnetBlockHeaderFunctions());
+    final Block genesis = gen.genesisBlock();
+    blockchain = DefaultBlockchain.createMutable(genesis, storage, new NoOpMetricsSystem(), 0);
+    blocks = gen.blockSequence(genesis, 20);
+    blocks.forEach(
+        block -> {
+          receipts.put(block.getHash(), gen.receipts(block));
+          blockchain.appendBlock(block, receipts.get(block.getHash()));
+        });
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    ancientStore.close();
+  }
+
+  @Test
+  public void frozenBlocksAreReadFromTheAncientStore() throws IOException {
+    assertThat(storage.freeze(10, 100)).isEqualTo(11);
+    assertThat(storage.getFrozenBlockCount()).isEqualTo(11);
+
+    final Block frozen = blocks.get(4);
+    assertThat(baseStorage.getBlockHeader(frozen.getHash())).isEmpty();
+    assertThat(baseStorage.getBlockBody(frozen.getHash())).isEmpty();
+    assertThat(blockchain.getBlockByHash(frozen.getHash())).contains(frozen);
+    assertThat(blockchain.getTxReceipts(frozen.getHash())).contains(receipts.get(frozen.getHash()));
+    assertThat(blockchain.getBlockHeader(frozen.getHeader().getNumber()))
+        .contains(frozen.getHeader());
+
+    final Block recent = blocks.get(15);
+    assertThat(baseStorage.getBlockHeader(recent.getHash())).isPresent();
+    assertThat(
+            storage.getBlockBodies(
+                List.of(frozen.getHash(), recent.getHash(), gen.block().getHash())))
+        .containsExactly(
+            Optional.of(frozen.getBody()), Optional.of(recent.getBody()), Optional.empty());
+  }
+
+  @Test
+  public void freezesInBatchesAndSurvivesReopening() throws IOException {
+    assertThat(storage.freeze(15, 5)).isEqualTo(5);
+    assertThat(storage.freeze(15, 5)).isEqualTo(5);
+    ancientStore.close();
+
+    ancientStore = AncientBlockStore.open(directory);
+    storage =
+        new AncientBlockchainStorage(
+            baseStorage, ancientStore, indexStorage, new MainnetBlockHeaderFunctions());
+    assertThat(ancientStore.getBlockCount()).isEqualTo(10);
+    assertThat(storage.freeze(15, 100)).isEqualTo(6);
+    assertThat(storage.freeze(15, 100)).isZero();
+
+    final List<Block> frozen = blocks.subList(0, 15);
+    assertThat(
+            frozen.stream()
+                .map(block -> storage.getBlockHeader(block.getHash()).orElseThrow())
+                .collect(Collectors.toList()))
+        .containsExactlyElementsOf(
+            frozen.stream().map(Block::getHeader).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void blocksMissingLocallyAreSkippedAsEmptyEntries() throws IOException {
+    final Block missing = blocks.get(2);
+    final BlockchainStorage.Updater updater = baseStorage.updater();
+    updater.removeBlockBody(missing.getHash());
+    updater.commit();
+
+    assertThat(storage.freeze(10, 100)).isEqualTo(11);
+
+    assertThat(ancientStore.getHash(missing.getHeader().getNumber())).isEmpty();
+    assertThat(baseStorage.getBlockHeader(missing.getHash())).contains(missing.getHeader());
+    assertThat(storage.getBlockBody(missing.getHash())).isEmpty();
+    final Block next = blocks.get(3);
+    assertThat(baseStorage.getBlockHeader(next.getHash())).isEmpty();
+    assertThat(blockchain.getBlockByHash(next.getHash())).contains(next);
+  }
+
+  @Test
+  public void freezerDoesNothingWithoutAFinalizedBlock() {
+    blockchain.observeBlockAdded(
+        new AncientBlockFreezer(blockchain, storage, 8, MoreExecutors.newDirectExecutorService()));
+
+    gen.blockSequence(blockchain.getChainHeadBlock(), 5)
+        .forEach(block -> blockchain.appendBlock(block, gen.receipts(block)));
+
+    assertThat(storage.getFrozenBlockCount()).isZero();
+    assertThat(baseStorage.getBlockHeader(blocks.get(0).getHash())).isPresent();
+  }
+
+  @Test
+  public void freezerMovesBlocksOutsideTheRetainedWindow() {
+    blockchain.setFinalized(blockchain.getChainHeadHash());
+    blockchain.observeBlockAdded(
+        new AncientBlockFreezer(blockchain, storage, 8, MoreExecutors.newDirectExecutorService()));
+
+    gen.blockSequence(blockchain.getChainHeadBlock(), 5)
+        .forEach(block -> blockchain.appendBlock(block, gen.receipts(block)));
+
+    assertThat(storage.getFrozenBlockCount()).isEqualTo(blockchain.getChainHeadBlockNumber() - 7);
+    assertThat(baseStorage.getBlockHeader(blocks.get(0).getHash())).isEmpty();
+    assertThat(blockchain.getBlockByNumber(1)).contains(blocks.get(0));
+  }
+}
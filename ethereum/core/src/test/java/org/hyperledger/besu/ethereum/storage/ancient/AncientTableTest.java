@@ -0,0 +1,98 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AncientTableTest {
+
+  @TempDir Path directory;
+
+  @Test
+  public void readsAppendedEntriesAfterReopening() throws IOException {
+    try (final AncientTable table = AncientTable.open(directory, "test", true)) {
+      assertThat(table.append(Bytes.fromHexString("0x0102"))).isEqualTo(0);
+      assertThat(table.append(Bytes.EMPTY)).isEqualTo(1);
+      assertThat(table.append(Bytes.repeat((byte) 7, 1000))).isEqualTo(2);
+      table.sync();
+      assertThat(table.get(0)).contains(Bytes.fromHexString("0x0102"));
+    }
+
+    try (final AncientTable table = AncientTable.open(directory, "test", true)) {
+      assertThat(table.count()).isEqualTo(3);
+      assertThat(table.get(0)).contains(Bytes.fromHexString("0x0102"));
+      assertThat(table.get(1)).isEmpty();
+      assertThat(table.get(2)).contains(Bytes.repeat((byte) 7, 1000));
+      assertThat(table.get(3)).isEmpty();
+    }
+  }
+
+  @Test
+  public void sealsSegmentsWhenFull() throws IOException {
+    try (final AncientTable table = AncientTable.open(directory, "test", false, 100)) {
+      for (int i = 0; i < 10; i++) {
+        table.append(Bytes.repeat((byte) i, 40));
+      }
+      table.sync();
+      assertThat(Files.exists(directory.resolve("test.0004.dat"))).isTrue();
+      assertThat(table.get(9)).contains(Bytes.repeat((byte) 9, 40));
+    }
+
+    try (final AncientTable table = AncientTable.open(directory, "test", false, 100)) {
+      assertThat(table.count()).isEqualTo(10);
+      for (int i = 0; i < 10; i++) {
+        assertThat(table.get(i)).contains(Bytes.repeat((byte) i, 40));
+      }
+      table.append(Bytes.of(10));
+      assertThat(table.get(10)).contains(Bytes.of(10));
+    }
+  }
+
+  @Test
+  public void discardsPartiallyWrittenEntriesOnOpen() throws IOException {
+    try (final AncientTable table = AncientTable.open(directory, "test", false)) {
+      table.append(Bytes.of(1, 2, 3));
+      table.append(Bytes.of(4, 5, 6));
+      table.sync();
+    }
+    // Lose the end of the last entry's data and leave half an index entry behind
+    try (final FileChannel data =
+            FileChannel.open(directory.resolve("test.0000.dat"), StandardOpenOption.WRITE);
+        final FileChannel index =
+            FileChannel.open(directory.resolve("test.idx"), StandardOpenOption.WRITE)) {
+      data.truncate(4);
+      index.write(ByteBuffer.allocate(6), index.size());
+    }
+
+    try (final AncientTable table = AncientTable.open(directory, "test", false)) {
+      assertThat(table.count()).isEqualTo(1);
+      assertThat(table.get(0)).contains(Bytes.of(1, 2, 3));
+      assertThat(Files.size(directory.resolve("test.0000.dat"))).isEqualTo(3);
+      table.append(Bytes.of(7));
+      assertThat(table.get(1)).contains(Bytes.of(7));
+    }
+  }
+}
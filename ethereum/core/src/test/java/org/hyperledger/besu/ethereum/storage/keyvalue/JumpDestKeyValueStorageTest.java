@@ -0,0 +1,53 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class JumpDestKeyValueStorageTest {
+
+  private static final Hash CODE_HASH = Hash.hash(Bytes.fromHexString("0x5b00"));
+
+  private final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+  private final JumpDestKeyValueStorage storage = new JumpDestKeyValueStorage(keyValueStorage);
+
+  @Test
+  public void storedBitmapsCanBeRead() {
+    final long[] bitmap = {1L, Long.MIN_VALUE, -1L};
+    storage.put(CODE_HASH, bitmap);
+
+    assertThat(storage.get(CODE_HASH))
+        .hasValueSatisfying(value -> assertThat(value).isEqualTo(bitmap));
+    assertThat(storage.get(Hash.ZERO)).isEmpty();
+  }
+
+  @Test
+  public void malformedBitmapsAreIgnored() {
+    final KeyValueStorageTransaction transaction = keyValueStorage.startTransaction();
+    transaction.put(CODE_HASH.toArrayUnsafe(), new byte[] {1, 2, 3});
+    transaction.put(Hash.ZERO.toArrayUnsafe(), new byte[0]);
+    transaction.commit();
+
+    assertThat(storage.get(CODE_HASH)).isEmpty();
+    assertThat(storage.get(Hash.ZERO)).isEmpty();
+  }
+}
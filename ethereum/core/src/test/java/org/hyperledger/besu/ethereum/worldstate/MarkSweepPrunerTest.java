@@ -37,6 +37,7 @@ import org.hyperledger.besu.evm.worldstate.WorldState;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -48,7 +49,9 @@ import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -56,6 +59,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class MarkSweepPrunerTest {
 
+  @Rule public final TemporaryFolder tempDir = new TemporaryFolder();
+
   private final BlockDataGenerator gen = new BlockDataGenerator();
   private final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
   private final Map<Bytes, byte[]> hashValueStore = spy(new HashMap<>());
@@ -190,6 +195,102 @@ public class MarkSweepPrunerTest {
     assertThat(stateStorage.containsKey(markedRoot.toArray())).isTrue();
   }
 
+  @Test
+  public void bloomFilterMarking_keepsMarkedState() {
+    final MarkSweepPruner pruner = createBloomFilterPruner();
+
+    final int numBlocks = 15;
+    final int numAccounts = 10;
+    generateBlockchainData(numBlocks, numAccounts);
+
+    final int markBlockNumber = 10;
+    final BlockHeader markBlock = blockchain.getBlockHeader(markBlockNumber).get();
+    final Set<Bytes> expectedNodes = collectWorldStateNodes(markBlock.getStateRoot());
+    final int nodesBeforePruning = hashValueStore.size();
+
+    pruner.prepare();
+    pruner.mark(markBlock.getStateRoot());
+    pruner.markingComplete(markBlock);
+    pruner.sweepBefore(markBlock.getNumber());
+
+    // false positives may keep a few unused nodes, but every marked node must remain
+    assertThat(hashValueStore.size()).isLessThan(nodesBeforePruning);
+    assertThat(hashValueStore.values())
+        .containsAll(expectedNodes.stream().map(Bytes::toArrayUnsafe).collect(Collectors.toSet()));
+    final WorldState markedState =
+        worldStateArchive.get(markBlock.getStateRoot(), markBlock.getHash()).get();
+    final int expectedAccounts = numAccounts * markBlockNumber;
+    assertThat(markedState.streamAccounts(Bytes32.ZERO, expectedAccounts * 2).count())
+        .isEqualTo(expectedAccounts);
+    // a completed cycle is not resumed
+    assertThat(pruner.getMarkedBlockHash()).isEmpty();
+  }
+
+  @Test
+  public void bloomFilterMarking_resumesInterruptedCycle() {
+    final MarkSweepPruner pruner = createBloomFilterPruner();
+
+    generateBlockchainData(15, 10);
+
+    final BlockHeader markBlock = blockchain.getBlockHeader(10).get();
+    final Set<Bytes> expectedNodes = collectWorldStateNodes(markBlock.getStateRoot());
+
+    pruner.prepare();
+    pruner.mark(markBlock.getStateRoot());
+    pruner.markingComplete(markBlock);
+    // the node stops before sweeping
+    pruner.cleanup();
+
+    final MarkSweepPruner restartedPruner = createBloomFilterPruner();
+    assertThat(restartedPruner.getMarkedBlockHash()).contains(markBlock.getHash());
+    restartedPruner.prepare();
+    restartedPruner.sweepBefore(markBlock.getNumber());
+
+    assertThat(hashValueStore.values())
+        .containsAll(expectedNodes.stream().map(Bytes::toArrayUnsafe).collect(Collectors.toSet()));
+    assertThat(worldStateArchive.get(markBlock.getStateRoot(), markBlock.getHash())).isPresent();
+    for (int i = 1; i < markBlock.getNumber(); i++) {
+      final BlockHeader header = blockchain.getBlockHeader(i).get();
+      assertThat(worldStateArchive.get(header.getStateRoot(), header.getHash())).isEmpty();
+    }
+    assertThat(createBloomFilterPruner().getMarkedBlockHash()).isEmpty();
+  }
+
+  @Test
+  public void bloomFilterMarking_discardsCycleWhenBlocksAreImportedWhileStopped() {
+    final MarkSweepPruner pruner = createBloomFilterPruner();
+
+    generateBlockchainData(10, 10);
+
+    final BlockHeader markBlock = blockchain.getBlockHeader(10).get();
+    pruner.prepare();
+    pruner.mark(markBlock.getStateRoot());
+    pruner.markingComplete(markBlock);
+    pruner.cleanup();
+
+    // the nodes of these blocks are not marked
+    generateBlockchainData(2, 10);
+
+    assertThat(pruner.getMarkedBlockHash()).isEmpty();
+    final MarkSweepPruner restartedPruner = createBloomFilterPruner();
+    assertThat(restartedPruner.getMarkedBlockHash()).isEmpty();
+    restartedPruner.prepare();
+
+    final BlockHeader head = blockchain.getChainHeadHeader();
+    assertThat(worldStateArchive.get(head.getStateRoot(), head.getHash())).isPresent();
+  }
+
+  private MarkSweepPruner createBloomFilterPruner() {
+    final Path bloomFilterFile = tempDir.getRoot().toPath().resolve("pruning-marks.bloom");
+    return new MarkSweepPruner(
+        worldStateStorage,
+        blockchain,
+        markStorage,
+        metricsSystem,
+        new MarkSweepPrunerConfiguration(true, 10_000, 2, 0),
+        bloomFilterFile);
+  }
+
   private void generateBlockchainData(final int numBlocks, final int numAccounts) {
     Block parentBlock = blockchain.getChainHeadBlock();
     for (int i = 0; i < numBlocks; i++) {
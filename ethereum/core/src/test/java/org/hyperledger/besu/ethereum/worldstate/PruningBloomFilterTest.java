@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PruningBloomFilterTest {
+
+  @Rule public final TemporaryFolder tempDir = new TemporaryFolder();
+
+  private final List<Hash> hashes =
+      IntStream.range(0, 1_000)
+          .mapToObj(i -> Hash.hash(Bytes.ofUnsignedInt(i)))
+          .collect(Collectors.toList());
+
+  @Test
+  public void containsAllMarkedHashes() throws IOException {
+    final PruningBloomFilter filter =
+        PruningBloomFilter.create(tempDir.getRoot().toPath().resolve("marks"), hashes.size());
+
+    hashes.forEach(hash -> filter.put(hash.toArrayUnsafe()));
+
+    hashes.forEach(hash -> assertThat(filter.mightContain(hash.toArrayUnsafe())).isTrue());
+    assertThat(filter.put(hashes.get(0).toArrayUnsafe())).isFalse();
+  }
+
+  @Test
+  public void falsePositivesStayNearTheConfiguredRate() throws IOException {
+    final PruningBloomFilter filter =
+        PruningBloomFilter.create(tempDir.getRoot().toPath().resolve("marks"), hashes.size());
+    hashes.forEach(hash -> filter.put(hash.toArrayUnsafe()));
+
+    final long falsePositives =
+        IntStream.range(hashes.size(), hashes.size() + 10_000)
+            .mapToObj(i -> Hash.hash(Bytes.ofUnsignedInt(i)))
+            .filter(hash -> filter.mightContain(hash.toArrayUnsafe()))
+            .count();
+
+    assertThat(falsePositives).isLessThan(300);
+  }
+
+  @Test
+  public void shortKeysAreAlwaysConsideredMarked() throws IOException {
+    final PruningBloomFilter filter =
+        PruningBloomFilter.create(tempDir.getRoot().toPath().resolve("marks"), hashes.size());
+
+    assertThat(filter.mightContain(Bytes.of(1, 2, 3).toArrayUnsafe())).isTrue();
+  }
+
+  @Test
+  public void reopensMarksFromFile() throws IOException {
+    final Path file = tempDir.getRoot().toPath().resolve("marks");
+    final PruningBloomFilter filter = PruningBloomFilter.create(file, hashes.size());
+    hashes.forEach(hash -> filter.put(hash.toArrayUnsafe()));
+    filter.force();
+
+    final PruningBloomFilter reopened = PruningBloomFilter.open(file).orElseThrow();
+
+    assertThat(reopened.getBitCount()).isEqualTo(filter.getBitCount());
+    assertThat(reopened.getHashCount()).isEqualTo(filter.getHashCount());
+    hashes.forEach(hash -> assertThat(reopened.mightContain(hash.toArrayUnsafe())).isTrue());
+  }
+
+  @Test
+  public void ignoresMissingOrInvalidFiles() throws IOException {
+    final Path file = tempDir.getRoot().toPath().resolve("marks");
+    assertThat(PruningBloomFilter.open(file)).isEmpty();
+
+    Files.write(file, new byte[64]);
+    assertThat(PruningBloomFilter.open(file)).isEmpty();
+  }
+
+  @Test
+  public void createReplacesPreviousMarks() throws IOException {
+    final Path file = tempDir.getRoot().toPath().resolve("marks");
+    final PruningBloomFilter previous = PruningBloomFilter.create(file, hashes.size());
+    hashes.forEach(hash -> previous.put(hash.toArrayUnsafe()));
+
+    PruningBloomFilter.create(file, hashes.size());
+
+    final PruningBloomFilter reopened = PruningBloomFilter.open(file).orElseThrow();
+    assertThat(hashes.stream().filter(hash -> reopened.mightContain(hash.toArrayUnsafe())).count())
+        .isLessThan(hashes.size() / 10);
+  }
+}
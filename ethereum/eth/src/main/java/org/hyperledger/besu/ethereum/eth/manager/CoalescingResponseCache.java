@@ -0,0 +1,144 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthMessages.MessageResponseConstructor;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Shares encoded responses between peers that send identical requests.
+ *
+ * <p>Responses are cached by request code and request payload, so a burst of peers asking for the
+ * same headers or bodies after a new block costs one read and encode. A request arriving while an
+ * identical one is still being served waits for that response instead of building its own.
+ *
+ * <p>Cached responses may go stale when the chain changes, so owners must call {@link
+ * #invalidateAll()} whenever new blocks are imported. Responses computed concurrently with an
+ * invalidation are handed to their waiting requests but never cached.
+ */
+class CoalescingResponseCache {
+
+  private final Cache<RequestKey, MessageData> responses;
+  private final Map<RequestKey, CompletableFuture<MessageData>> inFlight =
+      new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  CoalescingResponseCache(final long maxCachedBytes, final Duration expiry) {
+    this.responses =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxCachedBytes)
+            .<RequestKey, MessageData>weigher(
+                (key, response) -> key.request.size() + response.getSize())
+            .expireAfterWrite(expiry)
+            .build();
+  }
+
+  /**
+   * Wrap a response constructor so its results are shared by identical requests.
+   *
+   * @param constructor the constructor reading and encoding the response
+   * @return a constructor serving from the cache when possible
+   */
+  MessageResponseConstructor wrap(final MessageResponseConstructor constructor) {
+    return request -> respond(request, constructor);
+  }
+
+  void invalidateAll() {
+    generation.incrementAndGet();
+    responses.invalidateAll();
+  }
+
+  private MessageData respond(
+      final MessageData request, final MessageResponseConstructor constructor) {
+    // Copy the payload, the request may be backed by a buffer reused for later messages
+    final RequestKey key = new RequestKey(request.getCode(), request.getData().copy());
+    final MessageData cached = responses.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    final CompletableFuture<MessageData> pending = new CompletableFuture<>();
+    final CompletableFuture<MessageData> existing = inFlight.putIfAbsent(key, pending);
+    if (existing != null) {
+      return await(existing);
+    }
+
+    final long startGeneration = generation.get();
+    try {
+      final MessageData response = constructor.response(request);
+      if (startGeneration == generation.get()) {
+        responses.put(key, response);
+      }
+      pending.complete(response);
+      return response;
+    } catch (final RuntimeException e) {
+      pending.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, pending);
+    }
+  }
+
+  private static MessageData await(final CompletableFuture<MessageData> response) {
+    try {
+      return response.join();
+    } catch (final CompletionException e) {
+      // Surface the same exception, e.g. a malformed request, the original request saw
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static class RequestKey {
+    private final int code;
+    private final Bytes request;
+
+    private RequestKey(final int code, final Bytes request) {
+      this.code = code;
+      this.request = request;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RequestKey)) {
+        return false;
+      }
+      final RequestKey that = (RequestKey) o;
+      return code == that.code && request.equals(that.request);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(code, request);
+    }
+  }
+}
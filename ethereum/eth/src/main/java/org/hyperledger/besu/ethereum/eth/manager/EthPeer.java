@@ -97,6 +97,7 @@ public class EthPeer implements Comparable<EthPeer> {
   private volatile long lastRequestTimestamp = 0;
 
   private final Map<String, Map<Integer, RequestManager>> requestManagers;
+  private final OutboundMessageScheduler outboundScheduler;
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
@@ -126,7 +127,8 @@ public class EthPeer implements Comparable<EthPeer> {
       final List<PeerValidator> peerValidators,
       final int maxMessageSize,
       final Clock clock,
-      final List<NodeMessagePermissioningProvider> permissioningProviders) {
+      final List<NodeMessagePermissioningProvider> permissioningProviders,
+      final OutboundMessageMetrics outboundMetrics) {
     this.connection = connection;
     this.protocolName = protocolName;
     this.maxMessageSize = maxMessageSize;
@@ -137,6 +139,12 @@ public class EthPeer implements Comparable<EthPeer> {
     fullyValidated.set(peerValidators.isEmpty());
 
     this.requestManagers = new ConcurrentHashMap<>();
+    this.outboundScheduler =
+        new OutboundMessageScheduler(
+            connection,
+            protocolName,
+            OutboundMessageScheduler.DEFAULT_TRANSACTION_GOSSIP_BYTE_BUDGET,
+            outboundMetrics);
 
     initEthRequestManagers();
     initSnapRequestManagers();
@@ -266,7 +274,7 @@ public class EthPeer implements Comparable<EthPeer> {
       }
     }
 
-    connection.sendForProtocol(protocolName, messageData);
+    outboundScheduler.send(protocolName, messageData);
     return null;
   }
 
@@ -358,8 +366,7 @@ public class EthPeer implements Comparable<EthPeer> {
       final RequestManager requestManager, final MessageData messageData) throws PeerNotConnected {
     lastRequestTimestamp = clock.millis();
     return requestManager.dispatchRequest(
-        msgData -> connection.sendForProtocol(requestManager.getProtocolName(), msgData),
-        messageData);
+        msgData -> outboundScheduler.send(requestManager.getProtocolName(), msgData), messageData);
   }
 
   public boolean validateReceivedMessage(final EthMessage message, final String protocolName) {
@@ -427,6 +434,7 @@ public class EthPeer implements Comparable<EthPeer> {
 
     requestManagers.forEach(
         (protocolName, map) -> map.forEach((code, requestManager) -> requestManager.close()));
+    outboundScheduler.clear();
   }
 
   public void registerKnownBlock(final Hash hash) {
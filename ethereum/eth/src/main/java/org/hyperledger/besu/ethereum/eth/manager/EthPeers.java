@@ -67,6 +67,7 @@ public class EthPeers {
   private final Subscribers<ConnectCallback> connectCallbacks = Subscribers.create();
   private final Subscribers<DisconnectCallback> disconnectCallbacks = Subscribers.create();
   private final Collection<PendingPeerRequest> pendingRequests = new CopyOnWriteArrayList<>();
+  private final OutboundMessageMetrics outboundMetrics;
 
   private Comparator<EthPeer> bestPeerComparator;
 
@@ -102,6 +103,7 @@ public class EthPeers {
         "pending_peer_requests_current",
         "Number of peer requests currently pending because peers are busy",
         pendingRequests::size);
+    this.outboundMetrics = new OutboundMessageMetrics(metricsSystem);
   }
 
   public void registerConnection(
@@ -114,7 +116,8 @@ public class EthPeers {
             peerValidators,
             maxMessageSize,
             clock,
-            permissioningProviders);
+            permissioningProviders,
+            outboundMetrics);
     connections.putIfAbsent(peerConnection, peer);
     LOG.debug("Adding new EthPeer {}", peer.nodeId());
   }
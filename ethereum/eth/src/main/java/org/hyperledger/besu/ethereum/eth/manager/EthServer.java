@@ -40,6 +40,8 @@ import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -47,11 +49,16 @@ import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 
 class EthServer {
+  private static final long MAX_CACHED_RESPONSE_BYTES = 32 * 1024 * 1024;
+  private static final Duration CACHED_RESPONSE_EXPIRY = Duration.ofSeconds(10);
+
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final TransactionPool transactionPool;
   private final EthMessages ethMessages;
   private final EthProtocolConfiguration ethereumWireProtocolConfiguration;
+  private final CoalescingResponseCache responseCache =
+      new CoalescingResponseCache(MAX_CACHED_RESPONSE_BYTES, CACHED_RESPONSE_EXPIRY);
 
   EthServer(
       final Blockchain blockchain,
@@ -64,6 +71,8 @@ class EthServer {
     this.transactionPool = transactionPool;
     this.ethMessages = ethMessages;
     this.ethereumWireProtocolConfiguration = ethereumWireProtocolConfiguration;
+    // Canonical header ranges and previously missing data change with every import
+    blockchain.observeBlockAdded(event -> responseCache.invalidateAll());
     this.registerResponseConstructors();
   }
 
@@ -72,36 +81,40 @@ class EthServer {
 
     ethMessages.registerResponseConstructor(
         EthPV62.GET_BLOCK_HEADERS,
-        messageData ->
-            constructGetHeadersResponse(
-                blockchain,
-                messageData,
-                ethereumWireProtocolConfiguration.getMaxGetBlockHeaders(),
-                maxMessageSize));
+        responseCache.wrap(
+            messageData ->
+                constructGetHeadersResponse(
+                    blockchain,
+                    messageData,
+                    ethereumWireProtocolConfiguration.getMaxGetBlockHeaders(),
+                    maxMessageSize)));
     ethMessages.registerResponseConstructor(
         EthPV62.GET_BLOCK_BODIES,
-        messageData ->
-            constructGetBodiesResponse(
-                blockchain,
-                messageData,
-                ethereumWireProtocolConfiguration.getMaxGetBlockBodies(),
-                maxMessageSize));
+        responseCache.wrap(
+            messageData ->
+                constructGetBodiesResponse(
+                    blockchain,
+                    messageData,
+                    ethereumWireProtocolConfiguration.getMaxGetBlockBodies(),
+                    maxMessageSize)));
     ethMessages.registerResponseConstructor(
         EthPV63.GET_RECEIPTS,
-        messageData ->
-            constructGetReceiptsResponse(
-                blockchain,
-                messageData,
-                ethereumWireProtocolConfiguration.getMaxGetReceipts(),
-                maxMessageSize));
+        responseCache.wrap(
+            messageData ->
+                constructGetReceiptsResponse(
+                    blockchain,
+                    messageData,
+                    ethereumWireProtocolConfiguration.getMaxGetReceipts(),
+                    maxMessageSize)));
     ethMessages.registerResponseConstructor(
         EthPV63.GET_NODE_DATA,
-        messageData ->
-            constructGetNodeDataResponse(
-                worldStateArchive,
-                messageData,
-                ethereumWireProtocolConfiguration.getMaxGetNodeData(),
-                maxMessageSize));
+        responseCache.wrap(
+            messageData ->
+                constructGetNodeDataResponse(
+                    worldStateArchive,
+                    messageData,
+                    ethereumWireProtocolConfiguration.getMaxGetNodeData(),
+                    maxMessageSize)));
     ethMessages.registerResponseConstructor(
         EthPV65.GET_POOLED_TRANSACTIONS,
         messageData ->
@@ -179,18 +192,12 @@ class EthServer {
       final int requestLimit,
       final int maxMessageSize) {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
-    final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
+    final List<Hash> hashes = limit(getBlockBodiesMessage.hashes(), requestLimit);
 
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
+    for (final Optional<BlockBody> maybeBody : blockchain.getBlockBodies(hashes)) {
       if (maybeBody.isEmpty()) {
         continue;
       }
@@ -215,18 +222,13 @@ class EthServer {
       final int requestLimit,
       final int maxMessageSize) {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
-    final Iterable<Hash> hashes = getReceipts.hashes();
+    final List<Hash> hashes = limit(getReceipts.hashes(), requestLimit);
 
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
+    for (final Optional<List<TransactionReceipt>> maybeReceipts :
+        blockchain.getBlockReceipts(hashes)) {
       if (maybeReceipts.isEmpty()) {
         continue;
       }
@@ -321,4 +323,15 @@ class EthServer {
 
     return NodeDataMessage.createUnsafe(rlp.encoded());
   }
+
+  private static List<Hash> limit(final Iterable<Hash> hashes, final int requestLimit) {
+    final List<Hash> limited = new ArrayList<>();
+    for (final Hash hash : hashes) {
+      if (limited.size() >= requestLimit) {
+        break;
+      }
+      limited.add(hash);
+    }
+    return limited;
+  }
 }
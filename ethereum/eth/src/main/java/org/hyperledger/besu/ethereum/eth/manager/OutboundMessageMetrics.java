@@ -0,0 +1,86 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.ethereum.eth.manager.OutboundMessageScheduler.Priority;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbound message queue metrics aggregated over every peer, labelled by priority. The metrics are
+ * registered once, so a single instance is shared by all the peers of a metrics system.
+ */
+public class OutboundMessageMetrics {
+  private final LabelledMetric<Counter> droppedMessages;
+  private final LabelledMetric<OperationTimer> queueLatency;
+  private final Map<Priority, AtomicLong> queuedMessages = new EnumMap<>(Priority.class);
+  private final Map<Priority, AtomicLong> queuedBytes = new EnumMap<>(Priority.class);
+
+  public OutboundMessageMetrics(final MetricsSystem metricsSystem) {
+    droppedMessages =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.PEERS,
+            "outbound_dropped_messages_total",
+            "Total number of outbound messages dropped because the peer was congested",
+            "priority");
+    queueLatency =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.PEERS,
+            "outbound_queue_latency_seconds",
+            "Time outbound messages spent queued behind a congested peer connection",
+            "priority");
+    final LabelledGauge messagesGauge =
+        metricsSystem.createLabelledGauge(
+            BesuMetricCategory.PEERS,
+            "outbound_queued_messages",
+            "Current number of outbound messages queued across all peers",
+            "priority");
+    final LabelledGauge bytesGauge =
+        metricsSystem.createLabelledGauge(
+            BesuMetricCategory.PEERS,
+            "outbound_queued_bytes",
+            "Current number of outbound message bytes queued across all peers",
+            "priority");
+    for (final Priority priority : Priority.values()) {
+      final AtomicLong messages = new AtomicLong();
+      final AtomicLong bytes = new AtomicLong();
+      queuedMessages.put(priority, messages);
+      queuedBytes.put(priority, bytes);
+      messagesGauge.labels(messages::get, priority.label());
+      bytesGauge.labels(bytes::get, priority.label());
+    }
+  }
+
+  void dropped(final Priority priority) {
+    droppedMessages.labels(priority.label()).inc();
+  }
+
+  OperationTimer.TimingContext startQueueTimer(final Priority priority) {
+    return queueLatency.labels(priority.label()).startTimer();
+  }
+
+  void queued(final Priority priority, final long messages, final long bytes) {
+    queuedMessages.get(priority).addAndGet(messages);
+    queuedBytes.get(priority).addAndGet(bytes);
+  }
+}
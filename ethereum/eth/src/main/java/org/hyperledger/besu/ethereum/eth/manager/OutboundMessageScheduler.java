@@ -0,0 +1,228 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import org.hyperledger.besu.ethereum.eth.SnapProtocol;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV65;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Orders the messages written to a single peer connection by priority.
+ *
+ * <p>Messages are written straight through while the connection keeps up. Once the transport
+ * reports congestion they are held in one queue per {@link Priority} and released, highest priority
+ * first, as the connection drains. Transaction gossip is the only traffic that may be dropped: it
+ * is refused once the bytes queued for the peer exceed the gossip byte budget, since the
+ * transactions will reach the peer again from other peers or later announcements.
+ */
+class OutboundMessageScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(OutboundMessageScheduler.class);
+
+  static final long DEFAULT_TRANSACTION_GOSSIP_BYTE_BUDGET = 1024 * 1024;
+
+  enum Priority {
+    CONSENSUS,
+    REQUEST_RESPONSE,
+    TRANSACTION_GOSSIP;
+
+    private final String label = name().toLowerCase(Locale.ROOT);
+
+    String label() {
+      return label;
+    }
+  }
+
+  private final PeerConnection connection;
+  private final String ethProtocolName;
+  private final long transactionGossipByteBudget;
+  private final OutboundMessageMetrics metrics;
+
+  private final Map<Priority, Queue<QueuedMessage>> queues = new EnumMap<>(Priority.class);
+  private int queuedMessages = 0;
+  private long queuedBytes = 0;
+  private boolean draining = false;
+
+  OutboundMessageScheduler(
+      final PeerConnection connection,
+      final String ethProtocolName,
+      final long transactionGossipByteBudget,
+      final OutboundMessageMetrics metrics) {
+    this.connection = connection;
+    this.ethProtocolName = ethProtocolName;
+    this.transactionGossipByteBudget = transactionGossipByteBudget;
+    this.metrics = metrics;
+    for (final Priority priority : Priority.values()) {
+      queues.put(priority, new ArrayDeque<>());
+    }
+    connection.subscribeWritable(this::drain);
+  }
+
+  /**
+   * Send a message, or queue it behind higher priority traffic if the connection is congested.
+   *
+   * @param protocolName the sub-protocol to send the message with
+   * @param messageData the message to send
+   * @return false if the message was dropped
+   * @throws PeerNotConnected if the connection has already been closed
+   */
+  synchronized boolean send(final String protocolName, final MessageData messageData)
+      throws PeerNotConnected {
+    if (queuedMessages == 0 && !connection.isCongested()) {
+      connection.sendForProtocol(protocolName, messageData);
+      return true;
+    }
+    if (connection.isDisconnected()) {
+      throw new PeerNotConnected("Attempt to send message to a closed peer connection");
+    }
+
+    final Priority priority = classify(protocolName, messageData.getCode());
+    final int size = messageData.getSize();
+    if (priority == Priority.TRANSACTION_GOSSIP
+        && queuedBytes + size > transactionGossipByteBudget) {
+      LOG.trace(
+          "Dropping {} message code {} to congested peer {}",
+          priority.label(),
+          messageData.getCode(),
+          connection.getPeerInfo());
+      metrics.dropped(priority);
+      return false;
+    }
+
+    queues
+        .get(priority)
+        .add(new QueuedMessage(protocolName, messageData, metrics.startQueueTimer(priority)));
+    queuedMessages++;
+    queuedBytes += size;
+    metrics.queued(priority, 1, size);
+    drain();
+    return true;
+  }
+
+  /** Write queued messages, highest priority first, until the connection is congested again. */
+  synchronized void drain() {
+    if (draining) {
+      return;
+    }
+    draining = true;
+    try {
+      while (queuedMessages > 0 && !connection.isCongested()) {
+        final Priority priority = nextPriority();
+        final QueuedMessage next = queues.get(priority).remove();
+        final int size = next.messageData.getSize();
+        queuedMessages--;
+        queuedBytes -= size;
+        metrics.queued(priority, -1, -size);
+        next.timer.stopTimer();
+        try {
+          connection.sendForProtocol(next.protocolName, next.messageData);
+        } catch (final PeerNotConnected e) {
+          LOG.trace("Peer disconnected while draining outbound queue {}", connection.getPeerInfo());
+          clear();
+          return;
+        } catch (final RuntimeException e) {
+          LOG.debug(
+              "Failed to send queued message code {} to peer {}",
+              next.messageData.getCode(),
+              connection.getPeerInfo(),
+              e);
+        }
+      }
+    } finally {
+      draining = false;
+    }
+  }
+
+  /** Discard everything still queued, typically because the peer disconnected. */
+  synchronized void clear() {
+    queues.forEach(
+        (priority, queue) -> {
+          for (final QueuedMessage message : queue) {
+            metrics.queued(priority, -1, -message.messageData.getSize());
+          }
+          queue.clear();
+        });
+    queuedMessages = 0;
+    queuedBytes = 0;
+  }
+
+  @VisibleForTesting
+  synchronized int queuedMessages(final Priority priority) {
+    return queues.get(priority).size();
+  }
+
+  @VisibleForTesting
+  synchronized long queuedBytes() {
+    return queuedBytes;
+  }
+
+  private Priority nextPriority() {
+    for (final Priority priority : Priority.values()) {
+      if (!queues.get(priority).isEmpty()) {
+        return priority;
+      }
+    }
+    throw new IllegalStateException("Queued message count out of sync with the queues");
+  }
+
+  @VisibleForTesting
+  Priority classify(final String protocolName, final int code) {
+    if (ethProtocolName.equalsIgnoreCase(protocolName)) {
+      switch (code) {
+        case EthPV62.STATUS:
+        case EthPV62.NEW_BLOCK_HASHES:
+        case EthPV62.NEW_BLOCK:
+          return Priority.CONSENSUS;
+        case EthPV62.TRANSACTIONS:
+        case EthPV65.NEW_POOLED_TRANSACTION_HASHES:
+          return Priority.TRANSACTION_GOSSIP;
+        default:
+          return Priority.REQUEST_RESPONSE;
+      }
+    }
+    // Anything other than eth and snap is a consensus sub-protocol
+    return SnapProtocol.NAME.equalsIgnoreCase(protocolName)
+        ? Priority.REQUEST_RESPONSE
+        : Priority.CONSENSUS;
+  }
+
+  private static class QueuedMessage {
+    private final String protocolName;
+    private final MessageData messageData;
+    private final OperationTimer.TimingContext timer;
+
+    private QueuedMessage(
+        final String protocolName,
+        final MessageData messageData,
+        final OperationTimer.TimingContext timer) {
+      this.protocolName = protocolName;
+      this.messageData = messageData;
+      this.timer = timer;
+    }
+  }
+}
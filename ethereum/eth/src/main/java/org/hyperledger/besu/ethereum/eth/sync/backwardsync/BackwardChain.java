@@ -39,6 +39,7 @@ public class BackwardChain {
   private final GenericKeyValueStorageFacade<Hash, BlockHeader> headers;
   private final GenericKeyValueStorageFacade<Hash, Block> blocks;
   private final GenericKeyValueStorageFacade<Hash, Hash> chainStorage;
+  private final GenericKeyValueStorageFacade<Hash, Block> prefetchedBlocks;
   private Optional<BlockHeader> firstStoredAncestor = Optional.empty();
   private Optional<BlockHeader> lastStoredPivot = Optional.empty();
   private final Queue<Hash> hashesToAppend = new ArrayDeque<>();
@@ -46,10 +47,12 @@ public class BackwardChain {
   public BackwardChain(
       final GenericKeyValueStorageFacade<Hash, BlockHeader> headersStorage,
       final GenericKeyValueStorageFacade<Hash, Block> blocksStorage,
-      final GenericKeyValueStorageFacade<Hash, Hash> chainStorage) {
+      final GenericKeyValueStorageFacade<Hash, Hash> chainStorage,
+      final GenericKeyValueStorageFacade<Hash, Block> prefetchedBlocksStorage) {
     this.headers = headersStorage;
     this.blocks = blocksStorage;
     this.chainStorage = chainStorage;
+    this.prefetchedBlocks = prefetchedBlocksStorage;
   }
 
   public static BackwardChain from(
@@ -69,7 +72,12 @@ public class BackwardChain {
             Hash::toArrayUnsafe,
             new HashConvertor(),
             storageProvider.getStorageBySegmentIdentifier(
-                KeyValueSegmentIdentifier.BACKWARD_SYNC_CHAIN)));
+                KeyValueSegmentIdentifier.BACKWARD_SYNC_CHAIN)),
+        new GenericKeyValueStorageFacade<>(
+            Hash::toArrayUnsafe,
+            BlocksConvertor.of(blockHeaderFunctions),
+            storageProvider.getStorageBySegmentIdentifier(
+                KeyValueSegmentIdentifier.BACKWARD_SYNC_PREFETCHED_BLOCKS)));
   }
 
   public synchronized Optional<BlockHeader> getFirstAncestorHeader() {
@@ -117,6 +125,7 @@ public class BackwardChain {
       return;
     }
     headers.drop(firstStoredAncestor.get().getHash());
+    prefetchedBlocks.drop(firstStoredAncestor.get().getHash());
     final Optional<Hash> hash = chainStorage.get(firstStoredAncestor.get().getHash());
     chainStorage.drop(firstStoredAncestor.get().getHash());
     firstStoredAncestor = hash.flatMap(headers::get);
@@ -148,6 +157,21 @@ public class BackwardChain {
     lastStoredPivot = Optional.of(newPivot.getHeader());
   }
 
+  /**
+   * Stores a block downloaded ahead of the forward sync for a header already in this chain, so it
+   * does not have to be requested from peers again when the chain is imported. Prefetched blocks
+   * are kept apart from the trusted ones and are validated like any downloaded block on import.
+   *
+   * @param block the block matching a stored header
+   */
+  public synchronized void storePrefetchedBlock(final Block block) {
+    prefetchedBlocks.put(block.getHash(), block);
+  }
+
+  public synchronized Optional<Block> getPrefetchedBlock(final Hash hash) {
+    return prefetchedBlocks.get(hash);
+  }
+
   public synchronized boolean isTrusted(final Hash hash) {
     return blocks.get(hash).isPresent();
   }
@@ -160,6 +184,7 @@ public class BackwardChain {
     blocks.clear();
     headers.clear();
     chainStorage.clear();
+    prefetchedBlocks.clear();
     firstStoredAncestor = Optional.empty();
     lastStoredPivot = Optional.empty();
     hashesToAppend.clear();
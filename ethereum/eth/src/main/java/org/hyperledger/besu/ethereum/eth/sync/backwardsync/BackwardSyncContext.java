@@ -45,6 +45,7 @@ import org.slf4j.LoggerFactory;
 public class BackwardSyncContext {
   private static final Logger LOG = LoggerFactory.getLogger(BackwardSyncContext.class);
   public static final int BATCH_SIZE = 200;
+  public static final int DEFAULT_MAX_PARALLEL_HEADER_REQUESTS = 4;
   private static final int DEFAULT_MAX_RETRIES = 20;
   private static final long MILLIS_DELAY_BETWEEN_PROGRESS_LOG = 10_000L;
   private static final long DEFAULT_MILLIS_BETWEEN_RETRIES = 5000;
@@ -59,6 +60,7 @@ public class BackwardSyncContext {
   private int batchSize = BATCH_SIZE;
   private Optional<Hash> maybeHead = Optional.empty();
   private final int maxRetries;
+  private final int maxParallelHeaderRequests;
   private final long millisBetweenRetries = DEFAULT_MILLIS_BETWEEN_RETRIES;
   private final Subscribers<BadChainListener> badChainListeners = Subscribers.create();
 
@@ -76,7 +78,8 @@ public class BackwardSyncContext {
         ethContext,
         syncState,
         backwardChain,
-        DEFAULT_MAX_RETRIES);
+        DEFAULT_MAX_RETRIES,
+        DEFAULT_MAX_PARALLEL_HEADER_REQUESTS);
   }
 
   public BackwardSyncContext(
@@ -87,6 +90,29 @@ public class BackwardSyncContext {
       final SyncState syncState,
       final BackwardChain backwardChain,
       final int maxRetries) {
+    this(
+        protocolContext,
+        protocolSchedule,
+        metricsSystem,
+        ethContext,
+        syncState,
+        backwardChain,
+        maxRetries,
+        DEFAULT_MAX_PARALLEL_HEADER_REQUESTS);
+  }
+
+  // maxParallelHeaderRequests bounds how many header ranges are requested at the same time, each
+  // from a different peer, while syncing backward. A value of 1 downloads a single range at a time
+  // and disables prefetching block bodies ahead of the forward sync.
+  public BackwardSyncContext(
+      final ProtocolContext protocolContext,
+      final ProtocolSchedule protocolSchedule,
+      final MetricsSystem metricsSystem,
+      final EthContext ethContext,
+      final SyncState syncState,
+      final BackwardChain backwardChain,
+      final int maxRetries,
+      final int maxParallelHeaderRequests) {
 
     this.protocolContext = protocolContext;
     this.protocolSchedule = protocolSchedule;
@@ -95,6 +121,7 @@ public class BackwardSyncContext {
     this.syncState = syncState;
     this.backwardChain = backwardChain;
     this.maxRetries = maxRetries;
+    this.maxParallelHeaderRequests = maxParallelHeaderRequests;
   }
 
   public synchronized boolean isSyncing() {
@@ -287,6 +314,10 @@ public class BackwardSyncContext {
     return batchSize;
   }
 
+  public int getMaxParallelHeaderRequests() {
+    return maxParallelHeaderRequests;
+  }
+
   public void halveBatchSize() {
     this.batchSize = batchSize / 2 + 1;
   }
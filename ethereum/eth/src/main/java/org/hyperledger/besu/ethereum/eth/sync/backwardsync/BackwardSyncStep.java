@@ -14,12 +14,19 @@
  */
 package org.hyperledger.besu.ethereum.eth.sync.backwardsync;
 
+import static java.util.stream.Collectors.toList;
 import static org.hyperledger.besu.util.Slf4jLambdaHelper.debugLambda;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.task.AbstractGetHeadersFromPeerTask;
+import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerTask;
+import org.hyperledger.besu.ethereum.eth.manager.task.GetHeadersFromPeerByNumberTask;
+import org.hyperledger.besu.ethereum.eth.manager.task.RetryingGetBlocksFromPeersTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.RetryingGetHeadersEndingAtFromPeerByHashTask;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -41,7 +48,9 @@ public class BackwardSyncStep {
   public CompletableFuture<Void> executeAsync(final BlockHeader firstHeader) {
     return CompletableFuture.supplyAsync(() -> firstHeader)
         .thenApply(this::possibleRestoreOldNodes)
-        .thenCompose(this::requestHeaders)
+        .thenCompose(
+            hash ->
+                requestHeaders(hash).thenCombine(prefetchBodies(), (headers, unused) -> headers))
         .thenApply(this::saveHeaders);
   }
 
@@ -66,6 +75,28 @@ public class BackwardSyncStep {
     }
 
     final int batchSize = context.getBatchSize();
+    final List<EthPeer> extraRangePeers = extraRangePeers(hash, batchSize);
+    if (extraRangePeers.isEmpty()) {
+      return requestHeadersEndingAt(hash, batchSize);
+    }
+
+    // The first range is anchored to the hash we trust, the ranges below it are requested by
+    // number and only kept once they are shown to link up with it
+    final long highestNumber = backwardChain.getFirstAncestorHeader().orElseThrow().getNumber() - 1;
+    final List<CompletableFuture<List<BlockHeader>>> ranges = new ArrayList<>();
+    ranges.add(requestHeadersEndingAt(hash, batchSize));
+    for (int i = 0; i < extraRangePeers.size(); i++) {
+      ranges.add(
+          requestHeadersEndingAt(
+              highestNumber - (long) (i + 1) * batchSize, batchSize, extraRangePeers.get(i)));
+    }
+    return CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new))
+        .thenApply(
+            unused -> joinRanges(ranges.stream().map(CompletableFuture::join).collect(toList())));
+  }
+
+  private CompletableFuture<List<BlockHeader>> requestHeadersEndingAt(
+      final Hash hash, final int batchSize) {
     LOG.debug("Requesting headers for hash {}, with batch size {}", hash, batchSize);
 
     final RetryingGetHeadersEndingAtFromPeerByHashTask
@@ -92,6 +123,137 @@ public class BackwardSyncStep {
             });
   }
 
+  private CompletableFuture<List<BlockHeader>> requestHeadersEndingAt(
+      final long number, final int batchSize, final EthPeer peer) {
+    LOG.debug(
+        "Requesting headers ending at number {}, with batch size {}, from peer {}",
+        number,
+        batchSize,
+        peer);
+
+    final AbstractGetHeadersFromPeerTask getHeadersTask =
+        GetHeadersFromPeerByNumberTask.endingAtNumber(
+            context.getProtocolSchedule(),
+            context.getEthContext(),
+            number,
+            batchSize,
+            0,
+            context.getMetricsSystem());
+    getHeadersTask.assignPeer(peer);
+    return context
+        .getEthContext()
+        .getScheduler()
+        .scheduleSyncWorkerTask(getHeadersTask::run)
+        .thenApply(AbstractPeerTask.PeerTaskResult::getResult)
+        .exceptionally(
+            throwable -> {
+              // Only the range anchored to a trusted hash is required, the others are a bonus
+              debugLambda(
+                  LOG,
+                  "Getting headers ending at number {} failed with reason {}",
+                  () -> number,
+                  throwable::getMessage);
+              return List.of();
+            });
+  }
+
+  /**
+   * Returns the peers to request additional header ranges from, below the one anchored to {@code
+   * hash}. Extra ranges are only requested when {@code hash} is the parent of the first ancestor in
+   * the backward chain, so their block numbers are known, and never below the local chain head.
+   */
+  private List<EthPeer> extraRangePeers(final Hash hash, final int batchSize) {
+    final int maxRanges = context.getMaxParallelHeaderRequests();
+    if (maxRanges <= 1) {
+      return List.of();
+    }
+    final Optional<BlockHeader> firstAncestor = backwardChain.getFirstAncestorHeader();
+    if (firstAncestor.isEmpty() || !firstAncestor.get().getParentHash().equals(hash)) {
+      return List.of();
+    }
+    final long localHeight = context.getProtocolContext().getBlockchain().getChainHeadBlockNumber();
+    final long missingHeaders = firstAncestor.get().getNumber() - 1 - localHeight;
+    final long extraRanges = Math.min(maxRanges, (missingHeaders + batchSize - 1) / batchSize) - 1;
+    if (extraRanges <= 0) {
+      return List.of();
+    }
+    // The best peer is used for the anchored range
+    return context
+        .getEthContext()
+        .getEthPeers()
+        .streamBestPeers()
+        .skip(1)
+        .limit(extraRanges)
+        .collect(toList());
+  }
+
+  /**
+   * Joins header ranges ordered from the highest to the lowest into a single descending list. Each
+   * range is only kept if its first header is the parent of the last header kept so far, so the
+   * result is always a chain linked by hash to the first range.
+   */
+  @VisibleForTesting
+  static List<BlockHeader> joinRanges(final List<List<BlockHeader>> ranges) {
+    final List<BlockHeader> joined = new ArrayList<>(ranges.get(0));
+    for (final List<BlockHeader> range : ranges.subList(1, ranges.size())) {
+      if (range.isEmpty()
+          || joined.isEmpty()
+          || !joined.get(joined.size() - 1).getParentHash().equals(range.get(0).getHash())) {
+        debugLambda(
+            LOG,
+            "Header range starting at {} does not link up with the previous range, discarding it"
+                + " and the ranges below it",
+            () -> range.isEmpty() ? "<empty>" : range.get(0).toLogString());
+        break;
+      }
+      joined.addAll(range);
+    }
+    return joined;
+  }
+
+  /**
+   * Downloads the bodies of the lowest headers already in the backward chain while the next headers
+   * are requested, so the forward sync can import them without waiting for peers.
+   */
+  @VisibleForTesting
+  protected CompletableFuture<Void> prefetchBodies() {
+    if (context.getMaxParallelHeaderRequests() <= 1) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final List<BlockHeader> headers =
+        backwardChain.getFirstNAncestorHeaders(context.getBatchSize()).stream()
+            .filter(
+                header ->
+                    backwardChain.getBlock(header.getHash()).isEmpty()
+                        && backwardChain.getPrefetchedBlock(header.getHash()).isEmpty())
+            .collect(toList());
+    if (headers.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final RetryingGetBlocksFromPeersTask getBodiesFromPeerTask =
+        RetryingGetBlocksFromPeersTask.forHeaders(
+            context.getProtocolSchedule(),
+            context.getEthContext(),
+            context.getMetricsSystem(),
+            context.getEthContext().getEthPeers().peerCount(),
+            headers);
+    return getBodiesFromPeerTask
+        .run()
+        .thenAccept(
+            result -> {
+              debugLambda(
+                  LOG, "Prefetched {} of {} blocks", result.getResult()::size, headers::size);
+              result.getResult().forEach(backwardChain::storePrefetchedBlock);
+            })
+        .exceptionally(
+            throwable -> {
+              // The forward sync requests whatever is missing
+              debugLambda(LOG, "Prefetching blocks failed with reason {}", throwable::getMessage);
+              return null;
+            });
+  }
+
   @VisibleForTesting
   protected Void saveHeader(final BlockHeader blockHeader) {
     backwardChain.prependAncestorsHeader(blockHeader);
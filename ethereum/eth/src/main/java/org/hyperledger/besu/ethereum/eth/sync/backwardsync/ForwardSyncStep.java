@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.RetryingGetBlocksFromPeersTask;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -77,25 +78,47 @@ public class ForwardSyncStep {
 
   @VisibleForTesting
   protected CompletableFuture<List<Block>> requestBodies(final List<BlockHeader> blockHeaders) {
+    // Blocks may have been prefetched while the backward chain was still being downloaded
+    final List<Block> storedBlocks = new ArrayList<>();
+    final List<BlockHeader> missingHeaders = new ArrayList<>();
+    for (final BlockHeader blockHeader : blockHeaders) {
+      backwardChain
+          .getPrefetchedBlock(blockHeader.getHash())
+          .ifPresentOrElse(storedBlocks::add, () -> missingHeaders.add(blockHeader));
+    }
+    if (missingHeaders.isEmpty()) {
+      LOG.debug("All {} blocks already downloaded", storedBlocks.size());
+      return CompletableFuture.completedFuture(sortByNumber(storedBlocks));
+    }
+
     final RetryingGetBlocksFromPeersTask getBodiesFromPeerTask =
         RetryingGetBlocksFromPeersTask.forHeaders(
             context.getProtocolSchedule(),
             context.getEthContext(),
             context.getMetricsSystem(),
             context.getEthContext().getEthPeers().peerCount(),
-            blockHeaders);
+            missingHeaders);
 
     final CompletableFuture<AbstractPeerTask.PeerTaskResult<List<Block>>> run =
         getBodiesFromPeerTask.run();
     return run.thenApply(AbstractPeerTask.PeerTaskResult::getResult)
         .thenApply(
             blocks -> {
-              LOG.debug("Got {} blocks from peers", blocks.size());
-              blocks.sort(Comparator.comparing(block -> block.getHeader().getNumber()));
-              return blocks;
+              LOG.debug(
+                  "Got {} blocks from peers, {} already downloaded",
+                  blocks.size(),
+                  storedBlocks.size());
+              final List<Block> allBlocks = new ArrayList<>(blocks);
+              allBlocks.addAll(storedBlocks);
+              return sortByNumber(allBlocks);
             });
   }
 
+  private static List<Block> sortByNumber(final List<Block> blocks) {
+    blocks.sort(Comparator.comparing(block -> block.getHeader().getNumber()));
+    return blocks;
+  }
+
   @VisibleForTesting
   protected Void saveBlocks(final List<Block> blocks) {
     if (blocks.isEmpty()) {
@@ -29,7 +29,7 @@ public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Blo
   }
 
   private Block extractSignatures(final Block block) {
-    block.getBody().getTransactions().forEach(Transaction::getSender);
+    Transaction.recoverSenders(block.getBody().getTransactions());
     return block;
   }
 }
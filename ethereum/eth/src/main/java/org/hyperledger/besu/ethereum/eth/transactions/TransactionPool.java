@@ -159,6 +159,8 @@ public class TransactionPool implements BlockAddedObserver {
   public void addRemoteTransactions(final Collection<Transaction> transactions) {
     final List<Transaction> addedTransactions = new ArrayList<>(transactions.size());
     LOG.trace("Adding {} remote transactions", transactions.size());
+    // Callers already skip transactions seen before, so recover all the senders at once
+    Transaction.recoverSenders(transactions);
 
     for (final Transaction transaction : transactions) {
 
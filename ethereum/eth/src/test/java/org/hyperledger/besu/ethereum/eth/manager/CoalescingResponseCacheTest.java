@@ -0,0 +1,124 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthMessages.MessageResponseConstructor;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class CoalescingResponseCacheTest {
+
+  private final CoalescingResponseCache cache =
+      new CoalescingResponseCache(1024 * 1024, Duration.ofMinutes(1));
+  private final AtomicInteger constructed = new AtomicInteger();
+  private final MessageResponseConstructor constructor =
+      cache.wrap(
+          request -> {
+            constructed.incrementAndGet();
+            return new RawMessage(EthPV62.BLOCK_HEADERS, request.getData());
+          });
+
+  @Test
+  public void identicalRequestsShareOneResponse() {
+    final MessageData first = constructor.response(request(1, 2, 3));
+    final MessageData second = constructor.response(request(1, 2, 3));
+
+    assertThat(second).isSameAs(first);
+    assertThat(constructed).hasValue(1);
+  }
+
+  @Test
+  public void differentRequestsAreNotShared() {
+    constructor.response(request(1, 2, 3));
+    constructor.response(request(1, 2, 4));
+    constructor.response(new RawMessage(EthPV62.GET_BLOCK_BODIES, Bytes.of(1, 2, 3)));
+
+    assertThat(constructed).hasValue(3);
+  }
+
+  @Test
+  public void invalidateAllForcesNewResponse() {
+    final MessageData first = constructor.response(request(1, 2, 3));
+    cache.invalidateAll();
+    final MessageData second = constructor.response(request(1, 2, 3));
+
+    assertThat(second).isNotSameAs(first).isEqualTo(first);
+    assertThat(constructed).hasValue(2);
+  }
+
+  @Test
+  public void concurrentIdenticalRequestsWaitForTheFirst() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final MessageResponseConstructor slow =
+        cache.wrap(
+            request -> {
+              constructed.incrementAndGet();
+              started.countDown();
+              awaitUninterruptibly(release);
+              return new RawMessage(EthPV62.BLOCK_HEADERS, request.getData());
+            });
+
+    final CompletableFuture<MessageData> first =
+        CompletableFuture.supplyAsync(() -> slow.response(request(7)));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    final CompletableFuture<MessageData> second =
+        CompletableFuture.supplyAsync(() -> slow.response(request(7)));
+
+    release.countDown();
+    assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+    assertThat(constructed).hasValue(1);
+  }
+
+  @Test
+  public void failuresAreNotCached() {
+    final MessageResponseConstructor failing =
+        cache.wrap(
+            request -> {
+              constructed.incrementAndGet();
+              throw new RLPException("malformed");
+            });
+
+    assertThatThrownBy(() -> failing.response(request(1))).isInstanceOf(RLPException.class);
+    assertThatThrownBy(() -> failing.response(request(1))).isInstanceOf(RLPException.class);
+    assertThat(constructed).hasValue(2);
+  }
+
+  private static MessageData request(final int... bytes) {
+    return new RawMessage(EthPV62.GET_BLOCK_HEADERS, Bytes.of(bytes));
+  }
+
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -38,6 +38,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNot
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.PeerInfo;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.PingMessage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
 import org.hyperledger.besu.testutil.TestClock;
 
@@ -475,7 +476,8 @@ public class EthPeerTest {
         Collections.emptyList(),
         EthProtocolConfiguration.DEFAULT_MAX_MESSAGE_SIZE,
         clock,
-        Collections.emptyList());
+        Collections.emptyList(),
+        new OutboundMessageMetrics(new NoOpMetricsSystem()));
   }
 
   private EthPeer createPeer(
@@ -492,7 +494,8 @@ public class EthPeerTest {
         peerValidators,
         EthProtocolConfiguration.DEFAULT_MAX_MESSAGE_SIZE,
         clock,
-        permissioningProviders);
+        permissioningProviders,
+        new OutboundMessageMetrics(new NoOpMetricsSystem()));
   }
 
   @FunctionalInterface
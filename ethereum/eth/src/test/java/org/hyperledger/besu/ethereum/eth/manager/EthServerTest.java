@@ -345,6 +345,7 @@ public class EthServerTest {
 
   private List<Block> setupBlocks(final int count) {
     final List<Block> blocks = dataGenerator.blockSequence(count);
+    when(blockchain.getBlockBodies(any())).thenCallRealMethod();
     for (Block block : blocks) {
       when(blockchain.getBlockBody(block.getHash())).thenReturn(Optional.of(block.getBody()));
       when(blockchain.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
@@ -358,6 +359,7 @@ public class EthServerTest {
   private Map<Hash, List<TransactionReceipt>> setupBlockReceipts(final int count) {
     final Map<Hash, List<TransactionReceipt>> txReceiptsByHash = new HashMap<>();
     final List<Block> blocks = dataGenerator.blockSequence(count);
+    when(blockchain.getBlockReceipts(any())).thenCallRealMethod();
     for (Block block : blocks) {
       final List<TransactionReceipt> receipts = dataGenerator.receipts(block);
       when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(receipts));
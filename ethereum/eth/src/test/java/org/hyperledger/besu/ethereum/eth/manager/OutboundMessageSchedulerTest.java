@@ -0,0 +1,170 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.eth.EthProtocol;
+import org.hyperledger.besu.ethereum.eth.SnapProtocol;
+import org.hyperledger.besu.ethereum.eth.manager.OutboundMessageScheduler.Priority;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV65;
+import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+public class OutboundMessageSchedulerTest {
+  private static final String ETH = EthProtocol.NAME;
+  private static final long GOSSIP_BUDGET = 1000;
+
+  private final PeerConnection connection = mock(PeerConnection.class);
+  private OutboundMessageScheduler scheduler;
+  private Runnable writable;
+
+  @Before
+  public void setUp() {
+    scheduler =
+        new OutboundMessageScheduler(
+            connection, ETH, GOSSIP_BUDGET, new OutboundMessageMetrics(new NoOpMetricsSystem()));
+    final ArgumentCaptor<Runnable> callback = ArgumentCaptor.forClass(Runnable.class);
+    verify(connection).subscribeWritable(callback.capture());
+    writable = callback.getValue();
+  }
+
+  @Test
+  public void sendsImmediatelyWhenConnectionIsNotCongested() throws PeerNotConnected {
+    final MessageData receipts = message(EthPV63.RECEIPTS, 500);
+
+    assertThat(scheduler.send(ETH, receipts)).isTrue();
+
+    verify(connection).sendForProtocol(ETH, receipts);
+    assertThat(scheduler.queuedBytes()).isZero();
+  }
+
+  @Test
+  public void releasesQueuedMessagesByPriorityOnceWritable() throws PeerNotConnected {
+    when(connection.isCongested()).thenReturn(true);
+    final MessageData transactions = message(EthPV62.TRANSACTIONS, 100);
+    final MessageData bodies = message(EthPV62.BLOCK_BODIES, 500);
+    final MessageData newBlock = message(EthPV62.NEW_BLOCK, 200);
+
+    scheduler.send(ETH, transactions);
+    scheduler.send(ETH, bodies);
+    scheduler.send(ETH, newBlock);
+
+    verify(connection, never()).sendForProtocol(anyString(), any());
+    assertThat(scheduler.queuedMessages(Priority.CONSENSUS)).isEqualTo(1);
+    assertThat(scheduler.queuedMessages(Priority.REQUEST_RESPONSE)).isEqualTo(1);
+    assertThat(scheduler.queuedMessages(Priority.TRANSACTION_GOSSIP)).isEqualTo(1);
+    assertThat(scheduler.queuedBytes()).isEqualTo(800);
+
+    when(connection.isCongested()).thenReturn(false);
+    writable.run();
+
+    final InOrder order = inOrder(connection);
+    order.verify(connection).sendForProtocol(ETH, newBlock);
+    order.verify(connection).sendForProtocol(ETH, bodies);
+    order.verify(connection).sendForProtocol(ETH, transactions);
+    assertThat(scheduler.queuedBytes()).isZero();
+  }
+
+  @Test
+  public void keepsLaterMessagesBehindQueuedOnes() throws PeerNotConnected {
+    when(connection.isCongested()).thenReturn(true);
+    final MessageData first = message(EthPV62.BLOCK_HEADERS, 10);
+    scheduler.send(ETH, first);
+
+    // The connection recovered but nobody has drained the queue yet.
+    when(connection.isCongested()).thenReturn(false, true);
+    final MessageData second = message(EthPV62.BLOCK_HEADERS, 20);
+    scheduler.send(ETH, second);
+
+    verify(connection).sendForProtocol(ETH, first);
+    verify(connection, never()).sendForProtocol(ETH, second);
+  }
+
+  @Test
+  public void dropsTransactionGossipOverBudget() throws PeerNotConnected {
+    when(connection.isCongested()).thenReturn(true);
+    scheduler.send(ETH, message(EthPV63.RECEIPTS, 900));
+
+    assertThat(scheduler.send(ETH, message(EthPV65.NEW_POOLED_TRANSACTION_HASHES, 50))).isTrue();
+    assertThat(scheduler.send(ETH, message(EthPV62.TRANSACTIONS, 100))).isFalse();
+    // Responses are delayed but never dropped
+    assertThat(scheduler.send(ETH, message(EthPV63.RECEIPTS, 900))).isTrue();
+
+    assertThat(scheduler.queuedMessages(Priority.TRANSACTION_GOSSIP)).isEqualTo(1);
+    assertThat(scheduler.queuedMessages(Priority.REQUEST_RESPONSE)).isEqualTo(2);
+  }
+
+  @Test
+  public void refusesToQueueForDisconnectedPeer() {
+    when(connection.isCongested()).thenReturn(true);
+    when(connection.isDisconnected()).thenReturn(true);
+
+    assertThatThrownBy(() -> scheduler.send(ETH, message(EthPV62.NEW_BLOCK, 10)))
+        .isInstanceOf(PeerNotConnected.class);
+  }
+
+  @Test
+  public void clearDiscardsQueuedMessages() throws PeerNotConnected {
+    when(connection.isCongested()).thenReturn(true);
+    scheduler.send(ETH, message(EthPV62.NEW_BLOCK, 10));
+
+    scheduler.clear();
+    when(connection.isCongested()).thenReturn(false);
+    writable.run();
+
+    verify(connection, never()).sendForProtocol(anyString(), any());
+    assertThat(scheduler.queuedBytes()).isZero();
+  }
+
+  @Test
+  public void classifiesMessages() {
+    assertThat(scheduler.classify(ETH, EthPV62.STATUS)).isEqualTo(Priority.CONSENSUS);
+    assertThat(scheduler.classify(ETH, EthPV62.NEW_BLOCK_HASHES)).isEqualTo(Priority.CONSENSUS);
+    assertThat(scheduler.classify(ETH, EthPV62.GET_BLOCK_HEADERS))
+        .isEqualTo(Priority.REQUEST_RESPONSE);
+    assertThat(scheduler.classify(ETH, EthPV65.POOLED_TRANSACTIONS))
+        .isEqualTo(Priority.REQUEST_RESPONSE);
+    assertThat(scheduler.classify(ETH, EthPV62.TRANSACTIONS))
+        .isEqualTo(Priority.TRANSACTION_GOSSIP);
+    assertThat(scheduler.classify(SnapProtocol.NAME, SnapV1.ACCOUNT_RANGE))
+        .isEqualTo(Priority.REQUEST_RESPONSE);
+    assertThat(scheduler.classify("istanbul", 0x02)).isEqualTo(Priority.CONSENSUS);
+  }
+
+  private static MessageData message(final int code, final int size) {
+    return new RawMessage(code, Bytes.wrap(new byte[size]));
+  }
+}
@@ -39,6 +39,7 @@ import org.hyperledger.besu.ethereum.mainnet.MainnetProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
@@ -67,6 +68,7 @@ public class BackwardSyncStepTest {
   private final DeterministicEthScheduler ethScheduler = new DeterministicEthScheduler();
 
   private MutableBlockchain remoteBlockchain;
+  private EthProtocolManager ethProtocolManager;
   private RespondingEthPeer peer;
   GenericKeyValueStorageFacade<Hash, BlockHeader> headersStorage;
   GenericKeyValueStorageFacade<Hash, Block> blocksStorage;
@@ -111,7 +113,7 @@ public class BackwardSyncStepTest {
     when(context.getProtocolSchedule()).thenReturn(protocolSchedule);
     when(context.getBatchSize()).thenReturn(5);
 
-    EthProtocolManager ethProtocolManager = EthProtocolManagerTestUtil.create(ethScheduler);
+    ethProtocolManager = EthProtocolManagerTestUtil.create(ethScheduler);
 
     peer =
         RespondingEthPeer.builder()
@@ -206,6 +208,44 @@ public class BackwardSyncStepTest {
     assertThatThrownBy(future::get).cause().isInstanceOf(MaxRetriesReachedException.class);
   }
 
+  @Test
+  public void shouldRequestHeaderRangesFromSeveralPeers() throws Exception {
+    when(context.getMaxParallelHeaderRequests()).thenReturn(3);
+    final List<RespondingEthPeer> peers = List.of(peer, createPeer(), createPeer());
+    final BackwardChain backwardChain = createBackwardChain(REMOTE_HEIGHT);
+    BackwardSyncStep step = new BackwardSyncStep(context, backwardChain);
+
+    final RespondingEthPeer.Responder responder =
+        RespondingEthPeer.blockchainResponder(remoteBlockchain);
+
+    final CompletableFuture<List<BlockHeader>> future =
+        step.requestHeaders(backwardChain.getFirstAncestorHeader().orElseThrow().getParentHash());
+    for (final RespondingEthPeer respondingPeer : peers) {
+      assertThat(respondingPeer.hasOutstandingRequests()).isTrue();
+      respondingPeer.respond(responder);
+    }
+
+    final List<BlockHeader> headers = future.get();
+    assertThat(headers.size()).isEqualTo(15);
+    for (int i = 0; i < headers.size(); i++) {
+      assertThat(headers.get(i)).isEqualTo(getBlockByNumber(REMOTE_HEIGHT - 1 - i).getHeader());
+    }
+  }
+
+  @Test
+  public void shouldDiscardHeaderRangesThatDoNotLinkUp() {
+    final List<BlockHeader> anchored = headersEndingAt(REMOTE_HEIGHT - 1, 5);
+    final List<BlockHeader> linked = headersEndingAt(REMOTE_HEIGHT - 6, 5);
+    final List<BlockHeader> gap = headersEndingAt(REMOTE_HEIGHT - 12, 5);
+    final List<BlockHeader> belowGap = headersEndingAt(REMOTE_HEIGHT - 17, 5);
+
+    final List<BlockHeader> joined =
+        BackwardSyncStep.joinRanges(List.of(anchored, linked, gap, belowGap));
+
+    assertThat(joined.size()).isEqualTo(10);
+    assertThat(joined.get(9)).isEqualTo(getBlockByNumber(REMOTE_HEIGHT - 10).getHeader());
+  }
+
   @Test
   public void shouldSaveHeaderDelegatesProperly() {
     final BackwardChain chain = Mockito.mock(BackwardChain.class);
@@ -218,6 +258,21 @@ public class BackwardSyncStepTest {
     verify(chain).prependAncestorsHeader(header);
   }
 
+  private RespondingEthPeer createPeer() {
+    return RespondingEthPeer.builder()
+        .ethProtocolManager(ethProtocolManager)
+        .estimatedHeight(REMOTE_HEIGHT)
+        .build();
+  }
+
+  private List<BlockHeader> headersEndingAt(final int number, final int count) {
+    final List<BlockHeader> headers = new ArrayList<>();
+    for (int i = number; i > number - count; i--) {
+      headers.add(getBlockByNumber(i).getHeader());
+    }
+    return headers;
+  }
+
   private BackwardChain createBackwardChain(final int from, final int until) {
     BackwardChain chain = createBackwardChain(until);
     for (int i = until; i > from; --i) {
@@ -229,7 +284,14 @@ public class BackwardSyncStepTest {
   @Nonnull
   private BackwardChain createBackwardChain(final int number) {
     final BackwardChain backwardChain =
-        new BackwardChain(headersStorage, blocksStorage, chainStorage);
+        new BackwardChain(
+            headersStorage,
+            blocksStorage,
+            chainStorage,
+            new GenericKeyValueStorageFacade<>(
+                Hash::toArrayUnsafe,
+                new BlocksConvertor(new MainnetBlockHeaderFunctions()),
+                new InMemoryKeyValueStorage()));
     backwardChain.appendTrustedBlock(remoteBlockchain.getBlockByNumber(number).orElseThrow());
     return backwardChain;
   }
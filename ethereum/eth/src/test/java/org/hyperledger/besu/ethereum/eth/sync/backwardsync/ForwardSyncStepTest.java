@@ -186,6 +186,24 @@ public class ForwardSyncStepTest {
         .containsExactlyInAnyOrder(getBlockByNumber(LOCAL_HEIGHT + 1));
   }
 
+  @Test
+  public void shouldUsePrefetchedBlocksInsteadOfRequestingThem() throws Exception {
+    final BackwardChain backwardChain = createBackwardChain(LOCAL_HEIGHT + 1, LOCAL_HEIGHT + 3);
+    backwardChain.storePrefetchedBlock(getBlockByNumber(LOCAL_HEIGHT + 1));
+    backwardChain.storePrefetchedBlock(getBlockByNumber(LOCAL_HEIGHT + 2));
+    ForwardSyncStep step = new ForwardSyncStep(context, backwardChain);
+
+    final CompletableFuture<List<Block>> future =
+        step.requestBodies(
+            List.of(
+                getBlockByNumber(LOCAL_HEIGHT + 1).getHeader(),
+                getBlockByNumber(LOCAL_HEIGHT + 2).getHeader()));
+
+    assertThat(future.isDone()).isTrue();
+    Assertions.assertThat(future.get())
+        .containsExactly(getBlockByNumber(LOCAL_HEIGHT + 1), getBlockByNumber(LOCAL_HEIGHT + 2));
+  }
+
   private BackwardChain createBackwardChain(final int from, final int until) {
     BackwardChain chain = backwardChainFromBlock(until);
     for (int i = until; i > from; --i) {
@@ -197,7 +215,14 @@ public class ForwardSyncStepTest {
   @Nonnull
   private BackwardChain backwardChainFromBlock(final int number) {
     final BackwardChain backwardChain =
-        new BackwardChain(headersStorage, blocksStorage, chainStorage);
+        new BackwardChain(
+            headersStorage,
+            blocksStorage,
+            chainStorage,
+            new GenericKeyValueStorageFacade<>(
+                Hash::toArrayUnsafe,
+                new BlocksConvertor(new MainnetBlockHeaderFunctions()),
+                new InMemoryKeyValueStorage()));
     backwardChain.appendTrustedBlock(remoteBlockchain.getBlockByNumber(number).orElseThrow());
     return backwardChain;
   }
@@ -78,7 +78,14 @@ public class InMemoryBackwardChainTest {
   @Nonnull
   private BackwardChain createChainFromBlock(final Block pivot) {
     final BackwardChain backwardChain =
-        new BackwardChain(headersStorage, blocksStorage, chainStorage);
+        new BackwardChain(
+            headersStorage,
+            blocksStorage,
+            chainStorage,
+            new GenericKeyValueStorageFacade<>(
+                Hash::toArrayUnsafe,
+                new BlocksConvertor(new MainnetBlockHeaderFunctions()),
+                new InMemoryKeyValueStorage()));
     backwardChain.appendTrustedBlock(pivot);
     return backwardChain;
   }
@@ -114,6 +121,21 @@ public class InMemoryBackwardChainTest {
     assertThat(firstHeader).isEqualTo(blocks.get(blocks.size() - 1).getHeader());
   }
 
+  @Test
+  public void shouldNotTrustPrefetchedBlocks() {
+    BackwardChain backwardChain = createChainFromBlock(blocks.get(blocks.size() - 1));
+    final Block prefetched = blocks.get(blocks.size() - 2);
+    backwardChain.prependAncestorsHeader(prefetched.getHeader());
+    backwardChain.storePrefetchedBlock(prefetched);
+
+    assertThat(backwardChain.getPrefetchedBlock(prefetched.getHash())).contains(prefetched);
+    assertThat(backwardChain.isTrusted(prefetched.getHash())).isFalse();
+    assertThat(backwardChain.getBlock(prefetched.getHash())).isEmpty();
+
+    backwardChain.dropFirstHeader();
+    assertThat(backwardChain.getPrefetchedBlock(prefetched.getHash())).isEmpty();
+  }
+
   @Test
   public void shouldCreateChainFromScheduleAndFunctions() {
     final StorageProvider provider = new InMemoryKeyValueStorageProvider();
@@ -0,0 +1,81 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import org.hyperledger.besu.crypto.NodeKey;
+import org.hyperledger.besu.crypto.NodeKeyUtils;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.buffer.Buffer;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures discovery packets encoded and decoded per second, using full NEIGHBORS packets. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DiscoveryPacketBenchmark {
+
+  private NodeKey nodeKey;
+  private NeighborsPacketData neighbors;
+  private Packet packet;
+  private Buffer datagram;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(42);
+    final List<DiscoveryPeer> peers = new ArrayList<>();
+    for (int i = 0; i < 13; i++) {
+      final byte[] id = new byte[64];
+      random.nextBytes(id);
+      peers.add(
+          DiscoveryPeer.fromIdAndEndpoint(
+              Bytes.wrap(id), new Endpoint("10.0.0." + i, 30303, Optional.of(30303))));
+    }
+    nodeKey = NodeKeyUtils.generate();
+    neighbors = NeighborsPacketData.create(peers);
+    packet = Packet.create(PacketType.NEIGHBORS, neighbors, nodeKey);
+    datagram = packet.encode().copy();
+  }
+
+  @Benchmark
+  public Buffer createAndEncode() {
+    return Packet.create(PacketType.NEIGHBORS, neighbors, nodeKey).encode();
+  }
+
+  @Benchmark
+  public Buffer reencode() {
+    return packet.encode();
+  }
+
+  @Benchmark
+  public Packet decode() {
+    return Packet.decode(datagram);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the peer table against a flood of discovered nodes, as seen by bootnodes. Run with
+ * {@code -prof gc} to read the memory allocated per {@link #populate()}, i.e. per {@code peerCount}
+ * offered peers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PeerTableBenchmark {
+
+  private static final int TARGETS = 1024;
+
+  @Param({"1000", "100000"})
+  public int peerCount;
+
+  private DiscoveryPeer[] peers;
+  private Bytes[] targets;
+  private PeerTable table;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(42);
+    peers = new DiscoveryPeer[peerCount];
+    for (int i = 0; i < peerCount; i++) {
+      final DiscoveryPeer peer =
+          DiscoveryPeer.fromIdAndEndpoint(
+              randomId(random), new Endpoint("10.0.0.1", 1 + i % 65535, Optional.empty()));
+      peer.setStatus(PeerDiscoveryStatus.BONDED);
+      peers[i] = peer;
+    }
+    targets = new Bytes[TARGETS];
+    for (int i = 0; i < TARGETS; i++) {
+      targets[i] = randomId(random);
+    }
+    table = populate();
+  }
+
+  @Benchmark
+  public PeerTable populate() {
+    final PeerTable peerTable = new PeerTable(targets[0]);
+    for (final DiscoveryPeer peer : peers) {
+      peerTable.tryAdd(peer);
+    }
+    return peerTable;
+  }
+
+  @Benchmark
+  public List<DiscoveryPeer> nearestBondedPeers() {
+    return table.nearestBondedPeers(targets[next++ & (TARGETS - 1)], 16);
+  }
+
+  @Benchmark
+  public Optional<DiscoveryPeer> get() {
+    return table.get(peers[next++ % peerCount]);
+  }
+
+  private static Bytes randomId(final Random random) {
+    final byte[] id = new byte[64];
+    random.nextBytes(id);
+    return Bytes.wrap(id);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures RLPx framing throughput on a single thread, so the reported {@code bytes} rate is the
+ * payload throughput per core.
+ */
+@State(Scope.Thread)
+@Threads(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FramerBenchmark {
+
+  private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+  @Param({"128", "4096", "1048576"})
+  public int messageSize;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  private Framer framer;
+  private Framer deframer;
+  private MessageData message;
+
+  /** Payload bytes processed, reported by JMH as a rate per second. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Payload {
+    public long bytes;
+  }
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(42);
+    final byte[] secret = new byte[32];
+    random.nextBytes(secret);
+
+    // Both ends start from the same secrets, so egress of one matches ingress of the other.
+    framer = new Framer(new HandshakeSecrets(secret, secret, secret));
+    deframer = new Framer(new HandshakeSecrets(secret, secret, secret));
+    if (compression) {
+      framer.enableCompression();
+      deframer.enableCompression();
+    }
+
+    // Half random, half repeated bytes, loosely resembling RLP encoded bodies and receipts.
+    final byte[] payload = new byte[messageSize];
+    random.nextBytes(payload);
+    for (int i = 0; i < messageSize; i += 64) {
+      for (int j = i + 32; j < Math.min(i + 64, messageSize); j++) {
+        payload[j] = (byte) j;
+      }
+    }
+    message = new RawMessage(0x10, Bytes.wrap(payload));
+  }
+
+  @Benchmark
+  public ByteBuf frame(final Payload payload) {
+    final ByteBuf out = ALLOCATOR.heapBuffer(framer.maxFramedLength(messageSize));
+    framer.frame(message, out);
+    payload.bytes += messageSize;
+    out.release();
+    return out;
+  }
+
+  @Benchmark
+  public MessageData frameAndDeframe(final Payload payload) {
+    final ByteBuf out = ALLOCATOR.heapBuffer(framer.maxFramedLength(messageSize));
+    try {
+      framer.frame(message, out);
+      final MessageData deframed = deframer.deframe(out);
+      payload.bytes += messageSize;
+      return deframed;
+    } finally {
+      out.release();
+    }
+  }
+}
@@ -24,12 +24,10 @@ import org.hyperledger.besu.crypto.SECPSignature;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryPacketDecodingException;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 
 import java.math.BigInteger;
-import java.util.Arrays;
 import java.util.Optional;
 
 import com.google.common.base.Supplier;
@@ -53,20 +51,29 @@ public class Packet {
   private final Bytes hash;
   private final SECPSignature signature;
   private final SECPPublicKey publicKey;
+  // The wire encoding, kept so that resends and log statements never encode the packet again.
+  private final Buffer encoded;
 
   private Packet(final PacketType type, final PacketData data, final NodeKey nodeKey) {
     this.type = type;
     this.data = data;
 
-    final Bytes typeBytes = Bytes.of(this.type.getValue());
-    final Bytes dataBytes = RLP.encode(this.data::writeTo);
-
-    this.signature = nodeKey.sign(keccak256(Bytes.wrap(typeBytes, dataBytes)));
-    this.hash = keccak256(Bytes.concatenate(encodeSignature(signature), typeBytes, dataBytes));
+    final Bytes signedPayload =
+        Bytes.concatenate(Bytes.of(this.type.getValue()), RLP.encode(this.data::writeTo));
+    this.signature = nodeKey.sign(keccak256(signedPayload));
+    final Bytes hashedPayload = Bytes.concatenate(encodeSignature(signature), signedPayload);
+    this.hash = keccak256(hashedPayload);
     this.publicKey = nodeKey.getPublicKey();
+    this.encoded = Buffer.buffer(hash.size() + hashedPayload.size());
+    hash.appendTo(encoded);
+    hashedPayload.appendTo(encoded);
   }
 
-  private Packet(final PacketType packetType, final PacketData packetData, final Bytes message) {
+  private Packet(
+      final PacketType packetType,
+      final PacketData packetData,
+      final Bytes message,
+      final Buffer encoded) {
     final Bytes hash = message.slice(0, SIGNATURE_INDEX);
     final Bytes encodedSignature =
         message.slice(SIGNATURE_INDEX, PACKET_TYPE_INDEX - SIGNATURE_INDEX);
@@ -75,7 +82,7 @@ public class Packet {
 
     // Perform hash integrity check.
     final Bytes rest = message.slice(SIGNATURE_INDEX, message.size() - SIGNATURE_INDEX);
-    if (!Arrays.equals(keccak256(rest).toArray(), hash.toArray())) {
+    if (!keccak256(rest).equals(hash)) {
       throw new PeerDiscoveryPacketDecodingException(
           "Integrity check failed: non-matching hashes.");
     }
@@ -83,6 +90,7 @@ public class Packet {
     this.type = packetType;
     this.data = packetData;
     this.hash = hash;
+    this.encoded = encoded;
     this.signature = decodeSignature(encodedSignature);
     this.publicKey =
         SIGNATURE_ALGORITHM
@@ -115,15 +123,13 @@ public class Packet {
                 () ->
                     new PeerDiscoveryPacketDecodingException("Unrecognized packet type: " + type));
 
+    // Copy the datagram once, so hashing and decoding below work on array slices without copying
+    final Bytes bytes = Bytes.wrap(message.getBytes());
     final PacketType.Deserializer<?> deserializer = packetType.getDeserializer();
     final PacketData packetData;
     try {
-      packetData =
-          deserializer.deserialize(
-              RLP.input(
-                  Bytes.wrapBuffer(
-                      message, PACKET_DATA_INDEX, message.length() - PACKET_DATA_INDEX)));
-      return new Packet(packetType, packetData, Bytes.wrapBuffer(message));
+      packetData = deserializer.deserialize(RLP.input(bytes.slice(PACKET_DATA_INDEX)));
+      return new Packet(packetType, packetData, bytes, message);
     } catch (final RLPException e) {
       throw new PeerDiscoveryPacketDecodingException("Malformed packet of type: " + packetType, e);
     } catch (final IllegalArgumentException e) {
@@ -132,31 +138,14 @@ public class Packet {
     }
   }
 
+  /**
+   * Returns the wire encoding of this packet. The buffer is shared by every caller, so it must not
+   * be modified.
+   *
+   * @return the encoded packet
+   */
   public Buffer encode() {
-    final Bytes encodedSignature = encodeSignature(signature);
-    final BytesValueRLPOutput encodedData = new BytesValueRLPOutput();
-    data.writeTo(encodedData);
-
-    final Buffer buffer =
-        Buffer.buffer(hash.size() + encodedSignature.size() + 1 + encodedData.encodedSize());
-    hash.appendTo(buffer);
-    encodedSignature.appendTo(buffer);
-    buffer.appendByte(type.getValue());
-    appendEncoded(encodedData, buffer);
-    return buffer;
-  }
-
-  protected void appendEncoded(final BytesValueRLPOutput encoded, final Buffer buffer) {
-    final int size = encoded.encodedSize();
-    if (size == 0) {
-      return;
-    }
-
-    // We want to append to the buffer, and Buffer always grows to accommodate anything writing,
-    // so we write the last byte we know we'll need to make it resize accordingly.
-    final int start = buffer.length();
-    buffer.setByte(start + size - 1, (byte) 0);
-    encoded.writeEncoded(MutableBytes.wrapBuffer(buffer, start, size));
+    return encoded;
   }
 
   @SuppressWarnings("unchecked")
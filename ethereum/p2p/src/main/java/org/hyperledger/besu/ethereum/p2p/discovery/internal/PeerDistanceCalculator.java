@@ -14,8 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
-import java.util.Arrays;
-
 import org.apache.tuweni.bytes.Bytes;
 
 public class PeerDistanceCalculator {
@@ -28,25 +26,25 @@ public class PeerDistanceCalculator {
    * @return the distance
    */
   static int distance(final Bytes v1, final Bytes v2) {
-    assert (v1.size() == v2.size());
-    final byte[] v1b = v1.toArray();
-    final byte[] v2b = v2.toArray();
-    if (Arrays.equals(v1b, v2b)) {
-      return 0;
-    }
-    int distance = v1b.length * 8;
-    for (int i = 0; i < v1b.length; i++) {
-      final byte xor = (byte) (0xff & (v1b[i] ^ v2b[i]));
-      if (xor == 0) {
-        distance -= 8;
-      } else {
-        int p = 7;
-        while (((xor >> p--) & 0x01) == 0) {
-          distance--;
-        }
-        break;
+    return distance(v1.toArrayUnsafe(), v2.toArrayUnsafe());
+  }
+
+  /**
+   * Calculates the XOR distance between two values without allocating, as used on every peer table
+   * lookup.
+   *
+   * @param v1 the first value
+   * @param v2 the second value
+   * @return the distance, i.e. the bit length of {@code v1 ^ v2}
+   */
+  static int distance(final byte[] v1, final byte[] v2) {
+    assert (v1.length == v2.length);
+    for (int i = 0; i < v1.length; i++) {
+      final int xor = (v1[i] ^ v2[i]) & 0xff;
+      if (xor != 0) {
+        return (v1.length - i - 1) * 8 + (32 - Integer.numberOfLeadingZeros(xor));
       }
     }
-    return distance;
+    return 0;
   }
 }
@@ -14,9 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
-import static java.util.Comparator.comparingInt;
-import static java.util.stream.Collectors.toList;
-
 import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
@@ -24,10 +21,12 @@ import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 import org.hyperledger.besu.ethereum.p2p.peers.PeerId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
@@ -45,7 +44,7 @@ public class PeerTable {
   private static final int BLOOM_FILTER_REGENERATION_THRESHOLD = 50; // evictions
 
   private final Bucket[] table;
-  private final Bytes keccak256;
+  private final byte[] keccak256;
   private final int maxEntriesCnt;
 
   private final Map<Bytes, Integer> distanceCache;
@@ -59,7 +58,7 @@ public class PeerTable {
    * @param bucketSize The maximum length of each k-bucket.
    */
   public PeerTable(final Bytes nodeId, final int bucketSize) {
-    this.keccak256 = Hash.keccak256(nodeId);
+    this.keccak256 = Hash.keccak256(nodeId).toArray();
     this.table =
         Stream.generate(() -> new Bucket(DEFAULT_BUCKET_SIZE))
             .limit(N_BUCKETS + 1)
@@ -191,13 +190,34 @@ public class PeerTable {
    * @return The <code>limit</code> closest peers, at most.
    */
   public List<DiscoveryPeer> nearestBondedPeers(final Bytes target, final int limit) {
-    final Bytes keccak256 = Hash.keccak256(target);
-    return streamAllPeers()
-        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
-        .sorted(
-            comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
-        .limit(limit)
-        .collect(toList());
+    if (limit <= 0) {
+      return new ArrayList<>();
+    }
+    final byte[] targetHash = Hash.keccak256(target).toArrayUnsafe();
+    // Keep the closest peers seen so far in a max-heap, so each distance is computed once and
+    // only the heap, not the whole table, is ever ordered.
+    final PriorityQueue<NearPeer> closest = new PriorityQueue<>(limit + 1);
+    int seen = 0;
+    for (final Bucket bucket : table) {
+      for (final DiscoveryPeer peer : bucket.getPeers()) {
+        if (peer.getStatus() != PeerDiscoveryStatus.BONDED) {
+          continue;
+        }
+        final int distance =
+            PeerDistanceCalculator.distance(peer.keccak256().toArrayUnsafe(), targetHash);
+        if (closest.size() < limit) {
+          closest.add(new NearPeer(peer, distance, seen++));
+        } else if (distance < closest.peek().distance) {
+          closest.poll();
+          closest.add(new NearPeer(peer, distance, seen++));
+        }
+      }
+    }
+    final DiscoveryPeer[] nearest = new DiscoveryPeer[closest.size()];
+    for (int i = nearest.length - 1; i >= 0; i--) {
+      nearest[i] = closest.poll().peer;
+    }
+    return new ArrayList<>(Arrays.asList(nearest));
   }
 
   public Stream<DiscoveryPeer> streamAllPeers() {
@@ -214,10 +234,29 @@ public class PeerTable {
   private int distanceFrom(final PeerId peer) {
     final Integer distance = distanceCache.get(peer.getId());
     return distance == null
-        ? PeerDistanceCalculator.distance(keccak256, peer.keccak256())
+        ? PeerDistanceCalculator.distance(keccak256, peer.keccak256().toArrayUnsafe())
         : distance;
   }
 
+  /** Orders candidates furthest first, and latest seen first among equally distant ones. */
+  private static class NearPeer implements Comparable<NearPeer> {
+    private final DiscoveryPeer peer;
+    private final int distance;
+    private final int order;
+
+    private NearPeer(final DiscoveryPeer peer, final int distance, final int order) {
+      this.peer = peer;
+      this.distance = distance;
+      this.order = order;
+    }
+
+    @Override
+    public int compareTo(final NearPeer other) {
+      final int byDistance = Integer.compare(other.distance, distance);
+      return byDistance != 0 ? byDistance : Integer.compare(other.order, order);
+    }
+  }
+
   /** A class that encapsulates the result of a peer addition to the table. */
   public static class AddResult {
     /** The outcome of the operation. */
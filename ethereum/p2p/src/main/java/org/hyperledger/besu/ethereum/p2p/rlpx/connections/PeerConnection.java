@@ -108,6 +108,24 @@ public interface PeerConnection {
    */
   boolean isDisconnected();
 
+  /**
+   * Whether the transport is buffering more outbound data than it accepts without back pressure.
+   * Callers holding low priority messages should wait for {@link #subscribeWritable(Runnable)}
+   * before writing more.
+   *
+   * @return True if outbound data is backing up on this connection
+   */
+  default boolean isCongested() {
+    return false;
+  }
+
+  /**
+   * Subscribe to be notified whenever this connection stops being congested.
+   *
+   * @param callback The callback to run, possibly on the transport's I/O thread
+   */
+  default void subscribeWritable(final Runnable callback) {}
+
   InetSocketAddress getLocalAddress();
 
   InetSocketAddress getRemoteAddress();
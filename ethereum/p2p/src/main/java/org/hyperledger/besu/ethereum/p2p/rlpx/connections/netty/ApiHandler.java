@@ -39,11 +39,11 @@ final class ApiHandler extends SimpleChannelInboundHandler<MessageData> {
 
   private final PeerConnectionEventDispatcher connectionEventDispatcher;
 
-  private final PeerConnection connection;
+  private final NettyPeerConnection connection;
 
   ApiHandler(
       final CapabilityMultiplexer multiplexer,
-      final PeerConnection connection,
+      final NettyPeerConnection connection,
       final PeerConnectionEventDispatcher connectionEventDispatcher,
       final AtomicBoolean waitingForPong) {
     this.multiplexer = multiplexer;
@@ -99,6 +99,14 @@ final class ApiHandler extends SimpleChannelInboundHandler<MessageData> {
     connectionEventDispatcher.dispatchMessage(demultiplexed.getCapability(), connection, message);
   }
 
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+    if (ctx.channel().isWritable()) {
+      connection.handleWritable();
+    }
+    super.channelWritabilityChanged(ctx);
+  }
+
   @Override
   public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable throwable) {
     LOG.error("Error:", throwable);
@@ -52,6 +52,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -133,7 +134,7 @@ final class DeFramer extends ByteToMessageDecoder {
           ctx.close();
           return;
         }
-        final PeerConnection connection =
+        final NettyPeerConnection connection =
             new NettyPeerConnection(
                 ctx,
                 peer.get(),
@@ -166,6 +167,8 @@ final class DeFramer extends ByteToMessageDecoder {
         ctx.channel()
             .pipeline()
             .addLast(
+                new FlushConsolidationHandler(
+                    FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true),
                 new IdleStateHandler(15, 0, 0),
                 new WireKeepAlive(connection, waitingForPong),
                 new ApiHandler(
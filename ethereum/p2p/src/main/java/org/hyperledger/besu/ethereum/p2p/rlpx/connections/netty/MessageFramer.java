@@ -28,10 +28,18 @@ final class MessageFramer extends MessageToByteEncoder<OutboundMessage> {
   private final Framer framer;
 
   MessageFramer(final CapabilityMultiplexer multiplexer, final Framer framer) {
+    // The framer encrypts in place, which needs an array-backed buffer.
+    super(false);
     this.multiplexer = multiplexer;
     this.framer = framer;
   }
 
+  @Override
+  protected ByteBuf allocateBuffer(
+      final ChannelHandlerContext ctx, final OutboundMessage msg, final boolean preferDirect) {
+    return ctx.alloc().heapBuffer(framer.maxFramedLength(msg.getData().getSize()));
+  }
+
   @Override
   protected void encode(
       final ChannelHandlerContext ctx, final OutboundMessage msg, final ByteBuf out) {
@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.PeerInfo;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.util.Subscribers;
 
 import java.net.InetSocketAddress;
 import java.util.concurrent.Callable;
@@ -36,6 +37,7 @@ import io.netty.channel.ChannelHandlerContext;
 final class NettyPeerConnection extends AbstractPeerConnection {
 
   private final ChannelHandlerContext ctx;
+  private final Subscribers<Runnable> writableSubscribers = Subscribers.create(true);
 
   public NettyPeerConnection(
       final ChannelHandlerContext ctx,
@@ -67,6 +69,20 @@ final class NettyPeerConnection extends AbstractPeerConnection {
     ctx.channel().writeAndFlush(new OutboundMessage(capability, message));
   }
 
+  @Override
+  public boolean isCongested() {
+    return !ctx.channel().isWritable();
+  }
+
+  @Override
+  public void subscribeWritable(final Runnable callback) {
+    writableSubscribers.subscribe(callback);
+  }
+
+  void handleWritable() {
+    writableSubscribers.forEach(Runnable::run);
+  }
+
   @Override
   protected void closeConnectionImmediately() {
     ctx.close();
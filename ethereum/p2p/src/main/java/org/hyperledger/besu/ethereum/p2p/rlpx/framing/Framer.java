@@ -15,8 +15,6 @@
 package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
 
 import static io.netty.buffer.ByteBufUtil.hexDump;
-import static io.netty.buffer.Unpooled.wrappedBuffer;
-import static org.bouncycastle.pqc.math.linearalgebra.ByteUtils.xor;
 import static org.hyperledger.besu.ethereum.p2p.rlpx.RlpxFrameConstants.LENGTH_FRAME_SIZE;
 import static org.hyperledger.besu.ethereum.p2p.rlpx.RlpxFrameConstants.LENGTH_MAX_MESSAGE_FRAME;
 
@@ -33,7 +31,6 @@ import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.FormatMethod;
 import io.netty.buffer.ByteBuf;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.MutableBytes;
 import org.bouncycastle.crypto.BlockCipher;
 import org.bouncycastle.crypto.StreamCipher;
 import org.bouncycastle.crypto.engines.AESEngine;
@@ -80,6 +77,12 @@ public class Framer {
   private final StreamCipher encryptor;
   private final StreamCipher decryptor;
   private final BlockCipher macEncryptor;
+  // Scratch space for header and MAC processing, guarded by this framer's monitor.
+  private final byte[] ingressHeader = new byte[LENGTH_HEADER_DATA];
+  private final byte[] ingressMac = new byte[LENGTH_MAC];
+  private final byte[] ingressMacScratch = new byte[LENGTH_MAC];
+  private final byte[] egressHeader = new byte[LENGTH_HEADER_DATA];
+  private final byte[] egressMacScratch = new byte[LENGTH_MAC];
   private boolean headerProcessed;
   private int frameSize;
   private boolean compressionEnabled = false;
@@ -168,7 +171,6 @@ public class Framer {
       }
       frameSize = processHeader(buf.readSlice(LENGTH_FULL_HEADER));
       headerProcessed = true;
-      buf.discardReadBytes();
     }
 
     final int size = frameSize + padding16(frameSize) + LENGTH_MAC;
@@ -177,7 +179,6 @@ public class Framer {
     }
 
     final MessageData msg = processFrame(buf.readSlice(size), frameSize);
-    buf.discardReadBytes();
     headerProcessed = false;
     return msg;
   }
@@ -200,49 +201,44 @@ public class Framer {
     }
 
     // Decrypt the header.
-    final byte[] hCipher = new byte[LENGTH_HEADER_DATA];
-    final byte[] hMac = new byte[LENGTH_MAC];
+    final byte[] hCipher = ingressHeader;
+    final byte[] hMac = ingressMac;
     encryptedHeader.readBytes(hCipher).readBytes(hMac);
 
     // Header MAC validation.
-    byte[] expectedMac = new byte[16];
+    final byte[] expectedMac = ingressMacScratch;
     macEncryptor.processBlock(secrets.getIngressMac(), 0, expectedMac, 0);
-    expectedMac = secrets.updateIngress(xor(expectedMac, hCipher)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
-
-    validateMac(hMac, expectedMac);
+    xorInPlace(expectedMac, hCipher);
+    validateMac(hMac, secrets.updateIngress(expectedMac, 0, LENGTH_MAC).getIngressMac());
 
     // Perform the header decryption.
     decryptor.processBytes(hCipher, 0, hCipher.length, hCipher, 0);
-    final ByteBuf h = wrappedBuffer(hCipher);
 
     // Read the frame length.
-    final byte[] length = new byte[3];
-    h.readBytes(length);
-    int frameSize = length[0] & 0xff;
-    frameSize = (frameSize << 8) + (length[1] & 0xff);
-    frameSize = (frameSize << 8) + (length[2] & 0xff);
+    int frameSize = hCipher[0] & 0xff;
+    frameSize = (frameSize << 8) + (hCipher[1] & 0xff);
+    frameSize = (frameSize << 8) + (hCipher[2] & 0xff);
 
     // Discard the header data (RLP): being set to fixed value 0xc28080 (list of two null
     // elements) by other clients.
-    final int headerDataLength = RLP.calculateSize(Bytes.wrapByteBuffer(h.nioBuffer()));
-    if (h.readableBytes() < headerDataLength) {
+    int remaining = LENGTH_HEADER_DATA - LENGTH_FRAME_SIZE;
+    final int headerDataLength =
+        RLP.calculateSize(Bytes.wrap(hCipher, LENGTH_FRAME_SIZE, remaining));
+    if (remaining < headerDataLength) {
       throw error(
           "Expected at least %d readable bytes while processing header, remaining: %s",
-          headerDataLength, h.readableBytes());
+          headerDataLength, remaining);
     }
-    h.skipBytes(headerDataLength);
+    remaining -= headerDataLength;
 
     // Discard padding in header (= zero-fill to 16-byte boundary).
-    h.skipBytes(padding16(LENGTH_FRAME_SIZE + headerDataLength));
+    remaining -= padding16(LENGTH_FRAME_SIZE + headerDataLength);
 
-    if (h.readableBytes() != 0) {
+    if (remaining != 0) {
       throw error(
-          "Expected no more readable bytes while processing header, remaining: %s",
-          h.readableBytes());
+          "Expected no more readable bytes while processing header, remaining: %s", remaining);
     }
 
-    h.discardReadBytes();
     return frameSize;
   }
 
@@ -262,18 +258,18 @@ public class Framer {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
+    // The frame array doubles as the storage of the decoded message, so it is the only copy taken
+    // off the wire.
     final byte[] frameData = new byte[frameSize + pad];
-    final byte[] fMac = new byte[LENGTH_MAC];
+    final byte[] fMac = ingressMac;
     f.readBytes(frameData).readBytes(fMac);
 
     // Validate the frame's MAC.
     final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
-    final byte[] fMacSeedEnc = new byte[16];
+    final byte[] fMacSeedEnc = ingressMacScratch;
     macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
-    byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
-
-    validateMac(fMac, expectedMac);
+    xorInPlace(fMacSeedEnc, fMacSeed);
+    validateMac(fMac, secrets.updateIngress(fMacSeedEnc, 0, LENGTH_MAC).getIngressMac());
 
     // Decrypt frame data.
     decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
@@ -283,16 +279,18 @@ public class Framer {
     final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
 
     // Write message data to ByteBuf, decompressing as necessary
+    final int messageLength = frameSize - LENGTH_MESSAGE_ID;
     final Bytes data;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      final int uncompressedLength =
+          compressor.uncompressedLength(frameData, LENGTH_MESSAGE_ID, messageLength);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
       Bytes _data;
       try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
+        final byte[] decompressedMessageData =
+            compressor.decompress(frameData, LENGTH_MESSAGE_ID, messageLength);
         _data = Bytes.wrap(decompressedMessageData);
         compressionSuccessful = true;
       } catch (final FramingException fe) {
@@ -303,92 +301,155 @@ public class Framer {
           // If failing on the first packet downgrade to uncompressed
           compressionEnabled = false;
           LOG.debug("Snappy decompression failed: downgrading to uncompressed");
-          final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-          _data = Bytes.wrap(frameData, 1, messageLength);
+          _data = Bytes.wrap(frameData, LENGTH_MESSAGE_ID, messageLength);
         }
       }
       data = _data;
     } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = Bytes.wrap(frameData, 1, messageLength);
+      data = Bytes.wrap(frameData, LENGTH_MESSAGE_ID, messageLength);
     }
 
     return new RawMessage(id, data);
   }
 
   private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
-    if (!Arrays.equals(expectedMac, candidateMac)) {
+    if (!Arrays.equals(expectedMac, 0, LENGTH_MAC, candidateMac, 0, LENGTH_MAC)) {
       throw error(
           "Frame MAC did not match expected MAC; expected: %s, received: %s",
-          hexDump(expectedMac), hexDump(candidateMac));
+          hexDump(expectedMac, 0, LENGTH_MAC), hexDump(candidateMac));
     }
   }
 
+  /**
+   * Returns an upper bound for the number of bytes a framed message of the given size occupies on
+   * the wire, suitable for sizing output buffers up front.
+   *
+   * @param messageSize The size of the message payload.
+   * @return The maximum number of bytes the framed message can take.
+   */
+  public int maxFramedLength(final int messageSize) {
+    final int payloadSize =
+        compressionEnabled ? compressor.maxCompressedLength(messageSize) : messageSize;
+    return framedLength(LENGTH_MESSAGE_ID + payloadSize);
+  }
+
   /**
    * Frames a message for sending to an RLPx peer, encrypting it and calculating the appropriate
    * MACs.
    *
+   * <p>The frame is assembled in place: the message is compressed or encrypted straight into the
+   * output buffer, with no intermediate copies. Output buffers that are not backed by an array are
+   * filled through a pooled heap buffer, as the ciphers only operate on arrays.
+   *
    * @param message The message to frame.
    * @param output The {@link ByteBuf} to write framed data to.
    */
   public synchronized void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
-    if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().toArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), Bytes.wrap(compressed)), output);
-    } else {
-      frameMessage(message, output);
-    }
+    writeFrame(message, output, compressionEnabled);
   }
 
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
-    final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
-    final int pad = padding16(frameSize);
+    writeFrame(message, buf, false);
+  }
+
+  private void writeFrame(final MessageData message, final ByteBuf buf, final boolean compress) {
+    if (!buf.hasArray()) {
+      final ByteBuf heapBuffer =
+          buf.alloc().heapBuffer(framedLength(LENGTH_MESSAGE_ID + message.getSize()));
+      try {
+        writeFrame(message, heapBuffer, compress);
+        buf.writeBytes(heapBuffer);
+      } finally {
+        heapBuffer.release();
+      }
+      return;
+    }
+
+    final byte[] payload = message.getData().toArrayUnsafe();
+    final int maxFrameSize =
+        LENGTH_MESSAGE_ID
+            + (compress ? compressor.maxCompressedLength(payload.length) : payload.length);
+    buf.ensureWritable(framedLength(maxFrameSize));
+
+    final byte[] out = buf.array();
+    final int headerOffset = buf.arrayOffset() + buf.writerIndex();
+    final int frameOffset = headerOffset + LENGTH_FULL_HEADER;
 
     final byte id = (byte) message.getCode();
+    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
+    assert bv.size() == 1;
+    out[frameOffset] = bv.get(0);
+
+    // A compressed payload is written as plaintext and encrypted in place below, an uncompressed
+    // one is encrypted directly from the message.
+    final int frameSize =
+        LENGTH_MESSAGE_ID
+            + (compress
+                ? compressor.compress(
+                    payload, 0, payload.length, out, frameOffset + LENGTH_MESSAGE_ID)
+                : payload.length);
+    final int pad = padding16(frameSize);
 
     // Generate the header data.
-    final byte[] h = new byte[LENGTH_HEADER_DATA];
+    final byte[] h = egressHeader;
     h[0] = (byte) ((frameSize >> 16) & 0xff);
     h[1] = (byte) ((frameSize >> 8) & 0xff);
     h[2] = (byte) (frameSize & 0xff);
     System.arraycopy(PROTOCOL_HEADER, 0, h, LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
-    Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length - 1, (byte) 0x00);
-    encryptor.processBytes(h, 0, LENGTH_HEADER_DATA, h, 0);
+    Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length, (byte) 0x00);
+    encryptor.processBytes(h, 0, LENGTH_HEADER_DATA, out, headerOffset);
 
     // Generate the header MAC.
-    byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
-    macEncryptor.processBlock(hMac, 0, hMac, 0);
-    hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
-    hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
-
-    // Encrypt payload.
-    final MutableBytes f = MutableBytes.create(frameSize + pad);
-
-    final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
-    assert bv.size() == 1;
-    f.set(0, bv.get(0));
-
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 1);
-    encryptor.processBytes(f.toArrayUnsafe(), 0, f.size(), f.toArrayUnsafe(), 0);
+    final byte[] hMac = egressMacScratch;
+    macEncryptor.processBlock(secrets.getEgressMac(), 0, hMac, 0);
+    xorInPlace(hMac, out, headerOffset);
+    System.arraycopy(
+        secrets.updateEgress(hMac, 0, LENGTH_MAC).getEgressMac(),
+        0,
+        out,
+        headerOffset + LENGTH_HEADER_DATA,
+        LENGTH_MAC);
+
+    // Encrypt payload, zero-padded to 16-byte boundary.
+    if (compress) {
+      encryptor.processBytes(out, frameOffset, frameSize, out, frameOffset);
+    } else {
+      encryptor.processBytes(out, frameOffset, LENGTH_MESSAGE_ID, out, frameOffset);
+      encryptor.processBytes(payload, 0, payload.length, out, frameOffset + LENGTH_MESSAGE_ID);
+    }
+    Arrays.fill(out, frameOffset + frameSize, frameOffset + frameSize + pad, (byte) 0x00);
+    encryptor.processBytes(out, frameOffset + frameSize, pad, out, frameOffset + frameSize);
 
     // Calculate the frame MAC.
-    final byte[] fMacSeed =
-        Arrays.copyOf(secrets.updateEgress(f.toArrayUnsafe()).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
+    final byte[] fMacSeed = secrets.updateEgress(out, frameOffset, frameSize + pad).getEgressMac();
+    final byte[] fMac = egressMacScratch;
     macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+    xorInPlace(fMac, fMacSeed);
+    System.arraycopy(
+        secrets.updateEgress(fMac, 0, LENGTH_MAC).getEgressMac(),
+        0,
+        out,
+        frameOffset + frameSize + pad,
+        LENGTH_MAC);
+
+    buf.writerIndex(buf.writerIndex() + LENGTH_FULL_HEADER + frameSize + pad + LENGTH_MAC);
+  }
+
+  private static int framedLength(final int frameSize) {
+    return LENGTH_FULL_HEADER + frameSize + padding16(frameSize) + LENGTH_MAC;
+  }
+
+  private static void xorInPlace(final byte[] target, final byte[] other) {
+    xorInPlace(target, other, 0);
+  }
 
-    buf.writeBytes(f.toArrayUnsafe()).writeBytes(fMac);
+  private static void xorInPlace(final byte[] target, final byte[] other, final int otherOffset) {
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      target[i] ^= other[otherOffset + i];
+    }
   }
 
   private static int padding16(final int size) {
@@ -36,6 +36,38 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Compresses a range of the input straight into the provided output array.
+   *
+   * <p>The output array must have room for at least {@link #maxCompressedLength(int)} bytes from
+   * the output offset onwards.
+   *
+   * @param uncompressed The array holding the data to compress.
+   * @param offset The offset of the first byte to compress.
+   * @param length The number of bytes to compress.
+   * @param output The array to write the compressed data to.
+   * @param outputOffset The offset in the output array to start writing at.
+   * @return The number of compressed bytes written.
+   */
+  public int compress(
+      final byte[] uncompressed,
+      final int offset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    checkNotNull(uncompressed, "input data must not be null");
+    checkNotNull(output, "output buffer must not be null");
+    try {
+      return Snappy.compress(uncompressed, offset, length, output, outputOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy compression failed", e);
+    }
+  }
+
+  public int maxCompressedLength(final int uncompressedLength) {
+    return Snappy.maxCompressedLength(uncompressedLength);
+  }
+
   public byte[] decompress(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -45,6 +77,25 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Decompresses a range of the input without copying it out of its backing array first.
+   *
+   * @param compressed The array holding the compressed data.
+   * @param offset The offset of the first compressed byte.
+   * @param length The number of compressed bytes.
+   * @return The decompressed data.
+   */
+  public byte[] decompress(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      final byte[] uncompressed = new byte[Snappy.uncompressedLength(compressed, offset, length)];
+      Snappy.uncompress(compressed, offset, length, uncompressed, 0);
+      return uncompressed;
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
   public int uncompressedLength(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -53,4 +104,13 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  public int uncompressedLength(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompressedLength(compressed, offset, length);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
 }
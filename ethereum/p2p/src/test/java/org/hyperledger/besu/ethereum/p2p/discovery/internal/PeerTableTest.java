@@ -14,12 +14,16 @@
  */
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.AddOutcome;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResult;
@@ -184,4 +188,27 @@ public class PeerTableTest {
     final EvictResult evictResult = table.tryEvict(peer);
     assertThat(evictResult.getOutcome()).isEqualTo(EvictOutcome.SELF);
   }
+
+  @Test
+  public void nearestBondedPeersReturnsClosestBondedPeersInOrder() {
+    final PeerTable table = new PeerTable(Peer.randomId(), 16);
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(200);
+    for (int i = 0; i < peers.size(); i++) {
+      peers.get(i).setStatus(i % 3 == 0 ? PeerDiscoveryStatus.KNOWN : PeerDiscoveryStatus.BONDED);
+      table.tryAdd(peers.get(i));
+    }
+    final Bytes target = Peer.randomId();
+    final Bytes targetHash = Hash.keccak256(target);
+
+    final List<DiscoveryPeer> expected =
+        table
+            .streamAllPeers()
+            .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+            .sorted(comparingInt(p -> PeerDistanceCalculator.distance(p.keccak256(), targetHash)))
+            .limit(16)
+            .collect(toList());
+
+    assertThat(table.nearestBondedPeers(target, 16)).containsExactlyElementsOf(expected);
+    assertThat(table.nearestBondedPeers(target, 0)).isEmpty();
+  }
 }
@@ -31,12 +31,14 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.Test;
@@ -271,6 +273,57 @@ public class FramerTest {
     assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
   }
 
+  @Test
+  public void framesIdenticallyIntoHeapAndDirectBuffers() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final Framer heapFramer = new Framer(secretsFrom(td, false));
+    final Framer directFramer = new Framer(secretsFrom(td, false));
+    heapFramer.enableCompression();
+    directFramer.enableCompression();
+
+    final byte[] payload = new byte[4096];
+    new Random(1).nextBytes(payload);
+    final MessageData message = new RawMessage(0x10, Bytes.wrap(payload));
+
+    final ByteBuf heap = Unpooled.buffer();
+    final ByteBuf direct = Unpooled.directBuffer();
+    for (int i = 0; i < 3; i++) {
+      heapFramer.frame(message, heap);
+      directFramer.frame(message, direct);
+    }
+
+    assertThat(direct.hasArray()).isFalse();
+    assertThat(ByteBufUtil.getBytes(direct)).isEqualTo(ByteBufUtil.getBytes(heap));
+  }
+
+  @Test
+  public void roundTripsCompressedMessagesOfVaryingSizes() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final Framer sendingFramer = new Framer(secretsFrom(td, false));
+    final Framer receivingFramer = new Framer(secretsFrom(td, true));
+    sendingFramer.enableCompression();
+    receivingFramer.enableCompression();
+
+    final ByteBuf wire = Unpooled.buffer();
+    final Random random = new Random(1);
+    final int[] sizes = {0, 1, 15, 16, 17, 1000, 100_000};
+    for (final int size : sizes) {
+      final byte[] payload = new byte[size];
+      random.nextBytes(payload);
+      Arrays.fill(payload, size / 2, size, (byte) 0x42);
+      sendingFramer.frame(new RawMessage(0x12, Bytes.wrap(payload)), wire);
+    }
+
+    for (final int size : sizes) {
+      final MessageData message = receivingFramer.deframe(wire);
+      assertThat(message).isNotNull();
+      assertThat(message.getCode()).isEqualTo(0x12);
+      assertThat(message.getSize()).isEqualTo(size);
+    }
+    assertThat(wire.isReadable()).isFalse();
+    assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
+  }
+
   private HandshakeSecrets secretsFrom(final JsonNode td, final boolean swap) {
     final byte[] aes = decodeHexDump(td.get("aes_secret").asText());
     final byte[] mac = decodeHexDump(td.get("mac_secret").asText());
@@ -35,6 +35,20 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void roundTripWithinLargerArrays() {
+    final byte[] data =
+        "Uncompressed sample text, Uncompressed sample text".getBytes(StandardCharsets.UTF_8);
+    final byte[] input = new byte[data.length + 7];
+    System.arraycopy(data, 0, input, 5, data.length);
+
+    final byte[] output = new byte[3 + snappy.maxCompressedLength(data.length)];
+    final int compressedLength = snappy.compress(input, 5, data.length, output, 3);
+
+    assertThat(snappy.uncompressedLength(output, 3, compressedLength)).isEqualTo(data.length);
+    assertThat(snappy.decompress(output, 3, compressedLength)).isEqualTo(data);
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
@@ -334,6 +334,13 @@ abstract class AbstractRLPInput implements RLPInput {
 
   @Override
   public UInt256 readUInt256Scalar() {
+    if (currentPayloadSize < Long.BYTES) {
+      // Most values (nonces, gas, small balances) fit a long, avoid the intermediate Bytes32
+      checkScalar("32-bytes scalar", 32);
+      final UInt256 res = UInt256.valueOf(readGenericLongScalar());
+      setTo(nextItem());
+      return res;
+    }
     return UInt256.fromBytes(readBytes32Scalar());
   }
 
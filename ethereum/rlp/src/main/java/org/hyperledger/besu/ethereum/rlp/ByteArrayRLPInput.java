@@ -0,0 +1,107 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An {@link RLPInput} that reads RLP encoded data directly from a byte array, without wrapping it
+ * in a {@link Bytes} first.
+ *
+ * <p>The array is not copied, so it must not be modified while it is read.
+ */
+public class ByteArrayRLPInput extends AbstractRLPInput {
+
+  // The RLP encoded data.
+  private final byte[] array;
+  private final int arrayOffset;
+  private final int length;
+
+  public ByteArrayRLPInput(final byte[] array, final boolean lenient) {
+    this(array, 0, array.length, lenient);
+  }
+
+  public ByteArrayRLPInput(
+      final byte[] array, final int offset, final int length, final boolean lenient) {
+    super(lenient);
+    if (offset < 0 || length < 0 || offset + length > array.length) {
+      throw new IndexOutOfBoundsException(
+          String.format(
+              "Invalid range [%d, %d) for an array of %d bytes",
+              offset, offset + length, array.length));
+    }
+    this.array = array;
+    this.arrayOffset = offset;
+    this.length = length;
+    init(length, true);
+  }
+
+  @Override
+  protected byte inputByte(final long offset) {
+    return array[index(offset, 1)];
+  }
+
+  @Override
+  protected Bytes inputSlice(final long offset, final int length) {
+    // Bytes.wrap rejects empty slices starting at the end of the array
+    return length == 0 ? Bytes.EMPTY : Bytes.wrap(array, index(offset, length), length);
+  }
+
+  @Override
+  protected Bytes32 inputSlice32(final long offset) {
+    return Bytes32.wrap(array, index(offset, Bytes32.SIZE));
+  }
+
+  @Override
+  protected String inputHex(final long offset, final int length) {
+    return inputSlice(offset, length).toUnprefixedHexString();
+  }
+
+  @Override
+  protected BigInteger getUnsignedBigInteger(final long offset, final int length) {
+    return length == 0 ? BigInteger.ZERO : new BigInteger(1, array, index(offset, length), length);
+  }
+
+  @Override
+  protected int getInt(final long offset) {
+    final int i = index(offset, Integer.BYTES);
+    return (array[i] & 0xFF) << 24
+        | (array[i + 1] & 0xFF) << 16
+        | (array[i + 2] & 0xFF) << 8
+        | (array[i + 3] & 0xFF);
+  }
+
+  @Override
+  protected long getLong(final long offset) {
+    index(offset, Long.BYTES);
+    return (getInt(offset) & 0xFFFFFFFFL) << 32 | (getInt(offset + Integer.BYTES) & 0xFFFFFFFFL);
+  }
+
+  @Override
+  public Bytes raw() {
+    return length == 0 ? Bytes.EMPTY : Bytes.wrap(array, arrayOffset, length);
+  }
+
+  private int index(final long offset, final int size) {
+    if (offset < 0 || offset + size > length) {
+      throw new IndexOutOfBoundsException(
+          String.format("Cannot read %d bytes at offset %d of %d bytes", size, offset, length));
+    }
+    return arrayOffset + (int) offset;
+  }
+}
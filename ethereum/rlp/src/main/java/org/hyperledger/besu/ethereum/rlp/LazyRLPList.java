@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An immutable list backed by the RLP encoding of a list, whose elements are only decoded when they
+ * are accessed.
+ *
+ * <p>The position of each element in the encoding is indexed on the first access, so querying the
+ * size of the list doesn't decode any element. Decoded elements are kept, and the list can be
+ * shared between threads. The encoding is assumed to be valid: a malformed element is only reported
+ * when it is accessed.
+ *
+ * @param <T> the type of the elements
+ */
+public final class LazyRLPList<T> extends AbstractList<T> {
+
+  private final Bytes encoded;
+  private final Function<RLPInput, T> reader;
+  private volatile Bytes[] encodedElements;
+  private volatile AtomicReferenceArray<T> decodedElements;
+
+  /**
+   * Create a list decoding its elements from the provided encoding.
+   *
+   * @param encoded the RLP encoding of the whole list
+   * @param reader the function decoding one element of the list
+   */
+  public LazyRLPList(final Bytes encoded, final Function<RLPInput, T> reader) {
+    this.encoded = encoded;
+    this.reader = reader;
+  }
+
+  /**
+   * The RLP encoding of the whole list, as provided when the list was created.
+   *
+   * @return the encoding of the list
+   */
+  public Bytes encoded() {
+    return encoded;
+  }
+
+  /**
+   * The RLP encoding of an element, which doesn't decode it.
+   *
+   * @param index the index of the element
+   * @return the encoding of the element
+   */
+  public Bytes encodedElement(final int index) {
+    return index()[index];
+  }
+
+  @Override
+  public T get(final int index) {
+    final Bytes element = encodedElement(index);
+    final AtomicReferenceArray<T> decoded = decodedElements;
+    T value = decoded.get(index);
+    if (value == null) {
+      value = reader.apply(RLP.input(element));
+      // Concurrent readers decode equal values, keep whichever was stored first
+      if (!decoded.compareAndSet(index, null, value)) {
+        value = decoded.get(index);
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public int size() {
+    return index().length;
+  }
+
+  private Bytes[] index() {
+    Bytes[] elements = encodedElements;
+    if (elements == null) {
+      synchronized (this) {
+        elements = encodedElements;
+        if (elements == null) {
+          final RLPInput input = RLP.input(encoded);
+          final List<Bytes> list = new ArrayList<>();
+          input.enterList();
+          while (!input.isEndOfCurrentList()) {
+            list.add(input.readAsRlp().raw());
+          }
+          input.leaveList();
+          elements = list.toArray(new Bytes[0]);
+          decodedElements = new AtomicReferenceArray<>(elements.length);
+          encodedElements = elements;
+        }
+      }
+    }
+    return elements;
+  }
+}
@@ -63,6 +63,19 @@ public abstract class RLP {
     return new BytesValueRLPInput(encoded, lenient);
   }
 
+  /**
+   * Creates a new {@link RLPInput} suitable for decoding an RLP value encoded in the provided
+   * array, without copying it.
+   *
+   * @param encoded The RLP encoded data for which to create a {@link RLPInput}.
+   * @return A newly created {@link RLPInput} to decode {@code encoded}.
+   * @throws MalformedRLPInputException if {@code encoded} doesn't contain a single RLP encoded
+   *     item.
+   */
+  public static RLPInput input(final byte[] encoded) {
+    return new ByteArrayRLPInput(encoded, false);
+  }
+
   /**
    * Creates a {@link RLPOutput}, pass it to the provided consumer for writing, and then return the
    * RLP encoded result of that writing.
@@ -0,0 +1,241 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.apache.tuweni.units.bigints.UInt256Value;
+
+/**
+ * An {@link RLPOutput} that encodes values straight into a growable byte array, which can be reset
+ * and reused for the next encoding.
+ *
+ * <p>Unlike {@link BytesValueRLPOutput}, which keeps every written value until the output is
+ * encoded, values are encoded as soon as they are written and scalars are encoded without creating
+ * intermediate {@link Bytes}. The size of a list is only known when it ends, so a single byte is
+ * reserved for its header when it starts. Lists with a payload of more than 55 bytes need a longer
+ * header, and their payload is moved when they end to make room for it.
+ */
+public final class StreamingRLPOutput implements RLPOutput {
+
+  private static final int DEFAULT_CAPACITY = 256;
+  // Buffers grown past this size are not kept by reused outputs
+  private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+  private static final ThreadLocal<StreamingRLPOutput> REUSABLE =
+      ThreadLocal.withInitial(StreamingRLPOutput::new);
+
+  private byte[] buffer;
+  private MutableBytes bufferView;
+  private int position;
+  private int[] listStarts = new int[8];
+  private int depth;
+  private boolean inUse;
+
+  public StreamingRLPOutput() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public StreamingRLPOutput(final int initialCapacity) {
+    buffer = new byte[Math.max(16, initialCapacity)];
+    bufferView = MutableBytes.wrap(buffer);
+  }
+
+  /**
+   * RLP encode the data written by the provided writer with an output reused by the current thread.
+   * This is the allocation-light equivalent of {@link RLP#encode(Consumer)}.
+   *
+   * @param writer A method that given an {@link RLPOutput}, writes some data to it.
+   * @return The RLP encoding of the data written by {@code writer}.
+   */
+  public static Bytes encode(final Consumer<RLPOutput> writer) {
+    final StreamingRLPOutput reusable = REUSABLE.get();
+    // writers may encode nested values, which then get their own output
+    final StreamingRLPOutput out = reusable.inUse ? new StreamingRLPOutput() : reusable;
+    out.inUse = true;
+    try {
+      writer.accept(out);
+      return out.encoded();
+    } finally {
+      out.reset();
+      out.inUse = false;
+    }
+  }
+
+  @Override
+  public void writeBytes(final Bytes v) {
+    checkNotTerminated();
+    final int size = v.size();
+    if (size == 1 && v.get(0) >= 0) {
+      ensureCapacity(1);
+      buffer[position++] = v.get(0);
+      return;
+    }
+    writeElementHeader(size);
+    ensureCapacity(size);
+    v.copyTo(bufferView, position);
+    position += size;
+  }
+
+  @Override
+  public void writeRaw(final Bytes v) {
+    checkNotTerminated();
+    final int size = v.size();
+    ensureCapacity(size);
+    v.copyTo(bufferView, position);
+    position += size;
+  }
+
+  @Override
+  public void writeNull() {
+    checkNotTerminated();
+    ensureCapacity(1);
+    buffer[position++] = (byte) 0x80;
+  }
+
+  @Override
+  public void writeLongScalar(final long v) {
+    checkNotTerminated();
+    if (v > 0 && v < 0x80) {
+      ensureCapacity(1);
+      buffer[position++] = (byte) v;
+      return;
+    }
+    final int size = Long.BYTES - Long.numberOfLeadingZeros(v) / Byte.SIZE;
+    ensureCapacity(1 + size);
+    buffer[position++] = (byte) (0x80 + size);
+    writeBigEndian(v, size);
+  }
+
+  @Override
+  public void writeUInt256Scalar(final UInt256Value<?> v) {
+    if (v.fitsLong()) {
+      writeLongScalar(v.toLong());
+    } else {
+      writeBytes(v.trimLeadingZeros());
+    }
+  }
+
+  @Override
+  public void startList() {
+    if (depth == listStarts.length) {
+      listStarts = Arrays.copyOf(listStarts, depth * 2);
+    }
+    listStarts[depth++] = position;
+    // reserve the header of a short list
+    ensureCapacity(1);
+    position++;
+  }
+
+  @Override
+  public void endList() {
+    checkState(depth > 0, "LeaveList() called with no prior matching startList()");
+    final int start = listStarts[--depth];
+    final int payloadSize = position - start - 1;
+    if (payloadSize <= 55) {
+      buffer[start] = (byte) (0xc0 + payloadSize);
+      return;
+    }
+    final int sizeLength = sizeLength(payloadSize);
+    ensureCapacity(sizeLength);
+    System.arraycopy(buffer, start + 1, buffer, start + 1 + sizeLength, payloadSize);
+    buffer[start] = (byte) (0xf7 + sizeLength);
+    final int end = position;
+    position = start + 1;
+    writeBigEndian(payloadSize, sizeLength);
+    position = end + sizeLength;
+  }
+
+  /**
+   * The size of the RLP encoded data written so far.
+   *
+   * @return The size of the RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  public int encodedSize() {
+    checkState(depth == 0, "A list has been entered (startList()) but not left (endList())");
+    return position;
+  }
+
+  /**
+   * A copy of the RLP encoded data written so far.
+   *
+   * @return A value containing the data written to this output RLP-encoded.
+   */
+  public Bytes encoded() {
+    final int size = encodedSize();
+    return size == 0 ? Bytes.EMPTY : Bytes.wrap(Arrays.copyOf(buffer, size));
+  }
+
+  /**
+   * Write the RLP encoded data written so far to the provided buffer.
+   *
+   * @param target the buffer to which the rlp-data will be written
+   */
+  public void writeEncoded(final ByteBuffer target) {
+    target.put(buffer, 0, encodedSize());
+  }
+
+  /** Discard the data written so far, so the output can be reused. */
+  public void reset() {
+    position = 0;
+    depth = 0;
+    if (buffer.length > MAX_RETAINED_CAPACITY) {
+      buffer = new byte[DEFAULT_CAPACITY];
+      bufferView = MutableBytes.wrap(buffer);
+    }
+  }
+
+  private void checkNotTerminated() {
+    checkState(depth > 0 || position == 0, "Terminated RLP output, cannot add more elements");
+  }
+
+  private void writeElementHeader(final int size) {
+    if (size <= 55) {
+      ensureCapacity(1);
+      buffer[position++] = (byte) (0x80 + size);
+    } else {
+      final int sizeLength = sizeLength(size);
+      ensureCapacity(1 + sizeLength);
+      buffer[position++] = (byte) (0xb7 + sizeLength);
+      writeBigEndian(size, sizeLength);
+    }
+  }
+
+  private void writeBigEndian(final long value, final int size) {
+    for (int i = size - 1; i >= 0; i--) {
+      buffer[position++] = (byte) (value >>> (i * Byte.SIZE));
+    }
+  }
+
+  private void ensureCapacity(final int length) {
+    final int required = position + length;
+    if (required > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+      bufferView = MutableBytes.wrap(buffer);
+    }
+  }
+
+  private static int sizeLength(final int size) {
+    return Integer.BYTES - Integer.numberOfLeadingZeros(size) / Byte.SIZE;
+  }
+}
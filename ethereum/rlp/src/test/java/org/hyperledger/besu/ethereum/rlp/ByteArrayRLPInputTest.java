@@ -0,0 +1,84 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class ByteArrayRLPInputTest {
+
+  @Test
+  public void readsWhatWasWritten() {
+    final Bytes32 hash = Bytes32.random();
+    final Bytes encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeLongScalar(0);
+              out.writeLongScalar(Long.MAX_VALUE);
+              out.writeIntScalar(0x12345678);
+              out.writeUInt256Scalar(UInt256.valueOf(0x7f));
+              out.writeUInt256Scalar(UInt256.MAX_VALUE);
+              out.writeBigIntegerScalar(BigInteger.TWO.pow(100));
+              out.writeBytes(hash);
+              out.writeBytes(Bytes.wrap(new byte[100]));
+              out.endList();
+            });
+
+    final RLPInput in = RLP.input(encoded.toArrayUnsafe());
+    in.enterList();
+    assertThat(in.readLongScalar()).isZero();
+    assertThat(in.readLongScalar()).isEqualTo(Long.MAX_VALUE);
+    assertThat(in.readIntScalar()).isEqualTo(0x12345678);
+    assertThat(in.readUInt256Scalar()).isEqualTo(UInt256.valueOf(0x7f));
+    assertThat(in.readUInt256Scalar()).isEqualTo(UInt256.MAX_VALUE);
+    assertThat(in.readBigIntegerScalar()).isEqualTo(BigInteger.TWO.pow(100));
+    assertThat(in.readBytes32()).isEqualTo(hash);
+    assertThat(in.readBytes()).isEqualTo(Bytes.wrap(new byte[100]));
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+    assertThat(in.raw()).isEqualTo(encoded);
+  }
+
+  @Test
+  public void readsFromAnArrayRange() {
+    final Bytes encoded = RLP.encodeOne(Bytes.of(1, 2, 3));
+    final byte[] array = Bytes.concatenate(Bytes.of(0xff), encoded, Bytes.of(0xff)).toArray();
+
+    final RLPInput in = new ByteArrayRLPInput(array, 1, encoded.size(), false);
+    assertThat(in.readBytes()).isEqualTo(Bytes.of(1, 2, 3));
+    assertThat(in.isDone()).isTrue();
+    assertThat(in.raw()).isEqualTo(encoded);
+  }
+
+  @Test
+  public void rejectsScalarsWithLeadingZeros() {
+    final RLPInput in = RLP.input(Bytes.fromHexString("0x820001").toArrayUnsafe());
+    assertThatThrownBy(in::readUInt256Scalar).isInstanceOf(MalformedRLPInputException.class);
+  }
+
+  @Test
+  public void rejectsTruncatedInput() {
+    assertThatThrownBy(() -> RLP.input(Bytes.fromHexString("0x8301").toArrayUnsafe()))
+        .isInstanceOf(RLPException.class);
+  }
+}
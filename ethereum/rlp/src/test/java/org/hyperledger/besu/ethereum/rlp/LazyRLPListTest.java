@@ -0,0 +1,83 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class LazyRLPListTest {
+
+  private static final List<Bytes> VALUES =
+      List.of(Bytes.of(1), Bytes.of(0x80, 0x81), Bytes.wrap(new byte[100]), Bytes.EMPTY);
+  private static final Bytes ENCODED =
+      RLP.encode(out -> out.writeList(VALUES, (value, o) -> o.writeBytes(value)));
+
+  private final AtomicInteger decoded = new AtomicInteger();
+  private final Function<RLPInput, Bytes> reader =
+      in -> {
+        decoded.incrementAndGet();
+        return in.readBytes();
+      };
+
+  @Test
+  public void sizeDoesNotDecodeElements() {
+    final LazyRLPList<Bytes> list = new LazyRLPList<>(ENCODED, reader);
+
+    assertThat(list).hasSize(VALUES.size());
+    assertThat(decoded).hasValue(0);
+  }
+
+  @Test
+  public void decodesOnlyAccessedElementsOnce() {
+    final LazyRLPList<Bytes> list = new LazyRLPList<>(ENCODED, reader);
+
+    assertThat(list.get(2)).isEqualTo(VALUES.get(2));
+    assertThat(list.get(2)).isSameAs(list.get(2));
+    assertThat(decoded).hasValue(1);
+  }
+
+  @Test
+  public void equalsDecodedList() {
+    final LazyRLPList<Bytes> list = new LazyRLPList<>(ENCODED, reader);
+
+    assertThat(list).isEqualTo(VALUES);
+    assertThat(list.hashCode()).isEqualTo(VALUES.hashCode());
+    assertThat(list.encoded()).isEqualTo(ENCODED);
+    assertThat(list.encodedElement(1)).isEqualTo(RLP.encodeOne(VALUES.get(1)));
+  }
+
+  @Test
+  public void emptyList() {
+    final LazyRLPList<Bytes> list = new LazyRLPList<>(RLP.EMPTY_LIST, reader);
+
+    assertThat(list).isEmpty();
+    assertThatThrownBy(() -> list.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void isImmutable() {
+    final LazyRLPList<Bytes> list = new LazyRLPList<>(ENCODED, reader);
+
+    assertThatThrownBy(() -> list.add(Bytes.EMPTY))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
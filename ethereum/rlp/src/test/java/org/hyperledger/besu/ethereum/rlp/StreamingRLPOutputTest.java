@@ -0,0 +1,159 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class StreamingRLPOutputTest {
+
+  private static void assertSameEncoding(final Consumer<RLPOutput> writer) {
+    final BytesValueRLPOutput expected = new BytesValueRLPOutput();
+    writer.accept(expected);
+    final StreamingRLPOutput out = new StreamingRLPOutput(16);
+    writer.accept(out);
+
+    assertThat(out.encoded()).isEqualTo(expected.encoded());
+    assertThat(out.encodedSize()).isEqualTo(expected.encodedSize());
+    assertThat(StreamingRLPOutput.encode(writer)).isEqualTo(expected.encoded());
+  }
+
+  @Test
+  public void encodesBytesLikeBytesValueRLPOutput() {
+    assertSameEncoding(out -> out.writeBytes(Bytes.EMPTY));
+    assertSameEncoding(out -> out.writeBytes(Bytes.of(0x01)));
+    assertSameEncoding(out -> out.writeBytes(Bytes.of(0x80)));
+    assertSameEncoding(out -> out.writeBytes(Bytes.wrap(new byte[55])));
+    assertSameEncoding(out -> out.writeBytes(Bytes.wrap(new byte[56])));
+    assertSameEncoding(out -> out.writeBytes(Bytes.wrap(new byte[1 << 16])));
+    assertSameEncoding(RLPOutput::writeNull);
+  }
+
+  @Test
+  public void encodesScalarsLikeBytesValueRLPOutput() {
+    for (final long value : new long[] {0, 1, 0x7f, 0x80, 0xff, 0x100, Long.MAX_VALUE, -1}) {
+      assertSameEncoding(out -> out.writeLongScalar(value));
+    }
+    assertSameEncoding(out -> out.writeIntScalar(1024));
+    assertSameEncoding(out -> out.writeUInt256Scalar(UInt256.ZERO));
+    assertSameEncoding(out -> out.writeUInt256Scalar(UInt256.valueOf(0x7f)));
+    assertSameEncoding(out -> out.writeUInt256Scalar(UInt256.valueOf(Long.MAX_VALUE)));
+    assertSameEncoding(out -> out.writeUInt256Scalar(UInt256.MAX_VALUE));
+    assertSameEncoding(out -> out.writeBigIntegerScalar(BigInteger.TWO.pow(100)));
+  }
+
+  @Test
+  public void encodesListsLikeBytesValueRLPOutput() {
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          out.endList();
+        });
+    // Payloads on both sides of the 55 bytes limit of short list headers
+    for (final int size : new int[] {53, 54, 55, 1000, 1 << 16}) {
+      assertSameEncoding(
+          out -> {
+            out.startList();
+            out.writeBytes(Bytes.wrap(new byte[size]));
+            out.endList();
+          });
+    }
+  }
+
+  @Test
+  public void encodesNestedListsLikeBytesValueRLPOutput() {
+    assertSameEncoding(
+        out -> {
+          out.startList();
+          out.writeLongScalar(1);
+          for (int i = 0; i < 10; i++) {
+            out.startList();
+            out.writeBytes(Bytes.wrap(new byte[i * 10]));
+            out.startList();
+            out.writeRaw(RLP.encodeOne(Bytes.of(i)));
+            out.endList();
+            out.endList();
+          }
+          out.writeUInt256Scalar(UInt256.MAX_VALUE);
+          out.endList();
+        });
+  }
+
+  @Test
+  public void nestedEncodingsUseTheirOwnOutput() {
+    final Bytes inner = StreamingRLPOutput.encode(out -> out.writeLongScalar(1024));
+    final Bytes encoded =
+        StreamingRLPOutput.encode(
+            out -> {
+              out.startList();
+              out.writeBytes(StreamingRLPOutput.encode(o -> o.writeLongScalar(1024)));
+              out.endList();
+            });
+
+    assertThat(encoded)
+        .isEqualTo(RLP.encode(out -> out.writeList(List.of(inner), (v, o) -> o.writeBytes(v))));
+  }
+
+  @Test
+  public void canBeReset() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.writeBytes(Bytes.wrap(new byte[100]));
+    out.reset();
+    out.writeLongScalar(1);
+
+    assertThat(out.encoded()).isEqualTo(Bytes.of(1));
+  }
+
+  @Test
+  public void writesEncodedToByteBuffer() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.writeBytes(Bytes.of(1, 2, 3));
+    final ByteBuffer buffer = ByteBuffer.allocate(out.encodedSize());
+    out.writeEncoded(buffer);
+
+    assertThat(Bytes.wrap(buffer.array())).isEqualTo(Bytes.of(0x83, 1, 2, 3));
+  }
+
+  @Test
+  public void cannotWriteAfterTerminated() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.writeLongScalar(1);
+
+    assertThatThrownBy(() -> out.writeLongScalar(2)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void cannotEndListNotStarted() {
+    assertThatThrownBy(() -> new StreamingRLPOutput().endList())
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void cannotEncodeUnfinishedList() {
+    final StreamingRLPOutput out = new StreamingRLPOutput();
+    out.startList();
+
+    assertThatThrownBy(out::encoded).isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import org.hyperledger.besu.crypto.Hash;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+public class TrieCommitBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int updatedKeys;
+
+  private Bytes32[] keys;
+  private StoredMerklePatriciaTrie<Bytes32, Bytes> trie;
+
+  @Setup(Level.Trial)
+  public void createKeys() {
+    keys = new Bytes32[updatedKeys];
+    for (int i = 0; i < updatedKeys; i++) {
+      keys[i] = Hash.keccak256(Bytes.ofUnsignedInt(i));
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void updateTrie() {
+    trie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> Optional.empty(), Function.identity(), Function.identity());
+    for (final Bytes32 key : keys) {
+      trie.put(key, key);
+    }
+  }
+
+  @Benchmark
+  public Bytes32 serialCommit(final Blackhole blackhole) {
+    final NodeUpdater nodeUpdater = (location, hash, value) -> blackhole.consume(value);
+    trie.commit(nodeUpdater, new CommitVisitor<>(nodeUpdater));
+    return trie.getRootHash();
+  }
+
+  @Benchmark
+  public Bytes32 parallelCommit(final Blackhole blackhole) {
+    final NodeUpdater nodeUpdater = (location, hash, value) -> blackhole.consume(value);
+    trie.commit(nodeUpdater, new ParallelCommitVisitor<>(nodeUpdater));
+    return trie.getRootHash();
+  }
+}
@@ -14,63 +14,35 @@
  */
 package org.hyperledger.besu.ethereum.trie;
 
-import static org.hyperledger.besu.crypto.Hash.keccak256;
-
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.MutableBytes;
 
-class BranchNode<V> implements Node<V> {
+/**
+ * A branch node. Subclasses decide how the children, value, location and the cached RLP and hash
+ * are kept.
+ *
+ * @param <V> The type of values stored by the trie.
+ */
+abstract class BranchNode<V> implements Node<V> {
   public static final byte RADIX = CompactEncoding.LEAF_TERMINATOR;
 
   @SuppressWarnings("rawtypes")
   private static final Node NULL_NODE = NullNode.instance();
 
-  private final Optional<Bytes> location;
-  private final ArrayList<Node<V>> children;
-  private final Optional<V> value;
   private final NodeFactory<V> nodeFactory;
   private final Function<V, Bytes> valueSerializer;
-  private WeakReference<Bytes> rlp;
-  private SoftReference<Bytes32> hash;
   private boolean dirty = false;
   private boolean needHeal = false;
 
-  BranchNode(
-      final Bytes location,
-      final ArrayList<Node<V>> children,
-      final Optional<V> value,
-      final NodeFactory<V> nodeFactory,
-      final Function<V, Bytes> valueSerializer) {
-    assert (children.size() == RADIX);
-    this.location = Optional.ofNullable(location);
-    this.children = children;
-    this.value = value;
-    this.nodeFactory = nodeFactory;
-    this.valueSerializer = valueSerializer;
-  }
-
-  BranchNode(
-      final ArrayList<Node<V>> children,
-      final Optional<V> value,
-      final NodeFactory<V> nodeFactory,
-      final Function<V, Bytes> valueSerializer) {
-    assert (children.size() == RADIX);
-    this.location = Optional.empty();
-    this.children = children;
-    this.value = value;
+  BranchNode(final NodeFactory<V> nodeFactory, final Function<V, Bytes> valueSerializer) {
     this.nodeFactory = nodeFactory;
     this.valueSerializer = valueSerializer;
   }
@@ -90,52 +62,30 @@ class BranchNode<V> implements Node<V> {
     visitor.visit(location, this);
   }
 
-  @Override
-  public Optional<Bytes> getLocation() {
-    return location;
-  }
-
   @Override
   public Bytes getPath() {
     return Bytes.EMPTY;
   }
 
-  @Override
-  public Optional<V> getValue() {
-    return value;
-  }
+  public abstract Node<V> child(final byte index);
 
-  @Override
-  public List<Node<V>> getChildren() {
-    return Collections.unmodifiableList(children);
-  }
-
-  public Node<V> child(final byte index) {
-    return children.get(index);
-  }
+  /** The children, as a list new nodes can keep. */
+  abstract ArrayList<Node<V>> childrenList();
 
-  @Override
-  public Bytes getRlp() {
-    if (rlp != null) {
-      final Bytes encoded = rlp.get();
-      if (encoded != null) {
-        return encoded;
-      }
-    }
+  Bytes encodeRlp() {
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
     out.startList();
-    for (int i = 0; i < RADIX; ++i) {
-      out.writeRaw(children.get(i).getRlpRef());
+    for (byte i = 0; i < RADIX; ++i) {
+      out.writeRaw(child(i).getRlpRef());
     }
-    if (value.isPresent()) {
-      out.writeBytes(valueSerializer.apply(value.get()));
+    final Optional<V> maybeValue = getValue();
+    if (maybeValue.isPresent()) {
+      out.writeBytes(valueSerializer.apply(maybeValue.get()));
     } else {
       out.writeNull();
     }
     out.endList();
-    final Bytes encoded = out.encoded();
-    rlp = new WeakReference<>(encoded);
-    return encoded;
+    return out.encoded();
   }
 
   @Override
@@ -147,19 +97,6 @@ class BranchNode<V> implements Node<V> {
     }
   }
 
-  @Override
-  public Bytes32 getHash() {
-    if (hash != null) {
-      final Bytes32 hashed = hash.get();
-      if (hashed != null) {
-        return hashed;
-      }
-    }
-    final Bytes32 hashed = keccak256(getRlp());
-    hash = new SoftReference<>(hashed);
-    return hashed;
-  }
-
   @Override
   public Node<V> replacePath(final Bytes newPath) {
     return nodeFactory.createExtension(newPath, this);
@@ -171,13 +108,14 @@ class BranchNode<V> implements Node<V> {
 
   public Node<V> replaceChild(
       final byte index, final Node<V> updatedChild, final boolean allowFlatten) {
-    final ArrayList<Node<V>> newChildren = new ArrayList<>(children);
+    final ArrayList<Node<V>> newChildren = new ArrayList<>(getChildren());
     newChildren.set(index, updatedChild);
 
+    final Optional<V> maybeValue = getValue();
     if (updatedChild == NULL_NODE) {
-      if (value.isPresent() && !hasChildren()) {
-        return nodeFactory.createLeaf(Bytes.of(index), value.get());
-      } else if (value.isEmpty() && allowFlatten) {
+      if (maybeValue.isPresent() && !hasChildren()) {
+        return nodeFactory.createLeaf(Bytes.of(index), maybeValue.get());
+      } else if (maybeValue.isEmpty() && allowFlatten) {
         final Optional<Node<V>> flattened = maybeFlatten(newChildren);
         if (flattened.isPresent()) {
           return flattened.get();
@@ -185,20 +123,22 @@ class BranchNode<V> implements Node<V> {
       }
     }
 
-    return nodeFactory.createBranch(newChildren, value);
+    return nodeFactory.createBranch(newChildren, maybeValue);
   }
 
   public Node<V> replaceValue(final V value) {
-    return nodeFactory.createBranch(children, Optional.of(value));
+    return nodeFactory.createBranch(childrenList(), Optional.of(value));
   }
 
   public Node<V> removeValue() {
-    return maybeFlatten(children).orElse(nodeFactory.createBranch(children, Optional.empty()));
+    final ArrayList<Node<V>> currentChildren = childrenList();
+    return maybeFlatten(currentChildren)
+        .orElse(nodeFactory.createBranch(currentChildren, Optional.empty()));
   }
 
   private boolean hasChildren() {
-    for (final Node<V> child : children) {
-      if (child != NULL_NODE) {
+    for (byte i = 0; i < RADIX; ++i) {
+      if (child(i) != NULL_NODE) {
         return true;
       }
     }
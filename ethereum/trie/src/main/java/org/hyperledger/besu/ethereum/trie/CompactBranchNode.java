@@ -0,0 +1,101 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** A branch node created by the {@link CompactStoredNodeFactory}. */
+class CompactBranchNode<V> extends BranchNode<V> {
+
+  private final Bytes location;
+  private final Node<V>[] children;
+  private final V value;
+  private byte[] reference;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  CompactBranchNode(
+      final Bytes location,
+      final ArrayList<Node<V>> children,
+      final V value,
+      final NodeFactory<V> nodeFactory,
+      final Function<V, Bytes> valueSerializer) {
+    super(nodeFactory, valueSerializer);
+    assert (children.size() == RADIX);
+    this.location = location;
+    this.children = children.toArray(new Node[RADIX]);
+    this.value = value;
+  }
+
+  @Override
+  public Optional<Bytes> getLocation() {
+    return Optional.ofNullable(location);
+  }
+
+  @Override
+  public Optional<V> getValue() {
+    return Optional.ofNullable(value);
+  }
+
+  @Override
+  public List<Node<V>> getChildren() {
+    return Collections.unmodifiableList(Arrays.asList(children));
+  }
+
+  @Override
+  public Node<V> child(final byte index) {
+    return children[index];
+  }
+
+  @Override
+  ArrayList<Node<V>> childrenList() {
+    return new ArrayList<>(Arrays.asList(children));
+  }
+
+  @Override
+  public Bytes getRlp() {
+    final byte[] ref = reference();
+    return CompactStoredNodeFactory.isReferencedByHash(ref) ? encodeRlp() : Bytes.wrap(ref);
+  }
+
+  @Override
+  public Bytes getRlpRef() {
+    return CompactStoredNodeFactory.rlpRef(reference());
+  }
+
+  @Override
+  public boolean isReferencedByHash() {
+    return CompactStoredNodeFactory.isReferencedByHash(reference());
+  }
+
+  @Override
+  public Bytes32 getHash() {
+    return CompactStoredNodeFactory.hash(reference());
+  }
+
+  private byte[] reference() {
+    if (reference == null) {
+      reference = CompactStoredNodeFactory.reference(encodeRlp());
+    }
+    return reference;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** An extension node created by the {@link CompactStoredNodeFactory}. */
+class CompactExtensionNode<V> extends ExtensionNode<V> {
+
+  private final Bytes location;
+  private byte[] reference;
+
+  CompactExtensionNode(
+      final Bytes location,
+      final Bytes path,
+      final Node<V> child,
+      final NodeFactory<V> nodeFactory) {
+    super(path, child, nodeFactory);
+    this.location = location;
+  }
+
+  @Override
+  public Optional<Bytes> getLocation() {
+    return Optional.ofNullable(location);
+  }
+
+  @Override
+  public Bytes getRlp() {
+    final byte[] ref = reference();
+    return CompactStoredNodeFactory.isReferencedByHash(ref) ? encodeRlp() : Bytes.wrap(ref);
+  }
+
+  @Override
+  public Bytes getRlpRef() {
+    return CompactStoredNodeFactory.rlpRef(reference());
+  }
+
+  @Override
+  public boolean isReferencedByHash() {
+    return CompactStoredNodeFactory.isReferencedByHash(reference());
+  }
+
+  @Override
+  public Bytes32 getHash() {
+    return CompactStoredNodeFactory.hash(reference());
+  }
+
+  private byte[] reference() {
+    if (reference == null) {
+      reference = CompactStoredNodeFactory.reference(encodeRlp());
+    }
+    return reference;
+  }
+}
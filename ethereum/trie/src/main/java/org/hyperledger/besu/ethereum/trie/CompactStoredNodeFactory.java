@@ -0,0 +1,92 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A {@link StoredNodeFactory} creating and loading nodes in a compact form, so tries hold more
+ * nodes in the same heap.
+ *
+ * <p>Compact nodes keep their location and value without {@link Optional} wrappers and branch
+ * children in a plain array. Instead of soft and weak references to the hash and RLP, they keep one
+ * inline array: the hash of nodes referenced by hash, or the RLP of nodes small enough to be
+ * inlined in their parent. The RLP of larger nodes is encoded again when needed, which only reads
+ * the cached references of their children.
+ *
+ * @param <V> The type of values stored by the trie.
+ */
+public class CompactStoredNodeFactory<V> extends StoredNodeFactory<V> {
+
+  private final Function<V, Bytes> valueSerializer;
+
+  public CompactStoredNodeFactory(
+      final NodeLoader nodeLoader,
+      final Function<V, Bytes> valueSerializer,
+      final Function<Bytes, V> valueDeserializer) {
+    super(nodeLoader, valueSerializer, valueDeserializer);
+    this.valueSerializer = valueSerializer;
+  }
+
+  @Override
+  protected ExtensionNode<V> newExtension(
+      final Bytes location, final Bytes path, final Node<V> child) {
+    return new CompactExtensionNode<>(location, path, child, this);
+  }
+
+  @Override
+  protected BranchNode<V> newBranch(
+      final Bytes location, final ArrayList<Node<V>> children, final Optional<V> value) {
+    return new CompactBranchNode<>(location, children, value.orElse(null), this, valueSerializer);
+  }
+
+  @Override
+  protected LeafNode<V> newLeaf(final Bytes location, final Bytes path, final V value) {
+    return new CompactLeafNode<>(location, path, value, this, valueSerializer);
+  }
+
+  /**
+   * The reference kept by a compact node: the hash if the node is referenced by hash, the RLP
+   * otherwise.
+   */
+  static byte[] reference(final Bytes rlp) {
+    return rlp.size() >= Bytes32.SIZE ? keccak256(rlp).toArrayUnsafe() : rlp.toArrayUnsafe();
+  }
+
+  static boolean isReferencedByHash(final byte[] reference) {
+    return reference.length == Bytes32.SIZE;
+  }
+
+  static Bytes rlpRef(final byte[] reference) {
+    return isReferencedByHash(reference)
+        ? RLP.encodeOne(Bytes32.wrap(reference))
+        : Bytes.wrap(reference);
+  }
+
+  static Bytes32 hash(final byte[] reference) {
+    return isReferencedByHash(reference)
+        ? Bytes32.wrap(reference)
+        : keccak256(Bytes.wrap(reference));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+class DefaultBranchNode<V> extends BranchNode<V> {
+
+  private final Optional<Bytes> location;
+  private final ArrayList<Node<V>> children;
+  private final Optional<V> value;
+  private WeakReference<Bytes> rlp;
+  private SoftReference<Bytes32> hash;
+
+  DefaultBranchNode(
+      final Bytes location,
+      final ArrayList<Node<V>> children,
+      final Optional<V> value,
+      final NodeFactory<V> nodeFactory,
+      final Function<V, Bytes> valueSerializer) {
+    super(nodeFactory, valueSerializer);
+    assert (children.size() == RADIX);
+    this.location = Optional.ofNullable(location);
+    this.children = children;
+    this.value = value;
+  }
+
+  DefaultBranchNode(
+      final ArrayList<Node<V>> children,
+      final Optional<V> value,
+      final NodeFactory<V> nodeFactory,
+      final Function<V, Bytes> valueSerializer) {
+    this(null, children, value, nodeFactory, valueSerializer);
+  }
+
+  @Override
+  public Optional<Bytes> getLocation() {
+    return location;
+  }
+
+  @Override
+  public Optional<V> getValue() {
+    return value;
+  }
+
+  @Override
+  public List<Node<V>> getChildren() {
+    return Collections.unmodifiableList(children);
+  }
+
+  @Override
+  public Node<V> child(final byte index) {
+    return children.get(index);
+  }
+
+  @Override
+  ArrayList<Node<V>> childrenList() {
+    return children;
+  }
+
+  @Override
+  public Bytes getRlp() {
+    if (rlp != null) {
+      final Bytes encoded = rlp.get();
+      if (encoded != null) {
+        return encoded;
+      }
+    }
+    final Bytes encoded = encodeRlp();
+    rlp = new WeakReference<>(encoded);
+    return encoded;
+  }
+
+  @Override
+  public Bytes32 getHash() {
+    if (hash != null) {
+      final Bytes32 hashed = hash.get();
+      if (hashed != null) {
+        return hashed;
+      }
+    }
+    final Bytes32 hashed = keccak256(getRlp());
+    hash = new SoftReference<>(hashed);
+    return hashed;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+class DefaultExtensionNode<V> extends ExtensionNode<V> {
+
+  private final Optional<Bytes> location;
+  private WeakReference<Bytes> rlp;
+  private SoftReference<Bytes32> hash;
+
+  DefaultExtensionNode(
+      final Bytes location,
+      final Bytes path,
+      final Node<V> child,
+      final NodeFactory<V> nodeFactory) {
+    super(path, child, nodeFactory);
+    this.location = Optional.ofNullable(location);
+  }
+
+  DefaultExtensionNode(final Bytes path, final Node<V> child, final NodeFactory<V> nodeFactory) {
+    this(null, path, child, nodeFactory);
+  }
+
+  @Override
+  public Optional<Bytes> getLocation() {
+    return location;
+  }
+
+  @Override
+  public Bytes getRlp() {
+    if (rlp != null) {
+      final Bytes encoded = rlp.get();
+      if (encoded != null) {
+        return encoded;
+      }
+    }
+    final Bytes encoded = encodeRlp();
+    rlp = new WeakReference<>(encoded);
+    return encoded;
+  }
+
+  @Override
+  public Bytes32 getHash() {
+    if (hash != null) {
+      final Bytes32 hashed = hash.get();
+      if (hashed != null) {
+        return hashed;
+      }
+    }
+    final Bytes rlp = getRlp();
+    final Bytes32 hashed = keccak256(rlp);
+    hash = new SoftReference<>(hashed);
+    return hashed;
+  }
+}
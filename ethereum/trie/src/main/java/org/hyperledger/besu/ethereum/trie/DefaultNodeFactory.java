@@ -33,7 +33,7 @@ public class DefaultNodeFactory<V> implements NodeFactory<V> {
 
   @Override
   public Node<V> createExtension(final Bytes path, final Node<V> child) {
-    return new ExtensionNode<>(path, child, this);
+    return new DefaultExtensionNode<>(path, child, this);
   }
 
   @SuppressWarnings("unchecked")
@@ -61,11 +61,11 @@ public class DefaultNodeFactory<V> implements NodeFactory<V> {
 
   @Override
   public Node<V> createBranch(final ArrayList<Node<V>> children, final Optional<V> value) {
-    return new BranchNode<>(children, value, this, valueSerializer);
+    return new DefaultBranchNode<>(children, value, this, valueSerializer);
   }
 
   @Override
   public Node<V> createLeaf(final Bytes path, final V value) {
-    return new LeafNode<>(path, value, this, valueSerializer);
+    return new DefaultLeafNode<>(path, value, this, valueSerializer);
   }
 }
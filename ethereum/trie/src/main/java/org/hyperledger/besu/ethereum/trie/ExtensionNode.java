@@ -14,50 +14,32 @@
  */
 package org.hyperledger.besu.ethereum.trie;
 
-import static org.hyperledger.besu.crypto.Hash.keccak256;
-
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
 
-class ExtensionNode<V> implements Node<V> {
+/**
+ * An extension node. Subclasses decide how the location and the cached RLP and hash are kept.
+ *
+ * @param <V> The type of values stored by the trie.
+ */
+abstract class ExtensionNode<V> implements Node<V> {
 
-  private final Optional<Bytes> location;
   private final Bytes path;
   private final Node<V> child;
   private final NodeFactory<V> nodeFactory;
-  private WeakReference<Bytes> rlp;
-  private SoftReference<Bytes32> hash;
   private boolean dirty = false;
   private boolean needHeal = false;
 
-  ExtensionNode(
-      final Bytes location,
-      final Bytes path,
-      final Node<V> child,
-      final NodeFactory<V> nodeFactory) {
-    assert (path.size() > 0);
-    assert (path.get(path.size() - 1) != CompactEncoding.LEAF_TERMINATOR)
-        : "Extension path ends in a leaf terminator";
-    this.location = Optional.ofNullable(location);
-    this.path = path;
-    this.child = child;
-    this.nodeFactory = nodeFactory;
-  }
-
   ExtensionNode(final Bytes path, final Node<V> child, final NodeFactory<V> nodeFactory) {
     assert (path.size() > 0);
     assert (path.get(path.size() - 1) != CompactEncoding.LEAF_TERMINATOR)
         : "Extension path ends in a leaf terminator";
-    this.location = Optional.empty();
     this.path = path;
     this.child = child;
     this.nodeFactory = nodeFactory;
@@ -78,11 +60,6 @@ class ExtensionNode<V> implements Node<V> {
     visitor.visit(location, this);
   }
 
-  @Override
-  public Optional<Bytes> getLocation() {
-    return location;
-  }
-
   @Override
   public Bytes getPath() {
     return path;
@@ -102,22 +79,13 @@ class ExtensionNode<V> implements Node<V> {
     return child;
   }
 
-  @Override
-  public Bytes getRlp() {
-    if (rlp != null) {
-      final Bytes encoded = rlp.get();
-      if (encoded != null) {
-        return encoded;
-      }
-    }
+  Bytes encodeRlp() {
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
     out.startList();
     out.writeBytes(CompactEncoding.encode(path));
     out.writeRaw(child.getRlpRef());
     out.endList();
-    final Bytes encoded = out.encoded();
-    rlp = new WeakReference<>(encoded);
-    return encoded;
+    return out.encoded();
   }
 
   @Override
@@ -129,20 +97,6 @@ class ExtensionNode<V> implements Node<V> {
     }
   }
 
-  @Override
-  public Bytes32 getHash() {
-    if (hash != null) {
-      final Bytes32 hashed = hash.get();
-      if (hashed != null) {
-        return hashed;
-      }
-    }
-    final Bytes rlp = getRlp();
-    final Bytes32 hashed = keccak256(rlp);
-    hash = new SoftReference<>(hashed);
-    return hashed;
-  }
-
   public Node<V> replaceChild(final Node<V> updatedChild) {
     // collapse this extension - if the child is a branch, it will create a new extension
     return updatedChild.replacePath(Bytes.concatenate(path, updatedChild.getPath()));
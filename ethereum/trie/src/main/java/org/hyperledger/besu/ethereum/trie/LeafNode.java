@@ -14,50 +14,33 @@
  */
 package org.hyperledger.besu.ethereum.trie;
 
-import static org.hyperledger.besu.crypto.Hash.keccak256;
-
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.Bytes32;
 
-class LeafNode<V> implements Node<V> {
-  private final Optional<Bytes> location;
+/**
+ * A leaf node. Subclasses decide how the location and the cached RLP and hash are kept.
+ *
+ * @param <V> The type of values stored by the trie.
+ */
+abstract class LeafNode<V> implements Node<V> {
   private final Bytes path;
   private final V value;
   private final NodeFactory<V> nodeFactory;
   private final Function<V, Bytes> valueSerializer;
-  private WeakReference<Bytes> rlp;
-  private SoftReference<Bytes32> hash;
   private boolean dirty = false;
 
-  LeafNode(
-      final Bytes location,
-      final Bytes path,
-      final V value,
-      final NodeFactory<V> nodeFactory,
-      final Function<V, Bytes> valueSerializer) {
-    this.location = Optional.ofNullable(location);
-    this.path = path;
-    this.value = value;
-    this.nodeFactory = nodeFactory;
-    this.valueSerializer = valueSerializer;
-  }
-
   LeafNode(
       final Bytes path,
       final V value,
       final NodeFactory<V> nodeFactory,
       final Function<V, Bytes> valueSerializer) {
-    this.location = Optional.empty();
     this.path = path;
     this.value = value;
     this.nodeFactory = nodeFactory;
@@ -79,11 +62,6 @@ class LeafNode<V> implements Node<V> {
     visitor.visit(location, this);
   }
 
-  @Override
-  public Optional<Bytes> getLocation() {
-    return location;
-  }
-
   @Override
   public Bytes getPath() {
     return path;
@@ -99,23 +77,13 @@ class LeafNode<V> implements Node<V> {
     return Collections.emptyList();
   }
 
-  @Override
-  public Bytes getRlp() {
-    if (rlp != null) {
-      final Bytes encoded = rlp.get();
-      if (encoded != null) {
-        return encoded;
-      }
-    }
-
+  Bytes encodeRlp() {
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
     out.startList();
     out.writeBytes(CompactEncoding.encode(path));
     out.writeBytes(valueSerializer.apply(value));
     out.endList();
-    final Bytes encoded = out.encoded();
-    rlp = new WeakReference<>(encoded);
-    return encoded;
+    return out.encoded();
   }
 
   @Override
@@ -127,19 +95,6 @@ class LeafNode<V> implements Node<V> {
     }
   }
 
-  @Override
-  public Bytes32 getHash() {
-    if (hash != null) {
-      final Bytes32 hashed = hash.get();
-      if (hashed != null) {
-        return hashed;
-      }
-    }
-    final Bytes32 hashed = keccak256(getRlp());
-    hash = new SoftReference<>(hashed);
-    return hashed;
-  }
-
   @Override
   public Node<V> replacePath(final Bytes path) {
     return nodeFactory.createLeaf(path, value);
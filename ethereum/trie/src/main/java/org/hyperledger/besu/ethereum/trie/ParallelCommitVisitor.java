@@ -0,0 +1,124 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A commit visitor hashing the dirty subtrees of the top branch nodes on a fork join pool before
+ * storing the dirty nodes in the usual depth first order.
+ *
+ * <p>Hashes are cached by the nodes, so the store pass only encodes what the hashing pass already
+ * computed and the node updater is still called from a single thread. Only branches above {@code
+ * maxParallelDepth} nibbles with at least {@code minDirtyChildren} dirty children are split, deeper
+ * or smaller subtrees are hashed serially by the task reaching them. A visitor commits a single
+ * trie.
+ */
+public class ParallelCommitVisitor<V> extends CommitVisitor<V> {
+
+  public static final int DEFAULT_MAX_PARALLEL_DEPTH = 2;
+  public static final int DEFAULT_MIN_DIRTY_CHILDREN = 2;
+
+  private final ForkJoinPool pool;
+  private final int maxParallelDepth;
+  private final int minDirtyChildren;
+  private boolean hashed;
+
+  public ParallelCommitVisitor(final NodeUpdater nodeUpdater) {
+    this(
+        nodeUpdater,
+        ForkJoinPool.commonPool(),
+        DEFAULT_MAX_PARALLEL_DEPTH,
+        DEFAULT_MIN_DIRTY_CHILDREN);
+  }
+
+  public ParallelCommitVisitor(
+      final NodeUpdater nodeUpdater,
+      final ForkJoinPool pool,
+      final int maxParallelDepth,
+      final int minDirtyChildren) {
+    super(nodeUpdater);
+    this.pool = pool;
+    this.maxParallelDepth = maxParallelDepth;
+    this.minDirtyChildren = minDirtyChildren;
+  }
+
+  @Override
+  public void visit(final Bytes location, final ExtensionNode<V> extensionNode) {
+    hashOnce(location, extensionNode);
+    super.visit(location, extensionNode);
+  }
+
+  @Override
+  public void visit(final Bytes location, final BranchNode<V> branchNode) {
+    hashOnce(location, branchNode);
+    super.visit(location, branchNode);
+  }
+
+  private void hashOnce(final Bytes location, final Node<V> node) {
+    // the visitor first reaches the root of the committed trie, which hashes everything below
+    if (!hashed) {
+      hashed = true;
+      if (node.isDirty()) {
+        pool.invoke(new HashTask(node, location.size()));
+      }
+    }
+  }
+
+  private class HashTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Node<V> node;
+    private final int depth;
+
+    HashTask(final Node<V> node, final int depth) {
+      this.node = node;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (depth < maxParallelDepth) {
+        final List<HashTask> subtasks = new ArrayList<>(BranchNode.RADIX);
+        if (node instanceof ExtensionNode) {
+          final Node<V> child = ((ExtensionNode<V>) node).getChild();
+          if (child.isDirty()) {
+            subtasks.add(new HashTask(child, depth + node.getPath().size()));
+          }
+        } else if (node instanceof BranchNode) {
+          for (final Node<V> child : node.getChildren()) {
+            if (child.isDirty()) {
+              subtasks.add(new HashTask(child, depth + 1));
+            }
+          }
+          if (subtasks.size() < minDirtyChildren) {
+            subtasks.clear();
+          }
+        }
+        if (subtasks.size() == 1) {
+          subtasks.get(0).compute();
+        } else if (!subtasks.isEmpty()) {
+          invokeAll(subtasks);
+        }
+      }
+      node.getHash();
+    }
+  }
+}
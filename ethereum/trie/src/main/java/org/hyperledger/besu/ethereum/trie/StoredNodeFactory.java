@@ -48,7 +48,7 @@ public class StoredNodeFactory<V> implements NodeFactory<V> {
 
   @Override
   public Node<V> createExtension(final Bytes path, final Node<V> child) {
-    return handleNewNode(new ExtensionNode<>(path, child, this));
+    return handleNewNode(newExtension(null, path, child));
   }
 
   @SuppressWarnings("unchecked")
@@ -77,12 +77,26 @@ public class StoredNodeFactory<V> implements NodeFactory<V> {
 
   @Override
   public Node<V> createBranch(final ArrayList<Node<V>> children, final Optional<V> value) {
-    return handleNewNode(new BranchNode<>(children, value, this, valueSerializer));
+    return handleNewNode(newBranch(null, children, value));
   }
 
   @Override
   public Node<V> createLeaf(final Bytes path, final V value) {
-    return handleNewNode(new LeafNode<>(path, value, this, valueSerializer));
+    return handleNewNode(newLeaf(null, path, value));
+  }
+
+  protected ExtensionNode<V> newExtension(
+      final Bytes location, final Bytes path, final Node<V> child) {
+    return new DefaultExtensionNode<>(location, path, child, this);
+  }
+
+  protected BranchNode<V> newBranch(
+      final Bytes location, final ArrayList<Node<V>> children, final Optional<V> value) {
+    return new DefaultBranchNode<>(location, children, value, this, valueSerializer);
+  }
+
+  protected LeafNode<V> newLeaf(final Bytes location, final Bytes path, final V value) {
+    return new DefaultLeafNode<>(location, path, value, this, valueSerializer);
   }
 
   private Node<V> handleNewNode(final Node<V> node) {
@@ -167,13 +181,13 @@ public class StoredNodeFactory<V> implements NodeFactory<V> {
     if (childRlp.nextIsList()) {
       final Node<V> childNode =
           decode(location == null ? null : Bytes.concatenate(location, path), childRlp, errMessage);
-      return new ExtensionNode<>(location, path, childNode, this);
+      return newExtension(location, path, childNode);
     } else {
       final Bytes32 childHash = childRlp.readBytes32();
       final StoredNode<V> childNode =
           new StoredNode<>(
               this, location == null ? null : Bytes.concatenate(location, path), childHash);
-      return new ExtensionNode<>(location, path, childNode, this);
+      return newExtension(location, path, childNode);
     }
   }
 
@@ -210,7 +224,7 @@ public class StoredNodeFactory<V> implements NodeFactory<V> {
       value = Optional.of(decodeValue(nodeRLPs, errMessage));
     }
 
-    return new BranchNode<>(location, children, value, this, valueSerializer);
+    return newBranch(location, children, value);
   }
 
   protected LeafNode<V> decodeLeaf(
@@ -222,7 +236,7 @@ public class StoredNodeFactory<V> implements NodeFactory<V> {
       throw new MerkleTrieException(errMessage.get() + ": leaf has null value");
     }
     final V value = decodeValue(valueRlp, errMessage);
-    return new LeafNode<>(location, path, value, this, valueSerializer);
+    return newLeaf(location, path, value);
   }
 
   @SuppressWarnings("unchecked")
@@ -0,0 +1,102 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Test;
+
+public class CompactStoredNodeFactoryTest extends AbstractMerklePatriciaTrieTest {
+
+  private static final Function<String, Bytes> VALUE_SERIALIZER =
+      value -> (value != null) ? Bytes.wrap(value.getBytes(StandardCharsets.UTF_8)) : null;
+  private static final Function<Bytes, String> VALUE_DESERIALIZER =
+      bytes -> new String(bytes.toArrayUnsafe(), StandardCharsets.UTF_8);
+
+  private final MerkleStorage merkleStorage =
+      new KeyValueMerkleStorage(new InMemoryKeyValueStorage());
+
+  @Override
+  protected MerklePatriciaTrie<Bytes, String> createTrie() {
+    return new StoredMerklePatriciaTrie<>(
+        new CompactStoredNodeFactory<>(merkleStorage::get, VALUE_SERIALIZER, VALUE_DESERIALIZER),
+        MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
+  }
+
+  @Test
+  public void rootHashAndStoredNodesMatchDefaultNodes() {
+    final MerkleStorage defaultStorage = new KeyValueMerkleStorage(new InMemoryKeyValueStorage());
+    final StoredMerklePatriciaTrie<Bytes, String> defaultTrie =
+        new StoredMerklePatriciaTrie<>(defaultStorage::get, VALUE_SERIALIZER, VALUE_DESERIALIZER);
+
+    for (int i = 0; i < 1_000; i++) {
+      final Bytes32 key = Hash.keccak256(Bytes.ofUnsignedInt(i));
+      // small values make nodes inlined in their parent
+      final String value = i % 2 == 0 ? "v" : "value" + i + "-".repeat(40);
+      trie.put(key, value);
+      defaultTrie.put(key, value);
+    }
+    for (int i = 0; i < 1_000; i += 3) {
+      final Bytes32 key = Hash.keccak256(Bytes.ofUnsignedInt(i));
+      trie.remove(key);
+      defaultTrie.remove(key);
+    }
+
+    assertThat(trie.getRootHash()).isEqualTo(defaultTrie.getRootHash());
+    trie.commit(merkleStorage::put);
+    defaultTrie.commit(defaultStorage::put);
+    assertThat(trie.getRootHash()).isEqualTo(defaultTrie.getRootHash());
+
+    final StoredMerklePatriciaTrie<Bytes, String> reloaded =
+        new StoredMerklePatriciaTrie<>(
+            new CompactStoredNodeFactory<>(
+                defaultStorage::get, VALUE_SERIALIZER, VALUE_DESERIALIZER),
+            defaultTrie.getRootHash());
+    for (int i = 0; i < 1_000; i++) {
+      final Bytes32 key = Hash.keccak256(Bytes.ofUnsignedInt(i));
+      assertThat(reloaded.get(key)).isEqualTo(defaultTrie.get(key));
+    }
+    reloaded.put(Bytes32.ZERO, "new");
+    defaultTrie.put(Bytes32.ZERO, "new");
+    assertThat(reloaded.getRootHash()).isEqualTo(defaultTrie.getRootHash());
+  }
+
+  @Test
+  public void createsCompactNodes() {
+    final CompactStoredNodeFactory<String> nodeFactory =
+        new CompactStoredNodeFactory<>(merkleStorage::get, VALUE_SERIALIZER, VALUE_DESERIALIZER);
+    final Node<String> leaf =
+        nodeFactory.createLeaf(Bytes.of(1, CompactEncoding.LEAF_TERMINATOR), "a");
+    final Node<String> branch =
+        nodeFactory.createBranch((byte) 0, leaf, (byte) 1, leaf.replacePath(Bytes.of(2, 16)));
+    final Node<String> extension = nodeFactory.createExtension(Bytes.of(3), branch);
+
+    assertThat(leaf).isInstanceOf(CompactLeafNode.class);
+    assertThat(branch).isInstanceOf(CompactBranchNode.class);
+    assertThat(extension).isInstanceOf(CompactExtensionNode.class);
+    assertThat(leaf.isReferencedByHash()).isFalse();
+    assertThat(extension.getHash()).isEqualTo(Hash.keccak256(extension.getRlp()));
+    assertThat(nodeFactory.decode(Bytes.EMPTY, extension.getRlp()).getHash())
+        .isEqualTo(extension.getHash());
+  }
+}
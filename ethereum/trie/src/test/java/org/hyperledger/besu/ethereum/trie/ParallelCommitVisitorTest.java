@@ -0,0 +1,109 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.Hash;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelCommitVisitorTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void commitsSameNodesAsSerialCommit() {
+    final Map<Bytes, Bytes> serialNodes = new ConcurrentHashMap<>();
+    final Map<Bytes, Bytes> parallelNodes = new ConcurrentHashMap<>();
+    StoredMerklePatriciaTrie<Bytes32, Bytes> serialTrie = createTrie(serialNodes, null);
+    StoredMerklePatriciaTrie<Bytes32, Bytes> parallelTrie = createTrie(parallelNodes, null);
+
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 2_000; i++) {
+        final Bytes32 key = Hash.keccak256(Bytes.ofUnsignedInt(i % 1_500 + round * 500));
+        final Bytes value = Bytes.ofUnsignedInt(round * 10_000 + i);
+        serialTrie.put(key, value);
+        parallelTrie.put(key, value);
+      }
+      for (int i = round; i < 1_500; i += 7) {
+        final Bytes32 key = Hash.keccak256(Bytes.ofUnsignedInt(i));
+        serialTrie.remove(key);
+        parallelTrie.remove(key);
+      }
+
+      final Bytes32 expectedRoot = serialTrie.getRootHash();
+      commit(serialTrie, serialNodes, new CommitVisitor<>(store(serialNodes)));
+      commit(
+          parallelTrie,
+          parallelNodes,
+          new ParallelCommitVisitor<>(store(parallelNodes), pool, 3, 2));
+
+      assertThat(parallelTrie.getRootHash()).isEqualTo(expectedRoot);
+      assertThat(parallelNodes).isEqualTo(serialNodes);
+
+      // continue from tries reloaded from storage
+      serialTrie = createTrie(serialNodes, expectedRoot);
+      parallelTrie = createTrie(parallelNodes, expectedRoot);
+    }
+  }
+
+  @Test
+  public void storesSmallTries() {
+    final Map<Bytes, Bytes> nodes = new ConcurrentHashMap<>();
+    final StoredMerklePatriciaTrie<Bytes32, Bytes> trie = createTrie(nodes, null);
+    trie.put(Bytes32.ZERO, Bytes.of(1));
+    final Bytes32 expectedRoot = trie.getRootHash();
+
+    commit(trie, nodes, new ParallelCommitVisitor<>(store(nodes), pool, 3, 2));
+
+    assertThat(trie.getRootHash()).isEqualTo(expectedRoot);
+    assertThat(nodes).containsKey(expectedRoot);
+  }
+
+  private static void commit(
+      final StoredMerklePatriciaTrie<Bytes32, Bytes> trie,
+      final Map<Bytes, Bytes> nodes,
+      final CommitVisitor<Bytes> commitVisitor) {
+    trie.commit(store(nodes), commitVisitor);
+  }
+
+  private static NodeUpdater store(final Map<Bytes, Bytes> nodes) {
+    return (location, hash, value) -> nodes.put(hash, value);
+  }
+
+  private static StoredMerklePatriciaTrie<Bytes32, Bytes> createTrie(
+      final Map<Bytes, Bytes> nodes, final Bytes32 rootHash) {
+    final NodeLoader loader = (location, hash) -> Optional.ofNullable(nodes.get(hash));
+    return rootHash == null
+        ? new StoredMerklePatriciaTrie<>(loader, Function.identity(), Function.identity())
+        : new StoredMerklePatriciaTrie<>(
+            loader, rootHash, Function.identity(), Function.identity());
+  }
+}
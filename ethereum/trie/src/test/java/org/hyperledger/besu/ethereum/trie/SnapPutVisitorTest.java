@@ -37,14 +37,14 @@ public class SnapPutVisitorTest {
     final StoredNodeFactory<Bytes> storedNodeFactory = mock(StoredNodeFactory.class);
     when(storedNodeFactory.createBranch(any(), any()))
         .thenReturn(
-            new LeafNode<Bytes>(
+            new DefaultLeafNode<Bytes>(
                 Bytes.EMPTY, Bytes.of(0x00), storedNodeFactory, Function.identity()));
     final ArrayList<Node<Bytes>> children = new ArrayList<>();
     for (int i = 0; i < BranchNode.RADIX; i++) {
       children.add(new StoredNode<>(storedNodeFactory, Bytes.EMPTY, Hash.ZERO));
     }
     final BranchNode<Bytes> invalidBranchNode =
-        new BranchNode<>(
+        new DefaultBranchNode<>(
             Bytes.EMPTY,
             children,
             Optional.of(Bytes.of(0x00)),
@@ -67,7 +67,7 @@ public class SnapPutVisitorTest {
       children.add(new StoredNode<>(storedNodeFactory, Bytes.EMPTY, Hash.ZERO));
     }
     final BranchNode<Bytes> invalidBranchNode =
-        new BranchNode<>(
+        new DefaultBranchNode<>(
             Bytes.EMPTY,
             children,
             Optional.of(Bytes.of(0x00)),
@@ -85,13 +85,14 @@ public class SnapPutVisitorTest {
     final StoredNodeFactory<Bytes> storedNodeFactory = mock(StoredNodeFactory.class);
     when(storedNodeFactory.createBranch(any(), any()))
         .thenReturn(
-            new LeafNode<>(Bytes.EMPTY, Bytes.of(0x00), storedNodeFactory, Function.identity()));
+            new DefaultLeafNode<>(
+                Bytes.EMPTY, Bytes.of(0x00), storedNodeFactory, Function.identity()));
     final ArrayList<Node<Bytes>> children = new ArrayList<>();
     for (int i = 0; i < BranchNode.RADIX; i++) {
       children.add(new StoredNode<>(storedNodeFactory, Bytes.EMPTY, Hash.ZERO));
     }
     final BranchNode<Bytes> invalidBranchNode =
-        new BranchNode<>(
+        new DefaultBranchNode<>(
             Bytes.EMPTY,
             children,
             Optional.of(Bytes.of(0x00)),
@@ -112,7 +113,7 @@ public class SnapPutVisitorTest {
     when(storedNodeFactory.createLeaf(any(), any()))
         .thenReturn(new MissingNode<>(Hash.ZERO, Bytes.EMPTY));
     final ExtensionNode<Bytes> invalidBranchNode =
-        new ExtensionNode<>(
+        new DefaultExtensionNode<>(
             Bytes.of(0x00),
             new StoredNode<>(storedNodeFactory, Bytes.EMPTY, Hash.ZERO),
             storedNodeFactory);
@@ -0,0 +1,68 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.Element;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Commitments per second to a full 256 wide Verkle node, with the precomputed tables, with a plain
+ * multi-scalar multiplication, and for a single value update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PedersenCommitmentBenchmark {
+
+  private PedersenCommitter committer;
+  private PointAffine[] basis;
+  private Element[] values;
+  private Point commitment;
+
+  @Setup
+  public void prepare() {
+    committer = PedersenCommitter.verkle();
+    basis = PedersenBasis.generate(PedersenCommitter.VERKLE_NODE_WIDTH);
+    values = new Element[PedersenCommitter.VERKLE_NODE_WIDTH];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Element.random();
+    }
+    commitment = committer.commit(values);
+  }
+
+  @Benchmark
+  public Point commit() {
+    return committer.commit(values);
+  }
+
+  @Benchmark
+  public Point msm() {
+    return MultiScalarMultiplication.msm(basis, values);
+  }
+
+  @Benchmark
+  public Point update() {
+    return committer.update(commitment, 42, values[42], values[43]);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.Element;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Multi-scalar multiplication over Bandersnatch with Pippenger's bucket method.
+ *
+ * <p>Scalars are split into windows of c bits. For each window, every point is added once to the
+ * bucket of its digit, and the buckets are combined with a running sum, so the cost is about (n +
+ * 2^(c+1)) additions per window instead of one scalar multiplication per point.
+ */
+public final class MultiScalarMultiplication {
+
+  // the scalar field modulus is just under 2^253
+  static final int SCALAR_BITS = 253;
+
+  private MultiScalarMultiplication() {}
+
+  /**
+   * Compute scalars[0] * points[0] + ... + scalars[n-1] * points[n-1].
+   *
+   * @param points the points
+   * @param scalars the scalars, one per point
+   * @return the sum of the scaled points
+   */
+  public static Point msm(final PointAffine[] points, final Element[] scalars) {
+    checkArgument(
+        points.length == scalars.length,
+        "Got %s points but %s scalars",
+        points.length,
+        scalars.length);
+    final long[][] digits = new long[scalars.length][];
+    for (int i = 0; i < scalars.length; i++) {
+      final Bytes32 bytes = scalars[i].getBytes(ByteOrder.BIG_ENDIAN);
+      digits[i] =
+          new long[] {bytes.getLong(24), bytes.getLong(16), bytes.getLong(8), bytes.getLong(0)};
+    }
+
+    final int windowBits = windowBits(points.length);
+    final Point[] buckets = new Point[(1 << windowBits) - 1];
+    Point result = Point.IDENTITY;
+    for (int window = (SCALAR_BITS - 1) / windowBits; window >= 0; window--) {
+      if (!result.isIdentity()) {
+        for (int i = 0; i < windowBits; i++) {
+          result = result.doub();
+        }
+      }
+      Arrays.fill(buckets, null);
+      for (int i = 0; i < points.length; i++) {
+        final int digit = digit(digits[i], window * windowBits, windowBits);
+        if (digit != 0) {
+          addToBucket(buckets, digit, points[i]);
+        }
+      }
+      result = result.add(sumBuckets(buckets));
+    }
+    return result;
+  }
+
+  static void addToBucket(final Point[] buckets, final int digit, final PointAffine point) {
+    final Point bucket = buckets[digit - 1];
+    buckets[digit - 1] = bucket == null ? point.toProj() : bucket.add(point);
+  }
+
+  /**
+   * Combine buckets into 1 * buckets[0] + 2 * buckets[1] + ..., using a running sum from the top.
+   *
+   * @param buckets the buckets, with null for an empty bucket
+   * @return the weighted sum of the buckets
+   */
+  static Point sumBuckets(final Point[] buckets) {
+    Point running = null;
+    Point sum = Point.IDENTITY;
+    for (int i = buckets.length - 1; i >= 0; i--) {
+      if (buckets[i] != null) {
+        running = running == null ? buckets[i] : running.add(buckets[i]);
+      }
+      if (running != null) {
+        sum = sum.add(running);
+      }
+    }
+    return sum;
+  }
+
+  private static int digit(final long[] scalar, final int bit, final int width) {
+    final int limb = bit >>> 6;
+    final int shift = bit & 63;
+    long bits = scalar[limb] >>> shift;
+    if (shift + width > 64 && limb + 1 < scalar.length) {
+      bits |= scalar[limb + 1] << (64 - shift);
+    }
+    return (int) (bits & ((1L << width) - 1));
+  }
+
+  /**
+   * Pick the window size with the fewest additions: one per point and two per bucket, per window.
+   */
+  private static int windowBits(final int size) {
+    int best = 1;
+    long bestCost = Long.MAX_VALUE;
+    for (int bits = 1; bits <= 16; bits++) {
+      final long windows = (SCALAR_BITS + bits - 1) / bits;
+      final long cost = windows * (size + (2L << bits));
+      if (cost < bestCost) {
+        best = bits;
+        bestCost = cost;
+      }
+    }
+    return best;
+  }
+}
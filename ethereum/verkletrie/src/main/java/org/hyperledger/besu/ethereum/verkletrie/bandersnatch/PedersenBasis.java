@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fp.Element;
+
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Generates the basis points for Verkle trie Pedersen commitments.
+ *
+ * <p>Candidate x coordinates are sha256(seed || counter) for a big endian 64 bit counter, and a
+ * candidate is kept when it is on the curve and in the prime order subgroup, taking the
+ * lexicographically largest y. Nobody knows the discrete logarithms between the points found.
+ */
+public final class PedersenBasis {
+
+  private static final Bytes SEED =
+      Bytes.wrap("eth_verkle_oct_2021".getBytes(StandardCharsets.UTF_8));
+  private static final BigInteger MODULUS =
+      new BigInteger("73eda753299d7d483339d80809a1d80553bda402fffe5bfeffffffff00000001", 16);
+  private static final BigInteger HALF_MODULUS = MODULUS.shiftRight(1);
+  private static final BigInteger LEGENDRE_EXPONENT =
+      MODULUS.subtract(BigInteger.ONE).shiftRight(1);
+  private static final int TWO_ADICITY = MODULUS.subtract(BigInteger.ONE).getLowestSetBit();
+  private static final BigInteger ODD_PART =
+      MODULUS.subtract(BigInteger.ONE).shiftRight(TWO_ADICITY);
+
+  private PedersenBasis() {}
+
+  /**
+   * Generate the first basis points.
+   *
+   * @param size the number of points
+   * @return the points, in order
+   */
+  public static PointAffine[] generate(final int size) {
+    final PointAffine[] points = new PointAffine[size];
+    int found = 0;
+    for (long counter = 0; found < size; counter++) {
+      final BigInteger hash =
+          Hash.sha256(Bytes.concatenate(SEED, Bytes.ofUnsignedLong(counter)))
+              .toUnsignedBigInteger();
+      final Element x = toElement(hash.mod(MODULUS));
+      final Element xSquared = x.square();
+      final Element numerator = Element.ONE.subtract(Point.A.multiply(xSquared));
+      // points with 1 - ax^2 square are exactly the ones in the prime order subgroup
+      if (!isSquare(toBigInteger(numerator))) {
+        continue;
+      }
+      final Element ySquared = numerator.divide(Element.ONE.subtract(Point.D.multiply(xSquared)));
+      final BigInteger y = sqrt(toBigInteger(ySquared));
+      if (y == null) {
+        continue;
+      }
+      points[found++] =
+          new PointAffine(x, toElement(y.compareTo(HALF_MODULUS) > 0 ? y : MODULUS.subtract(y)));
+    }
+    return points;
+  }
+
+  private static boolean isSquare(final BigInteger value) {
+    return value.signum() == 0 || value.modPow(LEGENDRE_EXPONENT, MODULUS).equals(BigInteger.ONE);
+  }
+
+  /** Tonelli-Shanks square root, as the modulus is 1 mod 2^32. Only used to find the basis. */
+  private static BigInteger sqrt(final BigInteger value) {
+    if (!isSquare(value)) {
+      return null;
+    }
+    BigInteger nonResidue = BigInteger.TWO;
+    while (isSquare(nonResidue)) {
+      nonResidue = nonResidue.add(BigInteger.ONE);
+    }
+    int m = TWO_ADICITY;
+    BigInteger c = nonResidue.modPow(ODD_PART, MODULUS);
+    BigInteger t = value.modPow(ODD_PART, MODULUS);
+    BigInteger root = value.modPow(ODD_PART.add(BigInteger.ONE).shiftRight(1), MODULUS);
+    while (!t.equals(BigInteger.ONE) && t.signum() != 0) {
+      int i = 0;
+      for (BigInteger square = t; !square.equals(BigInteger.ONE); i++) {
+        square = square.multiply(square).mod(MODULUS);
+      }
+      final BigInteger b = c.modPow(BigInteger.ONE.shiftLeft(m - i - 1), MODULUS);
+      m = i;
+      c = b.multiply(b).mod(MODULUS);
+      t = t.multiply(c).mod(MODULUS);
+      root = root.multiply(b).mod(MODULUS);
+    }
+    return t.signum() == 0 ? BigInteger.ZERO : root;
+  }
+
+  private static Element toElement(final BigInteger value) {
+    return new Element(UInt256.valueOf(value)).toMontgomery();
+  }
+
+  private static BigInteger toBigInteger(final Element element) {
+    return element.getBytes(ByteOrder.BIG_ENDIAN).toUnsignedBigInteger();
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.Element;
+
+import java.nio.ByteOrder;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Pedersen vector commitments over a fixed basis, values[0] * G_0 + ... + values[n-1] * G_n-1, as
+ * used by Verkle trie nodes.
+ *
+ * <p>As the basis never changes, each G_i is precomputed at every byte offset, G_i * 256^j. A
+ * commitment is then a single bucket accumulation over the bytes of all the values, with no
+ * doublings, and updating one value of a commitment only touches the tables of that index. For a
+ * 256 wide basis the tables hold 8192 affine points.
+ */
+public class PedersenCommitter {
+
+  public static final int VERKLE_NODE_WIDTH = 256;
+
+  private static final int WINDOW_BITS = 8;
+  private static final int WINDOWS =
+      (MultiScalarMultiplication.SCALAR_BITS + WINDOW_BITS - 1) / WINDOW_BITS;
+  private static final Supplier<PedersenCommitter> VERKLE =
+      Suppliers.memoize(() -> new PedersenCommitter(PedersenBasis.generate(VERKLE_NODE_WIDTH)));
+
+  private final int width;
+  private final PointAffine[] tables;
+
+  public PedersenCommitter(final PointAffine[] basis) {
+    this.width = basis.length;
+    final Point[] multiples = new Point[width * WINDOWS];
+    for (int i = 0; i < width; i++) {
+      Point multiple = basis[i].toProj();
+      for (int j = 0; j < WINDOWS; j++) {
+        multiples[i * WINDOWS + j] = multiple;
+        for (int k = 0; k < WINDOW_BITS && j + 1 < WINDOWS; k++) {
+          multiple = multiple.doub();
+        }
+      }
+    }
+    this.tables = PointAffine.fromProj(multiples);
+  }
+
+  /**
+   * The committer over the Verkle trie basis, whose tables are built on first use.
+   *
+   * @return the shared committer
+   */
+  public static PedersenCommitter verkle() {
+    return VERKLE.get();
+  }
+
+  public int width() {
+    return width;
+  }
+
+  /**
+   * Commit to a vector of values, missing trailing values being zero.
+   *
+   * @param values the values, at most {@link #width()} of them
+   * @return the commitment
+   */
+  public Point commit(final Element[] values) {
+    checkArgument(
+        values.length <= width,
+        "Cannot commit to %s values with a basis of %s",
+        values.length,
+        width);
+    final Point[] buckets = new Point[(1 << WINDOW_BITS) - 1];
+    for (int i = 0; i < values.length; i++) {
+      addToBuckets(buckets, i, values[i]);
+    }
+    return MultiScalarMultiplication.sumBuckets(buckets);
+  }
+
+  /**
+   * Update a commitment for a change of one value, without recomputing the other terms.
+   *
+   * @param commitment the commitment to the old values
+   * @param index the index of the changed value
+   * @param oldValue the previous value at the index
+   * @param newValue the new value at the index
+   * @return the commitment to the new values
+   */
+  public Point update(
+      final Point commitment, final int index, final Element oldValue, final Element newValue) {
+    checkArgument(index >= 0 && index < width, "Index %s out of bounds for width %s", index, width);
+    final Point[] buckets = new Point[(1 << WINDOW_BITS) - 1];
+    addToBuckets(buckets, index, newValue.subtract(oldValue));
+    return commitment.add(MultiScalarMultiplication.sumBuckets(buckets));
+  }
+
+  private void addToBuckets(final Point[] buckets, final int index, final Element value) {
+    if (value.isZero()) {
+      return;
+    }
+    final Bytes32 bytes = value.getBytes(ByteOrder.LITTLE_ENDIAN);
+    for (int j = 0; j < WINDOWS; j++) {
+      final int digit = bytes.get(j) & 0xff;
+      if (digit != 0) {
+        MultiScalarMultiplication.addToBucket(buckets, digit, tables[index * WINDOWS + j]);
+      }
+    }
+  }
+}
@@ -19,11 +19,19 @@ import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fp.Element;
 import java.nio.ByteOrder;
 
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
 
 public class Point {
 
   public static final Point EMPTY = new Point(Element.ZERO, Element.ZERO, Element.ZERO);
   public static final Point IDENTITY = new Point(Element.ZERO, Element.ONE, Element.ONE);
+  // the twisted Edwards curve -5x^2 + y^2 = 1 + dx^2y^2, in Montgomery form
+  static final Element A = new Element(UInt256.valueOf(5)).toMontgomery().neg();
+  static final Element D =
+      new Element(
+              UInt256.fromHexString(
+                  "0x6389c12633c267cbc66e3bf86be3b6d8cb66677177e54f92b369f2f5188d58e7"))
+          .toMontgomery();
   public final Element x;
   public final Element y;
   public final Element z;
@@ -34,6 +42,73 @@ public class Point {
     this.z = z;
   }
 
+  public boolean isIdentity() {
+    return x.isZero() && y.equals(z);
+  }
+
+  public Point negate() {
+    return new Point(x.neg(), y, z);
+  }
+
+  /**
+   * Add two points in projective coordinates, using the unified add-2008-bbjlp formula.
+   *
+   * @param other the point to add
+   * @return this + other
+   */
+  public Point add(final Point other) {
+    final Element a = z.multiply(other.z);
+    final Element b = a.square();
+    final Element c = x.multiply(other.x);
+    final Element d = y.multiply(other.y);
+    final Element e = D.multiply(c).multiply(d);
+    final Element f = b.subtract(e);
+    final Element g = b.add(e);
+    final Element xy = x.add(y).multiply(other.x.add(other.y)).subtract(c).subtract(d);
+    return new Point(
+        a.multiply(f).multiply(xy),
+        a.multiply(g).multiply(d.subtract(A.multiply(c))),
+        f.multiply(g));
+  }
+
+  /**
+   * Add an affine point, using the madd-2008-bbjlp formula which saves a multiplication over {@link
+   * #add(Point)}.
+   *
+   * @param other the point to add
+   * @return this + other
+   */
+  public Point add(final PointAffine other) {
+    final Element b = z.square();
+    final Element c = x.multiply(other.x);
+    final Element d = y.multiply(other.y);
+    final Element e = D.multiply(c).multiply(d);
+    final Element f = b.subtract(e);
+    final Element g = b.add(e);
+    final Element xy = x.add(y).multiply(other.x.add(other.y)).subtract(c).subtract(d);
+    return new Point(
+        z.multiply(f).multiply(xy),
+        z.multiply(g).multiply(d.subtract(A.multiply(c))),
+        f.multiply(g));
+  }
+
+  /**
+   * Double the point, using the dbl-2008-bbjlp formula.
+   *
+   * @return 2 * this
+   */
+  public Point doub() {
+    final Element b = x.add(y).square();
+    final Element c = x.square();
+    final Element d = y.square();
+    final Element e = A.multiply(c);
+    final Element f = e.add(d);
+    final Element h = z.square();
+    final Element j = f.subtract(h.add(h));
+    return new Point(
+        b.subtract(c).subtract(d).multiply(j), f.multiply(e.subtract(d)), f.multiply(j));
+  }
+
   @Override
   public String toString() {
     return "Point{" + "x=" + x + ", y=" + y + ", z=" + z + '}';
@@ -16,6 +16,8 @@ package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
 
 import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fp.Element;
 
+import java.util.Objects;
+
 public class PointAffine {
 
   final Element x;
@@ -27,6 +29,49 @@ public class PointAffine {
   }
 
   public static PointAffine fromProj(final Point point) {
-    return new PointAffine(point.x.divide(point.z), point.y.divide(point.z));
+    final Element zInverse = point.z.inverse();
+    return new PointAffine(point.x.multiply(zInverse), point.y.multiply(zInverse));
+  }
+
+  /**
+   * Convert projective points to affine with a single field inversion.
+   *
+   * @param points the points to convert
+   * @return the affine points, in the same order
+   */
+  public static PointAffine[] fromProj(final Point[] points) {
+    final Element[] zs = new Element[points.length];
+    for (int i = 0; i < points.length; i++) {
+      zs[i] = points[i].z;
+    }
+    final Element[] zInverses = Element.batchInverse(zs);
+    final PointAffine[] affine = new PointAffine[points.length];
+    for (int i = 0; i < points.length; i++) {
+      affine[i] =
+          new PointAffine(points[i].x.multiply(zInverses[i]), points[i].y.multiply(zInverses[i]));
+    }
+    return affine;
+  }
+
+  public Point toProj() {
+    return new Point(x, y, Element.ONE);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    PointAffine that = (PointAffine) o;
+    return Objects.equals(x, that.x) && Objects.equals(y, that.y);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(x, y);
+  }
+
+  @Override
+  public String toString() {
+    return "PointAffine{" + "x=" + x + ", y=" + y + '}';
   }
 }
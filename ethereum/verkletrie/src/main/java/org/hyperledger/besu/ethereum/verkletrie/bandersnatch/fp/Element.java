@@ -28,6 +28,12 @@ public class Element {
   public static final Element ONE;
   static final Element Q_MODULUS;
   private static final Element R_SQUARE;
+  // the modulus as little endian 64 bit limbs, and -1/q mod 2^64, for Montgomery multiplication
+  private static final long Q0 = 0xffffffff00000001L;
+  private static final long Q1 = 0x53bda402fffe5bfeL;
+  private static final long Q2 = 0x3339d80809a1d805L;
+  private static final long Q3 = 0x73eda753299d7d48L;
+  private static final long Q_INV_NEG = 0xfffffffeffffffffL;
 
   static {
     {
@@ -67,11 +73,18 @@ public class Element {
   }
 
   final UInt256 value;
+  // the value as little endian 64 bit limbs for arithmetic, read from the UInt256 on first use
+  private long[] limbs;
 
   public Element(final UInt256 value) {
     this.value = value;
   }
 
+  private Element(final UInt256 value, final long[] limbs) {
+    this.value = value;
+    this.limbs = limbs;
+  }
+
   public static Element fromBytes(final Bytes data, final ByteOrder byteOrder) {
     return new Element(
         UInt256.fromBytes(byteOrder == ByteOrder.BIG_ENDIAN ? data : data.reverse()));
@@ -150,291 +163,209 @@ public class Element {
     return this.multiply(bInv);
   }
 
-  private UInt256 madd0(final UInt256 a, final UInt256 b, final UInt256 c) {
-    UInt256 product = a.multiply(b).add(c);
-    return product;
+  public Element add(final Element b) {
+    final long[] xs = limbs();
+    final long x0 = xs[0];
+    final long x1 = xs[1];
+    final long x2 = xs[2];
+    final long x3 = xs[3];
+    final long[] ys = b.limbs();
+    final long y0 = ys[0];
+    final long y1 = ys[1];
+    final long y2 = ys[2];
+    final long y3 = ys[3];
+    final long s0 = x0 + y0;
+    long carry = addCarry(x0, y0, s0);
+    final long s1 = x1 + y1 + carry;
+    carry = addCarry(x1, y1, s1);
+    final long s2 = x2 + y2 + carry;
+    carry = addCarry(x2, y2, s2);
+    return reduce(s0, s1, s2, x3 + y3 + carry);
   }
 
-  private UInt256 madd1(final UInt256 a, final UInt256 b, final UInt256 c) {
-    UInt256 product = a.multiply(b).add(c);
-    return product;
+  public Element subtract(final Element b) {
+    final long[] xs = limbs();
+    final long x0 = xs[0];
+    final long x1 = xs[1];
+    final long x2 = xs[2];
+    final long x3 = xs[3];
+    final long[] ys = b.limbs();
+    final long y0 = ys[0];
+    final long y1 = ys[1];
+    final long y2 = ys[2];
+    final long y3 = ys[3];
+    long d0 = x0 - y0;
+    long borrow = subBorrow(x0, y0, d0);
+    long d1 = x1 - y1 - borrow;
+    borrow = subBorrow(x1, y1, d1);
+    long d2 = x2 - y2 - borrow;
+    borrow = subBorrow(x2, y2, d2);
+    long d3 = x3 - y3 - borrow;
+    borrow = subBorrow(x3, y3, d3);
+    if (borrow != 0) {
+      final long s0 = d0 + Q0;
+      long carry = addCarry(d0, Q0, s0);
+      final long s1 = d1 + Q1 + carry;
+      carry = addCarry(d1, Q1, s1);
+      final long s2 = d2 + Q2 + carry;
+      carry = addCarry(d2, Q2, s2);
+      d3 = d3 + Q3 + carry;
+      d0 = s0;
+      d1 = s1;
+      d2 = s2;
+    }
+    return fromLimbs(d0, d1, d2, d3);
   }
 
-  private UInt256 madd2(final UInt256 a, final UInt256 b, final UInt256 c, final UInt256 d) {
-    UInt256 product = a.multiply(b).add(c).add(d);
-    return product;
+  public Element square() {
+    return multiply(this);
   }
 
-  private UInt256 madd3(
-      final UInt256 a, final UInt256 b, final UInt256 c, final UInt256 d, final UInt256 e) {
-    UInt256 product = a.multiply(b);
-    product = product.add(c).add(d);
-    product = product.add(e.shiftLeft(64));
-    return product;
+  /**
+   * Montgomery multiplication of two elements, using the CIOS method on 64 bit limbs. The top limb
+   * of the modulus leaves a spare bit, so the final carries never overflow four limbs.
+   *
+   * @param y the element to multiply with
+   * @return this * y
+   */
+  public Element multiply(final Element y) {
+    final long[] xs = limbs();
+    final long x0 = xs[0];
+    final long x1 = xs[1];
+    final long x2 = xs[2];
+    final long x3 = xs[3];
+    final long[] ys = y.limbs();
+    long t0 = 0;
+    long t1 = 0;
+    long t2 = 0;
+    long t3 = 0;
+    for (final long v : ys) {
+      long lo;
+      long hi;
+
+      // t += x * v, interleaved with t += m * q, then t >>= 64
+      lo = x0 * v + t0;
+      hi = mulHigh(x0, v) + carry(lo, t0);
+      t0 = lo;
+      long xCarry = hi;
+      final long m = t0 * Q_INV_NEG;
+      lo = m * Q0 + t0;
+      long qCarry = mulHigh(m, Q0) + carry(lo, t0);
+
+      lo = x1 * v + t1;
+      hi = mulHigh(x1, v) + carry(lo, t1);
+      t1 = lo + xCarry;
+      xCarry = hi + carry(t1, xCarry);
+      lo = m * Q1 + t1;
+      hi = mulHigh(m, Q1) + carry(lo, t1);
+      t0 = lo + qCarry;
+      qCarry = hi + carry(t0, qCarry);
+
+      lo = x2 * v + t2;
+      hi = mulHigh(x2, v) + carry(lo, t2);
+      t2 = lo + xCarry;
+      xCarry = hi + carry(t2, xCarry);
+      lo = m * Q2 + t2;
+      hi = mulHigh(m, Q2) + carry(lo, t2);
+      t1 = lo + qCarry;
+      qCarry = hi + carry(t1, qCarry);
+
+      lo = x3 * v + t3;
+      hi = mulHigh(x3, v) + carry(lo, t3);
+      t3 = lo + xCarry;
+      xCarry = hi + carry(t3, xCarry);
+      lo = m * Q3 + t3;
+      hi = mulHigh(m, Q3) + carry(lo, t3);
+      t2 = lo + qCarry;
+      qCarry = hi + carry(t2, qCarry);
+
+      t3 = qCarry + xCarry;
+    }
+    return reduce(t0, t1, t2, t3);
   }
 
-  private UInt256 limb(final UInt256 value, final int index) {
-    return UInt256.fromBytes(Bytes32.leftPad(value.slice(32 - (index + 1) * 8, 8)));
+  /**
+   * Invert all elements with a single field inversion, using Montgomery's trick. Zero elements are
+   * mapped to zero, as with {@link #inverse()}.
+   *
+   * @param elements the elements to invert
+   * @return the inverses, in the same order
+   */
+  public static Element[] batchInverse(final Element[] elements) {
+    final Element[] inverses = new Element[elements.length];
+    Element product = ONE;
+    for (int i = 0; i < elements.length; i++) {
+      inverses[i] = product;
+      if (!elements[i].isZero()) {
+        product = product.multiply(elements[i]);
+      }
+    }
+    Element inverse = product.inverse();
+    for (int i = elements.length - 1; i >= 0; i--) {
+      if (elements[i].isZero()) {
+        inverses[i] = ZERO;
+      } else {
+        inverses[i] = inverse.multiply(inverses[i]);
+        inverse = inverse.multiply(elements[i]);
+      }
+    }
+    return inverses;
   }
 
-  private UInt256 setLimb(final UInt256 value, final UInt256 limb, final int index) {
-    MutableBytes32 mutable = value.toBytes().mutableCopy();
-    mutable.set(32 - (index + 1) * 8, limb.slice(24, 8));
-    return UInt256.fromBytes(mutable);
+  private static Element reduce(final long t0, final long t1, final long t2, final long t3) {
+    final long d0 = t0 - Q0;
+    long borrow = subBorrow(t0, Q0, d0);
+    final long d1 = t1 - Q1 - borrow;
+    borrow = subBorrow(t1, Q1, d1);
+    final long d2 = t2 - Q2 - borrow;
+    borrow = subBorrow(t2, Q2, d2);
+    final long d3 = t3 - Q3 - borrow;
+    borrow = subBorrow(t3, Q3, d3);
+    return borrow != 0 ? fromLimbs(t0, t1, t2, t3) : fromLimbs(d0, d1, d2, d3);
   }
 
-  public Element multiply(final Element y) {
+  private long[] limbs() {
+    long[] result = limbs;
+    if (result == null) {
+      result =
+          new long[] {value.getLong(24), value.getLong(16), value.getLong(8), value.getLong(0)};
+      limbs = result;
+    }
+    return result;
+  }
 
-    UInt256 t = UInt256.ZERO;
-    UInt256 c;
+  private static Element fromLimbs(final long l0, final long l1, final long l2, final long l3) {
+    final MutableBytes32 bytes = MutableBytes32.create();
+    bytes.setLong(0, l3);
+    bytes.setLong(8, l2);
+    bytes.setLong(16, l1);
+    bytes.setLong(24, l0);
+    return new Element(UInt256.fromBytes(bytes), new long[] {l0, l1, l2, l3});
+  }
 
-    // round 0
-    {
-      // v := x[0]
-      UInt256 v = limb(this.value, 0);
-      // c[1], c[0] = bits.Mul64(v, y[0])
-      UInt256 tempC = v.multiply(limb(y.value, 0));
-      c = setLimb(UInt256.ZERO, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      // m := c[0] * 18446744069414584319
-      UInt256 constant = UInt256.valueOf(new BigInteger("18446744069414584319", 10));
-      UInt256 c0 = limb(c, 0);
-      UInt256 m = limb(constant.multiply(c0), 0);
-
-      // c[2] = madd0(m, 18446744069414584321, c[0])
-      UInt256 c2 =
-          madd0(m, UInt256.valueOf(new BigInteger("18446744069414584321", 10)), limb(c, 0));
-      c = setLimb(c, limb(c2, 1), 2);
-      // c[1], c[0] = madd1(v, y[1], c[1])
-      tempC = madd1(v, limb(y.value, 1), limb(c, 1));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      // c[2], t[0] = madd2(m, 6034159408538082302, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("6034159408538082302", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 0);
-      // c[1], c[0] = madd1(v, y[2], c[1])
-      tempC = madd1(v, limb(y.value, 2), limb(c, 1));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      // c[2], t[1] = madd2(m, 3691218898639771653, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("3691218898639771653", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 1);
-      // c[1], c[0] = madd1(v, y[3], c[1])
-      tempC = madd1(v, limb(y.value, 3), limb(c, 1));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      // t[3], t[2] = madd3(m, 8353516859464449352, c[0], c[2], c[1])
-      tempC =
-          madd3(
-              m,
-              UInt256.valueOf(new BigInteger("8353516859464449352", 10)),
-              limb(c, 0),
-              limb(c, 2),
-              limb(c, 1));
-      t = setLimb(t, limb(tempC, 1), 3);
-      t = setLimb(t, limb(tempC, 0), 2);
-    }
-    // round 1
-    {
-      UInt256 v = limb(this.value, 1);
-      // c[1], c[0] = madd1(v, y[0], t[0])
-      UInt256 tempC = madd1(v, limb(y.value, 0), limb(t, 0));
-      c = setLimb(UInt256.ZERO, limb(tempC, 0), 0);
-      c = setLimb(c, limb(tempC, 1), 1);
-      // m := c[0] * 18446744069414584319
-      UInt256 m =
-          setLimb(
-              UInt256.ZERO,
-              limb(
-                  UInt256.valueOf(new BigInteger("18446744069414584319", 10)).multiply(limb(c, 0)),
-                  0),
-              0);
-      //		c[2] = madd0(m, 18446744069414584321, c[0])
-      UInt256 c2 =
-          madd0(m, UInt256.valueOf(new BigInteger("18446744069414584321", 10)), limb(c, 0));
-      c = setLimb(c, limb(c2, 1), 2);
-      //		c[1], c[0] = madd2(v, y[1], c[1], t[1])
-      tempC = madd2(v, limb(y.value, 1), limb(c, 1), limb(t, 1));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		c[2], t[0] = madd2(m, 6034159408538082302, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("6034159408538082302", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 0);
-      //		c[1], c[0] = madd2(v, y[2], c[1], t[2])
-      tempC = madd2(v, limb(y.value, 2), limb(c, 1), limb(t, 2));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		c[2], t[1] = madd2(m, 3691218898639771653, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("3691218898639771653", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 1);
-      //		c[1], c[0] = madd2(v, y[3], c[1], t[3])
-      tempC = madd2(v, limb(y.value, 3), limb(c, 1), limb(t, 3));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-
-      //		t[3], t[2] = madd3(m, 8353516859464449352, c[0], c[2], c[1])
-      tempC =
-          madd3(
-              m,
-              UInt256.valueOf(new BigInteger("8353516859464449352", 10)),
-              limb(c, 0),
-              limb(c, 2),
-              limb(c, 1));
-      t = setLimb(t, limb(tempC, 1), 3);
-      t = setLimb(t, limb(tempC, 0), 2);
-    }
-    // round 2
-    {
-      // v := x[2]
-      UInt256 v = limb(this.value, 2);
-      //		c[1], c[0] = madd1(v, y[0], t[0])
-      UInt256 tempC = madd1(v, limb(y.value, 0), limb(t, 0));
-      c = setLimb(UInt256.ZERO, limb(tempC, 0), 0);
-      c = setLimb(c, limb(tempC, 1), 1);
-      //		m := c[0] * 18446744069414584319
-      UInt256 m =
-          setLimb(
-              UInt256.ZERO,
-              limb(c, 0).multiply(UInt256.valueOf(new BigInteger("18446744069414584319", 10))),
-              0);
-      //		c[2] = madd0(m, 18446744069414584321, c[0])
-      UInt256 c2 =
-          madd0(m, UInt256.valueOf(new BigInteger("18446744069414584321", 10)), limb(c, 0));
-      c = setLimb(c, limb(c2, 1), 2);
-      //		c[1], c[0] = madd2(v, y[1], c[1], t[1])
-      tempC = madd2(v, limb(y.value, 1), limb(c, 1), limb(t, 1));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		c[2], t[0] = madd2(m, 6034159408538082302, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("6034159408538082302", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 0);
-      //		c[1], c[0] = madd2(v, y[2], c[1], t[2])
-      tempC = madd2(v, limb(y.value, 2), limb(c, 1), limb(t, 2));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		c[2], t[1] = madd2(m, 3691218898639771653, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("3691218898639771653", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 1);
-      //		c[1], c[0] = madd2(v, y[3], c[1], t[3])
-      tempC = madd2(v, limb(y.value, 3), limb(c, 1), limb(t, 3));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		t[3], t[2] = madd3(m, 8353516859464449352, c[0], c[2], c[1])
-      tempC =
-          madd3(
-              m,
-              UInt256.valueOf(new BigInteger("8353516859464449352", 10)),
-              limb(c, 0),
-              limb(c, 2),
-              limb(c, 1));
-      t = setLimb(t, limb(tempC, 1), 3);
-      t = setLimb(t, limb(tempC, 0), 2);
-    }
-    // round 3
-    {
-      // v := x[3]
-      UInt256 v = limb(this.value, 3);
-      //		c[1], c[0] = madd1(v, y[0], t[0])
-      UInt256 tempC = madd1(v, limb(y.value, 0), limb(t, 0));
-      c = setLimb(UInt256.ZERO, limb(tempC, 0), 0);
-      c = setLimb(c, limb(tempC, 1), 1);
-      //		m := c[0] * 18446744069414584319
-      UInt256 m =
-          setLimb(
-              UInt256.ZERO,
-              limb(c, 0).multiply(UInt256.valueOf(new BigInteger("18446744069414584319", 10))),
-              0);
-      //		c[2] = madd0(m, 18446744069414584321, c[0])
-      UInt256 c2 =
-          madd0(m, UInt256.valueOf(new BigInteger("18446744069414584321", 10)), limb(c, 0));
-      c = setLimb(c, limb(c2, 1), 2);
-      //		c[1], c[0] = madd2(v, y[1], c[1], t[1])
-      tempC = madd2(v, limb(y.value, 1), limb(c, 1), limb(t, 1));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		c[2], z[0] = madd2(m, 6034159408538082302, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("6034159408538082302", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 0);
-      //		c[1], c[0] = madd2(v, y[2], c[1], t[2])
-      tempC = madd2(v, limb(y.value, 2), limb(c, 1), limb(t, 2));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		c[2], z[1] = madd2(m, 3691218898639771653, c[2], c[0])
-      tempC =
-          madd2(
-              m,
-              UInt256.valueOf(new BigInteger("3691218898639771653", 10)),
-              limb(c, 2),
-              limb(c, 0));
-      c = setLimb(c, limb(tempC, 1), 2);
-      t = setLimb(t, limb(tempC, 0), 1);
-      //		c[1], c[0] = madd2(v, y[3], c[1], t[3])
-      tempC = madd2(v, limb(y.value, 3), limb(c, 1), limb(t, 3));
-      c = setLimb(c, limb(tempC, 1), 1);
-      c = setLimb(c, limb(tempC, 0), 0);
-      //		z[3], z[2] = madd3(m, 8353516859464449352, c[0], c[2], c[1])
-      tempC =
-          madd3(
-              m,
-              UInt256.valueOf(new BigInteger("8353516859464449352", 10)),
-              limb(c, 0),
-              limb(c, 2),
-              limb(c, 1));
-      t = setLimb(t, limb(tempC, 1), 3);
-      t = setLimb(t, limb(tempC, 0), 2);
-    }
+  private static long mulHigh(final long a, final long b) {
+    return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+  }
 
-    if (t.greaterThan(Q_MODULUS.value)) {
-      t = t.subtract(Q_MODULUS.value);
-    }
+  private static long carry(final long sum, final long addend) {
+    return subBorrow(sum, addend, sum - addend);
+  }
+
+  private static long addCarry(final long a, final long b, final long sum) {
+    return ((a & b) | ((a | b) & ~sum)) >>> 63;
+  }
 
-    return new Element(t);
+  private static long subBorrow(final long a, final long b, final long difference) {
+    return ((~a & b) | (~(a ^ b) & difference)) >>> 63;
   }
 
+  /**
+   * Whether the element is larger than -element, comparing regular rather than Montgomery values.
+   *
+   * @return true if the element is larger than (q - 1) / 2
+   */
   public boolean lexicographicallyLargest() {
-    return value.greaterThan((Q_MODULUS.value.subtract(1)).divide(2));
+    return fromMontgomery().value.greaterThan((Q_MODULUS.value.subtract(1)).divide(2));
   }
 
   public Bytes32 getValue(final ByteOrder byteOrder) {
@@ -472,36 +403,6 @@ public class Element {
     return "Element{" + "value=" + value + '}';
   }
 
-  private UInt256 add(final UInt256 z) {
-    UInt256 mutableZ = z;
-    // m = z[0]n'[0] mod W
-    // m := z[0] * 18446744069414584319
-    UInt256 z0 = limb(mutableZ, 0);
-    UInt256 m =
-        setLimb(
-            UInt256.ZERO,
-            UInt256.valueOf(new BigInteger("18446744069414584319", 10)).multiply(z0),
-            0);
-    // C := madd0(m, 18446744069414584321, z[0])
-    UInt256 tempC = madd0(m, limb(Q_MODULUS.value, 0), limb(mutableZ, 0));
-    UInt256 c = setLimb(UInt256.ZERO, limb(tempC, 1), 0);
-    // C, z[0] = madd2(m, 6034159408538082302, z[1], C)
-    tempC = madd2(m, limb(Q_MODULUS.value, 1), limb(mutableZ, 1), c);
-    c = setLimb(c, limb(tempC, 1), 0);
-    mutableZ = setLimb(mutableZ, limb(tempC, 0), 0);
-    // C, z[1] = madd2(m, 3691218898639771653, z[2], C)
-    tempC = madd2(m, limb(Q_MODULUS.value, 2), limb(mutableZ, 2), c);
-    c = setLimb(c, limb(tempC, 1), 0);
-    mutableZ = setLimb(mutableZ, limb(tempC, 0), 1);
-    // C, z[2] = madd2(m, 8353516859464449352, z[3], C)
-    tempC = madd2(m, limb(Q_MODULUS.value, 3), limb(mutableZ, 3), c);
-    c = setLimb(c, limb(tempC, 1), 0);
-    mutableZ = setLimb(mutableZ, limb(tempC, 0), 2);
-    // z[3] = C
-    mutableZ = setLimb(mutableZ, limb(c, 0), 3);
-    return mutableZ;
-  }
-
   /**
    * fromMontgomery converts the element from Montgomery to regular representation sets and returns
    * z = z * 1
@@ -509,15 +410,7 @@ public class Element {
    * @return z * 1
    */
   public Element fromMontgomery() {
-    UInt256 calc = add(this.value);
-    calc = add(calc);
-    calc = add(calc);
-    calc = add(calc);
-
-    if (calc.greaterThan(Q_MODULUS.value)) {
-      return new Element(calc.subtract(Q_MODULUS.value));
-    }
-    return new Element(calc);
+    return multiply(new Element(UInt256.ONE));
   }
 
   public Element toMontgomery() {
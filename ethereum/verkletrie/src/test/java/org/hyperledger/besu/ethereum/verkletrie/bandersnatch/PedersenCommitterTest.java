@@ -0,0 +1,135 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.verkletrie.bandersnatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.verkletrie.bandersnatch.fr.Element;
+
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PedersenCommitterTest {
+
+  private static PointAffine[] basis;
+  private static PedersenCommitter committer;
+
+  @BeforeClass
+  public static void setUp() {
+    committer = PedersenCommitter.verkle();
+    basis = PedersenBasis.generate(PedersenCommitter.VERKLE_NODE_WIDTH);
+  }
+
+  @Test
+  public void generatesTheVerkleBasis() {
+    final Bytes[] serialized = new Bytes[basis.length];
+    for (int i = 0; i < basis.length; i++) {
+      serialized[i] = basis[i].toProj().bytes();
+    }
+    assertThat(serialized[0])
+        .isEqualTo(
+            Bytes.fromHexString(
+                "0x01587ad1336675eb912550ec2a28eb8923b824b490dd2ba82e48f14590a298a0"));
+    assertThat(serialized[255])
+        .isEqualTo(
+            Bytes.fromHexString(
+                "0x3de2be346b539395b0c0de56a5ccca54a317f1b5c80107b0802af9a62276a4d8"));
+    assertThat(Hash.sha256(Bytes.concatenate(serialized)))
+        .isEqualTo(
+            Bytes32.fromHexString(
+                "0x1fcaea10bf24f750200e06fa473c76ff0468007291fa548e2d99f09ba9256fdb"));
+  }
+
+  @Test
+  public void groupLawHolds() {
+    final Point g = basis[0].toProj();
+    final Point h = basis[1].toProj();
+    assertThat(affine(g.doub())).isEqualTo(affine(g.add(g)));
+    assertThat(affine(g.add(h))).isEqualTo(affine(h.add(basis[0])));
+    assertThat(g.add(g.negate()).isIdentity()).isTrue();
+    assertThat(affine(g.add(Point.IDENTITY))).isEqualTo(basis[0]);
+    assertThat(PointAffine.fromProj(new Point[] {g.doub(), h})[1]).isEqualTo(basis[1]);
+  }
+
+  @Test
+  public void msmMatchesScalarMultiplication() {
+    final PointAffine[] points = new PointAffine[40];
+    final Element[] scalars = new Element[points.length];
+    Point expected = Point.IDENTITY;
+    for (int i = 0; i < points.length; i++) {
+      points[i] = basis[i];
+      scalars[i] = i == 7 ? Element.ZERO : Element.random();
+      expected = expected.add(multiply(basis[i], scalars[i]));
+    }
+    assertThat(affine(MultiScalarMultiplication.msm(points, scalars))).isEqualTo(affine(expected));
+  }
+
+  @Test
+  public void serializesPointsUpToTheTwoTorsion() {
+    final Point g = basis[3].toProj();
+    assertThat(new Point(g.x.neg(), g.y.neg(), g.z).bytes()).isEqualTo(g.bytes());
+    assertThat(g.negate().bytes()).isNotEqualTo(g.bytes());
+  }
+
+  @Test
+  public void commitMatchesMsm() {
+    final Element[] values = new Element[PedersenCommitter.VERKLE_NODE_WIDTH];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Element.random();
+    }
+    assertThat(affine(committer.commit(values)))
+        .isEqualTo(affine(MultiScalarMultiplication.msm(basis, values)));
+    assertThat(affine(committer.commit(new Element[] {Element.ONE}))).isEqualTo(basis[0]);
+    assertThat(committer.commit(new Element[0]).isIdentity()).isTrue();
+  }
+
+  @Test
+  public void updateMatchesRecommitting() {
+    final Element[] values = new Element[PedersenCommitter.VERKLE_NODE_WIDTH];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Element.random();
+    }
+    final Point commitment = committer.commit(values);
+    final Element oldValue = values[42];
+    values[42] = Element.random();
+
+    // the basis points may have order 2r, so the results may differ by the 2-torsion point, which
+    // is the same Verkle commitment
+    assertThat(committer.update(commitment, 42, oldValue, values[42]).bytes())
+        .isEqualTo(committer.commit(values).bytes());
+  }
+
+  private static PointAffine affine(final Point point) {
+    return PointAffine.fromProj(point);
+  }
+
+  private static Point multiply(final PointAffine point, final Element scalar) {
+    final BigInteger bits = scalar.getBytes(ByteOrder.BIG_ENDIAN).toUnsignedBigInteger();
+    Point result = Point.IDENTITY;
+    for (int i = bits.bitLength() - 1; i >= 0; i--) {
+      result = result.doub();
+      if (bits.testBit(i)) {
+        result = result.add(point);
+      }
+    }
+    return result;
+  }
+}
@@ -217,4 +217,25 @@ public class ElementTest {
             UInt256.fromHexString(
                 "122ce6a3d6eb56f0b071cf8bda9efc585b312658d057c98f06a7a2b2a1fe1c21"));
   }
+
+  @Test
+  public void testAddSubtract() {
+    Element x = Element.random();
+    Element y = Element.random();
+    assertThat(x.add(y).subtract(y)).isEqualTo(x);
+    assertThat(x.subtract(y).add(y)).isEqualTo(x);
+    assertThat(x.subtract(x)).isEqualTo(Element.ZERO);
+    assertThat(Element.ZERO.subtract(Element.ONE)).isEqualTo(Element.ONE.neg());
+    assertThat(Element.ONE.neg().add(Element.ONE)).isEqualTo(Element.ZERO);
+  }
+
+  @Test
+  public void testBatchInverse() {
+    Element[] elements = {Element.random(), Element.ZERO, Element.random(), Element.ONE};
+    Element[] inverses = Element.batchInverse(elements);
+    for (int i = 0; i < elements.length; i++) {
+      assertThat(inverses[i]).isEqualTo(elements[i].inverse());
+    }
+    assertThat(elements[0].multiply(inverses[0])).isEqualTo(Element.ONE);
+  }
 }
@@ -27,6 +27,7 @@ import org.hyperledger.besu.evm.internal.CodeCache;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.evm.internal.FixedStack.OverflowException;
 import org.hyperledger.besu.evm.internal.FixedStack.UnderflowException;
+import org.hyperledger.besu.evm.internal.JumpDestStorage;
 import org.hyperledger.besu.evm.operation.AddOperation;
 import org.hyperledger.besu.evm.operation.AndOperation;
 import org.hyperledger.besu.evm.operation.ByteOperation;
@@ -70,6 +71,7 @@ public class EVM {
   private final GasCalculator gasCalculator;
   private final Operation endOfScriptStop;
   private final CodeCache codeCache;
+  private final JumpDestStorage jumpDestStorage;
   private final EvmSpecVersion evmSpecVersion;
 
   // Optimized operation flags
@@ -84,6 +86,7 @@ public class EVM {
     this.gasCalculator = gasCalculator;
     this.endOfScriptStop = new VirtualOperation(new StopOperation(gasCalculator));
     this.codeCache = new CodeCache(evmConfiguration);
+    this.jumpDestStorage = evmConfiguration.getJumpDestStorage();
     this.evmSpecVersion = evmSpecVersion;
 
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
@@ -313,9 +316,28 @@ public class EVM {
     Code result = codeCache.getIfPresent(codeHash);
     if (result == null) {
       result =
-          CodeFactory.createCode(codeBytes, codeHash, evmSpecVersion.getMaxEofVersion(), false);
+          CodeFactory.createCode(
+              codeBytes, codeHash, evmSpecVersion.getMaxEofVersion(), false, jumpDestStorage);
       codeCache.put(codeHash, result);
     }
     return result;
   }
+
+  /**
+   * Get init code, whose jump destinations are not persisted as it is usually run only once. Init
+   * code is not added to the code cache, so the same bytes later loaded as account code are bound
+   * to the jump destination storage.
+   *
+   * @param codeHash the hash of the init code
+   * @param codeBytes the init code
+   * @return the code
+   */
+  public Code getInitCode(final Hash codeHash, final Bytes codeBytes) {
+    final Code cached = codeCache.getIfPresent(codeHash);
+    if (cached != null) {
+      return cached;
+    }
+    return CodeFactory.createCode(
+        codeBytes, codeHash, evmSpecVersion.getMaxEofVersion(), false, JumpDestStorage.NONE);
+  }
 }
@@ -18,6 +18,7 @@ package org.hyperledger.besu.evm.code;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.internal.JumpDestStorage;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -34,13 +35,22 @@ public final class CodeFactory {
       final Hash codeHash,
       final int maxEofVersion,
       final boolean inCreateOperation) {
+    return createCode(bytes, codeHash, maxEofVersion, inCreateOperation, JumpDestStorage.NONE);
+  }
+
+  public static Code createCode(
+      final Bytes bytes,
+      final Hash codeHash,
+      final int maxEofVersion,
+      final boolean inCreateOperation,
+      final JumpDestStorage jumpDestStorage) {
     if (maxEofVersion == 0) {
-      return new CodeV0(bytes, codeHash);
+      return new CodeV0(bytes, codeHash, jumpDestStorage);
     } else if (maxEofVersion == 1) {
       int codeSize = bytes.size();
       if (codeSize > 0 && bytes.get(0) == EOF_LEAD_BYTE) {
         if (codeSize == 1 && !inCreateOperation) {
-          return new CodeV0(bytes, codeHash);
+          return new CodeV0(bytes, codeHash, jumpDestStorage);
         }
         if (codeSize < 3) {
           return new CodeInvalid(codeHash, bytes, "EOF Container too short");
@@ -50,7 +60,7 @@ public final class CodeFactory {
             // because some 0xef code made it to mainnet, this is only an error at contract create
             return new CodeInvalid(codeHash, bytes, "Incorrect second byte");
           } else {
-            return new CodeV0(bytes, codeHash);
+            return new CodeV0(bytes, codeHash, jumpDestStorage);
           }
         }
         int version = bytes.get(2);
@@ -76,7 +86,7 @@ public final class CodeFactory {
 
         return new CodeV1(codeHash, layout);
       } else {
-        return new CodeV0(bytes, codeHash);
+        return new CodeV0(bytes, codeHash, jumpDestStorage);
       }
     } else {
       return new CodeInvalid(codeHash, bytes, "Unsupported max code version " + maxEofVersion);
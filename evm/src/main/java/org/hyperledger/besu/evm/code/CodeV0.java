@@ -18,9 +18,12 @@ package org.hyperledger.besu.evm.code;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.internal.JumpDestStorage;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 import org.hyperledger.besu.evm.operation.PushOperation;
 
+import java.util.Optional;
+
 import com.google.common.base.MoreObjects;
 import org.apache.tuweni.bytes.Bytes;
 
@@ -37,6 +40,9 @@ public class CodeV0 implements Code {
   /** Used to cache valid jump destinations. */
   private long[] validJumpDestinations;
 
+  /** Where valid jump destinations are loaded from, and stored after analysis. */
+  private final JumpDestStorage jumpDestStorage;
+
   /** Code section info for the legacy code */
   private final CodeSection codeSectionZero;
 
@@ -47,8 +53,20 @@ public class CodeV0 implements Code {
    * @param codeHash the Hash of the bytes in the code.
    */
   CodeV0(final Bytes bytes, final Hash codeHash) {
+    this(bytes, codeHash, JumpDestStorage.NONE);
+  }
+
+  /**
+   * Constructor for code whose jump destination analysis is persisted.
+   *
+   * @param bytes The byte representation of the code.
+   * @param codeHash the Hash of the bytes in the code.
+   * @param jumpDestStorage storage for the valid jump destinations of the code.
+   */
+  CodeV0(final Bytes bytes, final Hash codeHash, final JumpDestStorage jumpDestStorage) {
     this.bytes = bytes;
     this.codeHash = codeHash;
+    this.jumpDestStorage = jumpDestStorage;
     this.codeSectionZero = new CodeSection(bytes.size(), 0, -1, -1, 0);
   }
 
@@ -104,7 +122,7 @@ public class CodeV0 implements Code {
       return true;
     }
     if (validJumpDestinations == null || validJumpDestinations.length == 0) {
-      validJumpDestinations = calculateJumpDests();
+      validJumpDestinations = loadJumpDests();
     }
 
     final long targetLong = validJumpDestinations[jumpDestination >>> 6];
@@ -131,6 +149,18 @@ public class CodeV0 implements Code {
     return 1;
   }
 
+  private long[] loadJumpDests() {
+    final int bitmapLength = (getSize() >> 6) + 1;
+    final Optional<long[]> stored =
+        jumpDestStorage.get(codeHash).filter(bitmap -> bitmap.length == bitmapLength);
+    if (stored.isPresent()) {
+      return stored.get();
+    }
+    final long[] calculated = calculateJumpDests();
+    jumpDestStorage.put(codeHash, calculated);
+    return calculated;
+  }
+
   long[] calculateJumpDests() {
     final int size = getSize();
     final long[] bitmap = new long[(size >> 6) + 1];
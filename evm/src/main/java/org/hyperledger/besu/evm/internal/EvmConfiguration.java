@@ -18,9 +18,19 @@ package org.hyperledger.besu.evm.internal;
 public class EvmConfiguration {
   public static final EvmConfiguration DEFAULT = new EvmConfiguration(32_000L);
   private final long jumpDestCacheWeightKB;
+  private final JumpDestStorage jumpDestStorage;
 
   public EvmConfiguration(final long jumpDestCacheWeightKB) {
+    this(jumpDestCacheWeightKB, JumpDestStorage.NONE);
+  }
+
+  public EvmConfiguration(final long jumpDestCacheWeightKB, final JumpDestStorage jumpDestStorage) {
     this.jumpDestCacheWeightKB = jumpDestCacheWeightKB;
+    this.jumpDestStorage = jumpDestStorage;
+  }
+
+  public EvmConfiguration withJumpDestStorage(final JumpDestStorage jumpDestStorage) {
+    return new EvmConfiguration(jumpDestCacheWeightKB, jumpDestStorage);
   }
 
   public long getJumpDestCacheWeightBytes() {
@@ -30,4 +40,8 @@ public class EvmConfiguration {
   public long getJumpDestCacheWeightKB() {
     return jumpDestCacheWeightKB;
   }
+
+  public JumpDestStorage getJumpDestStorage() {
+    return jumpDestStorage;
+  }
 }
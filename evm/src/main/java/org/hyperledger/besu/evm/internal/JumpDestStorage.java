@@ -0,0 +1,55 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.Optional;
+
+/**
+ * Persistent storage for the valid jump destinations of legacy code, keyed by code hash. The
+ * analysis only depends on the code, so once stored it is never analysed again, even after a
+ * restart or an eviction from the {@link CodeCache}.
+ */
+public interface JumpDestStorage {
+
+  /** Storage that keeps nothing, so jump destinations are analysed for every new code object. */
+  JumpDestStorage NONE =
+      new JumpDestStorage() {
+        @Override
+        public Optional<long[]> get(final Hash codeHash) {
+          return Optional.empty();
+        }
+
+        @Override
+        public void put(final Hash codeHash, final long[] validJumpDestinations) {}
+      };
+
+  /**
+   * Get the stored jump destinations of some code.
+   *
+   * @param codeHash the hash of the code
+   * @return the bitmap of valid jump destinations, one bit per byte of code, if stored
+   */
+  Optional<long[]> get(Hash codeHash);
+
+  /**
+   * Store the jump destinations of some code.
+   *
+   * @param codeHash the hash of the code
+   * @param validJumpDestinations the bitmap of valid jump destinations, one bit per byte of code
+   */
+  void put(Hash codeHash, long[] validJumpDestinations);
+}
@@ -83,7 +83,7 @@ public abstract class AbstractCreateOperation extends AbstractOperation {
         return new OperationResult(cost, ExceptionalHaltReason.CODE_TOO_LARGE);
       }
       final Bytes inputData = frame.readMemory(inputOffset, inputSize);
-      Code code = evm.getCode(Hash.hash(inputData), inputData);
+      Code code = evm.getInitCode(Hash.hash(inputData), inputData);
 
       if (code.isValid()) {
         frame.decrementRemainingGas(cost);
@@ -23,6 +23,7 @@ import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.nativelib.bls12_381.LibEthPairings;
 
 import java.util.Optional;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 
 import com.sun.jna.ptr.IntByReference;
@@ -34,24 +35,58 @@ public abstract class AbstractAltBnPrecompiledContract extends AbstractPrecompil
 
   private static final Logger LOG = LoggerFactory.getLogger(AbstractAltBnPrecompiledContract.class);
 
+  /** The implementations the alt_bn128 precompiles can compute with. */
+  public enum Engine {
+    /** The native library, when it is available. */
+    NATIVE,
+    /** Montgomery form limb arithmetic in Java. */
+    MONTGOMERY,
+    /** The BigInteger based field classes, kept as the reference for the other engines. */
+    REFERENCE
+  }
+
+  private static final boolean nativeAvailable;
+
   // use the native library implementation, if it is available
-  static boolean useNative;
+  static Engine engine;
 
   static {
+    boolean enabled;
     try {
-      useNative = LibEthPairings.ENABLED;
+      enabled = LibEthPairings.ENABLED;
     } catch (UnsatisfiedLinkError ule) {
       LOG.info("altbn128 native precompile not available: {}", ule.getMessage());
-      useNative = false;
+      enabled = false;
     }
+    nativeAvailable = enabled;
+    engine = enabled ? Engine.NATIVE : Engine.MONTGOMERY;
   }
 
   public static void disableNative() {
-    useNative = false;
+    if (engine == Engine.NATIVE) {
+      engine = Engine.MONTGOMERY;
+    }
   }
 
   public static boolean isNative() {
-    return useNative;
+    return engine == Engine.NATIVE;
+  }
+
+  public static Engine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Select the engine all alt_bn128 precompiles compute with.
+   *
+   * @param engine the engine to use
+   * @throws IllegalStateException if the native engine is selected but not available
+   */
+  public static void useEngine(final Engine engine) {
+    if (engine == Engine.NATIVE && !nativeAvailable) {
+      throw new IllegalStateException("Native alt bn128 is not available");
+    }
+    AbstractAltBnPrecompiledContract.engine = engine;
   }
 
   private final byte operationId;
@@ -101,4 +136,16 @@ public abstract class AbstractAltBnPrecompiledContract extends AbstractPrecompil
           null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
   }
+
+  @Nonnull
+  static PrecompileContractResult computeMontgomery(
+      final Function<Bytes, Bytes> operation, final Bytes input) {
+    try {
+      return PrecompileContractResult.success(operation.apply(input));
+    } catch (final IllegalArgumentException e) {
+      LOG.trace("Invalid alt bn128 input: {}", e.getMessage());
+      return PrecompileContractResult.halt(
+          null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
+    }
+  }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.evm.precompile;
 
 import org.hyperledger.besu.crypto.altbn128.AltBn128Point;
 import org.hyperledger.besu.crypto.altbn128.Fq;
+import org.hyperledger.besu.crypto.altbn128.MontgomeryAltBn128;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
@@ -61,10 +62,13 @@ public class AltBN128AddPrecompiledContract extends AbstractAltBnPrecompiledCont
   @Override
   public PrecompileContractResult computePrecompile(
       final Bytes input, @Nonnull final MessageFrame messageFrame) {
-    if (useNative) {
-      return computeNative(input, messageFrame);
-    } else {
-      return computeDefault(input);
+    switch (engine) {
+      case NATIVE:
+        return computeNative(input, messageFrame);
+      case MONTGOMERY:
+        return computeMontgomery(MontgomeryAltBn128::add, input);
+      default:
+        return computeDefault(input);
     }
   }
 
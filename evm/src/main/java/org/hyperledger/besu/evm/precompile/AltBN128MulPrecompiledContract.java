@@ -16,6 +16,7 @@ package org.hyperledger.besu.evm.precompile;
 
 import org.hyperledger.besu.crypto.altbn128.AltBn128Point;
 import org.hyperledger.besu.crypto.altbn128.Fq;
+import org.hyperledger.besu.crypto.altbn128.MontgomeryAltBn128;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
@@ -65,10 +66,13 @@ public class AltBN128MulPrecompiledContract extends AbstractAltBnPrecompiledCont
   @Override
   public PrecompileContractResult computePrecompile(
       final Bytes input, @Nonnull final MessageFrame messageFrame) {
-    if (useNative) {
-      return computeNative(input, messageFrame);
-    } else {
-      return computeDefault(input);
+    switch (engine) {
+      case NATIVE:
+        return computeNative(input, messageFrame);
+      case MONTGOMERY:
+        return computeMontgomery(MontgomeryAltBn128::multiply, input);
+      default:
+        return computeDefault(input);
     }
   }
 
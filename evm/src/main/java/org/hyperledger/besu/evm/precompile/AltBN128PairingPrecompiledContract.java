@@ -20,6 +20,7 @@ import org.hyperledger.besu.crypto.altbn128.AltBn128Point;
 import org.hyperledger.besu.crypto.altbn128.Fq;
 import org.hyperledger.besu.crypto.altbn128.Fq12;
 import org.hyperledger.besu.crypto.altbn128.Fq2;
+import org.hyperledger.besu.crypto.altbn128.MontgomeryAltBn128;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
@@ -83,10 +84,13 @@ public class AltBN128PairingPrecompiledContract extends AbstractAltBnPrecompiled
       return PrecompileContractResult.halt(
           null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR));
     }
-    if (useNative) {
-      return computeNative(input, messageFrame);
-    } else {
-      return computeDefault(input);
+    switch (engine) {
+      case NATIVE:
+        return computeNative(input, messageFrame);
+      case MONTGOMERY:
+        return computeMontgomery(in -> MontgomeryAltBn128.pairingCheck(in) ? TRUE : FALSE, input);
+      default:
+        return computeDefault(input);
     }
   }
 
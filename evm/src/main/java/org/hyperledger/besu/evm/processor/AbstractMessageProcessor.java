@@ -198,6 +198,15 @@ public abstract class AbstractMessageProcessor {
     }
   }
 
+  /**
+   * Gets the EVM executing the message frames.
+   *
+   * @return the EVM
+   */
+  protected EVM getEvm() {
+    return evm;
+  }
+
   public Code getCodeFromEVM(final Hash codeHash, final Bytes codeBytes) {
     return evm.getCode(codeHash, codeBytes);
   }
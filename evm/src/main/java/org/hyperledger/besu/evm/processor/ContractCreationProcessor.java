@@ -15,6 +15,8 @@
 package org.hyperledger.besu.evm.processor;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.ModificationNotAllowedException;
 import org.hyperledger.besu.evm.account.Account;
@@ -164,4 +166,9 @@ public class ContractCreationProcessor extends AbstractMessageProcessor {
       }
     }
   }
+
+  @Override
+  public Code getCodeFromEVM(final Hash codeHash, final Bytes codeBytes) {
+    return getEvm().getInitCode(codeHash, codeBytes);
+  }
 }
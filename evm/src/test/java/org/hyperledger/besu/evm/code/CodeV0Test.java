@@ -16,9 +16,11 @@
 
 package org.hyperledger.besu.evm.code;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.evm.frame.MessageFrame.Type.MESSAGE_CALL;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 
@@ -31,6 +33,7 @@ import org.hyperledger.besu.evm.frame.BlockValues;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.IstanbulGasCalculator;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.JumpDestStorage;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 import org.hyperledger.besu.evm.operation.JumpOperation;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
@@ -38,6 +41,9 @@ import org.hyperledger.besu.evm.operation.OperationRegistry;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -82,6 +88,75 @@ public class CodeV0Test {
     Mockito.verify(getsCached, times(1)).calculateJumpDests();
   }
 
+  @Test
+  public void shouldStoreAndReuseJumpDestMap() {
+    final JumpOperation operation = new JumpOperation(gasCalculator);
+    final Bytes jumpBytes = Bytes.fromHexString("0x6003565b00");
+    final Hash codeHash = Hash.hash(jumpBytes);
+    final InMemoryJumpDestStorage storage = new InMemoryJumpDestStorage();
+
+    final CodeV0 analysed =
+        (CodeV0) spy(CodeFactory.createCode(jumpBytes, codeHash, 0, false, storage));
+    assertNull(operation.execute(createJumpFrame(analysed), evm).getHaltReason());
+    Mockito.verify(analysed, times(1)).calculateJumpDests();
+    assertThat(storage.bitmaps).containsOnlyKeys(codeHash);
+
+    // a new code object, as after a restart or a cache eviction, loads the stored analysis
+    final CodeV0 loaded =
+        (CodeV0) spy(CodeFactory.createCode(jumpBytes, codeHash, 0, false, storage));
+    assertNull(operation.execute(createJumpFrame(loaded), evm).getHaltReason());
+    Mockito.verify(loaded, never()).calculateJumpDests();
+  }
+
+  @Test
+  public void shouldIgnoreStoredJumpDestMapOfTheWrongSize() {
+    final Bytes jumpBytes = Bytes.fromHexString("0x6003565b00");
+    final Hash codeHash = Hash.hash(jumpBytes);
+    final InMemoryJumpDestStorage storage = new InMemoryJumpDestStorage();
+    storage.put(codeHash, new long[] {-1L, -1L});
+
+    final CodeV0 code =
+        (CodeV0) spy(CodeFactory.createCode(jumpBytes, codeHash, 0, false, storage));
+    assertThat(code.isJumpDestInvalid(3)).isFalse();
+    assertThat(code.isJumpDestInvalid(1)).isTrue();
+    Mockito.verify(code, times(1)).calculateJumpDests();
+  }
+
+  @Test
+  public void shouldOnlyStoreJumpDestMapOfAccountCode() {
+    final InMemoryJumpDestStorage storage = new InMemoryJumpDestStorage();
+    final EVM storingEvm =
+        new EVM(
+            new OperationRegistry(),
+            gasCalculator,
+            EvmConfiguration.DEFAULT.withJumpDestStorage(storage),
+            EvmSpecVersion.PARIS);
+    final Bytes initCode = Bytes.fromHexString("0x5b00");
+    final Bytes accountCode = Bytes.fromHexString("0x5b5b00");
+
+    storingEvm.getInitCode(Hash.hash(initCode), initCode).isJumpDestInvalid(0);
+    storingEvm.getCode(Hash.hash(accountCode), accountCode).isJumpDestInvalid(0);
+
+    assertThat(storage.bitmaps).containsOnlyKeys(Hash.hash(accountCode));
+  }
+
+  @Test
+  public void shouldStoreJumpDestMapOfAccountCodeFirstRunAsInitCode() {
+    final InMemoryJumpDestStorage storage = new InMemoryJumpDestStorage();
+    final EVM storingEvm =
+        new EVM(
+            new OperationRegistry(),
+            gasCalculator,
+            EvmConfiguration.DEFAULT.withJumpDestStorage(storage),
+            EvmSpecVersion.PARIS);
+    final Bytes code = Bytes.fromHexString("0x5b00");
+
+    storingEvm.getInitCode(Hash.hash(code), code).isJumpDestInvalid(0);
+    storingEvm.getCode(Hash.hash(code), code).isJumpDestInvalid(0);
+
+    assertThat(storage.bitmaps).containsOnlyKeys(Hash.hash(code));
+  }
+
   @Nonnull
   private MessageFrame createJumpFrame(final CodeV0 getsCached) {
     final MessageFrame frame =
@@ -110,4 +185,18 @@ public class CodeV0Test {
     frame.pushStackItem(UInt256.fromHexString("0x03"));
     return frame;
   }
+
+  private static class InMemoryJumpDestStorage implements JumpDestStorage {
+    private final Map<Hash, long[]> bitmaps = new HashMap<>();
+
+    @Override
+    public Optional<long[]> get(final Hash codeHash) {
+      return Optional.ofNullable(bitmaps.get(codeHash));
+    }
+
+    @Override
+    public void put(final Hash codeHash, final long[] validJumpDestinations) {
+      bitmaps.put(codeHash, validJumpDestinations);
+    }
+  }
 }
@@ -180,6 +180,11 @@ public class Create2OperationTest {
             invocation ->
                 CodeFactory.createCode(
                     invocation.getArgument(1), invocation.getArgument(0), 0, true));
+    when(evm.getInitCode(any(), any()))
+        .thenAnswer(
+            invocation ->
+                CodeFactory.createCode(
+                    invocation.getArgument(1), invocation.getArgument(0), 0, true));
   }
 
   @ParameterizedTest
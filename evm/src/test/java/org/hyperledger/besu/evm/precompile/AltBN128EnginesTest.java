@@ -0,0 +1,142 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.precompile.AbstractAltBnPrecompiledContract.Engine;
+
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.After;
+import org.junit.Test;
+
+public class AltBN128EnginesTest {
+
+  private static final Bytes G1 =
+      Bytes.fromHexString(
+          "0x0000000000000000000000000000000000000000000000000000000000000001"
+              + "0000000000000000000000000000000000000000000000000000000000000002");
+  private static final Bytes NEGATED_G1 =
+      Bytes.fromHexString(
+          "0x0000000000000000000000000000000000000000000000000000000000000001"
+              + "30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd45");
+  private static final Bytes G2 =
+      Bytes.fromHexString(
+          "0x198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+              + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+              + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+              + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa");
+  private static final Bytes G2_OUTSIDE_SUBGROUP =
+      Bytes.fromHexString(
+          "0x1382cd45e5674247f9c900b5c6f6cabbc189c2fabe2df0bf5acd84c97818f508"
+              + "1246178655ab8f2f26956b189894b7eb93cd4215b9937e7969e44305f80f521e"
+              + "08331c0a261a74e7e75db1232956663cbc88110f726159c5cba1857ecd03fa64"
+              + "1fbf8045ce3e79b5cde4112d38bcd0efbdb1295d2eefdf58151ae309d7ded7db");
+  private static final Bytes INFINITY = Bytes.wrap(new byte[64]);
+  private static final Bytes NOT_ON_CURVE =
+      Bytes.concatenate(Bytes32.leftPad(Bytes.of(1)), Bytes32.leftPad(Bytes.of(1)));
+
+  private final Engine defaultEngine = AbstractAltBnPrecompiledContract.getEngine();
+  private final GasCalculator gasCalculator = mock(GasCalculator.class);
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+  private final Random random = new Random(7);
+
+  @After
+  public void restoreEngine() {
+    AbstractAltBnPrecompiledContract.useEngine(defaultEngine);
+  }
+
+  @Test
+  public void addMatchesReference() {
+    final AltBN128AddPrecompiledContract contract =
+        AltBN128AddPrecompiledContract.istanbul(gasCalculator);
+    final Bytes p = multiplyG1(randomScalar());
+
+    assertEnginesAgree(contract, Bytes.concatenate(G1, G1));
+    assertEnginesAgree(contract, Bytes.concatenate(G1, p));
+    assertEnginesAgree(contract, Bytes.concatenate(G1, NEGATED_G1));
+    assertEnginesAgree(contract, Bytes.concatenate(INFINITY, p));
+    assertEnginesAgree(contract, Bytes.concatenate(p, INFINITY));
+    assertEnginesAgree(contract, Bytes.concatenate(G1, NOT_ON_CURVE));
+    assertEnginesAgree(contract, G1);
+    assertEnginesAgree(contract, Bytes.EMPTY);
+  }
+
+  @Test
+  public void multiplyMatchesReference() {
+    final AltBN128MulPrecompiledContract contract =
+        AltBN128MulPrecompiledContract.istanbul(gasCalculator);
+
+    for (int i = 0; i < 10; i++) {
+      assertEnginesAgree(contract, Bytes.concatenate(G1, randomScalar()));
+    }
+    assertEnginesAgree(contract, Bytes.concatenate(G1, Bytes32.ZERO));
+    assertEnginesAgree(contract, Bytes.concatenate(NEGATED_G1, Bytes32.leftPad(Bytes.of(2))));
+    assertEnginesAgree(
+        contract,
+        Bytes.concatenate(
+            G1,
+            Bytes.fromHexString(
+                "0xffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff")));
+    assertEnginesAgree(contract, Bytes.concatenate(NOT_ON_CURVE, randomScalar()));
+    assertEnginesAgree(contract, G1);
+  }
+
+  @Test
+  public void pairingMatchesReference() {
+    final AltBN128PairingPrecompiledContract contract =
+        AltBN128PairingPrecompiledContract.istanbul(gasCalculator);
+
+    assertEnginesAgree(contract, Bytes.concatenate(G1, G2, NEGATED_G1, G2));
+    assertEnginesAgree(contract, Bytes.concatenate(G1, G2));
+    assertEnginesAgree(contract, Bytes.concatenate(INFINITY, G2, G1, G2));
+    assertEnginesAgree(contract, Bytes.concatenate(G1, G2_OUTSIDE_SUBGROUP));
+    assertEnginesAgree(contract, Bytes.concatenate(NOT_ON_CURVE, G2));
+  }
+
+  @Test
+  public void nativeEngineCannotBeSelectedWithoutTheLibrary() {
+    if (!AbstractAltBnPrecompiledContract.isNative()) {
+      assertThatThrownBy(() -> AbstractAltBnPrecompiledContract.useEngine(Engine.NATIVE))
+          .isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  private void assertEnginesAgree(final PrecompiledContract contract, final Bytes input) {
+    AbstractAltBnPrecompiledContract.useEngine(Engine.REFERENCE);
+    final Bytes expected = contract.compute(input, messageFrame);
+    AbstractAltBnPrecompiledContract.useEngine(Engine.MONTGOMERY);
+    assertThat(contract.compute(input, messageFrame)).isEqualTo(expected);
+  }
+
+  private Bytes multiplyG1(final Bytes scalar) {
+    AbstractAltBnPrecompiledContract.useEngine(Engine.REFERENCE);
+    return AltBN128MulPrecompiledContract.istanbul(gasCalculator)
+        .compute(Bytes.concatenate(G1, scalar), messageFrame);
+  }
+
+  private Bytes randomScalar() {
+    final byte[] scalar = new byte[32];
+    random.nextBytes(scalar);
+    return Bytes.wrap(scalar);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.rocksdb;
+
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gauges reading RocksDB column family properties, labelled with the database and segment name.
+ *
+ * <p>Properties are only read when the metrics are scraped. Column family handles are looked up
+ * through suppliers on every read because a cleared segment gets a new handle. Once the database or
+ * the handle is closed the gauges report zero.
+ */
+public class RocksDBColumnFamilyStats {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RocksDBColumnFamilyStats.class);
+
+  private static final String CF_STATS = "rocksdb.cfstats";
+
+  private enum LongProperty {
+    PENDING_COMPACTION_BYTES(
+        "rocksdb.estimate-pending-compaction-bytes",
+        "segment_pending_compaction_bytes",
+        "Estimated bytes compaction needs to rewrite to bring every level under its target size"),
+    LIVE_SST_FILES_SIZE(
+        "rocksdb.live-sst-files-size",
+        "segment_live_sst_files_size_bytes",
+        "Total size of the SST files of a column family in bytes"),
+    MEMTABLE_SIZE(
+        "rocksdb.cur-size-all-mem-tables",
+        "segment_memtable_size_bytes",
+        "Size of the active and unflushed memtables of a column family in bytes"),
+    BLOCK_CACHE_USAGE(
+        "rocksdb.block-cache-usage",
+        "segment_block_cache_usage_bytes",
+        "Memory used by the block cache of a column family in bytes, shared caches are counted once per column family"),
+    BLOCK_CACHE_CAPACITY(
+        "rocksdb.block-cache-capacity",
+        "segment_block_cache_capacity_bytes",
+        "Capacity of the block cache of a column family in bytes"),
+    ESTIMATED_KEYS(
+        "rocksdb.estimate-num-keys",
+        "segment_estimated_keys",
+        "Estimated number of keys in a column family");
+
+    private final String property;
+    private final String metricName;
+    private final String help;
+
+    LongProperty(final String property, final String metricName, final String help) {
+      this.property = property;
+      this.metricName = metricName;
+      this.help = help;
+    }
+  }
+
+  private enum StallCount {
+    WRITE_SLOWDOWNS(
+        "io_stalls.total_slowdown",
+        "segment_write_slowdowns",
+        "Number of times writes to a column family were slowed down"),
+    WRITE_STOPS(
+        "io_stalls.total_stop",
+        "segment_write_stops",
+        "Number of times writes to a column family were stopped");
+
+    private final String key;
+    private final String metricName;
+    private final String help;
+
+    StallCount(final String key, final String metricName, final String help) {
+      this.key = key;
+      this.metricName = metricName;
+      this.help = help;
+    }
+  }
+
+  private RocksDBColumnFamilyStats() {}
+
+  public static void registerColumnFamilyMetrics(
+      final MetricsSystem metricsSystem,
+      final MetricCategory category,
+      final String database,
+      final RocksDB db,
+      final Map<String, Supplier<ColumnFamilyHandle>> columnFamilies) {
+    for (final LongProperty property : LongProperty.values()) {
+      final LabelledGauge gauge =
+          metricsSystem.createLabelledGauge(
+              category, property.metricName, property.help, "database", "segment");
+      columnFamilies.forEach(
+          (segment, handle) ->
+              gauge.labels(
+                  () -> getLongProperty(db, handle.get(), property.property), database, segment));
+    }
+    for (final StallCount stallCount : StallCount.values()) {
+      final LabelledGauge gauge =
+          metricsSystem.createLabelledGauge(
+              category, stallCount.metricName, stallCount.help, "database", "segment");
+      columnFamilies.forEach(
+          (segment, handle) ->
+              gauge.labels(
+                  () -> getStallCount(db, handle.get(), stallCount.key), database, segment));
+    }
+  }
+
+  private static double getLongProperty(
+      final RocksDB db, final ColumnFamilyHandle handle, final String property) {
+    if (!isOpen(db, handle)) {
+      return 0;
+    }
+    try {
+      return db.getLongProperty(handle, property);
+    } catch (final RocksDBException e) {
+      LOG.debug("Failed to get RocksDB metric", e);
+      return 0;
+    }
+  }
+
+  private static double getStallCount(
+      final RocksDB db, final ColumnFamilyHandle handle, final String key) {
+    if (!isOpen(db, handle)) {
+      return 0;
+    }
+    try {
+      final String value = db.getMapProperty(handle, CF_STATS).get(key);
+      return value == null ? 0 : Double.parseDouble(value);
+    } catch (final RocksDBException | NumberFormatException e) {
+      LOG.debug("Failed to get RocksDB metric", e);
+      return 0;
+    }
+  }
+
+  private static boolean isOpen(final RocksDB db, final ColumnFamilyHandle handle) {
+    return db.isOwningHandle() && handle.isOwningHandle();
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.metrics.rocksdb;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+/**
+ * I/O metrics of a single RocksDB column family, labelled with the database and segment name.
+ *
+ * <p>The labelled children are resolved once per segment, so recording an operation costs no more
+ * than the database wide metrics. When the category is disabled every metric is a no-op.
+ */
+public class RocksDBSegmentMetrics {
+
+  public static final RocksDBSegmentMetrics NO_OP =
+      new RocksDBSegmentMetrics(
+          NoOpMetricsSystem.NO_OP_OPERATION_TIMER,
+          NoOpMetricsSystem.NO_OP_OPERATION_TIMER,
+          NoOpMetricsSystem.NO_OP_OPERATION_TIMER,
+          NoOpMetricsSystem.NO_OP_COUNTER,
+          NoOpMetricsSystem.NO_OP_COUNTER);
+
+  private final OperationTimer readLatency;
+  private final OperationTimer writeLatency;
+  private final OperationTimer iteratorLatency;
+  private final Counter bytesRead;
+  private final Counter bytesWritten;
+
+  public RocksDBSegmentMetrics(
+      final OperationTimer readLatency,
+      final OperationTimer writeLatency,
+      final OperationTimer iteratorLatency,
+      final Counter bytesRead,
+      final Counter bytesWritten) {
+    this.readLatency = readLatency;
+    this.writeLatency = writeLatency;
+    this.iteratorLatency = iteratorLatency;
+    this.bytesRead = bytesRead;
+    this.bytesWritten = bytesWritten;
+  }
+
+  public static RocksDBSegmentMetrics create(
+      final MetricsSystem metricsSystem,
+      final MetricCategory category,
+      final String database,
+      final String segment) {
+    return new RocksDBSegmentMetrics(
+        metricsSystem
+            .createLabelledTimer(
+                category,
+                "segment_read_latency_seconds",
+                "Latency for reads from a RocksDB column family.",
+                "database",
+                "segment")
+            .labels(database, segment),
+        metricsSystem
+            .createLabelledTimer(
+                category,
+                "segment_write_latency_seconds",
+                "Latency for writes to a RocksDB column family.",
+                "database",
+                "segment")
+            .labels(database, segment),
+        metricsSystem
+            .createLabelledTimer(
+                category,
+                "segment_iterator_latency_seconds",
+                "Latency for opening and positioning an iterator over a RocksDB column family.",
+                "database",
+                "segment")
+            .labels(database, segment),
+        metricsSystem
+            .createLabelledCounter(
+                category,
+                "segment_read_bytes",
+                "Bytes read from a RocksDB column family by gets and iterators.",
+                "database",
+                "segment")
+            .labels(database, segment),
+        metricsSystem
+            .createLabelledCounter(
+                category,
+                "segment_written_bytes",
+                "Bytes of keys and values written to a RocksDB column family.",
+                "database",
+                "segment")
+            .labels(database, segment));
+  }
+
+  public OperationTimer getReadLatency() {
+    return readLatency;
+  }
+
+  public OperationTimer getWriteLatency() {
+    return writeLatency;
+  }
+
+  public OperationTimer getIteratorLatency() {
+    return iteratorLatency;
+  }
+
+  public Counter getBytesRead() {
+    return bytesRead;
+  }
+
+  public Counter getBytesWritten() {
+    return bytesWritten;
+  }
+}
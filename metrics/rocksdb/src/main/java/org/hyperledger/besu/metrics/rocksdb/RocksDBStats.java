@@ -39,6 +39,7 @@ public class RocksDBStats {
   // Tickers - RocksDB equivalent of counters
   static final TickerType[] TICKERS = {
     TickerType.BLOCK_CACHE_ADD,
+    TickerType.BLOCK_CACHE_MISS,
     TickerType.BLOCK_CACHE_HIT,
     TickerType.BLOCK_CACHE_ADD_FAILURES,
     TickerType.BLOCK_CACHE_INDEX_MISS,
@@ -185,11 +186,58 @@ public class RocksDBStats {
           () -> stats.getTickerCount(ticker));
     }
 
+    registerHitRatio(
+        stats,
+        metricsSystem,
+        category,
+        "block_cache_hit_ratio",
+        TickerType.BLOCK_CACHE_HIT,
+        TickerType.BLOCK_CACHE_MISS);
+    registerHitRatio(
+        stats,
+        metricsSystem,
+        category,
+        "block_cache_data_hit_ratio",
+        TickerType.BLOCK_CACHE_DATA_HIT,
+        TickerType.BLOCK_CACHE_DATA_MISS);
+    registerHitRatio(
+        stats,
+        metricsSystem,
+        category,
+        "block_cache_index_hit_ratio",
+        TickerType.BLOCK_CACHE_INDEX_HIT,
+        TickerType.BLOCK_CACHE_INDEX_MISS);
+    registerHitRatio(
+        stats,
+        metricsSystem,
+        category,
+        "block_cache_filter_hit_ratio",
+        TickerType.BLOCK_CACHE_FILTER_HIT,
+        TickerType.BLOCK_CACHE_FILTER_MISS);
+
     for (final HistogramType histogram : HISTOGRAMS) {
       metricsSystem.addCollector(category, () -> histogramToCollector(stats, histogram));
     }
   }
 
+  private static void registerHitRatio(
+      final Statistics stats,
+      final PrometheusMetricsSystem metricsSystem,
+      final MetricCategory category,
+      final String name,
+      final TickerType hits,
+      final TickerType misses) {
+    metricsSystem.createGauge(
+        category,
+        name,
+        "RocksDB ratio of " + hits.name() + " to all lookups since start",
+        () -> {
+          final long hitCount = stats.getTickerCount(hits);
+          final long total = hitCount + stats.getTickerCount(misses);
+          return total == 0 ? 0 : (double) hitCount / total;
+        });
+  }
+
   private static Collector histogramToCollector(
       final Statistics stats, final HistogramType histogram) {
     return new Collector() {
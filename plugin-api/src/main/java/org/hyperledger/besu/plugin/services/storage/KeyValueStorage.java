@@ -18,8 +18,13 @@ import org.hyperledger.besu.plugin.Unstable;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -63,6 +68,42 @@ public interface KeyValueStorage extends Closeable {
    */
   Optional<byte[]> get(byte[] key) throws StorageException;
 
+  /**
+   * Retrieves the value associated with a given key and converts it with a reader, which storage
+   * implementations may call with a reused buffer rather than copying the value into a new array.
+   *
+   * <p>The buffer holds the value between its position and limit, and is only valid until the
+   * reader returns, so the reader must copy any part of the value it keeps.
+   *
+   * @param key whose associated value is being retrieved.
+   * @param reader converts the value to the result.
+   * @param <T> the type of the result.
+   * @return an {@link Optional} containing the result of the reader for the value associated with
+   *     the specified key, otherwise empty.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default <T> Optional<T> get(final byte[] key, final Function<ByteBuffer, T> reader)
+      throws StorageException {
+    return get(key).map(value -> reader.apply(ByteBuffer.wrap(value)));
+  }
+
+  /**
+   * Retrieves the values associated with the given keys in a single operation, which storage
+   * implementations may serve more efficiently than separate calls to {@link #get(byte[])}.
+   *
+   * @param keys whose associated values are being retrieved.
+   * @return the values associated with the keys, in the same order as the keys, each empty when no
+   *     value is associated with its key.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    for (final byte[] key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Returns a stream of all keys and values.
    *
@@ -79,6 +120,38 @@ public interface KeyValueStorage extends Closeable {
    */
   Stream<byte[]> streamKeys() throws StorageException;
 
+  /**
+   * Returns a stream of the keys and values from the given key onwards, in ascending order of
+   * unsigned lexicographic key comparison. Ordered storage implementations seek straight to the
+   * start key rather than scanning from the beginning of the storage.
+   *
+   * @param startKey the first key to include, whether or not it is present.
+   * @return A stream of the keys and values at or after the start key.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKey)
+      throws StorageException {
+    return stream()
+        .filter(pair -> Arrays.compareUnsigned(pair.getKey(), startKey) >= 0)
+        .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+  }
+
+  /**
+   * Returns a stream of the keys and values from the start key up to, but excluding, the end key,
+   * in ascending order of unsigned lexicographic key comparison. All keys sharing a prefix can be
+   * streamed by passing the prefix as start key and the prefix incremented by one as end key.
+   *
+   * @param startKey the first key to include, whether or not it is present.
+   * @param endKey the key bounding the range, excluded from the stream.
+   * @return A stream of the keys and values in the range.
+   * @throws StorageException problem encountered during the retrieval attempt.
+   */
+  default Stream<Pair<byte[], byte[]>> streamRange(final byte[] startKey, final byte[] endKey)
+      throws StorageException {
+    return streamFromKey(startKey)
+        .takeWhile(pair -> Arrays.compareUnsigned(pair.getKey(), endKey) < 0);
+  }
+
   /**
    * Delete the value corresponding to the given key if a write lock can be instantly acquired on
    * the underlying storage. Do nothing otherwise.
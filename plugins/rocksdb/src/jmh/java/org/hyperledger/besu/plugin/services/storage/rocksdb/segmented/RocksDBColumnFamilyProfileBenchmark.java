@@ -0,0 +1,161 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBColumnFamilyProfile;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage.Transaction;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares column family profiles on a flat storage shaped segment: keys are a 32 byte account
+ * prefix followed by a 32 byte slot, read by point lookups, lookups of missing keys and range scans
+ * of a single account. The data is flushed to SST files before measuring so filters and block sizes
+ * are exercised rather than the memtable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RocksDBColumnFamilyProfileBenchmark {
+
+  private static final int ACCOUNTS = 10_000;
+  private static final int SLOTS_PER_ACCOUNT = 50;
+  // much smaller than the data set, so reads have to go to the SST files
+  private static final long CACHE_CAPACITY = 8 * 1024 * 1024;
+  private static final SegmentIdentifier SEGMENT =
+      new SegmentIdentifier() {
+        @Override
+        public String getName() {
+          return "ACCOUNT_STORAGE_STORAGE";
+        }
+
+        @Override
+        public byte[] getId() {
+          return "benchmark".getBytes(StandardCharsets.UTF_8);
+        }
+      };
+
+  @Param({"DEFAULT", "FLAT_STORAGE", "TRIE"})
+  public RocksDBColumnFamilyProfile profile;
+
+  private Path directory;
+  private RocksDBColumnarKeyValueStorage storage;
+  private RocksDbSegmentIdentifier segment;
+  private byte[][] accounts;
+  private Random random;
+
+  @Setup(Level.Trial)
+  public void prepare() throws Exception {
+    directory = Files.createTempDirectory("profile");
+    random = new Random(42);
+    accounts = new byte[ACCOUNTS][];
+    try (final RocksDBColumnarKeyValueStorage loader = open()) {
+      final RocksDbSegmentIdentifier loaderSegment = loader.getSegmentIdentifierByName(SEGMENT);
+      final Transaction<RocksDbSegmentIdentifier> tx = loader.startTransaction();
+      for (int i = 0; i < ACCOUNTS; i++) {
+        accounts[i] = new byte[32];
+        random.nextBytes(accounts[i]);
+        for (int j = 0; j < SLOTS_PER_ACCOUNT; j++) {
+          final byte[] value = new byte[32];
+          random.nextBytes(value);
+          tx.put(loaderSegment, key(accounts[i], j), value);
+        }
+      }
+      tx.commit();
+    }
+    // reopening flushes the recovered write ahead log into SST files
+    storage = open();
+    segment = storage.getSegmentIdentifierByName(SEGMENT);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Benchmark
+  public Optional<byte[]> get() {
+    return storage.get(segment, key(accounts[random.nextInt(ACCOUNTS)], randomSlot()));
+  }
+
+  @Benchmark
+  public Optional<byte[]> getMissing() {
+    final byte[] account = new byte[32];
+    random.nextBytes(account);
+    return storage.get(segment, key(account, randomSlot()));
+  }
+
+  @Benchmark
+  public long accountStorageRange() {
+    final byte[] account = accounts[random.nextInt(ACCOUNTS)];
+    return storage.streamRange(segment, key(account, 0), key(account, SLOTS_PER_ACCOUNT)).count();
+  }
+
+  private int randomSlot() {
+    return random.nextInt(SLOTS_PER_ACCOUNT);
+  }
+
+  private RocksDBColumnarKeyValueStorage open() {
+    final RocksDBConfiguration configuration =
+        new RocksDBConfigurationBuilder()
+            .databaseDir(directory)
+            .cacheCapacity(CACHE_CAPACITY)
+            .segmentProfiles(Map.of(SEGMENT.getName(), profile))
+            .build();
+    return new RocksDBColumnarKeyValueStorage(
+        configuration,
+        List.of(SEGMENT),
+        new NoOpMetricsSystem(),
+        RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+  }
+
+  private static byte[] key(final byte[] account, final int slot) {
+    final byte[] key = new byte[64];
+    System.arraycopy(account, 0, key, 0, 32);
+    key[60] = (byte) (slot >>> 24);
+    key[61] = (byte) (slot >>> 16);
+    key[62] = (byte) (slot >>> 8);
+    key[63] = (byte) slot;
+    return key;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.unsegmented;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Compares reading a batch of random keys one by one against a single batched read. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RocksDBMultiGetBenchmark {
+
+  private static final int ENTRIES = 100_000;
+
+  @Param({"16", "256"})
+  public int batchSize;
+
+  private Path directory;
+  private RocksDBKeyValueStorage storage;
+  private byte[][] keys;
+  private Random random;
+
+  @Setup(Level.Trial)
+  public void prepare() throws Exception {
+    directory = Files.createTempDirectory("multiget");
+    storage =
+        new RocksDBKeyValueStorage(
+            new RocksDBConfigurationBuilder().databaseDir(directory).build(),
+            new NoOpMetricsSystem(),
+            RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+    random = new Random(42);
+    keys = new byte[ENTRIES][];
+    final KeyValueStorageTransaction tx = storage.startTransaction();
+    for (int i = 0; i < ENTRIES; i++) {
+      keys[i] = new byte[32];
+      random.nextBytes(keys[i]);
+      final byte[] value = new byte[100];
+      random.nextBytes(value);
+      tx.put(keys[i], value);
+    }
+    tx.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    storage.close();
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Benchmark
+  public List<Optional<byte[]>> get() {
+    final List<Optional<byte[]>> values = new ArrayList<>(batchSize);
+    for (final byte[] key : batch()) {
+      values.add(storage.get(key));
+    }
+    return values;
+  }
+
+  @Benchmark
+  public List<Optional<byte[]>> multiGet() {
+    return storage.multiGet(batch());
+  }
+
+  private List<byte[]> batch() {
+    final List<byte[]> batch = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      batch.add(keys[random.nextInt(ENTRIES)]);
+    }
+    return batch;
+  }
+}
@@ -16,6 +16,8 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb;
 
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.metrics.rocksdb.RocksDBColumnFamilyStats;
+import org.hyperledger.besu.metrics.rocksdb.RocksDBSegmentMetrics;
 import org.hyperledger.besu.metrics.rocksdb.RocksDBStats;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
@@ -23,6 +25,10 @@ import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Statistics;
@@ -99,6 +105,9 @@ public class RocksDBMetricsFactory {
         "rocks_db_table_readers_memory_bytes",
         "Estimated memory used for RocksDB index and filter blocks in bytes",
         () -> {
+          if (!db.isOwningHandle()) {
+            return 0L;
+          }
           try {
             return db.getLongProperty("rocksdb.estimate-table-readers-mem");
           } catch (final RocksDBException e) {
@@ -112,6 +121,9 @@ public class RocksDBMetricsFactory {
         "rocks_db_files_size_bytes",
         "Estimated database size in bytes",
         () -> {
+          if (!db.isOwningHandle()) {
+            return 0L;
+          }
           try {
             return db.getLongProperty("rocksdb.live-sst-files-size");
           } catch (final RocksDBException e) {
@@ -132,4 +144,21 @@ public class RocksDBMetricsFactory {
     return new RocksDBMetrics(
         readLatency, removeLatency, writeLatency, commitLatency, rollbackCount);
   }
+
+  public RocksDBSegmentMetrics createSegmentMetrics(
+      final MetricsSystem metricsSystem,
+      final RocksDBConfiguration rocksDbConfiguration,
+      final String segmentName) {
+    return RocksDBSegmentMetrics.create(
+        metricsSystem, rocksDbMetricCategory, rocksDbConfiguration.getLabel(), segmentName);
+  }
+
+  public void registerColumnFamilyMetrics(
+      final MetricsSystem metricsSystem,
+      final RocksDBConfiguration rocksDbConfiguration,
+      final OptimisticTransactionDB db,
+      final Map<String, Supplier<ColumnFamilyHandle>> columnFamilies) {
+    RocksDBColumnFamilyStats.registerColumnFamilyMetrics(
+        metricsSystem, rocksDbMetricCategory, rocksDbConfiguration.getLabel(), db, columnFamilies);
+  }
 }
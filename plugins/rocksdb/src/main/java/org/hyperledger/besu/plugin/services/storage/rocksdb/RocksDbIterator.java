@@ -17,17 +17,23 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.rocksdb.AbstractNativeReference;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,14 +41,51 @@ public class RocksDbIterator implements Iterator<Pair<byte[], byte[]>>, AutoClos
   private static final Logger LOG = LoggerFactory.getLogger(RocksDbIterator.class);
 
   private final RocksIterator rocksIterator;
+  private final List<AbstractNativeReference> resources;
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
-  private RocksDbIterator(final RocksIterator rocksIterator) {
+  private RocksDbIterator(
+      final RocksIterator rocksIterator, final List<AbstractNativeReference> resources) {
     this.rocksIterator = rocksIterator;
+    this.resources = resources;
   }
 
   public static RocksDbIterator create(final RocksIterator rocksIterator) {
-    return new RocksDbIterator(rocksIterator);
+    return new RocksDbIterator(rocksIterator, List.of());
+  }
+
+  /**
+   * Create an iterator positioned on the start key that stops before the end key. The bounds are
+   * set on the read options, so RocksDB skips files and blocks outside the range and tombstones
+   * past the end key are never read.
+   *
+   * @param iteratorFactory opens the underlying iterator with the given read options
+   * @param baseOptions the read options to copy the bounds into, e.g. holding a snapshot, or null
+   * @param startKey the first key to iterate over
+   * @param endKey the key bounding the iteration, excluded, or null to iterate to the end
+   * @return an iterator over the range, releasing the read options once closed
+   */
+  public static RocksDbIterator createBounded(
+      final Function<ReadOptions, RocksIterator> iteratorFactory,
+      final ReadOptions baseOptions,
+      final byte[] startKey,
+      final byte[] endKey) {
+    final ReadOptions readOptions =
+        baseOptions == null ? new ReadOptions() : new ReadOptions(baseOptions);
+    final List<AbstractNativeReference> resources = new ArrayList<>(3);
+    resources.add(readOptions);
+    final Slice lowerBound = new Slice(startKey);
+    resources.add(lowerBound);
+    // only use prefix filters when both bounds share a prefix, which keeps range scans correct
+    readOptions.setAutoPrefixMode(true).setIterateLowerBound(lowerBound);
+    if (endKey != null) {
+      final Slice upperBound = new Slice(endKey);
+      resources.add(upperBound);
+      readOptions.setIterateUpperBound(upperBound);
+    }
+    final RocksIterator rocksIterator = iteratorFactory.apply(readOptions);
+    rocksIterator.seek(startKey);
+    return new RocksDbIterator(rocksIterator, resources);
   }
 
   @Override
@@ -135,6 +178,8 @@ public class RocksDbIterator implements Iterator<Pair<byte[], byte[]>>, AutoClos
   public void close() {
     if (closed.compareAndSet(false, true)) {
       rocksIterator.close();
+      // The options and their bounds must outlive the iterator using them
+      resources.forEach(AbstractNativeReference::close);
     }
   }
 }
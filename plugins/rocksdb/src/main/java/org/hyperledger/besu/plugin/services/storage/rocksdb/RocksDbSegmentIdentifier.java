@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.plugin.services.storage.rocksdb;
 
+import org.hyperledger.besu.metrics.rocksdb.RocksDBSegmentMetrics;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.util.Objects;
@@ -28,11 +29,23 @@ public class RocksDbSegmentIdentifier {
 
   private final OptimisticTransactionDB db;
   private final AtomicReference<ColumnFamilyHandle> reference;
+  private final RocksDBSegmentMetrics metrics;
+  private final boolean relaxedDurability;
 
   public RocksDbSegmentIdentifier(
       final OptimisticTransactionDB db, final ColumnFamilyHandle columnFamilyHandle) {
+    this(db, columnFamilyHandle, RocksDBSegmentMetrics.NO_OP, false);
+  }
+
+  public RocksDbSegmentIdentifier(
+      final OptimisticTransactionDB db,
+      final ColumnFamilyHandle columnFamilyHandle,
+      final RocksDBSegmentMetrics metrics,
+      final boolean relaxedDurability) {
     this.db = db;
     this.reference = new AtomicReference<>(columnFamilyHandle);
+    this.metrics = metrics;
+    this.relaxedDurability = relaxedDurability;
   }
 
   public void reset() {
@@ -56,6 +69,19 @@ public class RocksDbSegmentIdentifier {
     return reference.get();
   }
 
+  public RocksDBSegmentMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Whether writes to this segment bypass transactions and the write-ahead log.
+   *
+   * @return true if the segment is written with relaxed durability
+   */
+  public boolean isRelaxedDurability() {
+    return relaxedDurability;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -16,6 +16,10 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb;
 
 import org.hyperledger.besu.util.InvalidConfigurationException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 import org.rocksdb.RocksDB;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,4 +42,18 @@ public class RocksDbUtil {
       }
     }
   }
+
+  /**
+   * Wraps the values returned by a RocksDB multiGet, where missing keys are null.
+   *
+   * @param values the values in key order
+   * @return the values in key order, each empty when its key was missing
+   */
+  public static List<Optional<byte[]>> toOptionals(final List<byte[]> values) {
+    final List<Optional<byte[]>> result = new ArrayList<>(values.size());
+    for (final byte[] value : values) {
+      result.add(Optional.ofNullable(value));
+    }
+    return result;
+  }
 }
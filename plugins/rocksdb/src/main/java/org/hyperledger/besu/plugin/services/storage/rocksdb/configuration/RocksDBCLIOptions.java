@@ -14,6 +14,12 @@
  */
 package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import com.google.common.base.MoreObjects;
 import picocli.CommandLine;
 
@@ -24,6 +30,12 @@ public class RocksDBCLIOptions {
   public static final int DEFAULT_MAX_BACKGROUND_COMPACTIONS = 4;
   public static final int DEFAULT_BACKGROUND_THREAD_COUNT = 4;
   public static final boolean DEFAULT_IS_HIGH_SPEC = false;
+  public static final Set<String> DEFAULT_RELAXED_DURABILITY_SEGMENTS =
+      Set.of(
+          "BACKWARD_SYNC_HEADERS",
+          "BACKWARD_SYNC_BLOCKS",
+          "BACKWARD_SYNC_CHAIN",
+          "CHAIN_PRUNER_STATE");
 
   public static final String MAX_OPEN_FILES_FLAG = "--Xplugin-rocksdb-max-open-files";
   public static final String CACHE_CAPACITY_FLAG = "--Xplugin-rocksdb-cache-capacity";
@@ -32,6 +44,9 @@ public class RocksDBCLIOptions {
   public static final String BACKGROUND_THREAD_COUNT_FLAG =
       "--Xplugin-rocksdb-background-thread-count";
   public static final String IS_HIGH_SPEC = "--Xplugin-rocksdb-high-spec-enabled";
+  public static final String SEGMENT_PROFILES_FLAG = "--Xplugin-rocksdb-segment-profiles";
+  public static final String RELAXED_DURABILITY_SEGMENTS_FLAG =
+      "--Xplugin-rocksdb-relaxed-durability-segments";
 
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -73,6 +88,24 @@ public class RocksDBCLIOptions {
           "Use this flag to boost Besu performance if you have a 16 GiB RAM hardware or more (default: ${DEFAULT-VALUE})")
   boolean isHighSpec;
 
+  @CommandLine.Option(
+      names = {SEGMENT_PROFILES_FLAG},
+      hidden = true,
+      split = ",",
+      paramLabel = "<SEGMENT=PROFILE>",
+      description =
+          "Override the column family profile of segments, e.g. TRIE_LOG_STORAGE=DEFAULT. Valid profiles: ${COMPLETION-CANDIDATES}")
+  Map<String, RocksDBColumnFamilyProfile> segmentProfiles = new HashMap<>();
+
+  @CommandLine.Option(
+      names = {RELAXED_DURABILITY_SEGMENTS_FLAG},
+      hidden = true,
+      split = ",",
+      paramLabel = "<SEGMENT>",
+      description =
+          "Segments written without the write-ahead log or transaction conflict checks, for data that is rebuilt when lost. An empty value writes every segment transactionally (default: ${DEFAULT-VALUE})")
+  Set<String> relaxedDurabilitySegments = new HashSet<>(DEFAULT_RELAXED_DURABILITY_SEGMENTS);
+
   private RocksDBCLIOptions() {}
 
   public static RocksDBCLIOptions create() {
@@ -86,12 +119,22 @@ public class RocksDBCLIOptions {
     options.maxBackgroundCompactions = config.getMaxBackgroundCompactions();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
     options.isHighSpec = config.isHighSpec();
+    options.segmentProfiles = new HashMap<>(config.getSegmentProfiles());
+    options.relaxedDurabilitySegments = new HashSet<>(config.getRelaxedDurabilitySegments());
     return options;
   }
 
   public RocksDBFactoryConfiguration toDomainObject() {
     return new RocksDBFactoryConfiguration(
-        maxOpenFiles, maxBackgroundCompactions, backgroundThreadCount, cacheCapacity, isHighSpec);
+        maxOpenFiles,
+        maxBackgroundCompactions,
+        backgroundThreadCount,
+        cacheCapacity,
+        isHighSpec,
+        Map.copyOf(segmentProfiles),
+        relaxedDurabilitySegments.stream()
+            .filter(segment -> !segment.isEmpty())
+            .collect(Collectors.toUnmodifiableSet()));
   }
 
   public boolean isHighSpec() {
@@ -106,6 +149,8 @@ public class RocksDBCLIOptions {
         .add("maxBackgroundCompactions", maxBackgroundCompactions)
         .add("backgroundThreadCount", backgroundThreadCount)
         .add("isHighSpec", isHighSpec)
+        .add("segmentProfiles", segmentProfiles)
+        .add("relaxedDurabilitySegments", relaxedDurabilitySegments)
         .toString();
   }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
+
+import java.util.Map;
+
+import org.rocksdb.CompressionType;
+
+/**
+ * Named column family tunings, each matched to the key and access pattern of a group of segments.
+ */
+public enum RocksDBColumnFamilyProfile {
+  /** The settings every column family used before profiles existed. */
+  DEFAULT(CompressionType.LZ4_COMPRESSION, 32 * 1024, 0, false, false, 0.10),
+  /** Random point lookups of hash keyed trie nodes: small blocks and partitioned filters. */
+  TRIE(CompressionType.LZ4_COMPRESSION, 16 * 1024, 0, true, false, 0.35),
+  /** Flat account data, read by point lookups and account range scans. */
+  FLAT_ACCOUNT(CompressionType.LZ4_COMPRESSION, 16 * 1024, 0, true, false, 0.15),
+  /** Flat storage keyed by account hash then slot hash, so filter on the account hash prefix. */
+  FLAT_STORAGE(CompressionType.LZ4_COMPRESSION, 16 * 1024, 32, true, false, 0.20),
+  /** Code is only ever read by hash: use a data block hash index and memtable filtering. */
+  POINT_LOOKUP(CompressionType.LZ4_COMPRESSION, 32 * 1024, 0, false, true, 0.05),
+  /** Large values that are written once and rarely read: large blocks and strong compression. */
+  COLD(CompressionType.ZSTD_COMPRESSION, 64 * 1024, 0, false, false, 0.15);
+
+  private static final Map<String, RocksDBColumnFamilyProfile> SEGMENT_PROFILES =
+      Map.of(
+          "WORLD_STATE", TRIE,
+          "TRIE_BRANCH_STORAGE", TRIE,
+          "ACCOUNT_INFO_STATE", FLAT_ACCOUNT,
+          "ACCOUNT_STORAGE_STORAGE", FLAT_STORAGE,
+          "CODE_STORAGE", POINT_LOOKUP,
+          "TRIE_LOG_STORAGE", COLD,
+          "BLOCKCHAIN", COLD);
+
+  private final CompressionType compressionType;
+  private final long blockSize;
+  private final int prefixLength;
+  private final boolean partitionedFilters;
+  private final boolean pointLookup;
+  private final double cacheShare;
+
+  RocksDBColumnFamilyProfile(
+      final CompressionType compressionType,
+      final long blockSize,
+      final int prefixLength,
+      final boolean partitionedFilters,
+      final boolean pointLookup,
+      final double cacheShare) {
+    this.compressionType = compressionType;
+    this.blockSize = blockSize;
+    this.prefixLength = prefixLength;
+    this.partitionedFilters = partitionedFilters;
+    this.pointLookup = pointLookup;
+    this.cacheShare = cacheShare;
+  }
+
+  /**
+   * The profile used for a segment unless it is overridden on the command line.
+   *
+   * @param segmentName the name of the segment
+   * @return the default profile of the segment
+   */
+  public static RocksDBColumnFamilyProfile defaultFor(final String segmentName) {
+    return SEGMENT_PROFILES.getOrDefault(segmentName, DEFAULT);
+  }
+
+  public CompressionType getCompressionType() {
+    return compressionType;
+  }
+
+  public long getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * The length of the fixed key prefix used for prefix filtering, or 0 for whole key filtering
+   * only.
+   *
+   * @return the prefix length
+   */
+  public int getPrefixLength() {
+    return prefixLength;
+  }
+
+  public boolean isPartitionedFilters() {
+    return partitionedFilters;
+  }
+
+  public boolean isPointLookup() {
+    return pointLookup;
+  }
+
+  /**
+   * The fraction of the configured block cache capacity given to column families using this
+   * profile. The shares of all profiles add up to one.
+   *
+   * @return the block cache share
+   */
+  public double getCacheShare() {
+    return cacheShare;
+  }
+}
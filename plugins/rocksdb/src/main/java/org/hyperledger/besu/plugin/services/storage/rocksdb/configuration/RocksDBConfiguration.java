@@ -15,6 +15,8 @@
 package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
 
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
 
 public class RocksDBConfiguration {
 
@@ -25,6 +27,8 @@ public class RocksDBConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final Map<String, RocksDBColumnFamilyProfile> segmentProfiles;
+  private final Set<String> relaxedDurabilitySegments;
 
   public RocksDBConfiguration(
       final Path databaseDir,
@@ -33,7 +37,9 @@ public class RocksDBConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final String label,
-      final boolean isHighSpec) {
+      final boolean isHighSpec,
+      final Map<String, RocksDBColumnFamilyProfile> segmentProfiles,
+      final Set<String> relaxedDurabilitySegments) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
     this.databaseDir = databaseDir;
@@ -41,6 +47,8 @@ public class RocksDBConfiguration {
     this.cacheCapacity = cacheCapacity;
     this.label = label;
     this.isHighSpec = isHighSpec;
+    this.segmentProfiles = segmentProfiles;
+    this.relaxedDurabilitySegments = relaxedDurabilitySegments;
   }
 
   public Path getDatabaseDir() {
@@ -70,4 +78,37 @@ public class RocksDBConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  public Map<String, RocksDBColumnFamilyProfile> getSegmentProfiles() {
+    return segmentProfiles;
+  }
+
+  /**
+   * The column family profile of a segment, from the configured overrides or else the default
+   * profile for the segment.
+   *
+   * @param segmentName the name of the segment
+   * @return the profile to use for the segment's column family
+   */
+  public RocksDBColumnFamilyProfile getSegmentProfile(final String segmentName) {
+    return segmentProfiles.getOrDefault(
+        segmentName, RocksDBColumnFamilyProfile.defaultFor(segmentName));
+  }
+
+  public Set<String> getRelaxedDurabilitySegments() {
+    return relaxedDurabilitySegments;
+  }
+
+  /**
+   * Whether writes to a segment skip the write-ahead log and transaction conflict checks. Only
+   * segments holding data that is rebuilt when lost, such as sync progress, may be relaxed: their
+   * latest writes are lost when the process crashes before RocksDB flushes them. Commits that also
+   * write to other segments are written in full through the write-ahead log.
+   *
+   * @param segmentName the name of the segment
+   * @return true if the segment is written with relaxed durability
+   */
+  public boolean isRelaxedDurability(final String segmentName) {
+    return relaxedDurabilitySegments.contains(segmentName);
+  }
 }
@@ -19,8 +19,11 @@ import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_IS_HIGH_SPEC;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_BACKGROUND_COMPACTIONS;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_RELAXED_DURABILITY_SEGMENTS;
 
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
 
 public class RocksDBConfigurationBuilder {
 
@@ -31,6 +34,8 @@ public class RocksDBConfigurationBuilder {
   private int maxBackgroundCompactions = DEFAULT_MAX_BACKGROUND_COMPACTIONS;
   private int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
   private boolean isHighSpec = DEFAULT_IS_HIGH_SPEC;
+  private Map<String, RocksDBColumnFamilyProfile> segmentProfiles = Map.of();
+  private Set<String> relaxedDurabilitySegments = DEFAULT_RELAXED_DURABILITY_SEGMENTS;
 
   public RocksDBConfigurationBuilder databaseDir(final Path databaseDir) {
     this.databaseDir = databaseDir;
@@ -67,13 +72,27 @@ public class RocksDBConfigurationBuilder {
     return this;
   }
 
+  public RocksDBConfigurationBuilder segmentProfiles(
+      final Map<String, RocksDBColumnFamilyProfile> segmentProfiles) {
+    this.segmentProfiles = segmentProfiles;
+    return this;
+  }
+
+  public RocksDBConfigurationBuilder relaxedDurabilitySegments(
+      final Set<String> relaxedDurabilitySegments) {
+    this.relaxedDurabilitySegments = relaxedDurabilitySegments;
+    return this;
+  }
+
   public static RocksDBConfigurationBuilder from(final RocksDBFactoryConfiguration configuration) {
     return new RocksDBConfigurationBuilder()
         .backgroundThreadCount(configuration.getBackgroundThreadCount())
         .cacheCapacity(configuration.getCacheCapacity())
         .maxBackgroundCompactions(configuration.getMaxBackgroundCompactions())
         .maxOpenFiles(configuration.getMaxOpenFiles())
-        .isHighSpec(configuration.isHighSpec());
+        .isHighSpec(configuration.isHighSpec())
+        .segmentProfiles(configuration.getSegmentProfiles())
+        .relaxedDurabilitySegments(configuration.getRelaxedDurabilitySegments());
   }
 
   public RocksDBConfiguration build() {
@@ -84,6 +103,8 @@ public class RocksDBConfigurationBuilder {
         backgroundThreadCount,
         cacheCapacity,
         label,
-        isHighSpec);
+        isHighSpec,
+        segmentProfiles,
+        relaxedDurabilitySegments);
   }
 }
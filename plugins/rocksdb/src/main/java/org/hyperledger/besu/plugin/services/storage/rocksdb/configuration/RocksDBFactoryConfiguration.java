@@ -14,6 +14,11 @@
  */
 package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
 
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_RELAXED_DURABILITY_SEGMENTS;
+
+import java.util.Map;
+import java.util.Set;
+
 public class RocksDBFactoryConfiguration {
 
   private final int maxOpenFiles;
@@ -21,6 +26,8 @@ public class RocksDBFactoryConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final Map<String, RocksDBColumnFamilyProfile> segmentProfiles;
+  private final Set<String> relaxedDurabilitySegments;
 
   public RocksDBFactoryConfiguration(
       final int maxOpenFiles,
@@ -28,11 +35,47 @@ public class RocksDBFactoryConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final boolean isHighSpec) {
+    this(
+        maxOpenFiles,
+        maxBackgroundCompactions,
+        backgroundThreadCount,
+        cacheCapacity,
+        isHighSpec,
+        Map.of());
+  }
+
+  public RocksDBFactoryConfiguration(
+      final int maxOpenFiles,
+      final int maxBackgroundCompactions,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final boolean isHighSpec,
+      final Map<String, RocksDBColumnFamilyProfile> segmentProfiles) {
+    this(
+        maxOpenFiles,
+        maxBackgroundCompactions,
+        backgroundThreadCount,
+        cacheCapacity,
+        isHighSpec,
+        segmentProfiles,
+        DEFAULT_RELAXED_DURABILITY_SEGMENTS);
+  }
+
+  public RocksDBFactoryConfiguration(
+      final int maxOpenFiles,
+      final int maxBackgroundCompactions,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final boolean isHighSpec,
+      final Map<String, RocksDBColumnFamilyProfile> segmentProfiles,
+      final Set<String> relaxedDurabilitySegments) {
     this.maxBackgroundCompactions = maxBackgroundCompactions;
     this.backgroundThreadCount = backgroundThreadCount;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.isHighSpec = isHighSpec;
+    this.segmentProfiles = segmentProfiles;
+    this.relaxedDurabilitySegments = relaxedDurabilitySegments;
   }
 
   public int getMaxOpenFiles() {
@@ -54,4 +97,12 @@ public class RocksDBFactoryConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  public Map<String, RocksDBColumnFamilyProfile> getSegmentProfiles() {
+    return segmentProfiles;
+  }
+
+  public Set<String> getRelaxedDurabilitySegments() {
+    return relaxedDurabilitySegments;
+  }
 }
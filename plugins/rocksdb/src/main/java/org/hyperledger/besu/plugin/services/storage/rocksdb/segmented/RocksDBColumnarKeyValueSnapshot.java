@@ -24,6 +24,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -55,11 +56,26 @@ public class RocksDBColumnarKeyValueSnapshot implements SnappedKeyValueStorage {
     return snapTx.get(key);
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    return snapTx.multiGet(keys);
+  }
+
   @Override
   public Stream<Pair<byte[], byte[]>> stream() {
     return snapTx.stream();
   }
 
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKey) {
+    return snapTx.streamRange(startKey, null);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(final byte[] startKey, final byte[] endKey) {
+    return snapTx.streamRange(startKey, endKey);
+  }
+
   @Override
   public Stream<byte[]> streamKeys() {
     return snapTx.streamKeys();
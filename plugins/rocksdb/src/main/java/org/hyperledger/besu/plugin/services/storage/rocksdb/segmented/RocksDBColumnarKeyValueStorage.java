@@ -17,8 +17,10 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
 import static java.util.Objects.requireNonNullElse;
 import static java.util.stream.Collectors.toUnmodifiableSet;
 
+import org.hyperledger.besu.metrics.rocksdb.RocksDBSegmentMetrics;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
@@ -26,36 +28,45 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactor
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBColumnFamilyProfile;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage;
 import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageTransactionTransitionValidatorDecorator;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
-import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
+import org.rocksdb.IndexType;
 import org.rocksdb.LRUCache;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
@@ -73,7 +84,7 @@ public class RocksDBColumnarKeyValueStorage
   private static final String DEFAULT_COLUMN = "default";
   private static final String NO_SPACE_LEFT_ON_DEVICE = "No space left on device";
   private static final int ROCKSDB_FORMAT_VERSION = 5;
-  private static final long ROCKSDB_BLOCK_SIZE = 32768;
+  private static final double ROCKSDB_MEMTABLE_PREFIX_BLOOM_SIZE_RATIO = 0.02;
   private static final long ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC = 1_073_741_824L;
   private static final long ROCKSDB_MEMTABLE_SIZE_HIGH_SPEC = 1_073_741_824L;
 
@@ -89,6 +100,11 @@ public class RocksDBColumnarKeyValueStorage
   private final RocksDBMetrics metrics;
   private final WriteOptions tryDeleteOptions =
       new WriteOptions().setNoSlowdown(true).setIgnoreMissingColumnFamilies(true);
+  private final WriteOptions relaxedWriteOptions =
+      new WriteOptions().setDisableWAL(true).setIgnoreMissingColumnFamilies(true);
+  private final RocksDBGroupCommitter relaxedCommitter;
+  private final ReadOptions readOptions = new ReadOptions();
+  private final RocksDBDirectReader directReader;
 
   public RocksDBColumnarKeyValueStorage(
       final RocksDBConfiguration configuration,
@@ -118,24 +134,28 @@ public class RocksDBColumnarKeyValueStorage
                   existingColumnFamilies.stream()
                       .noneMatch(existed -> Arrays.equals(existed, ignorableSegment.getId())))
           .forEach(trimmedSegments::remove);
+      final Map<RocksDBColumnFamilyProfile, Cache> blockCaches =
+          new EnumMap<>(RocksDBColumnFamilyProfile.class);
       final List<ColumnFamilyDescriptor> columnDescriptors =
           trimmedSegments.stream()
               .map(
                   segment ->
                       new ColumnFamilyDescriptor(
                           segment.getId(),
-                          new ColumnFamilyOptions()
-                              .setTtl(0)
-                              .setCompressionType(CompressionType.LZ4_COMPRESSION)
-                              .setTableFormatConfig(createBlockBasedTableConfig(configuration))))
+                          configureColumnFamily(
+                              new ColumnFamilyOptions(),
+                              configuration,
+                              configuration.getSegmentProfile(segment.getName()),
+                              blockCaches)))
               .collect(Collectors.toList());
       columnDescriptors.add(
           new ColumnFamilyDescriptor(
               DEFAULT_COLUMN.getBytes(StandardCharsets.UTF_8),
-              columnFamilyOptions
-                  .setTtl(0)
-                  .setCompressionType(CompressionType.LZ4_COMPRESSION)
-                  .setTableFormatConfig(createBlockBasedTableConfig(configuration))));
+              configureColumnFamily(
+                  columnFamilyOptions,
+                  configuration,
+                  RocksDBColumnFamilyProfile.DEFAULT,
+                  blockCaches)));
 
       final Statistics stats = new Statistics();
       if (configuration.isHighSpec()) {
@@ -181,55 +201,143 @@ public class RocksDBColumnarKeyValueStorage
         final String segmentName =
             requireNonNullElse(
                 segmentsById.get(Bytes.wrap(columnHandle.getName())), DEFAULT_COLUMN);
-        builder.put(segmentName, new RocksDbSegmentIdentifier(db, columnHandle));
+        builder.put(
+            segmentName,
+            new RocksDbSegmentIdentifier(
+                db,
+                columnHandle,
+                rocksDBMetricsFactory.createSegmentMetrics(
+                    metricsSystem, configuration, segmentName),
+                configuration.isRelaxedDurability(segmentName)));
       }
       columnHandlesByName = builder.build();
+      relaxedCommitter = new RocksDBGroupCommitter(db, relaxedWriteOptions);
+      directReader = new RocksDBDirectReader(db, readOptions);
+      rocksDBMetricsFactory.registerColumnFamilyMetrics(
+          metricsSystem,
+          configuration,
+          db,
+          Maps.transformValues(columnHandlesByName, segment -> segment::get));
 
     } catch (final RocksDBException e) {
       throw new StorageException(e);
     }
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfig(final RocksDBConfiguration config) {
-    if (config.isHighSpec()) return createBlockBasedTableConfigHighSpec();
-    else return createBlockBasedTableConfigDefault(config);
+  private ColumnFamilyOptions configureColumnFamily(
+      final ColumnFamilyOptions columnFamilyOptions,
+      final RocksDBConfiguration config,
+      final RocksDBColumnFamilyProfile profile,
+      final Map<RocksDBColumnFamilyProfile, Cache> blockCaches) {
+    final long cacheCapacity =
+        (long)
+            ((config.isHighSpec() ? ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC : config.getCacheCapacity())
+                * profile.getCacheShare());
+    columnFamilyOptions.setTtl(0).setCompressionType(profile.getCompressionType());
+    if (profile.getPrefixLength() > 0) {
+      columnFamilyOptions
+          .useFixedLengthPrefixExtractor(profile.getPrefixLength())
+          .setMemtablePrefixBloomSizeRatio(ROCKSDB_MEMTABLE_PREFIX_BLOOM_SIZE_RATIO);
+    }
+    if (profile.isPointLookup()) {
+      // sets up its own table config with a data block hash index and its own block cache share
+      return columnFamilyOptions.optimizeForPointLookup(Math.max(1, cacheCapacity >> 20));
+    }
+    final BlockBasedTableConfig tableConfig =
+        new BlockBasedTableConfig()
+            .setFormatVersion(ROCKSDB_FORMAT_VERSION)
+            .setBlockCache(blockCaches.computeIfAbsent(profile, p -> new LRUCache(cacheCapacity)))
+            .setFilterPolicy(new BloomFilter(10, false))
+            .setWholeKeyFiltering(true)
+            .setPartitionFilters(true)
+            .setCacheIndexAndFilterBlocks(false)
+            .setBlockSize(profile.getBlockSize());
+    if (profile.isPartitionedFilters()) {
+      // partitioned index and filters are paged through the block cache, only the top level is
+      // pinned in memory
+      tableConfig
+          .setIndexType(IndexType.kTwoLevelIndexSearch)
+          .setCacheIndexAndFilterBlocks(true)
+          .setCacheIndexAndFilterBlocksWithHighPriority(true)
+          .setPinTopLevelIndexAndFilter(true);
+    }
+    return columnFamilyOptions.setTableFormatConfig(tableConfig);
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfigHighSpec() {
-    final LRUCache cache = new LRUCache(ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC);
-    return new BlockBasedTableConfig()
-        .setFormatVersion(ROCKSDB_FORMAT_VERSION)
-        .setBlockCache(cache)
-        .setFilterPolicy(new BloomFilter(10, false))
-        .setPartitionFilters(true)
-        .setCacheIndexAndFilterBlocks(false)
-        .setBlockSize(ROCKSDB_BLOCK_SIZE);
+  @Override
+  public RocksDbSegmentIdentifier getSegmentIdentifierByName(final SegmentIdentifier segment) {
+    return columnHandlesByName.get(segment.getName());
   }
 
-  private BlockBasedTableConfig createBlockBasedTableConfigDefault(
-      final RocksDBConfiguration config) {
-    final LRUCache cache = new LRUCache(config.getCacheCapacity());
-    return new BlockBasedTableConfig()
-        .setFormatVersion(ROCKSDB_FORMAT_VERSION)
-        .setBlockCache(cache)
-        .setFilterPolicy(new BloomFilter(10, false))
-        .setPartitionFilters(true)
-        .setCacheIndexAndFilterBlocks(false)
-        .setBlockSize(ROCKSDB_BLOCK_SIZE);
+  @Override
+  public Optional<byte[]> get(final RocksDbSegmentIdentifier segment, final byte[] key)
+      throws StorageException {
+    throwIfClosed();
+
+    final RocksDBSegmentMetrics segmentMetrics = segment.getMetrics();
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer();
+        final OperationTimer.TimingContext ignoredSegment =
+            segmentMetrics.getReadLatency().startTimer()) {
+      final byte[] value = db.get(segment.get(), key);
+      if (value != null) {
+        segmentMetrics.getBytesRead().inc(value.length);
+      }
+      return Optional.ofNullable(value);
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
   }
 
   @Override
-  public RocksDbSegmentIdentifier getSegmentIdentifierByName(final SegmentIdentifier segment) {
-    return columnHandlesByName.get(segment.getName());
+  public <T> Optional<T> get(
+      final RocksDbSegmentIdentifier segment,
+      final byte[] key,
+      final Function<ByteBuffer, T> reader)
+      throws StorageException {
+    throwIfClosed();
+
+    final RocksDBSegmentMetrics segmentMetrics = segment.getMetrics();
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer();
+        final OperationTimer.TimingContext ignoredSegment =
+            segmentMetrics.getReadLatency().startTimer()) {
+      return directReader.get(segment.get(), key, reader, segmentMetrics.getBytesRead());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
   }
 
   @Override
-  public Optional<byte[]> get(final RocksDbSegmentIdentifier segment, final byte[] key)
+  public boolean containsKey(final RocksDbSegmentIdentifier segment, final byte[] key)
       throws StorageException {
     throwIfClosed();
 
-    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
-      return Optional.ofNullable(db.get(segment.get(), key));
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer();
+        final OperationTimer.TimingContext ignoredSegment =
+            segment.getMetrics().getReadLatency().startTimer()) {
+      return directReader.containsKey(segment.get(), key);
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final RocksDbSegmentIdentifier segment, final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+
+    final RocksDBSegmentMetrics segmentMetrics = segment.getMetrics();
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer();
+        final OperationTimer.TimingContext ignoredSegment =
+            segmentMetrics.getReadLatency().startTimer()) {
+      final List<byte[]> values =
+          db.multiGetAsList(Collections.nCopies(keys.size(), segment.get()), keys);
+      segmentMetrics
+          .getBytesRead()
+          .inc(values.stream().filter(Objects::nonNull).mapToLong(value -> value.length).sum());
+      return RocksDbUtil.toOptionals(values);
     } catch (final RocksDBException e) {
       throw new StorageException(e);
     }
@@ -244,24 +352,61 @@ public class RocksDBColumnarKeyValueStorage
   @Override
   public Transaction<RocksDbSegmentIdentifier> startTransaction() throws StorageException {
     throwIfClosed();
-    final WriteOptions writeOptions = new WriteOptions();
-    writeOptions.setIgnoreMissingColumnFamilies(true);
     return new SegmentedKeyValueStorageTransactionTransitionValidatorDecorator<>(
-        new RocksDbTransaction(db.beginTransaction(writeOptions), writeOptions));
+        new RocksDbTransaction());
   }
 
   @Override
   public Stream<Pair<byte[], byte[]>> stream(final RocksDbSegmentIdentifier segmentHandle) {
-    final RocksIterator rocksIterator = db.newIterator(segmentHandle.get());
-    rocksIterator.seekToFirst();
-    return RocksDbIterator.create(rocksIterator).toStream();
+    final RocksIterator rocksIterator;
+    try (final OperationTimer.TimingContext ignored =
+        segmentHandle.getMetrics().getIteratorLatency().startTimer()) {
+      rocksIterator = db.newIterator(segmentHandle.get());
+      rocksIterator.seekToFirst();
+    }
+    return countBytesRead(segmentHandle, RocksDbIterator.create(rocksIterator).toStream());
   }
 
   @Override
   public Stream<byte[]> streamKeys(final RocksDbSegmentIdentifier segmentHandle) {
-    final RocksIterator rocksIterator = db.newIterator(segmentHandle.get());
-    rocksIterator.seekToFirst();
-    return RocksDbIterator.create(rocksIterator).toStreamKeys();
+    final RocksIterator rocksIterator;
+    try (final OperationTimer.TimingContext ignored =
+        segmentHandle.getMetrics().getIteratorLatency().startTimer()) {
+      rocksIterator = db.newIterator(segmentHandle.get());
+      rocksIterator.seekToFirst();
+    }
+    final Counter bytesRead = segmentHandle.getMetrics().getBytesRead();
+    return RocksDbIterator.create(rocksIterator)
+        .toStreamKeys()
+        .peek(key -> bytesRead.inc(key.length));
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(
+      final RocksDbSegmentIdentifier segmentHandle, final byte[] startKey) {
+    return streamRange(segmentHandle, startKey, null);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(
+      final RocksDbSegmentIdentifier segmentHandle, final byte[] startKey, final byte[] endKey) {
+    final RocksDbIterator rocksDbIterator;
+    try (final OperationTimer.TimingContext ignored =
+        segmentHandle.getMetrics().getIteratorLatency().startTimer()) {
+      rocksDbIterator =
+          RocksDbIterator.createBounded(
+              readOptions -> db.newIterator(segmentHandle.get(), readOptions),
+              null,
+              startKey,
+              endKey);
+    }
+    return countBytesRead(segmentHandle, rocksDbIterator.toStream());
+  }
+
+  private static Stream<Pair<byte[], byte[]>> countBytesRead(
+      final RocksDbSegmentIdentifier segmentHandle, final Stream<Pair<byte[], byte[]>> stream) {
+    final Counter bytesRead = segmentHandle.getMetrics().getBytesRead();
+    return stream.peek(pair -> bytesRead.inc(pair.getKey().length + pair.getValue().length));
   }
 
   @Override
@@ -311,6 +456,8 @@ public class RocksDBColumnarKeyValueStorage
       txOptions.close();
       options.close();
       tryDeleteOptions.close();
+      relaxedWriteOptions.close();
+      readOptions.close();
       columnHandlesByName.values().stream()
           .map(RocksDbSegmentIdentifier::get)
           .forEach(ColumnFamilyHandle::close);
@@ -325,20 +472,30 @@ public class RocksDBColumnarKeyValueStorage
     }
   }
 
+  /**
+   * Writes to relaxed durability segments are collected in a batch. When the commit only touches
+   * relaxed segments the batch is written through the group committer. Otherwise it is added to the
+   * transaction holding the writes to all other segments, so that the commit stays atomic. The
+   * transaction itself is only started on the first write to a transactional segment.
+   */
   private class RocksDbTransaction implements Transaction<RocksDbSegmentIdentifier> {
 
-    private final org.rocksdb.Transaction innerTx;
-    private final WriteOptions options;
-
-    RocksDbTransaction(final org.rocksdb.Transaction innerTx, final WriteOptions options) {
-      this.innerTx = innerTx;
-      this.options = options;
-    }
+    private final RocksDBGroupCommitter.Batch relaxedBatch = new RocksDBGroupCommitter.Batch();
+    private org.rocksdb.Transaction innerTx;
+    private WriteOptions options;
 
     @Override
     public void put(final RocksDbSegmentIdentifier segment, final byte[] key, final byte[] value) {
-      try (final OperationTimer.TimingContext ignored = metrics.getWriteLatency().startTimer()) {
-        innerTx.put(segment.get(), key, value);
+      final RocksDBSegmentMetrics segmentMetrics = segment.getMetrics();
+      try (final OperationTimer.TimingContext ignored = metrics.getWriteLatency().startTimer();
+          final OperationTimer.TimingContext ignoredSegment =
+              segmentMetrics.getWriteLatency().startTimer()) {
+        if (segment.isRelaxedDurability()) {
+          relaxedBatch.put(segment.get(), key, value);
+        } else {
+          innerTx().put(segment.get(), key, value);
+        }
+        segmentMetrics.getBytesWritten().inc(key.length + value.length);
       } catch (final RocksDBException e) {
         if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
           LOG.error(e.getMessage());
@@ -351,7 +508,11 @@ public class RocksDBColumnarKeyValueStorage
     @Override
     public void remove(final RocksDbSegmentIdentifier segment, final byte[] key) {
       try (final OperationTimer.TimingContext ignored = metrics.getRemoveLatency().startTimer()) {
-        innerTx.delete(segment.get(), key);
+        if (segment.isRelaxedDurability()) {
+          relaxedBatch.remove(segment.get(), key);
+        } else {
+          innerTx().delete(segment.get(), key);
+        }
       } catch (final RocksDBException e) {
         if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
           LOG.error(e.getMessage());
@@ -364,7 +525,12 @@ public class RocksDBColumnarKeyValueStorage
     @Override
     public synchronized void commit() throws StorageException {
       try (final OperationTimer.TimingContext ignored = metrics.getCommitLatency().startTimer()) {
-        innerTx.commit();
+        if (innerTx != null) {
+          relaxedBatch.applyTo(innerTx);
+          innerTx.commit();
+        } else {
+          relaxedCommitter.commit(relaxedBatch);
+        }
       } catch (final RocksDBException e) {
         if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
           LOG.error(e.getMessage());
@@ -379,7 +545,10 @@ public class RocksDBColumnarKeyValueStorage
     @Override
     public void rollback() {
       try {
-        innerTx.rollback();
+        if (innerTx != null) {
+          innerTx.rollback();
+        }
+        relaxedBatch.clear();
         metrics.getRollbackCount().inc();
       } catch (final RocksDBException e) {
         if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
@@ -392,9 +561,19 @@ public class RocksDBColumnarKeyValueStorage
       }
     }
 
+    private org.rocksdb.Transaction innerTx() {
+      if (innerTx == null) {
+        options = new WriteOptions().setIgnoreMissingColumnFamilies(true);
+        innerTx = db.beginTransaction(options);
+      }
+      return innerTx;
+    }
+
     private void close() {
-      innerTx.close();
-      options.close();
+      if (innerTx != null) {
+        innerTx.close();
+        options.close();
+      }
     }
   }
 }
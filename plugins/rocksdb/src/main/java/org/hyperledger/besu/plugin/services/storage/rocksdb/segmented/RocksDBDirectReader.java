@@ -0,0 +1,127 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
+
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * Reads values into direct buffers owned by the reading thread, so a value is copied once from
+ * RocksDB into native memory that is reused across reads instead of into a new array per read.
+ *
+ * <p>The buffers grow on demand up to {@link #MAX_REUSED_VALUE_SIZE}; larger values are read into a
+ * new array. A read made while the thread's buffers are still lent to a reader, such as a read from
+ * within that reader, also falls back to a new array.
+ */
+class RocksDBDirectReader {
+
+  static final int MAX_REUSED_VALUE_SIZE = 64 * 1024;
+  private static final int INITIAL_KEY_SIZE = 128;
+  private static final int INITIAL_VALUE_SIZE = 1024;
+  private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+  private final RocksDB db;
+  private final ReadOptions readOptions;
+
+  RocksDBDirectReader(final RocksDB db, final ReadOptions readOptions) {
+    this.db = db;
+    this.readOptions = readOptions;
+  }
+
+  <T> Optional<T> get(
+      final ColumnFamilyHandle handle,
+      final byte[] key,
+      final Function<ByteBuffer, T> reader,
+      final Counter bytesRead)
+      throws RocksDBException {
+    final Buffers buffers = BUFFERS.get();
+    if (buffers.inUse) {
+      return getCopy(handle, key, bytesRead).map(reader);
+    }
+    buffers.inUse = true;
+    try {
+      final ByteBuffer keyBuffer = buffers.key(key);
+      while (true) {
+        final ByteBuffer valueBuffer = buffers.value;
+        keyBuffer.position(0);
+        valueBuffer.clear();
+        final int size = db.get(handle, readOptions, keyBuffer, valueBuffer);
+        if (size == RocksDB.NOT_FOUND) {
+          return Optional.empty();
+        }
+        if (size <= valueBuffer.capacity()) {
+          bytesRead.inc(size);
+          return Optional.ofNullable(reader.apply(valueBuffer));
+        }
+        if (size > MAX_REUSED_VALUE_SIZE) {
+          return getCopy(handle, key, bytesRead).map(reader);
+        }
+        buffers.growValue(size);
+      }
+    } finally {
+      buffers.inUse = false;
+    }
+  }
+
+  boolean containsKey(final ColumnFamilyHandle handle, final byte[] key) throws RocksDBException {
+    final Buffers buffers = BUFFERS.get();
+    if (buffers.inUse) {
+      return db.get(handle, readOptions, key) != null;
+    }
+    // an empty value buffer makes RocksDB report the value size without copying the value
+    final ByteBuffer noValue = buffers.value.clear().limit(0);
+    return db.get(handle, readOptions, buffers.key(key), noValue) != RocksDB.NOT_FOUND;
+  }
+
+  private Optional<ByteBuffer> getCopy(
+      final ColumnFamilyHandle handle, final byte[] key, final Counter bytesRead)
+      throws RocksDBException {
+    final byte[] value = db.get(handle, readOptions, key);
+    if (value == null) {
+      return Optional.empty();
+    }
+    bytesRead.inc(value.length);
+    return Optional.of(ByteBuffer.wrap(value));
+  }
+
+  private static class Buffers {
+    private ByteBuffer key = ByteBuffer.allocateDirect(INITIAL_KEY_SIZE);
+    private ByteBuffer value = ByteBuffer.allocateDirect(INITIAL_VALUE_SIZE);
+    private boolean inUse;
+
+    private ByteBuffer key(final byte[] bytes) {
+      if (bytes.length > key.capacity()) {
+        key = ByteBuffer.allocateDirect(bytes.length);
+      }
+      key.clear();
+      key.put(bytes).flip();
+      return key;
+    }
+
+    private void growValue(final int size) {
+      value =
+          ByteBuffer.allocateDirect(
+              Math.min(Integer.highestOneBit(size) << 1, MAX_REUSED_VALUE_SIZE));
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.base.Throwables;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Transaction;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+/**
+ * Writes updates outside of transactions, grouping the batches committed concurrently into a single
+ * RocksDB write.
+ *
+ * <p>A committing thread queues its batch, then whichever thread holds the write lock drains the
+ * queue into one write batch on behalf of all waiting committers. A commit only returns once its
+ * batch has been written, so its updates are visible to the reads that follow it.
+ */
+class RocksDBGroupCommitter {
+
+  private static final int MAX_GROUP_SIZE = 256;
+
+  private final RocksDB db;
+  private final WriteOptions writeOptions;
+  private final Queue<Batch> pending = new ConcurrentLinkedQueue<>();
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  RocksDBGroupCommitter(final RocksDB db, final WriteOptions writeOptions) {
+    this.db = db;
+    this.writeOptions = writeOptions;
+  }
+
+  void commit(final Batch batch) throws RocksDBException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    pending.add(batch);
+    writeLock.lock();
+    try {
+      while (!batch.written) {
+        writeGroup();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+    if (batch.failure != null) {
+      Throwables.throwIfInstanceOf(batch.failure, RocksDBException.class);
+      Throwables.throwIfUnchecked(batch.failure);
+    }
+  }
+
+  private void writeGroup() {
+    final List<Batch> group = new ArrayList<>();
+    Exception failure = null;
+    try (final WriteBatch writeBatch = new WriteBatch()) {
+      Batch next;
+      while (group.size() < MAX_GROUP_SIZE && (next = pending.poll()) != null) {
+        group.add(next);
+        next.applyTo(writeBatch);
+      }
+      db.write(writeOptions, writeBatch);
+    } catch (final RocksDBException | RuntimeException e) {
+      failure = e;
+    } catch (final Error e) {
+      failure = new IllegalStateException("Failed to write grouped batches", e);
+      throw e;
+    } finally {
+      // the committers of the drained batches wait until their batch is marked written
+      for (final Batch batch : group) {
+        batch.failure = failure;
+        batch.written = true;
+      }
+    }
+  }
+
+  /** The updates of one commit, applied in order. Not thread safe. */
+  static class Batch {
+    private final List<ColumnFamilyHandle> handles = new ArrayList<>();
+    private final List<byte[]> keys = new ArrayList<>();
+    // null for a removal
+    private final List<byte[]> values = new ArrayList<>();
+    private boolean written;
+    private Exception failure;
+
+    void put(final ColumnFamilyHandle handle, final byte[] key, final byte[] value) {
+      handles.add(handle);
+      keys.add(key);
+      values.add(value);
+    }
+
+    void remove(final ColumnFamilyHandle handle, final byte[] key) {
+      put(handle, key, null);
+    }
+
+    boolean isEmpty() {
+      return keys.isEmpty();
+    }
+
+    void clear() {
+      handles.clear();
+      keys.clear();
+      values.clear();
+    }
+
+    void applyTo(final Transaction transaction) throws RocksDBException {
+      for (int i = 0; i < keys.size(); i++) {
+        final byte[] value = values.get(i);
+        if (value == null) {
+          transaction.delete(handles.get(i), keys.get(i));
+        } else {
+          transaction.put(handles.get(i), keys.get(i), value);
+        }
+      }
+    }
+
+    private void applyTo(final WriteBatch writeBatch) throws RocksDBException {
+      for (int i = 0; i < keys.size(); i++) {
+        final byte[] value = values.get(i);
+        if (value == null) {
+          writeBatch.delete(handles.get(i), keys.get(i));
+        } else {
+          writeBatch.put(handles.get(i), keys.get(i), value);
+        }
+      }
+    }
+  }
+}
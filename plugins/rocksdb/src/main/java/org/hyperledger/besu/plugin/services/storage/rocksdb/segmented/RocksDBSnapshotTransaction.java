@@ -20,7 +20,10 @@ import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
@@ -91,6 +94,24 @@ public class RocksDBSnapshotTransaction implements KeyValueStorageTransaction, A
     }
   }
 
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) {
+    if (isClosed.get()) {
+      LOG.debug("Attempted to access closed snapshot");
+      return Collections.nCopies(keys.size(), Optional.empty());
+    }
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      return RocksDbUtil.toOptionals(
+          snapTx.multiGetAsList(
+              readOptions, Collections.nCopies(keys.size(), columnFamilyHandle), keys));
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public void put(final byte[] key, final byte[] value) {
     if (isClosed.get()) {
@@ -132,6 +153,12 @@ public class RocksDBSnapshotTransaction implements KeyValueStorageTransaction, A
     return RocksDbIterator.create(rocksIterator).toStream();
   }
 
+  public Stream<Pair<byte[], byte[]>> streamRange(final byte[] startKey, final byte[] endKey) {
+    return RocksDbIterator.createBounded(
+            options -> db.newIterator(columnFamilyHandle, options), readOptions, startKey, endKey)
+        .toStream();
+  }
+
   public Stream<byte[]> streamKeys() {
     final RocksIterator rocksIterator = db.newIterator(columnFamilyHandle, readOptions);
     rocksIterator.seekToFirst();
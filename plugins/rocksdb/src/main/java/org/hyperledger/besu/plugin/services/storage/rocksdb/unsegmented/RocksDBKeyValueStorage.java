@@ -28,6 +28,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import org.hyperledger.besu.services.kvstore.KeyValueStorageTransactionTransitionValidatorDecorator;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -120,6 +121,21 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+
+    try (final OperationTimer.TimingContext ignored =
+        rocksDBMetrics.getReadLatency().startTimer()) {
+      return RocksDbUtil.toOptionals(db.multiGetAsList(keys));
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     return stream()
@@ -135,6 +151,16 @@ public class RocksDBKeyValueStorage implements KeyValueStorage {
     return RocksDbIterator.create(rocksIterator).toStream();
   }
 
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKey) {
+    return streamRange(startKey, null);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(final byte[] startKey, final byte[] endKey) {
+    return RocksDbIterator.createBounded(db::newIterator, null, startKey, endKey).toStream();
+  }
+
   @Override
   public Stream<byte[]> streamKeys() {
     final RocksIterator rocksIterator = db.newIterator();
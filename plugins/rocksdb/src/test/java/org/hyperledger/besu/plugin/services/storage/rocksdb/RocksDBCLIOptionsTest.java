@@ -15,17 +15,24 @@
 package org.hyperledger.besu.plugin.services.storage.rocksdb;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.CACHE_CAPACITY_FLAG;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_BACKGROUND_THREAD_COUNT;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_CAPACITY;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_IS_HIGH_SPEC;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_BACKGROUND_COMPACTIONS;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_RELAXED_DURABILITY_SEGMENTS;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.IS_HIGH_SPEC;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.MAX_BACKGROUND_COMPACTIONS_FLAG;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.MAX_OPEN_FILES_FLAG;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.RELAXED_DURABILITY_SEGMENTS_FLAG;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.SEGMENT_PROFILES_FLAG;
 
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBColumnFamilyProfile;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBFactoryConfiguration;
 
 import org.junit.Test;
@@ -47,6 +54,8 @@ public class RocksDBCLIOptionsTest {
         .isEqualTo(DEFAULT_MAX_BACKGROUND_COMPACTIONS);
     assertThat(configuration.getMaxOpenFiles()).isEqualTo(DEFAULT_MAX_OPEN_FILES);
     assertThat(configuration.isHighSpec()).isEqualTo(DEFAULT_IS_HIGH_SPEC);
+    assertThat(configuration.getRelaxedDurabilitySegments())
+        .isEqualTo(DEFAULT_RELAXED_DURABILITY_SEGMENTS);
   }
 
   @Test
@@ -120,6 +129,49 @@ public class RocksDBCLIOptionsTest {
     assertThat(configuration.isHighSpec()).isEqualTo(DEFAULT_IS_HIGH_SPEC);
   }
 
+  @Test
+  public void customSegmentProfiles() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+
+    new CommandLine(options).parseArgs(SEGMENT_PROFILES_FLAG, "TRIE_LOG_STORAGE=DEFAULT,FOO=COLD");
+
+    final RocksDBFactoryConfiguration configuration = options.toDomainObject();
+    assertThat(configuration.getSegmentProfiles())
+        .containsOnly(
+            entry("TRIE_LOG_STORAGE", RocksDBColumnFamilyProfile.DEFAULT),
+            entry("FOO", RocksDBColumnFamilyProfile.COLD));
+
+    final RocksDBConfiguration rocksDBConfiguration =
+        RocksDBConfigurationBuilder.from(configuration).build();
+    assertThat(rocksDBConfiguration.getSegmentProfile("TRIE_LOG_STORAGE"))
+        .isEqualTo(RocksDBColumnFamilyProfile.DEFAULT);
+    assertThat(rocksDBConfiguration.getSegmentProfile("CODE_STORAGE"))
+        .isEqualTo(RocksDBColumnFamilyProfile.POINT_LOOKUP);
+    assertThat(rocksDBConfiguration.getSegmentProfile("BAR"))
+        .isEqualTo(RocksDBColumnFamilyProfile.DEFAULT);
+  }
+
+  @Test
+  public void customRelaxedDurabilitySegments() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+
+    new CommandLine(options).parseArgs(RELAXED_DURABILITY_SEGMENTS_FLAG, "FOO,BAR");
+
+    final RocksDBConfiguration configuration =
+        RocksDBConfigurationBuilder.from(options.toDomainObject()).build();
+    assertThat(configuration.getRelaxedDurabilitySegments()).containsOnly("FOO", "BAR");
+    assertThat(configuration.isRelaxedDurability("BACKWARD_SYNC_HEADERS")).isFalse();
+  }
+
+  @Test
+  public void relaxedDurabilityCanBeDisabled() {
+    final RocksDBCLIOptions options = RocksDBCLIOptions.create();
+
+    new CommandLine(options).parseArgs(RELAXED_DURABILITY_SEGMENTS_FLAG + "=");
+
+    assertThat(options.toDomainObject().getRelaxedDurabilitySegments()).isEmpty();
+  }
+
   @Test
   public void customIsHighSpec() {
     final RocksDBCLIOptions options = RocksDBCLIOptions.create();
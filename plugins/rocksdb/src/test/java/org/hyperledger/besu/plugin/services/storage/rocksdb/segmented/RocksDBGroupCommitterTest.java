@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+public class RocksDBGroupCommitterTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void unexpectedWriteFailureIsReportedToEveryBatchOfTheGroup() throws Exception {
+    RocksDB.loadLibrary();
+    try (final Options options = new Options().setCreateIfMissing(true);
+        final RocksDB db = RocksDB.open(options, folder.getRoot().getPath());
+        final WriteOptions writeOptions = new WriteOptions()) {
+      final RocksDB failingDb = spy(db);
+      final RocksDBGroupCommitter committer = new RocksDBGroupCommitter(failingDb, writeOptions);
+      final AtomicInteger writes = new AtomicInteger();
+      final CompletableFuture<Void> first = new CompletableFuture<>();
+      final CompletableFuture<Void> second = new CompletableFuture<>();
+      doAnswer(
+              invocation -> {
+                switch (writes.incrementAndGet()) {
+                  case 1:
+                    // both batches queue up while the first group is written, so the committer
+                    // holding the lock next writes them as one group
+                    final Thread firstThread = commitInBackground(committer, db, "b", first);
+                    final Thread secondThread = commitInBackground(committer, db, "c", second);
+                    awaitWaiting(firstThread);
+                    awaitWaiting(secondThread);
+                    return invocation.callRealMethod();
+                  case 2:
+                    throw new IllegalStateException("Closed handle");
+                  default:
+                    return invocation.callRealMethod();
+                }
+              })
+          .when(failingDb)
+          .write(any(WriteOptions.class), any(WriteBatch.class));
+
+      committer.commit(batch(db, "a"));
+
+      for (final CompletableFuture<Void> commit : List.of(first, second)) {
+        assertThatThrownBy(() -> commit.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+      }
+      assertThat(db.get("a".getBytes(UTF_8))).isNotNull();
+      assertThat(db.get("b".getBytes(UTF_8))).isNull();
+    }
+  }
+
+  private static RocksDBGroupCommitter.Batch batch(final RocksDB db, final String key) {
+    final RocksDBGroupCommitter.Batch batch = new RocksDBGroupCommitter.Batch();
+    batch.put(db.getDefaultColumnFamily(), key.getBytes(UTF_8), key.getBytes(UTF_8));
+    return batch;
+  }
+
+  private static Thread commitInBackground(
+      final RocksDBGroupCommitter committer,
+      final RocksDB db,
+      final String key,
+      final CompletableFuture<Void> result) {
+    final Thread thread =
+        new Thread(
+            () -> {
+              try {
+                committer.commit(batch(db, key));
+                result.complete(null);
+              } catch (final Exception e) {
+                result.completeExceptionally(e);
+              }
+            });
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private static void awaitWaiting(final Thread thread) throws InterruptedException {
+    while (thread.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+  }
+}
@@ -18,12 +18,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 import org.hyperledger.besu.kvstore.AbstractKeyValueStorageTest;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBColumnFamilyProfile;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.segmented.RocksDBColumnarKeyValueStorage;
 import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorage;
@@ -32,10 +35,15 @@ import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageAdapter;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -262,6 +270,190 @@ public class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValueStorageT
     }
   }
 
+  @Test
+  public void everyProfileSupportsPointAndRangeReads() throws Exception {
+    for (final RocksDBColumnFamilyProfile profile : RocksDBColumnFamilyProfile.values()) {
+      final SegmentedKeyValueStorage<RocksDbSegmentIdentifier> store =
+          new RocksDBColumnarKeyValueStorage(
+              new RocksDBConfigurationBuilder()
+                  .databaseDir(folder.newFolder().toPath())
+                  .segmentProfiles(Map.of(TestSegment.FOO.getName(), profile))
+                  .build(),
+              List.of(TestSegment.FOO),
+              new NoOpMetricsSystem(),
+              RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+      final RocksDbSegmentIdentifier segment = store.getSegmentIdentifierByName(TestSegment.FOO);
+      final Transaction<RocksDbSegmentIdentifier> tx = store.startTransaction();
+      for (int prefix = 1; prefix <= 3; prefix++) {
+        for (int suffix = 1; suffix <= 3; suffix++) {
+          tx.put(segment, prefixedKey(prefix, suffix), new byte[] {(byte) prefix, (byte) suffix});
+        }
+      }
+      tx.commit();
+
+      assertThat(store.get(segment, prefixedKey(2, 3))).contains(new byte[] {2, 3});
+      assertThat(store.get(segment, prefixedKey(4, 1))).isEmpty();
+      assertThat(
+              store.streamRange(segment, prefixedKey(2, 2), prefixedKey(3, 0)).map(Pair::getValue))
+          .as("range within one prefix for profile %s", profile)
+          .containsExactly(new byte[] {2, 2}, new byte[] {2, 3});
+      assertThat(store.streamFromKey(segment, prefixedKey(2, 4)).map(Pair::getValue))
+          .as("range across prefixes for profile %s", profile)
+          .containsExactly(new byte[] {3, 1}, new byte[] {3, 2}, new byte[] {3, 3});
+      store.close();
+    }
+  }
+
+  @Test
+  public void exportsMetricsPerSegment() throws Exception {
+    final PrometheusMetricsSystem metricsSystem =
+        new PrometheusMetricsSystem(Set.of(BesuMetricCategory.KVSTORE_ROCKSDB), true);
+    final SegmentedKeyValueStorage<RocksDbSegmentIdentifier> store =
+        new RocksDBColumnarKeyValueStorage(
+            new RocksDBConfigurationBuilder().databaseDir(folder.newFolder().toPath()).build(),
+            List.of(TestSegment.FOO, TestSegment.BAR),
+            metricsSystem,
+            RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+    final RocksDbSegmentIdentifier foo = store.getSegmentIdentifierByName(TestSegment.FOO);
+    final Transaction<RocksDbSegmentIdentifier> tx = store.startTransaction();
+    tx.put(foo, bytesOf(1), bytesOf(1, 2, 3));
+    tx.put(foo, bytesOf(2), bytesOf(4, 5));
+    tx.commit();
+    assertThat(store.get(foo, bytesOf(1))).contains(bytesOf(1, 2, 3));
+    assertThat(store.stream(foo)).hasSize(2);
+
+    assertThat(
+            segmentObservation(metricsSystem, "segment_written_bytes", TestSegment.FOO.getName()))
+        .isEqualTo(7.0);
+    // one get of three bytes and an iteration over two keys and five value bytes
+    assertThat(segmentObservation(metricsSystem, "segment_read_bytes", TestSegment.FOO.getName()))
+        .isEqualTo(10.0);
+    assertThat(segmentObservation(metricsSystem, "segment_read_bytes", TestSegment.BAR.getName()))
+        .isEqualTo(0.0);
+    assertThat(
+            segmentObservation(
+                metricsSystem, "segment_read_latency_seconds", TestSegment.FOO.getName(), "count"))
+        .isEqualTo(1.0);
+    assertThat(
+            segmentObservation(
+                metricsSystem,
+                "segment_iterator_latency_seconds",
+                TestSegment.FOO.getName(),
+                "count"))
+        .isEqualTo(1.0);
+    assertThat(
+            segmentObservation(metricsSystem, "segment_estimated_keys", TestSegment.FOO.getName()))
+        .isEqualTo(2.0);
+    assertThat(segmentObservation(metricsSystem, "segment_write_stops", TestSegment.BAR.getName()))
+        .isEqualTo(0.0);
+
+    store.close();
+    assertThat(
+            segmentObservation(metricsSystem, "segment_estimated_keys", TestSegment.FOO.getName()))
+        .isEqualTo(0.0);
+  }
+
+  @Test
+  public void relaxedDurabilitySegmentsCommitWithTransactionalSegments() throws Exception {
+    final Path testPath = folder.newFolder().toPath();
+    SegmentedKeyValueStorage<RocksDbSegmentIdentifier> store = createRelaxedStore(testPath);
+    RocksDbSegmentIdentifier foo = store.getSegmentIdentifierByName(TestSegment.FOO);
+    RocksDbSegmentIdentifier bar = store.getSegmentIdentifierByName(TestSegment.BAR);
+    assertThat(foo.isRelaxedDurability()).isTrue();
+    assertThat(bar.isRelaxedDurability()).isFalse();
+
+    Transaction<RocksDbSegmentIdentifier> tx = store.startTransaction();
+    tx.put(foo, bytesOf(1), bytesOf(1));
+    tx.put(foo, bytesOf(2), bytesOf(2));
+    tx.put(bar, bytesOf(1), bytesOf(3));
+    tx.remove(foo, bytesOf(2));
+    assertThat(store.get(foo, bytesOf(1))).isEmpty();
+    tx.commit();
+
+    assertThat(store.get(foo, bytesOf(1))).contains(bytesOf(1));
+    assertThat(store.get(foo, bytesOf(2))).isEmpty();
+    assertThat(store.get(bar, bytesOf(1))).contains(bytesOf(3));
+
+    tx = store.startTransaction();
+    tx.put(foo, bytesOf(3), bytesOf(3));
+    tx.rollback();
+    assertThat(store.get(foo, bytesOf(3))).isEmpty();
+
+    // relaxed writes are flushed when the database is closed
+    store.close();
+    store = createRelaxedStore(testPath);
+    foo = store.getSegmentIdentifierByName(TestSegment.FOO);
+    assertThat(store.get(foo, bytesOf(1))).contains(bytesOf(1));
+    store.close();
+  }
+
+  @Test
+  public void concurrentRelaxedDurabilityCommitsAreAllWritten() throws Exception {
+    final SegmentedKeyValueStorage<RocksDbSegmentIdentifier> store =
+        createRelaxedStore(folder.newFolder().toPath());
+    final RocksDbSegmentIdentifier foo = store.getSegmentIdentifierByName(TestSegment.FOO);
+    final int threads = 8;
+    final int commitsPerThread = 200;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        final int threadId = thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < commitsPerThread; i++) {
+                    final Transaction<RocksDbSegmentIdentifier> tx = store.startTransaction();
+                    tx.put(foo, bytesOf(threadId, i >> 8, i), bytesOf(i));
+                    tx.commit();
+                    assertThat(store.get(foo, bytesOf(threadId, i >> 8, i))).isPresent();
+                  }
+                }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(store.streamKeys(foo)).hasSize(threads * commitsPerThread);
+    store.close();
+  }
+
+  private SegmentedKeyValueStorage<RocksDbSegmentIdentifier> createRelaxedStore(final Path path) {
+    return new RocksDBColumnarKeyValueStorage(
+        new RocksDBConfigurationBuilder()
+            .databaseDir(path)
+            .relaxedDurabilitySegments(Set.of(TestSegment.FOO.getName()))
+            .build(),
+        Arrays.asList(TestSegment.FOO, TestSegment.BAR),
+        new NoOpMetricsSystem(),
+        RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+  }
+
+  private static double segmentObservation(
+      final PrometheusMetricsSystem metricsSystem,
+      final String name,
+      final String segment,
+      final String... extraLabels) {
+    final List<String> labels = new ArrayList<>(List.of("blockchain", segment));
+    labels.addAll(List.of(extraLabels));
+    return metricsSystem
+        .streamObservations(BesuMetricCategory.KVSTORE_ROCKSDB)
+        .filter(observation -> observation.getMetricName().equals(name))
+        .filter(observation -> observation.getLabels().equals(labels))
+        .mapToDouble(observation -> (Double) observation.getValue())
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static byte[] prefixedKey(final int prefix, final int suffix) {
+    final byte[] key = new byte[64];
+    Arrays.fill(key, 0, 32, (byte) prefix);
+    Arrays.fill(key, 32, 64, (byte) suffix);
+    return key;
+  }
+
   public enum TestSegment implements SegmentIdentifier {
     FOO(new byte[] {1}),
     BAR(new byte[] {2}),
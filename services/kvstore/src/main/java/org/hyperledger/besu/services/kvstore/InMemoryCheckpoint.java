@@ -0,0 +1,227 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Writes and reads the entries of one in-memory storage segment as a memory mapped checkpoint file.
+ *
+ * <p>The file starts with a magic number, the number of entries and a CRC32C of the rest of the
+ * file, followed by each entry as a key length, key, value length and value. Checkpoints are
+ * written to a temporary file that atomically replaces the previous checkpoint once complete, so a
+ * crash while writing leaves the previous checkpoint in place. The checksum is verified before any
+ * entry is read back.
+ */
+final class InMemoryCheckpoint {
+
+  private static final int MAGIC = 0x424b5643;
+  private static final int HEADER_SIZE = 16;
+  private static final long REGION_SIZE = 1L << 28;
+
+  private InMemoryCheckpoint() {}
+
+  /**
+   * Write a checkpoint of the entries, which are streamed twice: once to size the file and once to
+   * fill it.
+   *
+   * @param file the checkpoint file to replace
+   * @param entries supplies the same entries on each call
+   * @return the number of entries written
+   * @throws IOException if the checkpoint could not be written
+   */
+  static long write(final Path file, final Supplier<Stream<Pair<byte[], byte[]>>> entries)
+      throws IOException {
+    long size = HEADER_SIZE;
+    long count = 0;
+    try (final Stream<Pair<byte[], byte[]>> stream = entries.get()) {
+      for (final Iterator<Pair<byte[], byte[]>> it = stream.iterator(); it.hasNext(); ) {
+        final Pair<byte[], byte[]> entry = it.next();
+        size += Integer.BYTES * 2 + entry.getKey().length + entry.getValue().length;
+        count++;
+      }
+    }
+
+    final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (final FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      final MappedRegions regions =
+          new MappedRegions(channel, FileChannel.MapMode.READ_WRITE, HEADER_SIZE, size);
+      try (final Stream<Pair<byte[], byte[]>> stream = entries.get()) {
+        for (final Iterator<Pair<byte[], byte[]>> it = stream.iterator(); it.hasNext(); ) {
+          final Pair<byte[], byte[]> entry = it.next();
+          regions.putBytes(entry.getKey());
+          regions.putBytes(entry.getValue());
+        }
+      }
+      if (regions.position() != size) {
+        throw new IOException("Entries changed while writing checkpoint " + file);
+      }
+      regions.force();
+
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).putLong(count).putInt((int) regions.checksum()).flip();
+      channel.write(header, 0);
+      channel.force(true);
+    }
+    Files.move(
+        temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    return count;
+  }
+
+  /**
+   * Read the entries of a checkpoint.
+   *
+   * @param file the checkpoint file
+   * @param consumer receives the key and value of each entry
+   * @return the number of entries read
+   * @throws IOException if the checkpoint could not be read or is corrupt
+   */
+  static long read(final Path file, final BiConsumer<byte[], byte[]> consumer) throws IOException {
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("Truncated checkpoint " + file);
+        }
+      }
+      if (header.getInt(0) != MAGIC) {
+        throw new IOException("Not a storage checkpoint " + file);
+      }
+      final long count = header.getLong(4);
+      // verify the whole file first, so that a corrupt checkpoint restores nothing
+      final MappedRegions verified = readEntries(channel, count, (key, value) -> {});
+      if ((int) verified.checksum() != header.getInt(12) || verified.position() != channel.size()) {
+        throw new IOException("Corrupt checkpoint " + file);
+      }
+      readEntries(channel, count, consumer);
+      return count;
+    }
+  }
+
+  private static MappedRegions readEntries(
+      final FileChannel channel, final long count, final BiConsumer<byte[], byte[]> consumer)
+      throws IOException {
+    final MappedRegions regions =
+        new MappedRegions(channel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, channel.size());
+    for (long i = 0; i < count; i++) {
+      final byte[] key = regions.getBytes();
+      consumer.accept(key, regions.getBytes());
+    }
+    return regions;
+  }
+
+  /** Sequential access to a file through memory mapped regions of at most REGION_SIZE bytes. */
+  private static final class MappedRegions {
+    private final FileChannel channel;
+    private final FileChannel.MapMode mode;
+    private final long end;
+    private final CRC32C checksum = new CRC32C();
+    private final byte[] lengthBytes = new byte[Integer.BYTES];
+    private long regionStart;
+    private MappedByteBuffer region;
+
+    private MappedRegions(
+        final FileChannel channel,
+        final FileChannel.MapMode mode,
+        final long start,
+        final long end) {
+      this.channel = channel;
+      this.mode = mode;
+      this.regionStart = start;
+      this.end = end;
+    }
+
+    long position() {
+      return region == null ? regionStart : regionStart + region.position();
+    }
+
+    long checksum() {
+      return checksum.getValue();
+    }
+
+    void putBytes(final byte[] bytes) throws IOException {
+      ByteBuffer.wrap(lengthBytes).putInt(bytes.length);
+      transfer(lengthBytes, lengthBytes.length, true);
+      transfer(bytes, bytes.length, true);
+    }
+
+    byte[] getBytes() throws IOException {
+      transfer(lengthBytes, lengthBytes.length, false);
+      final int length = ByteBuffer.wrap(lengthBytes).getInt();
+      if (length < 0 || length > end - position()) {
+        throw new IOException("Corrupt checkpoint entry length " + length);
+      }
+      final byte[] bytes = new byte[length];
+      transfer(bytes, length, false);
+      return bytes;
+    }
+
+    void force() {
+      if (region != null && mode == FileChannel.MapMode.READ_WRITE) {
+        region.force();
+      }
+    }
+
+    private void transfer(final byte[] bytes, final int length, final boolean write)
+        throws IOException {
+      int offset = 0;
+      while (offset < length) {
+        if (region == null || !region.hasRemaining()) {
+          nextRegion();
+        }
+        final int chunk = Math.min(region.remaining(), length - offset);
+        if (write) {
+          region.put(bytes, offset, chunk);
+        } else {
+          region.get(bytes, offset, chunk);
+        }
+        offset += chunk;
+      }
+      checksum.update(bytes, 0, length);
+    }
+
+    private void nextRegion() throws IOException {
+      if (region != null) {
+        force();
+        regionStart += region.capacity();
+      }
+      final long size = Math.min(REGION_SIZE, end - regionStart);
+      if (size <= 0) {
+        throw new IOException("Checkpoint entry past the end of the file");
+      }
+      region = channel.map(mode, regionStart, size);
+    }
+  }
+}
@@ -18,8 +18,13 @@ import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -43,6 +48,38 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
    */
   Optional<byte[]> get(S segment, byte[] key) throws StorageException;
 
+  /**
+   * Get the value from the associated segment and key, converted by a reader that must copy any
+   * part of the buffer it keeps.
+   *
+   * @param segment the segment
+   * @param key Index into persistent data repository.
+   * @param reader converts the value, held between the position and limit of the buffer.
+   * @param <T> the type of the result
+   * @return The result of the reader for the value persisted at the key index.
+   */
+  default <T> Optional<T> get(
+      final S segment, final byte[] key, final Function<ByteBuffer, T> reader)
+      throws StorageException {
+    return get(segment, key).map(value -> reader.apply(ByteBuffer.wrap(value)));
+  }
+
+  /**
+   * Get the values from the associated segment and keys in a single operation.
+   *
+   * @param segment the segment
+   * @param keys Indexes into persistent data repository.
+   * @return The values persisted at the key indexes, in the same order as the keys.
+   */
+  default List<Optional<byte[]>> multiGet(final S segment, final List<byte[]> keys)
+      throws StorageException {
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    for (final byte[] key : keys) {
+      values.add(get(segment, key));
+    }
+    return values;
+  }
+
   default boolean containsKey(final S segment, final byte[] key) throws StorageException {
     return get(segment, key).isPresent();
   }
@@ -63,6 +100,36 @@ public interface SegmentedKeyValueStorage<S> extends Closeable {
   Stream<Pair<byte[], byte[]>> stream(final S segmentHandle);
 
   Stream<byte[]> streamKeys(final S segmentHandle);
+
+  /**
+   * Returns a stream of the keys and values of the segment from the given key onwards, in ascending
+   * unsigned key order.
+   *
+   * @param segmentHandle The segment handle whose entries we want to stream.
+   * @param startKey The first key to include, whether or not it is present.
+   * @return A stream of the keys and values at or after the start key.
+   */
+  default Stream<Pair<byte[], byte[]>> streamFromKey(final S segmentHandle, final byte[] startKey) {
+    return stream(segmentHandle)
+        .filter(pair -> Arrays.compareUnsigned(pair.getKey(), startKey) >= 0)
+        .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+  }
+
+  /**
+   * Returns a stream of the keys and values of the segment from the start key up to, but excluding,
+   * the end key, in ascending unsigned key order.
+   *
+   * @param segmentHandle The segment handle whose entries we want to stream.
+   * @param startKey The first key to include, whether or not it is present.
+   * @param endKey The key bounding the range, excluded from the stream.
+   * @return A stream of the keys and values in the range.
+   */
+  default Stream<Pair<byte[], byte[]>> streamRange(
+      final S segmentHandle, final byte[] startKey, final byte[] endKey) {
+    return streamFromKey(segmentHandle, startKey)
+        .takeWhile(pair -> Arrays.compareUnsigned(pair.getKey(), endKey) < 0);
+  }
+
   /**
    * Delete the value corresponding to the given key in the given segment if a write lock can be
    * instantly acquired on the underlying storage. Do nothing otherwise.
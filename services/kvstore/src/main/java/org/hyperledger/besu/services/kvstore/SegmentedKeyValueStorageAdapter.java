@@ -21,8 +21,11 @@ import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -69,6 +72,17 @@ public class SegmentedKeyValueStorageAdapter<S> implements SnappableKeyValueStor
     return storage.get(segmentHandle, key);
   }
 
+  @Override
+  public <T> Optional<T> get(final byte[] key, final Function<ByteBuffer, T> reader)
+      throws StorageException {
+    return storage.get(segmentHandle, key, reader);
+  }
+
+  @Override
+  public List<Optional<byte[]>> multiGet(final List<byte[]> keys) throws StorageException {
+    return storage.multiGet(segmentHandle, keys);
+  }
+
   @Override
   public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
     return storage.getAllKeysThat(segmentHandle, returnCondition);
@@ -84,6 +98,16 @@ public class SegmentedKeyValueStorageAdapter<S> implements SnappableKeyValueStor
     return storage.stream(segmentHandle);
   }
 
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKey) {
+    return storage.streamFromKey(segmentHandle, startKey);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(final byte[] startKey, final byte[] endKey) {
+    return storage.streamRange(segmentHandle, startKey, endKey);
+  }
+
   @Override
   public Stream<byte[]> streamKeys() {
     return storage.streamKeys(segmentHandle);
@@ -0,0 +1,135 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Numbers the commits of a group of {@link VersionedInMemoryKeyValueStorage} and tracks the
+ * versions pinned by open snapshots. Commits of all storages in the group are serialized, so a
+ * version describes the same point in time in every one of them.
+ */
+class VersionTracker {
+
+  private final ReentrantLock commitLock = new ReentrantLock();
+  private final List<VersionedInMemoryKeyValueStorage> storages = new CopyOnWriteArrayList<>();
+  // guarded by commitLock
+  private final NavigableMap<Long, Integer> pinned = new TreeMap<>();
+  private volatile long committedVersion;
+
+  void register(final VersionedInMemoryKeyValueStorage storage) {
+    storages.add(storage);
+  }
+
+  long committedVersion() {
+    return committedVersion;
+  }
+
+  /**
+   * Apply a commit as the next version, which becomes visible to new snapshots once applied.
+   *
+   * @param commit applies the changes of the commit at the version it is given
+   */
+  void commit(final LongConsumer commit) {
+    commitLock.lock();
+    try {
+      apply(commit);
+    } finally {
+      commitLock.unlock();
+    }
+  }
+
+  /**
+   * Apply a commit as the next version if no other commit is in progress.
+   *
+   * @param commit applies the changes of the commit at the version it is given
+   * @return false if another commit was in progress and nothing was applied, true otherwise
+   */
+  boolean tryCommit(final LongConsumer commit) {
+    if (!commitLock.tryLock()) {
+      return false;
+    }
+    try {
+      apply(commit);
+      return true;
+    } finally {
+      commitLock.unlock();
+    }
+  }
+
+  /**
+   * The oldest version any open snapshot reads at. Only meaningful while committing.
+   *
+   * @return the oldest pinned version, or {@link Long#MAX_VALUE} when no snapshot is open
+   */
+  long oldestPinned() {
+    return pinned.isEmpty() ? Long.MAX_VALUE : pinned.firstKey();
+  }
+
+  /**
+   * Pin the last committed version, keeping the values visible at it until unpinned.
+   *
+   * @return the pinned version
+   */
+  long pin() {
+    commitLock.lock();
+    try {
+      final long version = committedVersion;
+      pinned.merge(version, 1, Integer::sum);
+      return version;
+    } finally {
+      commitLock.unlock();
+    }
+  }
+
+  /**
+   * Pin a version again, which must still be pinned by the caller.
+   *
+   * @param version the pinned version
+   */
+  void pin(final long version) {
+    commitLock.lock();
+    try {
+      pinned.merge(version, 1, Integer::sum);
+    } finally {
+      commitLock.unlock();
+    }
+  }
+
+  void unpin(final long version) {
+    commitLock.lock();
+    try {
+      final long oldest = oldestPinned();
+      pinned.computeIfPresent(version, (__, count) -> count == 1 ? null : count - 1);
+      final long newOldest = oldestPinned();
+      if (newOldest != oldest) {
+        storages.forEach(storage -> storage.trimRetained(newOldest));
+      }
+    } finally {
+      commitLock.unlock();
+    }
+  }
+
+  private void apply(final LongConsumer commit) {
+    final long version = committedVersion + 1;
+    commit.accept(version);
+    committedVersion = version;
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * An in-memory key value storage over a concurrent sorted map, with lock free reads and snapshot
+ * isolation.
+ *
+ * <p>Every key maps to a chain of versioned values, newest first, where a null value marks a
+ * removal. Commits prepend a value at the next version of the {@link VersionTracker} and drop the
+ * older values no open snapshot can see anymore, so without open snapshots each key holds a single
+ * value. Snapshots read the newest value at or below the version they pinned.
+ *
+ * <p>Streams of the storage itself are weakly consistent and may see a commit in progress; streams
+ * of a snapshot are not.
+ */
+public class VersionedInMemoryKeyValueStorage implements SnappableKeyValueStorage {
+
+  private final VersionTracker tracker;
+  private final ConcurrentNavigableMap<byte[], Version> entries =
+      new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+  // keys holding older values or a removal for open snapshots, guarded by the commit lock
+  private final NavigableSet<byte[]> retainedKeys = new TreeSet<>(Arrays::compareUnsigned);
+
+  public VersionedInMemoryKeyValueStorage() {
+    this(new VersionTracker());
+  }
+
+  VersionedInMemoryKeyValueStorage(final VersionTracker tracker) {
+    this.tracker = tracker;
+    tracker.register(this);
+  }
+
+  @Override
+  public void clear() {
+    tracker.commit(version -> entries.keySet().forEach(key -> apply(key, null, version)));
+  }
+
+  @Override
+  public boolean containsKey(final byte[] key) throws StorageException {
+    final Version head = entries.get(key);
+    return head != null && head.value != null;
+  }
+
+  @Override
+  public Optional<byte[]> get(final byte[] key) throws StorageException {
+    final Version head = entries.get(key);
+    return head == null ? Optional.empty() : Optional.ofNullable(head.value);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> stream() {
+    return streamAt(entries, Long.MAX_VALUE);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKey) {
+    return streamAt(entries.tailMap(startKey, true), Long.MAX_VALUE);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(final byte[] startKey, final byte[] endKey) {
+    return streamAt(entries.subMap(startKey, true, endKey, false), Long.MAX_VALUE);
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys() {
+    return stream().map(Pair::getKey);
+  }
+
+  @Override
+  public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
+    return streamKeys().filter(returnCondition).collect(toUnmodifiableSet());
+  }
+
+  @Override
+  public Set<byte[]> getAllValuesFromKeysThat(final Predicate<byte[]> returnCondition) {
+    return stream()
+        .filter(pair -> returnCondition.test(pair.getKey()))
+        .map(Pair::getValue)
+        .collect(toUnmodifiableSet());
+  }
+
+  @Override
+  public boolean tryDelete(final byte[] key) {
+    return tracker.tryCommit(version -> apply(key, null, version));
+  }
+
+  @Override
+  public KeyValueStorageTransaction startTransaction() {
+    return new KeyValueStorageTransactionTransitionValidatorDecorator(new VersionedTransaction());
+  }
+
+  @Override
+  public SnappedKeyValueStorage takeSnapshot() {
+    return new VersionedInMemorySnapshot(this, tracker, tracker.pin());
+  }
+
+  @Override
+  public void close() {}
+
+  Optional<byte[]> get(final byte[] key, final long version) {
+    Version value = entries.get(key);
+    while (value != null && value.number > version) {
+      value = value.previous;
+    }
+    return value == null ? Optional.empty() : Optional.ofNullable(value.value);
+  }
+
+  Stream<Pair<byte[], byte[]>> streamAt(final long version) {
+    return streamAt(entries, version);
+  }
+
+  Stream<Pair<byte[], byte[]>> streamFromKeyAt(final byte[] startKey, final long version) {
+    return streamAt(entries.tailMap(startKey, true), version);
+  }
+
+  Stream<Pair<byte[], byte[]>> streamRangeAt(
+      final byte[] startKey, final byte[] endKey, final long version) {
+    return streamAt(entries.subMap(startKey, true, endKey, false), version);
+  }
+
+  /** Insert a value restored from a checkpoint, before the storage is in use. */
+  void restore(final byte[] key, final byte[] value) {
+    entries.put(key, new Version(tracker.committedVersion(), value, null));
+  }
+
+  /** Drop the values no snapshot reads anymore, called with the commit lock held. */
+  void trimRetained(final long oldestPinned) {
+    for (final byte[] key : new ArrayList<>(retainedKeys)) {
+      final Version head = entries.get(key);
+      if (head == null) {
+        retainedKeys.remove(key);
+      } else {
+        store(key, head.trim(oldestPinned));
+      }
+    }
+  }
+
+  private void apply(final byte[] key, final byte[] value, final long version) {
+    store(key, new Version(version, value, entries.get(key)).trim(tracker.oldestPinned()));
+  }
+
+  private void store(final byte[] key, final Version head) {
+    if (head.previous == null && head.value == null) {
+      // a removal no snapshot can see past
+      entries.remove(key);
+      retainedKeys.remove(key);
+      return;
+    }
+    entries.put(key, head);
+    if (head.previous != null || head.value == null) {
+      retainedKeys.add(key);
+    } else {
+      retainedKeys.remove(key);
+    }
+  }
+
+  private static Stream<Pair<byte[], byte[]>> streamAt(
+      final Map<byte[], Version> range, final long version) {
+    return range.entrySet().stream()
+        .map(
+            entry -> {
+              Version value = entry.getValue();
+              while (value != null && value.number > version) {
+                value = value.previous;
+              }
+              return value == null || value.value == null
+                  ? null
+                  : Pair.of(entry.getKey(), value.value);
+            })
+        .filter(pair -> pair != null);
+  }
+
+  private static final class Version {
+    private final long number;
+    private final byte[] value;
+    private final Version previous;
+
+    private Version(final long number, final byte[] value, final Version previous) {
+      this.number = number;
+      this.value = value;
+      this.previous = previous;
+    }
+
+    /** Keep this chain down to the newest value visible at the oldest pinned version. */
+    private Version trim(final long oldestPinned) {
+      if (previous == null) {
+        return this;
+      }
+      if (number <= oldestPinned) {
+        return new Version(number, value, null);
+      }
+      final Version trimmedPrevious = previous.trim(oldestPinned);
+      return trimmedPrevious == previous ? this : new Version(number, value, trimmedPrevious);
+    }
+  }
+
+  private class VersionedTransaction implements KeyValueStorageTransaction {
+
+    private final NavigableMap<byte[], Optional<byte[]>> updates =
+        new TreeMap<>(Arrays::compareUnsigned);
+
+    @Override
+    public void put(final byte[] key, final byte[] value) {
+      updates.put(key, Optional.of(value));
+    }
+
+    @Override
+    public void remove(final byte[] key) {
+      updates.put(key, Optional.empty());
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      tracker.commit(
+          version -> updates.forEach((key, value) -> apply(key, value.orElse(null), version)));
+      updates.clear();
+    }
+
+    @Override
+    public void rollback() {
+      updates.clear();
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.collect.Streams;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A snapshot of a {@link VersionedInMemoryKeyValueStorage} at a pinned version. Updates made
+ * through the snapshot transaction are only visible to this snapshot and its clones.
+ */
+public class VersionedInMemorySnapshot implements SnappedKeyValueStorage {
+
+  private final VersionedInMemoryKeyValueStorage storage;
+  private final VersionTracker tracker;
+  private final long version;
+  private final ConcurrentNavigableMap<byte[], Optional<byte[]>> updates;
+  private final KeyValueStorageTransaction snapshotTransaction = new SnapshotTransaction();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  VersionedInMemorySnapshot(
+      final VersionedInMemoryKeyValueStorage storage,
+      final VersionTracker tracker,
+      final long version) {
+    this(storage, tracker, version, new ConcurrentSkipListMap<>(Arrays::compareUnsigned));
+  }
+
+  private VersionedInMemorySnapshot(
+      final VersionedInMemoryKeyValueStorage storage,
+      final VersionTracker tracker,
+      final long version,
+      final ConcurrentNavigableMap<byte[], Optional<byte[]>> updates) {
+    this.storage = storage;
+    this.tracker = tracker;
+    this.version = version;
+    this.updates = updates;
+  }
+
+  @Override
+  public Optional<byte[]> get(final byte[] key) throws StorageException {
+    checkOpen();
+    final Optional<byte[]> updated = updates.get(key);
+    return updated != null ? updated : storage.get(key, version);
+  }
+
+  @Override
+  public boolean containsKey(final byte[] key) throws StorageException {
+    return get(key).isPresent();
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> stream() {
+    checkOpen();
+    return withUpdates(storage.streamAt(version), updates);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(final byte[] startKey) {
+    checkOpen();
+    return withUpdates(storage.streamFromKeyAt(startKey, version), updates.tailMap(startKey, true));
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamRange(final byte[] startKey, final byte[] endKey) {
+    checkOpen();
+    return withUpdates(
+        storage.streamRangeAt(startKey, endKey, version),
+        updates.subMap(startKey, true, endKey, false));
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys() {
+    return stream().map(Pair::getKey);
+  }
+
+  @Override
+  public boolean tryDelete(final byte[] key) throws StorageException {
+    snapshotTransaction.remove(key);
+    return true;
+  }
+
+  @Override
+  public Set<byte[]> getAllKeysThat(final Predicate<byte[]> returnCondition) {
+    return streamKeys().filter(returnCondition).collect(toUnmodifiableSet());
+  }
+
+  @Override
+  public Set<byte[]> getAllValuesFromKeysThat(final Predicate<byte[]> returnCondition) {
+    return stream()
+        .filter(pair -> returnCondition.test(pair.getKey()))
+        .map(Pair::getValue)
+        .collect(toUnmodifiableSet());
+  }
+
+  @Override
+  public KeyValueStorageTransaction startTransaction() throws StorageException {
+    return snapshotTransaction;
+  }
+
+  @Override
+  public KeyValueStorageTransaction getSnapshotTransaction() {
+    return snapshotTransaction;
+  }
+
+  @Override
+  public SnappedKeyValueStorage cloneFromSnapshot() {
+    checkOpen();
+    tracker.pin(version);
+    final ConcurrentNavigableMap<byte[], Optional<byte[]>> copy =
+        new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+    copy.putAll(updates);
+    return new VersionedInMemorySnapshot(storage, tracker, version, copy);
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("VersionedInMemorySnapshot does not support clear");
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      updates.clear();
+      tracker.unpin(version);
+    }
+  }
+
+  private void checkOpen() {
+    if (closed.get()) {
+      throw new StorageException("Snapshot already closed");
+    }
+  }
+
+  /** Merge the updates of this snapshot into a stream of values in key order. */
+  private static Stream<Pair<byte[], byte[]>> withUpdates(
+      final Stream<Pair<byte[], byte[]>> values,
+      final NavigableMap<byte[], Optional<byte[]>> updates) {
+    if (updates.isEmpty()) {
+      return values;
+    }
+    final PeekingIterator<Pair<byte[], byte[]>> stored =
+        Iterators.peekingIterator(values.iterator());
+    final PeekingIterator<Map.Entry<byte[], Optional<byte[]>>> updated =
+        Iterators.peekingIterator(updates.entrySet().iterator());
+    final Iterator<Pair<byte[], byte[]>> merged =
+        new AbstractIterator<>() {
+          @Override
+          protected Pair<byte[], byte[]> computeNext() {
+            while (stored.hasNext() || updated.hasNext()) {
+              final int order =
+                  !updated.hasNext()
+                      ? -1
+                      : !stored.hasNext()
+                          ? 1
+                          : Arrays.compareUnsigned(stored.peek().getKey(), updated.peek().getKey());
+              if (order < 0) {
+                return stored.next();
+              }
+              if (order == 0) {
+                stored.next();
+              }
+              final Map.Entry<byte[], Optional<byte[]>> update = updated.next();
+              if (update.getValue().isPresent()) {
+                return Pair.of(update.getKey(), update.getValue().get());
+              }
+            }
+            return endOfData();
+          }
+        };
+    return Streams.stream(merged).onClose(values::close);
+  }
+
+  private class SnapshotTransaction implements KeyValueStorageTransaction {
+
+    @Override
+    public void put(final byte[] key, final byte[] value) {
+      updates.put(key, Optional.of(value));
+    }
+
+    @Override
+    public void remove(final byte[] key) {
+      updates.put(key, Optional.empty());
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      throw new UnsupportedOperationException(
+          "VersionedInMemorySnapshot transaction does not support commit");
+    }
+
+    @Override
+    public void rollback() {
+      updates.clear();
+    }
+  }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import org.hyperledger.besu.plugin.BesuContext;
+import org.hyperledger.besu.plugin.BesuPlugin;
+import org.hyperledger.besu.plugin.services.BesuConfiguration;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.PicoCLIOptions;
+import org.hyperledger.besu.plugin.services.StorageService;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageFactory;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+
+/**
+ * Registers in-memory storage with snapshot isolation, for ephemeral nodes that should run at
+ * memory speed but survive a restart. The storage is checkpointed to the storage directory at a
+ * fixed interval and on shutdown, and restored from the last complete checkpoint on startup.
+ */
+public class VersionedInMemoryStoragePlugin implements BesuPlugin {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VersionedInMemoryStoragePlugin.class);
+  private static final String NAME = "memory-versioned";
+
+  private final VersionedInMemoryCLIOptions options = new VersionedInMemoryCLIOptions();
+  private BesuContext context;
+  private VersionedMemoryKeyValueStorageFactory factory;
+  private VersionedMemoryKeyValueStorageFactory privacyFactory;
+
+  @Override
+  public void register(final BesuContext context) {
+    LOG.debug("Registering plugin");
+    this.context = context;
+
+    final Optional<PicoCLIOptions> cmdlineOptions = context.getService(PicoCLIOptions.class);
+
+    if (cmdlineOptions.isEmpty()) {
+      throw new IllegalStateException(
+          "Expecting a PicoCLIO options to register CLI options with, but none found.");
+    }
+
+    cmdlineOptions.get().addPicoCLIOptions(NAME, options);
+    createFactoriesAndRegisterWithStorageService();
+
+    LOG.debug("Plugin registered.");
+  }
+
+  @Override
+  public void start() {
+    LOG.debug("Starting plugin.");
+    if (factory == null) {
+      createFactoriesAndRegisterWithStorageService();
+    }
+  }
+
+  @Override
+  public void stop() {
+    LOG.debug("Stopping plugin.");
+
+    if (factory != null) {
+      factory.close();
+      factory = null;
+    }
+
+    if (privacyFactory != null) {
+      privacyFactory.close();
+      privacyFactory = null;
+    }
+  }
+
+  private void createAndRegister(final StorageService service) {
+    final Supplier<Duration> checkpointInterval =
+        Suppliers.memoize(() -> Duration.ofSeconds(options.checkpointIntervalSeconds));
+
+    factory = new VersionedMemoryKeyValueStorageFactory(NAME, checkpointInterval);
+    privacyFactory =
+        new VersionedMemoryKeyValueStorageFactory(NAME + "-privacy", checkpointInterval);
+
+    service.registerKeyValueStorage(factory);
+    service.registerKeyValueStorage(privacyFactory);
+  }
+
+  private void createFactoriesAndRegisterWithStorageService() {
+    context
+        .getService(StorageService.class)
+        .ifPresentOrElse(
+            this::createAndRegister,
+            () -> LOG.error("Failed to register KeyValueFactory due to missing StorageService."));
+  }
+
+  public static class VersionedInMemoryCLIOptions {
+
+    public static final String CHECKPOINT_INTERVAL_FLAG =
+        "--Xplugin-memory-versioned-checkpoint-interval";
+
+    @CommandLine.Option(
+        names = {CHECKPOINT_INTERVAL_FLAG},
+        hidden = true,
+        defaultValue = "300",
+        paramLabel = "<LONG>",
+        description =
+            "Seconds between checkpoints of the memory-versioned storage, which are restored on restart. 0 disables checkpoints (default: ${DEFAULT-VALUE})")
+    long checkpointIntervalSeconds;
+  }
+
+  public static class VersionedMemoryKeyValueStorageFactory implements KeyValueStorageFactory {
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final String DIRECTORY_PREFIX = "checkpoint-";
+    private static final String MANIFEST = "CURRENT";
+
+    private final String name;
+    private final Supplier<Duration> checkpointInterval;
+    private final VersionTracker tracker = new VersionTracker();
+    private final Map<SegmentIdentifier, VersionedInMemoryKeyValueStorage> storageMap =
+        new ConcurrentHashMap<>();
+    private Path checkpointDirectory;
+    private ScheduledExecutorService checkpointExecutor;
+    private long checkpointedVersion = -1;
+
+    public VersionedMemoryKeyValueStorageFactory(
+        final String name, final Supplier<Duration> checkpointInterval) {
+      this.name = name;
+      this.checkpointInterval = checkpointInterval;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public synchronized KeyValueStorage create(
+        final SegmentIdentifier segment,
+        final BesuConfiguration configuration,
+        final MetricsSystem metricsSystem)
+        throws StorageException {
+      final Duration interval = checkpointInterval.get();
+      if (checkpointDirectory == null && !interval.isZero()) {
+        checkpointDirectory = configuration.getStoragePath().resolve(name);
+        try {
+          Files.createDirectories(checkpointDirectory);
+        } catch (final IOException e) {
+          throw new StorageException(e);
+        }
+        checkpointExecutor =
+            Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                    .setNameFormat(name + "-checkpoint")
+                    .setDaemon(true)
+                    .build());
+        checkpointExecutor.scheduleWithFixedDelay(
+            this::scheduledCheckpoint,
+            interval.toMillis(),
+            interval.toMillis(),
+            TimeUnit.MILLISECONDS);
+      }
+      return storageMap.computeIfAbsent(segment, this::restore);
+    }
+
+    @Override
+    public boolean isSegmentIsolationSupported() {
+      return true;
+    }
+
+    @Override
+    public boolean isSnapshotIsolationSupported() {
+      return true;
+    }
+
+    /**
+     * Write a checkpoint of every segment at the same version, replacing the previous one.
+     *
+     * <p>The segments are written to a new directory, which the manifest is then atomically
+     * switched to. A crash while checkpointing leaves the manifest pointing at the previous
+     * checkpoint, so the segments of a restored checkpoint always share one version.
+     *
+     * @throws StorageException if a segment could not be written
+     */
+    public synchronized void checkpoint() throws StorageException {
+      if (checkpointDirectory == null) {
+        return;
+      }
+      final long version = tracker.pin();
+      try {
+        if (version == checkpointedVersion) {
+          return;
+        }
+        final Optional<Path> current = currentCheckpoint();
+        final long sequence =
+            current.map(VersionedMemoryKeyValueStorageFactory::checkpointSequence).orElse(0L);
+        final Path newCheckpoint = checkpointDirectory.resolve(DIRECTORY_PREFIX + (sequence + 1));
+        deleteCheckpoint(newCheckpoint);
+        Files.createDirectories(newCheckpoint);
+        for (final Map.Entry<SegmentIdentifier, VersionedInMemoryKeyValueStorage> entry :
+            storageMap.entrySet()) {
+          final VersionedInMemoryKeyValueStorage storage = entry.getValue();
+          InMemoryCheckpoint.write(
+              checkpointFile(newCheckpoint, entry.getKey()), () -> storage.streamAt(version));
+        }
+        if (current.isPresent()) {
+          copyUnopenedSegments(current.get(), newCheckpoint);
+        }
+        final Path manifest = checkpointDirectory.resolve(MANIFEST);
+        final Path temporary = checkpointDirectory.resolve(MANIFEST + ".tmp");
+        Files.writeString(
+            temporary,
+            newCheckpoint.getFileName().toString(),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.SYNC);
+        Files.move(
+            temporary,
+            manifest,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+        if (current.isPresent()) {
+          deleteCheckpoint(current.get());
+        }
+        checkpointedVersion = version;
+        LOG.debug("Checkpointed {} storage at version {}", name, version);
+      } catch (final IOException e) {
+        throw new StorageException(e);
+      } finally {
+        tracker.unpin(version);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (checkpointExecutor != null) {
+        checkpointExecutor.shutdown();
+        try {
+          checkpointExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        checkpoint();
+      }
+      storageMap.clear();
+    }
+
+    private VersionedInMemoryKeyValueStorage restore(final SegmentIdentifier segment) {
+      final VersionedInMemoryKeyValueStorage storage =
+          new VersionedInMemoryKeyValueStorage(tracker);
+      if (checkpointDirectory == null) {
+        return storage;
+      }
+      try {
+        final Optional<Path> file =
+            currentCheckpoint()
+                .map(directory -> checkpointFile(directory, segment))
+                .filter(Files::exists);
+        if (file.isPresent()) {
+          final long restored = InMemoryCheckpoint.read(file.get(), storage::restore);
+          LOG.info(
+              "Restored {} entries of {} segment {} from checkpoint",
+              restored,
+              name,
+              segment.getName());
+        }
+      } catch (final IOException e) {
+        throw new StorageException(e);
+      }
+      return storage;
+    }
+
+    private Optional<Path> currentCheckpoint() throws IOException {
+      final Path manifest = checkpointDirectory.resolve(MANIFEST);
+      if (!Files.exists(manifest)) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          checkpointDirectory.resolve(Files.readString(manifest, StandardCharsets.UTF_8).trim()));
+    }
+
+    private static long checkpointSequence(final Path checkpoint) {
+      return Long.parseLong(
+          checkpoint.getFileName().toString().substring(DIRECTORY_PREFIX.length()));
+    }
+
+    /** Carry over the checkpoints of segments that were not opened since the last restart. */
+    private void copyUnopenedSegments(final Path from, final Path to) throws IOException {
+      try (final Stream<Path> files = Files.list(from)) {
+        for (final Path file : (Iterable<Path>) files::iterator) {
+          final Path target = to.resolve(file.getFileName());
+          if (file.getFileName().toString().endsWith(CHECKPOINT_SUFFIX) && !Files.exists(target)) {
+            Files.copy(file, target);
+          }
+        }
+      }
+    }
+
+    private static void deleteCheckpoint(final Path directory) throws IOException {
+      if (!Files.exists(directory)) {
+        return;
+      }
+      try (final Stream<Path> files = Files.list(directory)) {
+        for (final Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(directory);
+    }
+
+    private void scheduledCheckpoint() {
+      try {
+        checkpoint();
+      } catch (final StorageException e) {
+        LOG.error("Failed to checkpoint {} storage", name, e);
+      }
+    }
+
+    private static Path checkpointFile(final Path directory, final SegmentIdentifier segment) {
+      return directory.resolve(segment.getName() + CHECKPOINT_SUFFIX);
+    }
+  }
+}
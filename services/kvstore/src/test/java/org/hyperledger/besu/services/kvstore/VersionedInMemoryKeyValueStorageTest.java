@@ -0,0 +1,110 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static java.util.stream.Collectors.toUnmodifiableList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.kvstore.AbstractKeyValueStorageTest;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
+
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+public class VersionedInMemoryKeyValueStorageTest extends AbstractKeyValueStorageTest {
+
+  @Override
+  protected KeyValueStorage createStore() {
+    return new VersionedInMemoryKeyValueStorage();
+  }
+
+  @Test
+  public void snapshotIsIsolatedFromLaterCommits() throws Exception {
+    final VersionedInMemoryKeyValueStorage store = new VersionedInMemoryKeyValueStorage();
+    commit(store, bytesOf(1), bytesOf(1));
+    commit(store, bytesOf(2), bytesOf(2));
+
+    try (final SnappedKeyValueStorage snapshot = store.takeSnapshot()) {
+      commit(store, bytesOf(1), bytesOf(10));
+      commit(store, bytesOf(3), bytesOf(3));
+      final KeyValueStorageTransaction tx = store.startTransaction();
+      tx.remove(bytesOf(2));
+      tx.commit();
+
+      assertThat(snapshot.get(bytesOf(1))).contains(bytesOf(1));
+      assertThat(snapshot.get(bytesOf(2))).contains(bytesOf(2));
+      assertThat(snapshot.get(bytesOf(3))).isEmpty();
+      assertThat(keys(snapshot)).containsExactly(bytesOf(1), bytesOf(2));
+
+      assertThat(store.get(bytesOf(1))).contains(bytesOf(10));
+      assertThat(store.get(bytesOf(2))).isEmpty();
+      assertThat(keys(store)).containsExactly(bytesOf(1), bytesOf(3));
+    }
+  }
+
+  @Test
+  public void snapshotSeesItsOwnUpdatesOnly() throws Exception {
+    final VersionedInMemoryKeyValueStorage store = new VersionedInMemoryKeyValueStorage();
+    commit(store, bytesOf(1), bytesOf(1));
+    commit(store, bytesOf(3), bytesOf(3));
+
+    try (final SnappedKeyValueStorage snapshot = store.takeSnapshot()) {
+      snapshot.getSnapshotTransaction().put(bytesOf(2), bytesOf(2));
+      snapshot.getSnapshotTransaction().remove(bytesOf(3));
+
+      try (final SnappedKeyValueStorage clone = snapshot.cloneFromSnapshot()) {
+        snapshot.getSnapshotTransaction().put(bytesOf(4), bytesOf(4));
+
+        assertThat(keys(snapshot)).containsExactly(bytesOf(1), bytesOf(2), bytesOf(4));
+        assertThat(keys(clone)).containsExactly(bytesOf(1), bytesOf(2));
+        assertThat(store.get(bytesOf(2))).isEmpty();
+        assertThat(store.get(bytesOf(3))).contains(bytesOf(3));
+      }
+    }
+  }
+
+  @Test
+  public void olderValuesAreDroppedOnceNoSnapshotReadsThem() throws Exception {
+    final VersionedInMemoryKeyValueStorage store = new VersionedInMemoryKeyValueStorage();
+    commit(store, bytesOf(1), bytesOf(1));
+
+    final SnappedKeyValueStorage snapshot = store.takeSnapshot();
+    commit(store, bytesOf(1), bytesOf(2));
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.remove(bytesOf(1));
+    tx.commit();
+    final SnappedKeyValueStorage laterSnapshot = store.takeSnapshot();
+    assertThat(store.get(bytesOf(1), 2L)).contains(bytesOf(2));
+
+    snapshot.close();
+    assertThat(store.get(bytesOf(1), 2L)).isEmpty();
+    assertThat(laterSnapshot.get(bytesOf(1))).isEmpty();
+    laterSnapshot.close();
+  }
+
+  private void commit(final KeyValueStorage store, final byte[] key, final byte[] value) {
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(key, value);
+    tx.commit();
+  }
+
+  private List<byte[]> keys(final KeyValueStorage store) {
+    return store.stream().map(Pair::getKey).collect(toUnmodifiableList());
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.plugin.services.BesuConfiguration;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.VersionedInMemoryStoragePlugin.VersionedMemoryKeyValueStorageFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class VersionedMemoryKeyValueStorageFactoryTest {
+
+  private static final SegmentIdentifier SEGMENT = segment("SEGMENT");
+  private static final SegmentIdentifier OTHER_SEGMENT = segment("OTHER_SEGMENT");
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void restoresSegmentsFromCheckpoint() throws Exception {
+    final BesuConfiguration configuration = configuration(folder.getRoot().toPath());
+    final VersionedMemoryKeyValueStorageFactory factory = createFactory();
+    final KeyValueStorage storage = factory.create(SEGMENT, configuration, null);
+    final KeyValueStorage otherStorage = factory.create(OTHER_SEGMENT, configuration, null);
+    final byte[] largeValue = new byte[1 << 16];
+    largeValue[100] = 7;
+    commit(storage, new byte[] {1}, new byte[] {1});
+    commit(storage, new byte[] {2}, largeValue);
+    commit(otherStorage, new byte[] {1}, new byte[0]);
+    factory.checkpoint();
+    commit(storage, new byte[] {3}, new byte[] {3});
+    factory.close();
+
+    final VersionedMemoryKeyValueStorageFactory restarted = createFactory();
+    final KeyValueStorage restored = restarted.create(SEGMENT, configuration, null);
+    final KeyValueStorage otherRestored = restarted.create(OTHER_SEGMENT, configuration, null);
+
+    assertThat(restored.get(new byte[] {1})).contains(new byte[] {1});
+    assertThat(restored.get(new byte[] {2})).contains(largeValue);
+    assertThat(restored.get(new byte[] {3})).contains(new byte[] {3});
+    assertThat(otherRestored.get(new byte[] {1})).contains(new byte[0]);
+    restarted.close();
+  }
+
+  @Test
+  public void checkpointLeavesOpenSnapshotsIsolated() throws Exception {
+    final BesuConfiguration configuration = configuration(folder.getRoot().toPath());
+    final VersionedMemoryKeyValueStorageFactory factory = createFactory();
+    final KeyValueStorage storage = factory.create(SEGMENT, configuration, null);
+    final KeyValueStorage otherStorage = factory.create(OTHER_SEGMENT, configuration, null);
+    commit(storage, new byte[] {1}, new byte[] {1});
+
+    try (final SnappedKeyValueStorage snapshot =
+        ((VersionedInMemoryKeyValueStorage) otherStorage).takeSnapshot()) {
+      commit(otherStorage, new byte[] {1}, new byte[] {1});
+      factory.checkpoint();
+      assertThat(snapshot.get(new byte[] {1})).isEmpty();
+    }
+
+    final VersionedMemoryKeyValueStorageFactory restarted = createFactory();
+    assertThat(restarted.create(OTHER_SEGMENT, configuration, null).get(new byte[] {1}))
+        .contains(new byte[] {1});
+    restarted.close();
+    factory.close();
+  }
+
+  @Test
+  public void incompleteCheckpointIsIgnoredOnRestore() throws Exception {
+    final Path storagePath = folder.getRoot().toPath();
+    final BesuConfiguration configuration = configuration(storagePath);
+    final VersionedMemoryKeyValueStorageFactory factory = createFactory();
+    final KeyValueStorage storage = factory.create(SEGMENT, configuration, null);
+    final KeyValueStorage otherStorage = factory.create(OTHER_SEGMENT, configuration, null);
+    commit(storage, new byte[] {1}, new byte[] {1});
+    commit(otherStorage, new byte[] {1}, new byte[] {1});
+    factory.checkpoint();
+
+    // a checkpoint that crashed after writing one of the segments
+    final Path incomplete =
+        Files.createDirectories(storagePath.resolve("memory-versioned/checkpoint-2"));
+    Files.write(incomplete.resolve("SEGMENT.checkpoint"), new byte[] {1, 2, 3});
+
+    final VersionedMemoryKeyValueStorageFactory restarted = createFactory();
+    final KeyValueStorage restored = restarted.create(SEGMENT, configuration, null);
+    assertThat(restored.get(new byte[] {1})).contains(new byte[] {1});
+    commit(restored, new byte[] {2}, new byte[] {2});
+    restarted.checkpoint();
+
+    final VersionedMemoryKeyValueStorageFactory reopened = createFactory();
+    assertThat(reopened.create(SEGMENT, configuration, null).get(new byte[] {2}))
+        .contains(new byte[] {2});
+    assertThat(reopened.create(OTHER_SEGMENT, configuration, null).get(new byte[] {1}))
+        .contains(new byte[] {1});
+    reopened.close();
+    restarted.close();
+    factory.close();
+  }
+
+  @Test
+  public void corruptCheckpointRestoresNoEntries() throws Exception {
+    final Path file = folder.getRoot().toPath().resolve("SEGMENT.checkpoint");
+    InMemoryCheckpoint.write(
+        file,
+        () ->
+            Stream.of(
+                Pair.of(new byte[] {1}, new byte[] {1}), Pair.of(new byte[] {2}, new byte[] {2})));
+    final byte[] contents = Files.readAllBytes(file);
+    contents[contents.length - 1] ^= 1;
+    Files.write(file, contents);
+
+    final List<byte[]> restored = new ArrayList<>();
+    assertThatThrownBy(() -> InMemoryCheckpoint.read(file, (key, value) -> restored.add(key)))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Corrupt checkpoint");
+    assertThat(restored).isEmpty();
+  }
+
+  private static VersionedMemoryKeyValueStorageFactory createFactory() {
+    return new VersionedMemoryKeyValueStorageFactory("memory-versioned", () -> Duration.ofHours(1));
+  }
+
+  private static void commit(final KeyValueStorage storage, final byte[] key, final byte[] value) {
+    final KeyValueStorageTransaction tx = storage.startTransaction();
+    tx.put(key, value);
+    tx.commit();
+  }
+
+  private static BesuConfiguration configuration(final Path storagePath) {
+    return new BesuConfiguration() {
+      @Override
+      public Path getStoragePath() {
+        return storagePath;
+      }
+
+      @Override
+      public Path getDataPath() {
+        return storagePath;
+      }
+    };
+  }
+
+  private static SegmentIdentifier segment(final String name) {
+    return new SegmentIdentifier() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public byte[] getId() {
+        return name.getBytes(StandardCharsets.UTF_8);
+      }
+    };
+  }
+}
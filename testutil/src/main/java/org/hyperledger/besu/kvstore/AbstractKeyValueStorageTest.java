@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -74,6 +75,100 @@ public abstract class AbstractKeyValueStorageTest {
     assertThat(store.get(key)).contains(secondValue);
   }
 
+  @Test
+  public void multiGet() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesFromHexString("01"), bytesFromHexString("0A"));
+    tx.put(bytesFromHexString("03"), bytesFromHexString("0C"));
+    tx.commit();
+
+    final List<Optional<byte[]>> values =
+        store.multiGet(
+            List.of(
+                bytesFromHexString("03"),
+                bytesFromHexString("02"),
+                bytesFromHexString("01"),
+                bytesFromHexString("03")));
+
+    assertThat(values).hasSize(4);
+    assertThat(values.get(0)).contains(bytesFromHexString("0C"));
+    assertThat(values.get(1)).isEmpty();
+    assertThat(values.get(2)).contains(bytesFromHexString("0A"));
+    assertThat(values.get(3)).contains(bytesFromHexString("0C"));
+    assertThat(store.multiGet(List.of())).isEmpty();
+  }
+
+  @Test
+  public void getWithReader() throws Exception {
+    final KeyValueStorage store = createStore();
+    final byte[] small = bytesFromHexString("0A0B");
+    final byte[] medium = Bytes.random(5_000).toArrayUnsafe();
+    final byte[] large = Bytes.random(200_000).toArrayUnsafe();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(bytesOf(1), small);
+    tx.put(bytesOf(2), medium);
+    tx.put(bytesOf(3), large);
+    tx.commit();
+
+    final Function<ByteBuffer, byte[]> copy =
+        buffer -> Bytes.wrapByteBuffer(buffer, buffer.position(), buffer.remaining()).toArray();
+    assertThat(store.get(bytesOf(1), copy)).contains(small);
+    assertThat(store.get(bytesOf(2), copy)).contains(medium);
+    assertThat(store.get(bytesOf(3), copy)).contains(large);
+    assertThat(store.get(bytesOf(1), copy)).contains(small);
+    assertThat(store.get(bytesOf(4), copy)).isEmpty();
+
+    // reading from within a reader must not disturb the value being read
+    assertThat(
+            store.get(
+                bytesOf(2),
+                buffer -> {
+                  assertThat(store.get(bytesOf(1), copy)).contains(small);
+                  assertThat(store.containsKey(bytesOf(3))).isTrue();
+                  return copy.apply(buffer);
+                }))
+        .contains(medium);
+  }
+
+  @Test
+  public void streamFromKey() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    for (final String key : List.of("01", "0201", "03", "F0")) {
+      tx.put(bytesFromHexString(key), bytesFromHexString(key));
+    }
+    tx.commit();
+
+    try (final Stream<Pair<byte[], byte[]>> stream =
+        store.streamFromKey(bytesFromHexString("02"))) {
+      assertThat(stream.map(pair -> Bytes.wrap(pair.getKey())))
+          .containsExactly(
+              Bytes.fromHexString("0201"), Bytes.fromHexString("03"), Bytes.fromHexString("F0"));
+    }
+  }
+
+  @Test
+  public void streamRange() throws Exception {
+    final KeyValueStorage store = createStore();
+    final KeyValueStorageTransaction tx = store.startTransaction();
+    for (final String key : List.of("01", "0201", "0202", "03")) {
+      tx.put(bytesFromHexString(key), bytesFromHexString(key));
+    }
+    tx.commit();
+
+    // Prefix iteration
+    try (final Stream<Pair<byte[], byte[]>> stream =
+        store.streamRange(bytesFromHexString("02"), bytesFromHexString("03"))) {
+      assertThat(stream.map(pair -> Bytes.wrap(pair.getValue())))
+          .containsExactly(Bytes.fromHexString("0201"), Bytes.fromHexString("0202"));
+    }
+    try (final Stream<Pair<byte[], byte[]>> stream =
+        store.streamRange(bytesFromHexString("0202"), bytesFromHexString("0202"))) {
+      assertThat(stream).isEmpty();
+    }
+  }
+
   @Test
   public void streamKeys() throws Exception {
     final KeyValueStorage store = createStore();